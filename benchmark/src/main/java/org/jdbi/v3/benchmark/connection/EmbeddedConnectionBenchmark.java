@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.connection;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.EmbeddedConnectionFactory;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a query per handle against a SQLite database with a schema of 50 tables, once with a new connection per
+ * handle and once with the connections of an {@link EmbeddedConnectionFactory} in write-ahead log mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+public class EmbeddedConnectionBenchmark {
+    private static final int TABLE_COUNT = 50;
+
+    private Path directory;
+    private Jdbi newConnections;
+    private EmbeddedConnectionFactory connections;
+    private Jdbi writer;
+    private Jdbi readers;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("jdbi-sqlite");
+        final String url = "jdbc:sqlite:" + directory.resolve("benchmark.db");
+
+        newConnections = Jdbi.create(url);
+        newConnections.useHandle(handle -> {
+            for (int i = 0; i < TABLE_COUNT; i++) {
+                handle.execute("CREATE TABLE table_" + i + " (id INTEGER PRIMARY KEY, name TEXT, created_at TEXT, amount NUMERIC)");
+                handle.execute("CREATE INDEX table_" + i + "_name ON table_" + i + " (name)");
+            }
+            handle.execute("INSERT INTO table_0 (id, name) VALUES (1, 'one')");
+        });
+
+        connections = EmbeddedConnectionFactory.create(url)
+            .withInitSql("PRAGMA journal_mode=WAL", "PRAGMA busy_timeout=5000")
+            .withReaders(4)
+            .withReaderInitSql("PRAGMA query_only=1");
+        writer = Jdbi.create(connections);
+        readers = Jdbi.create(connections.readOnly());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        connections.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public String queryWithNewConnection() {
+        return newConnections.withHandle(EmbeddedConnectionBenchmark::query);
+    }
+
+    @Benchmark
+    public String queryWithWriter() {
+        return writer.withHandle(EmbeddedConnectionBenchmark::query);
+    }
+
+    @Benchmark
+    public String queryWithReader() {
+        return readers.withHandle(EmbeddedConnectionBenchmark::query);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String queryWithNewConnectionConcurrently() {
+        return queryWithNewConnection();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String queryWithReaderConcurrently() {
+        return queryWithReader();
+    }
+
+    private static String query(Handle handle) {
+        return handle.createQuery("SELECT name FROM table_0 WHERE id = 1").mapTo(String.class).one();
+    }
+}
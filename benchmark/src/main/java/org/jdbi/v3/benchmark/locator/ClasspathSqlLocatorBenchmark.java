@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.locator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.locator.ClasspathSqlLocator;
+import org.jdbi.v3.core.locator.internal.SqlBundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Locates every SQL file of a module with a new class loader, as on application startup, once from the individual
+ * resources and once from a SQL bundle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+public class ClasspathSqlLocatorBenchmark {
+    private static final int FILE_COUNT = 3_000;
+
+    private Path resourceDirectory;
+    private Path bundleDirectory;
+    private String[] paths;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        resourceDirectory = Files.createTempDirectory("jdbi-sql");
+        bundleDirectory = Files.createTempDirectory("jdbi-sql-bundle");
+        paths = new String[FILE_COUNT];
+
+        final SortedMap<String, String> resources = new TreeMap<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            paths[i] = "org/jdbi/v3/benchmark/Dao" + (i / 20) + "/query" + i + ".sql";
+            final String sql = "-- finds the rows of table " + i + "\n"
+                + "/* generated for the benchmark */\n"
+                + "SELECT id, name, created_at\n"
+                + "FROM table_" + i + " -- the table\n"
+                + "WHERE id = :id AND name LIKE '%--%'\n"
+                + "ORDER BY created_at DESC\n";
+            resources.put(paths[i], sql);
+            final Path file = resourceDirectory.resolve(paths[i]);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, sql, StandardCharsets.UTF_8);
+        }
+
+        final Path bundle = bundleDirectory.resolve(SqlBundle.RESOURCE_NAME);
+        Files.createDirectories(bundle.getParent());
+        try (OutputStream out = Files.newOutputStream(bundle)) {
+            SqlBundle.write(resources, out);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        delete(resourceDirectory);
+        delete(bundleDirectory);
+    }
+
+    @Benchmark
+    public void locateFromResources(Blackhole blackhole) throws IOException {
+        locateAll(resourceDirectory, blackhole);
+    }
+
+    @Benchmark
+    public void locateFromBundle(Blackhole blackhole) throws IOException {
+        locateAll(bundleDirectory, blackhole);
+    }
+
+    private void locateAll(Path directory, Blackhole blackhole) throws IOException {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, null)) {
+            final ClasspathSqlLocator locator = ClasspathSqlLocator.removingComments();
+            for (String path : paths) {
+                blackhole.consume(locator.getResource(classLoader, path));
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
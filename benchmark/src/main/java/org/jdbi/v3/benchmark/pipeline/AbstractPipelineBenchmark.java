@@ -0,0 +1,200 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.pipeline;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.core.mapper.reflect.ConstructorMapper;
+import org.jdbi.v3.core.result.ParallelMapping;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs statements through the full Jdbi pipeline: creating the statement, binding, rendering and parsing the SQL,
+ * executing it and mapping the results. Subclasses provide the database. Run with {@code -prof gc} to report the
+ * allocations per statement, e.g.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar 'PipelineBenchmark' -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+public abstract class AbstractPipelineBenchmark {
+    static final String[] COLUMNS = {"id", "name", "description"};
+    static final String SELECT_ONE = "SELECT id, name, description FROM tbl WHERE id = :id";
+    static final String SELECT_ONE_POSITIONAL = "SELECT id, name, description FROM tbl WHERE id = ?";
+    static final String SELECT_ONE_TEMPLATED = "SELECT id, name, description FROM <table> WHERE id = :id";
+    static final String SELECT_ALL = "SELECT id, name, description FROM tbl ORDER BY id";
+    static final String UPDATE = "UPDATE tbl SET description = :description WHERE id = :id";
+    static final String UPDATE_POSITIONAL = "UPDATE tbl SET description = ? WHERE id = ?";
+    static final String MERGE = "MERGE INTO tbl (id, name, description) KEY (id) VALUES (:id, :name, :description)";
+    static final String MERGE_POSITIONAL = "MERGE INTO tbl (id, name, description) KEY (id) VALUES (?, ?, ?)";
+
+    static final int ROW_COUNT = 1_000;
+    static final int BATCH_SIZE = 100;
+    static final List<Row> ROWS = IntStream.range(0, ROW_COUNT)
+        .mapToObj(id -> new Row(id, "name " + id, "the row with id " + id))
+        .toList();
+
+    private Jdbi jdbi;
+    private Handle handle;
+
+    /**
+     * Creates a Jdbi instance for a database that contains {@link #ROWS} in the {@code tbl} table.
+     */
+    protected abstract Jdbi createJdbi();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jdbi = createJdbi();
+        jdbi.registerRowMapper(ConstructorMapper.factory(Row.class));
+        handle = jdbi.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        handle.close();
+    }
+
+    @Benchmark
+    public Row pointQuery() {
+        return handle.createQuery(SELECT_ONE)
+            .bind("id", 1L)
+            .mapTo(Row.class)
+            .one();
+    }
+
+    @Benchmark
+    public Row pointQueryPositional() {
+        return handle.select(SELECT_ONE_POSITIONAL, 1L)
+            .mapTo(Row.class)
+            .one();
+    }
+
+    @Benchmark
+    public Row pointQueryOpenHandle() {
+        return jdbi.withHandle(h -> h.createQuery(SELECT_ONE)
+            .bind("id", 1L)
+            .mapTo(Row.class)
+            .one());
+    }
+
+    @Benchmark
+    public Row templatedQuery() {
+        return handle.createQuery(SELECT_ONE_TEMPLATED)
+            .define("table", "tbl")
+            .bind("id", 1L)
+            .mapTo(Row.class)
+            .one();
+    }
+
+    @Benchmark
+    public List<Row> mapRows() {
+        return handle.createQuery(SELECT_ALL)
+            .mapTo(Row.class)
+            .list();
+    }
+
+    @Benchmark
+    public List<Row> mapRowsParallel() {
+        return handle.createQuery(SELECT_ALL)
+            .mapTo(Row.class)
+            .withParallelMapping(ParallelMapping.commonPool())
+            .list();
+    }
+
+    @Benchmark
+    public int[] preparedBatch() {
+        final PreparedBatch batch = handle.prepareBatch(MERGE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final Row row = ROWS.get(i);
+            batch.bind("id", row.getId())
+                .bind("name", row.getName())
+                .bind("description", row.getDescription())
+                .add();
+        }
+        return batch.execute();
+    }
+
+    @Benchmark
+    public int[] preparedBatchPositional() {
+        final PreparedBatch batch = handle.prepareBatch(MERGE_POSITIONAL);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final Row row = ROWS.get(i);
+            batch.add(row.getId(), row.getName(), row.getDescription());
+        }
+        return batch.execute();
+    }
+
+    @Benchmark
+    public int executePositional() {
+        return handle.execute(UPDATE_POSITIONAL, "updated", 1L);
+    }
+
+    @Benchmark
+    public int inTransaction() {
+        return handle.inTransaction(h -> h.createUpdate(UPDATE)
+            .bind("id", 1L)
+            .bind("description", "updated")
+            .execute());
+    }
+
+    public static class Row {
+        private final long id;
+        private final String name;
+        private final String description;
+
+        public Row(@ColumnName("id") long id, @ColumnName("name") String name, @ColumnName("description") String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        Object[] toColumns() {
+            return new Object[] {id, name, description};
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.pipeline;
+
+import java.util.UUID;
+
+import org.h2.Driver;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.PreparedBatch;
+
+/**
+ * Runs the pipeline against an in-memory H2 database.
+ */
+public class H2PipelineBenchmark extends AbstractPipelineBenchmark {
+    static {
+        Driver.load();
+    }
+
+    @Override
+    protected Jdbi createJdbi() {
+        final Jdbi jdbi = Jdbi.create("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=10");
+        jdbi.useHandle(h -> {
+            h.execute("create table tbl (id bigint primary key, name varchar, description varchar)");
+            final PreparedBatch batch = h.prepareBatch("insert into tbl (id, name, description) values (:id, :name, :description)");
+            ROWS.forEach(row -> batch.bindBean(row).add());
+            batch.execute();
+        });
+        return jdbi;
+    }
+}
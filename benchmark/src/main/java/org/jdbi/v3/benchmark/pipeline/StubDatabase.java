@@ -0,0 +1,274 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.pipeline;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A JDBC stub that answers every statement from canned results without any I/O. Connections, statements and
+ * result sets are dynamic proxies, so that a benchmark against the stub measures the overhead of Jdbi and not the
+ * time spent in a database.
+ * <p>
+ * Queries registered with {@link #withResult(String, Object[][])} return the given rows, all other statements
+ * report one modified row.
+ */
+final class StubDatabase {
+    private static final Object[][] NO_ROWS = {};
+
+    private final String[] columns;
+    private final Map<String, Object[][]> results = new HashMap<>();
+
+    StubDatabase(String... columns) {
+        this.columns = columns.clone();
+    }
+
+    StubDatabase withResult(String sql, Object[][] rows) {
+        results.put(sql, rows.clone());
+        return this;
+    }
+
+    Connection openConnection() {
+        return proxy(Connection.class, new StubConnection());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubDatabase.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    // the value a stub returns for methods that it does not implement
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type.isPrimitive() && type != void.class) {
+            return convert(0, type);
+        }
+        return null;
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null) {
+            return defaultValue(type);
+        } else if (type == String.class) {
+            return value.toString();
+        } else if (value instanceof Number number) {
+            if (type == long.class || type == Long.class) {
+                return number.longValue();
+            } else if (type == int.class || type == Integer.class) {
+                return number.intValue();
+            } else if (type == short.class || type == Short.class) {
+                return number.shortValue();
+            } else if (type == byte.class || type == Byte.class) {
+                return number.byteValue();
+            } else if (type == double.class || type == Double.class) {
+                return number.doubleValue();
+            } else if (type == float.class || type == Float.class) {
+                return number.floatValue();
+            }
+        }
+        return value;
+    }
+
+    private abstract static class StubObject implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return getClass().getSimpleName();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                default:
+                    if (closed) {
+                        throw new SQLException(getClass().getSimpleName() + " is closed");
+                    }
+                    return handle(proxy, method, args);
+            }
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws SQLException;
+    }
+
+    private final class StubConnection extends StubObject {
+        private boolean autoCommit = true;
+        private int isolation = Connection.TRANSACTION_READ_COMMITTED;
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "getTransactionIsolation":
+                    return isolation;
+                case "setTransactionIsolation":
+                    isolation = (Integer) args[0];
+                    return null;
+                case "isValid":
+                    return true;
+                case "prepareStatement":
+                case "prepareCall":
+                    return proxy(method.getReturnType().asSubclass(PreparedStatement.class), new StubStatement((Connection) proxy, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StubStatement((Connection) proxy, null));
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    private final class StubStatement extends StubObject {
+        private final Connection connection;
+        private final String preparedSql;
+        private Object[][] rows;
+        private int batchSize;
+
+        StubStatement(Connection connection, String preparedSql) {
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "execute":
+                    rows = results.get(sql(args));
+                    return rows != null;
+                case "executeQuery":
+                    rows = results.getOrDefault(sql(args), NO_ROWS);
+                    return resultSet((Statement) proxy, rows);
+                case "executeUpdate":
+                    return 1;
+                case "getResultSet":
+                    return rows == null ? null : resultSet((Statement) proxy, rows);
+                case "getGeneratedKeys":
+                    return resultSet((Statement) proxy, NO_ROWS);
+                case "getUpdateCount":
+                    return rows == null ? 1 : -1;
+                case "addBatch":
+                    batchSize++;
+                    return null;
+                case "clearBatch":
+                    batchSize = 0;
+                    return null;
+                case "executeBatch":
+                    final int[] counts = new int[batchSize];
+                    Arrays.fill(counts, 1);
+                    batchSize = 0;
+                    return counts;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private String sql(Object[] args) {
+            return args == null || args.length == 0 ? preparedSql : (String) args[0];
+        }
+
+        private ResultSet resultSet(Statement statement, Object[][] resultRows) {
+            return proxy(ResultSet.class, new StubResultSet(statement, resultRows));
+        }
+    }
+
+    private final class StubResultSet extends StubObject {
+        private final Statement statement;
+        private final Object[][] rows;
+        private int row = -1;
+        private boolean wasNull;
+
+        StubResultSet(Statement statement, Object[][] rows) {
+            this.statement = statement;
+            this.rows = rows;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            final String name = method.getName();
+            switch (name) {
+                case "next":
+                    row++;
+                    return row < rows.length;
+                case "getStatement":
+                    return statement;
+                case "getMetaData":
+                    return proxy(ResultSetMetaData.class, new StubMetaData());
+                case "wasNull":
+                    return wasNull;
+                case "findColumn":
+                    return indexOf((String) args[0]);
+                default:
+                    if (name.startsWith("get") && args != null && args.length >= 1) {
+                        final int column = args[0] instanceof String label ? indexOf(label) : (Integer) args[0];
+                        final Object value = rows[row][column - 1];
+                        wasNull = value == null;
+                        return convert(value, method.getReturnType());
+                    }
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private int indexOf(String label) {
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column " + label);
+        }
+    }
+
+    private final class StubMetaData extends StubObject {
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return columns.length;
+                case "getColumnLabel":
+                case "getColumnName":
+                    return columns[(Integer) args[0] - 1];
+                case "getColumnType":
+                    return Types.VARCHAR;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+}
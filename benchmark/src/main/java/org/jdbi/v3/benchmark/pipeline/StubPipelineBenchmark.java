@@ -0,0 +1,34 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.pipeline;
+
+import org.jdbi.v3.core.Jdbi;
+
+/**
+ * Runs the pipeline against a JDBC stub that returns canned results, which isolates the overhead of Jdbi from the
+ * time spent in the database.
+ */
+public class StubPipelineBenchmark extends AbstractPipelineBenchmark {
+
+    @Override
+    protected Jdbi createJdbi() {
+        final Object[][] one = {ROWS.get(1).toColumns()};
+        final Object[][] all = ROWS.stream().map(Row::toColumns).toArray(Object[][]::new);
+        final StubDatabase database = new StubDatabase(COLUMNS)
+            .withResult(SELECT_ONE.replace(":id", "?"), one)
+            .withResult(SELECT_ONE_POSITIONAL, one)
+            .withResult(SELECT_ALL, all);
+        return Jdbi.create(database::openConnection);
+    }
+}
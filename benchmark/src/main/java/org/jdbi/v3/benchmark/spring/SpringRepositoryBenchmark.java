@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.spring;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.spring.JdbiFactoryBean;
+import org.jdbi.v3.spring.JdbiRepositoryFactoryBean;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Calls a Jdbi repository, as created for {@link org.jdbi.v3.spring.JdbiRepository} types, in and outside of Spring
+ * managed transactions against an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+public class SpringRepositoryBenchmark {
+
+    public interface ItemDao {
+        @SqlQuery("SELECT name FROM item WHERE id = :id")
+        String findName(@Bind("id") long id);
+    }
+
+    @Param({"1", "20"})
+    public int callsPerTransaction;
+
+    private Handle keepAlive;
+    private TransactionTemplate transactionTemplate;
+    private ItemDao dao;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID());
+
+        final JdbiFactoryBean jdbiFactoryBean = new JdbiFactoryBean(dataSource);
+        jdbiFactoryBean.setPlugins(List.of(new SqlObjectPlugin()));
+        jdbiFactoryBean.afterPropertiesSet();
+        final Jdbi jdbi = jdbiFactoryBean.getObject();
+
+        keepAlive = jdbi.open();
+        keepAlive.execute("CREATE TABLE item (id BIGINT PRIMARY KEY, name VARCHAR)");
+        keepAlive.execute("INSERT INTO item (id, name) VALUES (1, 'one')");
+
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("jdbi", jdbi);
+
+        final JdbiRepositoryFactoryBean repositoryFactoryBean = new JdbiRepositoryFactoryBean();
+        repositoryFactoryBean.setBeanFactory(beanFactory);
+        repositoryFactoryBean.setObjectType(ItemDao.class);
+        repositoryFactoryBean.afterPropertiesSet();
+        dao = (ItemDao) repositoryFactoryBean.getObject();
+
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public void callsInTransaction(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < callsPerTransaction; i++) {
+                blackhole.consume(dao.findName(1L));
+            }
+        });
+    }
+
+    @Benchmark
+    public void callsWithoutTransaction(Blackhole blackhole) {
+        for (int i = 0; i < callsPerTransaction; i++) {
+            blackhole.consume(dao.findName(1L));
+        }
+    }
+}
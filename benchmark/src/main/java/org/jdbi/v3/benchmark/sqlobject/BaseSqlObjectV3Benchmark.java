@@ -125,6 +125,11 @@ public abstract class BaseSqlObjectV3Benchmark extends AbstractSqlObjectBenchmar
         return dao.getTestData(rowOne);
     }
 
+    @Benchmark
+    public TestData sqlobjectSelectOneUnannotated() {
+        return dao.getTestDataUnannotated(rowOne);
+    }
+
     public interface DaoV3 {
         @GetGeneratedKeys
         @SqlUpdate(INSERT)
@@ -143,6 +148,9 @@ public abstract class BaseSqlObjectV3Benchmark extends AbstractSqlObjectBenchmar
         @SqlQuery(SELECT)
         TestData getTestData(@Bind("id") long id);
 
+        @SqlQuery(SELECT)
+        TestData getTestDataUnannotated(long id);
+
         class TestDataMapper extends BaseTestDataMapper implements RowMapper<TestData> {
             @Override
             public TestData map(final ResultSet r, final StatementContext ctx) throws SQLException {
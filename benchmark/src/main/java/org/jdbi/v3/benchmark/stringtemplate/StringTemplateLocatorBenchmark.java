@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.stringtemplate;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.Driver;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.stringtemplate4.StringTemplateSqlLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Runs the templated queries of a SQL object that uses {@link org.jdbi.v3.stringtemplate4.UseStringTemplateSqlLocator}
+ * against an in-memory H2 database, and renders its templates without a database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+public class StringTemplateLocatorBenchmark {
+    static {
+        Driver.load();
+    }
+
+    private static final Method[] QUERIES = Arrays.stream(TemplatedDao.class.getMethods())
+        .filter(method -> method.getName().startsWith("query"))
+        .sorted(Comparator.comparing(Method::getName))
+        .toArray(Method[]::new);
+
+    private Jdbi jdbi;
+    private Handle handle;
+    private TemplatedDao dao;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jdbi = Jdbi.create("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=10")
+            .installPlugin(new SqlObjectPlugin());
+        handle = jdbi.open();
+        handle.execute("create table tbl (id bigint primary key, name varchar)");
+        handle.execute("insert into tbl (id, name) values (1, 'one')");
+        dao = handle.attach(TemplatedDao.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        handle.close();
+    }
+
+    @Benchmark
+    public void callAllMethods(Blackhole blackhole) throws ReflectiveOperationException {
+        for (Method query : QUERIES) {
+            blackhole.consume(query.invoke(dao, "tbl", 10, 1L));
+        }
+    }
+
+    @Benchmark
+    public String attachAndCall() {
+        return handle.attach(TemplatedDao.class).query25("tbl", null, 1L);
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return StringTemplateSqlLocator.findStringTemplate(TemplatedDao.class, "query25")
+            .add("table", "tbl")
+            .add("limit", 10)
+            .render();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String renderTemplateConcurrently() {
+        return renderTemplate();
+    }
+
+    // e.g. a server that handles every request on a new thread
+    @Benchmark
+    public String renderTemplateOnNewThread() throws InterruptedException {
+        final String[] sql = new String[1];
+        final Thread thread = new Thread(() -> sql[0] = renderTemplate());
+        thread.start();
+        thread.join();
+        return sql[0];
+    }
+}
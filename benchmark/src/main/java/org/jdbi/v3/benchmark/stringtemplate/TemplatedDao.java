@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.benchmark.stringtemplate;
+
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.stringtemplate4.UseStringTemplateSqlLocator;
+
+/**
+ * A SQL object with {@value #METHOD_COUNT} templated queries, located in {@code TemplatedDao.sql.stg}.
+ */
+@UseStringTemplateSqlLocator
+public interface TemplatedDao {
+    int METHOD_COUNT = 50;
+
+    @SqlQuery
+    String query00(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query01(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query02(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query03(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query04(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query05(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query06(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query07(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query08(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query09(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query10(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query11(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query12(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query13(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query14(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query15(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query16(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query17(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query18(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query19(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query20(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query21(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query22(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query23(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query24(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query25(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query26(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query27(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query28(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query29(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query30(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query31(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query32(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query33(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query34(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query35(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query36(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query37(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query38(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query39(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query40(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query41(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query42(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query43(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query44(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query45(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query46(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query47(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query48(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+
+    @SqlQuery
+    String query49(@Define("table") String table, @Define("limit") Integer limit, @Bind("id") long id);
+}
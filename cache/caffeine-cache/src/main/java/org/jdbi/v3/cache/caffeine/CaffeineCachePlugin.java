@@ -14,23 +14,56 @@
 package org.jdbi.v3.cache.caffeine;
 
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.config.MetadataCaches;
 import org.jdbi.v3.core.spi.JdbiPlugin;
 import org.jdbi.v3.core.statement.ColonPrefixSqlParser;
+import org.jdbi.v3.core.statement.ResultCache;
 import org.jdbi.v3.core.statement.SqlStatements;
 
+import static org.jdbi.v3.core.config.MetadataCaches.BOUNDED_CACHE_SIZE;
 import static org.jdbi.v3.core.statement.CachingSqlParser.PARSED_SQL_CACHE_SIZE;
+import static org.jdbi.v3.core.statement.ResultCache.DEFAULT_MAX_SIZE;
 import static org.jdbi.v3.core.statement.SqlStatements.SQL_TEMPLATE_CACHE_SIZE;
 
 /**
  * Installing this plugin restores the up-to 3.36.0 behavior of using the Caffeine cache library for SQL statements and the colon prefix parser.
+ * <p>
+ * A plugin returned by {@link #withBoundedCaches()} also stores the Jdbi wide metadata caches (see {@link MetadataCaches})
+ * and the {@link ResultCache} in bounded Caffeine caches.
  */
 public final class CaffeineCachePlugin implements JdbiPlugin {
 
+    private final boolean boundedCaches;
+
+    public CaffeineCachePlugin() {
+        this(false);
+    }
+
+    private CaffeineCachePlugin(boolean boundedCaches) {
+        this.boundedCaches = boundedCaches;
+    }
+
+    /**
+     * Returns a plugin that uses the Caffeine cache library for SQL statements and the colon prefix parser, and
+     * also bounds the metadata caches and the result cache.
+     *
+     * @return a plugin that bounds the metadata caches and the result cache
+     * @since 3.54.1
+     */
+    public static CaffeineCachePlugin withBoundedCaches() {
+        return new CaffeineCachePlugin(true);
+    }
+
     @Override
     public void customizeJdbi(Jdbi jdbi) {
         final SqlStatements config = jdbi.getConfig(SqlStatements.class);
 
         config.setTemplateCache(CaffeineCacheBuilder.instance().maxSize(SQL_TEMPLATE_CACHE_SIZE));
         config.setSqlParser(new ColonPrefixSqlParser(CaffeineCacheBuilder.instance().maxSize(PARSED_SQL_CACHE_SIZE)));
+
+        if (boundedCaches) {
+            jdbi.getConfig(MetadataCaches.class).setCacheBuilder(CaffeineCacheBuilder.instance().maxSize(BOUNDED_CACHE_SIZE));
+            jdbi.getConfig(ResultCache.class).setCacheBuilder(CaffeineCacheBuilder.instance().maxSize(DEFAULT_MAX_SIZE));
+        }
     }
 }
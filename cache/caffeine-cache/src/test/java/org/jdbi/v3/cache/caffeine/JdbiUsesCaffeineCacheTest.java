@@ -13,8 +13,11 @@
  */
 package org.jdbi.v3.cache.caffeine;
 
+import java.time.Duration;
+
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.ResultCache;
 import org.jdbi.v3.core.statement.SqlStatements;
 import org.jdbi.v3.testing.junit5.JdbiExtension;
 import org.junit.jupiter.api.Test;
@@ -35,4 +38,30 @@ public class JdbiUsesCaffeineCacheTest {
         SqlStatements sqlStatements = jdbi.getConfig(SqlStatements.class);
         assertThat((Object) sqlStatements.cacheStats()).isInstanceOf(CacheStats.class);
     }
+
+    @Test
+    public void testResultCacheKeepsDefaultCache() {
+        Jdbi jdbi = h2Extension.getJdbi();
+
+        jdbi.withHandle(h -> h.createQuery("SELECT 42").cached(Duration.ofMinutes(1)).mapTo(Integer.class).one());
+
+        assertThat(jdbi.getConfig(ResultCache.class).getStats().cacheSize()).isOne();
+    }
+
+    @Test
+    public void testResultCacheUsesCaffeine() {
+        Jdbi jdbi = h2Extension.getJdbi();
+        jdbi.installPlugin(CaffeineCachePlugin.withBoundedCaches());
+
+        for (int i = 0; i < 3; i++) {
+            Integer value = jdbi.withHandle(h -> h.createQuery("SELECT 42").cached(Duration.ofMinutes(1)).mapTo(Integer.class).one());
+            assertThat(value).isEqualTo(42);
+        }
+
+        ResultCache.Stats stats = jdbi.getConfig(ResultCache.class).getStats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isOne();
+        // the Caffeine statistics do not report the cache size
+        assertThat(stats.cacheSize()).isEqualTo(-1);
+    }
 }
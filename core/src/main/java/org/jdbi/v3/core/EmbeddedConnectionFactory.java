@@ -0,0 +1,320 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A connection factory for embedded databases such as SQLite and H2 that keeps its connections open instead of
+ * opening a new connection for every handle. It holds a single writer connection and optionally a number of reader
+ * connections:
+ * <pre>{@code
+ * EmbeddedConnectionFactory connections = EmbeddedConnectionFactory.create("jdbc:sqlite:app.db")
+ *     .withInitSql("PRAGMA journal_mode=WAL", "PRAGMA busy_timeout=5000")
+ *     .withReaders(4)
+ *     .withReaderInitSql("PRAGMA query_only=1");
+ *
+ * Jdbi jdbi = Jdbi.create(connections);
+ * Jdbi readOnlyJdbi = Jdbi.create(connections.readOnly());
+ * }</pre>
+ * <p>
+ * Handles opened from this factory use the writer connection, handles opened from {@link #readOnly()} use one of the
+ * reader connections. Every connection is used by one thread at a time; a thread that needs a connection while all
+ * of them are in use waits until one is released. A thread that opens another handle while it already holds a
+ * connection gets the same connection again, so nested handles share the connection and its transaction instead of
+ * waiting for a connection that their own thread holds. Connections are tracked by thread, not in thread locals, and
+ * threads wait without holding a monitor, so the factory also works with virtual threads.
+ * <p>
+ * Connections are opened when they are first needed and initialized with the {@link #withInitSql(String...) init SQL}.
+ * They stay open until the factory is {@link #close() closed}. A connection that is returned inside of a transaction
+ * is rolled back.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+public final class EmbeddedConnectionFactory implements ConnectionFactory, AutoCloseable {
+    private final ConnectionFactory connectionFactory;
+    private final List<String> initSql;
+    private final int readers;
+    private final List<String> readerInitSql;
+
+    private final Pool writerPool;
+    private final Pool readerPool;
+
+    private EmbeddedConnectionFactory(ConnectionFactory connectionFactory, List<String> initSql, int readers, List<String> readerInitSql) {
+        this.connectionFactory = connectionFactory;
+        this.initSql = initSql;
+        this.readers = readers;
+        this.readerInitSql = readerInitSql;
+
+        this.writerPool = new Pool(1, initSql);
+        this.readerPool = readers == 0 ? writerPool : new Pool(readers, concat(initSql, readerInitSql));
+    }
+
+    /**
+     * Returns a connection factory that opens its connections with the {@link DriverManager}.
+     *
+     * @param url the JDBC URL of the database
+     * @return a connection factory with a writer connection and no reader connections
+     */
+    public static EmbeddedConnectionFactory create(String url) {
+        requireNonNull(url, "url is null");
+        return create(() -> DriverManager.getConnection(url));
+    }
+
+    /**
+     * Returns a connection factory that opens its connections with the given connection factory.
+     *
+     * @param connectionFactory opens the connections of this factory
+     * @return a connection factory with a writer connection and no reader connections
+     */
+    public static EmbeddedConnectionFactory create(ConnectionFactory connectionFactory) {
+        return new EmbeddedConnectionFactory(requireNonNull(connectionFactory, "connectionFactory is null"), List.of(), 0, List.of());
+    }
+
+    /**
+     * Returns a copy of this factory that executes the given statements on every new connection, e.g. to turn on
+     * write-ahead logging in SQLite.
+     *
+     * @param statements the statements to execute
+     * @return a new connection factory
+     */
+    public EmbeddedConnectionFactory withInitSql(String... statements) {
+        return new EmbeddedConnectionFactory(connectionFactory, concat(initSql, Arrays.asList(statements)), readers, readerInitSql);
+    }
+
+    /**
+     * Returns a copy of this factory that uses the given number of reader connections for {@link #readOnly()}.
+     * Without reader connections, read-only handles use the writer connection.
+     *
+     * @param readers the number of reader connections
+     * @return a new connection factory
+     */
+    public EmbeddedConnectionFactory withReaders(int readers) {
+        if (readers < 0) {
+            throw new IllegalArgumentException("readers must not be negative, got " + readers);
+        }
+        return new EmbeddedConnectionFactory(connectionFactory, initSql, readers, readerInitSql);
+    }
+
+    /**
+     * Returns a copy of this factory that executes the given statements on every new reader connection, after the
+     * {@link #withInitSql(String...) init SQL}, e.g. to make SQLite reject writes on reader connections.
+     *
+     * @param statements the statements to execute
+     * @return a new connection factory
+     */
+    public EmbeddedConnectionFactory withReaderInitSql(String... statements) {
+        return new EmbeddedConnectionFactory(connectionFactory, initSql, readers, concat(readerInitSql, Arrays.asList(statements)));
+    }
+
+    /**
+     * Returns a connection factory that supplies the reader connections of this factory.
+     *
+     * @return a connection factory for read-only handles
+     */
+    public ConnectionFactory readOnly() {
+        return new ConnectionFactory() {
+            @Override
+            public Connection openConnection() throws SQLException {
+                return readerPool.acquire();
+            }
+
+            @Override
+            public void closeConnection(Connection conn) throws SQLException {
+                readerPool.release(conn);
+            }
+        };
+    }
+
+    @Override
+    public Connection openConnection() throws SQLException {
+        return writerPool.acquire();
+    }
+
+    @Override
+    public void closeConnection(Connection conn) throws SQLException {
+        writerPool.release(conn);
+    }
+
+    /**
+     * Closes all connections that are not in use. Connections that are in use are closed when they are released.
+     */
+    @Override
+    public void close() {
+        writerPool.close();
+        readerPool.close();
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        final String[] statements = new String[first.size() + second.size()];
+        int i = 0;
+        for (String statement : first) {
+            statements[i++] = statement;
+        }
+        for (String statement : second) {
+            statements[i++] = requireNonNull(statement, "statement is null");
+        }
+        return List.of(statements);
+    }
+
+    private final class Pool {
+        private final Semaphore permits;
+        private final List<String> initSql;
+        private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+        private final Map<Thread, Lease> leasesByThread = new ConcurrentHashMap<>();
+        private final Map<Connection, Lease> leasesByConnection = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        Pool(int size, List<String> initSql) {
+            this.permits = new Semaphore(size, true);
+            this.initSql = initSql;
+        }
+
+        Connection acquire() throws SQLException {
+            if (closed) {
+                throw new SQLException("Connection factory is closed");
+            }
+
+            final Thread thread = Thread.currentThread();
+            final Lease current = leasesByThread.get(thread);
+            // a lease that was released by another thread in the meantime can not be reused
+            if (current != null && current.holds.getAndUpdate(holds -> holds == 0 ? 0 : holds + 1) > 0) {
+                return current.connection;
+            }
+
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+
+            try {
+                final Lease lease = new Lease(thread, idleOrNewConnection());
+                leasesByThread.put(thread, lease);
+                leasesByConnection.put(lease.connection, lease);
+                return lease.connection;
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void release(Connection connection) throws SQLException {
+            final Lease lease = leasesByConnection.get(connection);
+            if (lease == null) {
+                throw new SQLException("Connection was not opened by this connection factory");
+            }
+            if (lease.holds.decrementAndGet() > 0) {
+                return;
+            }
+
+            leasesByConnection.remove(connection);
+            leasesByThread.remove(lease.thread, lease);
+            try {
+                reset(connection);
+            } finally {
+                permits.release();
+            }
+        }
+
+        void close() {
+            closed = true;
+            closeIdleConnections();
+        }
+
+        private void closeIdleConnections() {
+            Connection connection;
+            while ((connection = idle.poll()) != null) { // NOPMD
+                closeQuietly(connection);
+            }
+        }
+
+        private Connection idleOrNewConnection() throws SQLException {
+            Connection connection;
+            while ((connection = idle.poll()) != null) { // NOPMD
+                if (!connection.isClosed()) {
+                    return connection;
+                }
+            }
+
+            connection = connectionFactory.openConnection();
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : initSql) {
+                    statement.execute(sql);
+                }
+            } catch (SQLException e) {
+                closeQuietly(connection);
+                throw e;
+            }
+            return connection;
+        }
+
+        private void reset(Connection connection) throws SQLException {
+            if (closed || connection.isClosed()) {
+                closeQuietly(connection);
+                return;
+            }
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                idle.add(connection);
+                if (closed) {
+                    closeIdleConnections();
+                }
+            } catch (SQLException e) {
+                closeQuietly(connection);
+                throw e;
+            }
+        }
+
+        private void closeQuietly(Connection connection) {
+            try {
+                connectionFactory.closeConnection(connection);
+            } catch (SQLException ignored) {
+                // the connection is discarded either way
+            }
+        }
+    }
+
+    private static final class Lease {
+        private final Thread thread;
+        private final Connection connection;
+        // the number of open handles that use the connection
+        private final AtomicInteger holds = new AtomicInteger(1);
+
+        Lease(Thread thread, Connection connection) {
+            this.thread = thread;
+            this.connection = connection;
+        }
+    }
+}
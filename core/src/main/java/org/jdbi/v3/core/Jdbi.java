@@ -32,6 +32,7 @@ import org.jdbi.v3.core.extension.ExtensionFactory;
 import org.jdbi.v3.core.extension.Extensions;
 import org.jdbi.v3.core.extension.HandleSupplier;
 import org.jdbi.v3.core.extension.NoSuchExtensionException;
+import org.jdbi.v3.core.extension.WarmUpReport;
 import org.jdbi.v3.core.internal.OnDemandExtensions;
 import org.jdbi.v3.core.internal.exceptions.Unchecked;
 import org.jdbi.v3.core.spi.JdbiPlugin;
@@ -596,4 +597,24 @@ public class Jdbi implements Configurable<Jdbi> {
 
         return getConfig(OnDemandExtensions.class).create(this, extensionType);
     }
+
+    /**
+     * Prepares the given extension types (e.g. SQL Objects) ahead of their first use. Building the extension metadata,
+     * locating and parsing SQL and resolving mappers and argument factories otherwise happens when an extension is
+     * first used, which makes the first calls after a start noticeably slower. No handle is opened.
+     * <br>
+     * Call this after all plugins are installed and all mappers and argument factories are registered.
+     *
+     * @param extensionTypes the extension types to prepare
+     * @return a report of the prepared extension types and methods, including the methods that could not be prepared
+     * @throws NoSuchExtensionException if no {@link ExtensionFactory} is registered which supports one of the types
+     * @see Extensions#warmUp(HandleSupplier, Class[])
+     * @since 3.54.1
+     */
+    @Alpha
+    public WarmUpReport warmUp(Class<?>... extensionTypes) {
+        try (LazyHandleSupplier handleSupplier = new LazyHandleSupplier(this)) {
+            return getConfig(Extensions.class).warmUp(handleSupplier, extensionTypes);
+        }
+    }
 }
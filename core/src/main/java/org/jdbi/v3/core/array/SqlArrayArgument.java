@@ -17,6 +17,7 @@ import java.lang.reflect.Array;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import org.jdbi.v3.core.argument.Argument;
@@ -29,10 +30,64 @@ class SqlArrayArgument<T> implements Argument {
 
     SqlArrayArgument(SqlArrayType<T> arrayType, Object newArray) {
         this.typeName = arrayType.getTypeName();
+        this.array = convert(arrayType, newArray);
+    }
+
+    // primitive arrays, reference arrays and collections have a known size and are converted
+    // without the stream pipeline and the reflective element access of IterableLike
+    @SuppressWarnings("unchecked")
+    private static <T> Object[] convert(SqlArrayType<T> arrayType, Object value) {
+        if (value instanceof long[] longs) {
+            return isUnconverted(arrayType, Long.class) ? toLongArray(longs) : convertAll(arrayType, toLongArray(longs));
+        } else if (value instanceof int[] ints) {
+            return isUnconverted(arrayType, Integer.class) ? toIntegerArray(ints) : convertAll(arrayType, toIntegerArray(ints));
+        } else if (value instanceof Object[] objects) {
+            return convertAll(arrayType, objects);
+        } else if (value instanceof Collection<?> collection) {
+            return convertAll(arrayType, collection.toArray());
+        }
+
+        Stream<T> stream = (Stream<T>) IterableLike.stream(value);
+        return stream.map(arrayType::convertArrayElement).toArray(n -> newArray(arrayType, n));
+    }
+
+    // the wrapper array can be bound as is if the array type does not convert its elements
+    private static boolean isUnconverted(SqlArrayType<?> arrayType, Class<?> wrapperType) {
+        return arrayType instanceof SqlArrayTypeImpl<?> impl && impl.isIdentity()
+            && arrayType.getArrayElementClass().isAssignableFrom(wrapperType);
+    }
+
+    // the loop boxes the elements, it can not be replaced by an array copy
+    @SuppressWarnings("PMD.AvoidArrayLoops")
+    private static Long[] toLongArray(long[] longs) {
+        Long[] result = new Long[longs.length];
+        for (int i = 0; i < longs.length; i++) {
+            result[i] = longs[i];
+        }
+        return result;
+    }
+
+    // the loop boxes the elements, it can not be replaced by an array copy
+    @SuppressWarnings("PMD.AvoidArrayLoops")
+    private static Integer[] toIntegerArray(int[] ints) {
+        Integer[] result = new Integer[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            result[i] = ints[i];
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Object[] convertAll(SqlArrayType<T> arrayType, Object[] objects) {
+        Object[] result = newArray(arrayType, objects.length);
+        for (int i = 0; i < objects.length; i++) {
+            result[i] = arrayType.convertArrayElement((T) objects[i]);
+        }
+        return result;
+    }
 
-        @SuppressWarnings("unchecked")
-        Stream<T> stream = (Stream<T>) IterableLike.stream(newArray);
-        array = stream.map(arrayType::convertArrayElement).toArray(n -> (Object[]) Array.newInstance(arrayType.getArrayElementClass(), n));
+    private static Object[] newArray(SqlArrayType<?> arrayType, int length) {
+        return (Object[]) Array.newInstance(arrayType.getArrayElementClass(), length);
     }
 
     @Override
@@ -18,10 +18,13 @@ import java.util.function.Function;
 class SqlArrayTypeImpl<T> implements SqlArrayType<T> {
     private final String typeName;
     private final Function<T, ?> conversion;
+    private final boolean identity;
 
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     SqlArrayTypeImpl(String typeName, Function<T, ?> conversion) {
         this.typeName = typeName;
         this.conversion = conversion;
+        this.identity = conversion == Function.<T>identity();
     }
 
     @Override
@@ -33,4 +36,12 @@ class SqlArrayTypeImpl<T> implements SqlArrayType<T> {
     public Object convertArrayElement(T element) {
         return conversion.apply(element);
     }
+
+    /**
+     * Returns true if the elements are bound as is, e.g. for the types registered with
+     * {@link SqlArrayTypes#register(Class, String)}.
+     */
+    boolean isIdentity() {
+        return identity;
+    }
 }
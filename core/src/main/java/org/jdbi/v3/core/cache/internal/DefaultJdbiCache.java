@@ -61,8 +61,9 @@ final class DefaultJdbiCache<K, V> implements JdbiCache<K, V> {
     }
 
     private V doGet(final K key, final JdbiCacheLoader<K, V> loader) {
+        // the mapping function does not capture the key, so cache hits do not allocate
         var node = cache.computeIfAbsent(key, k ->
-                DoubleLinkedList.createNode(key, new CompletableFuture<>()));
+                DoubleLinkedList.createNode(k, new CompletableFuture<>()));
         if (node.value.isDone()) {
             if (!node.value.isCompletedExceptionally()) {
                 refresh(node);
@@ -77,12 +78,14 @@ final class DefaultJdbiCache<K, V> implements JdbiCache<K, V> {
         synchronized (node) {
             // Double-check in case of race
             if (!node.value.isDone()) {
+                // load first, a failing loader leaves the node incomplete and must not queue it twice on retry
+                final V value = loader == null ? null : loader.create(key);
                 if (maxSize > 0) {
                     synchronized (expungeQueue) {
                         expungeQueue.addHead(node);
                     }
                 }
-                node.value.complete(loader == null ? null : loader.create(key));
+                node.value.complete(value);
             }
             return node.value.join();
         }
@@ -127,11 +130,15 @@ final class DefaultJdbiCache<K, V> implements JdbiCache<K, V> {
         // so the stripe lock is not nested within the expunge lock.
         //
         // multithreading is hard.
+        if (maxSize <= 0) {
+            // unbounded caches never expunge, so their reads take no lock
+            return;
+        }
         final List<K> purgeList = new ArrayList<>();
 
         synchronized (expungeQueue) {
-            if (maxSize <= 0 || expungeQueue.size <= maxSize) {
-                // unbounded or not yet full
+            if (expungeQueue.size <= maxSize) {
+                // not yet full
                 return;
             }
 
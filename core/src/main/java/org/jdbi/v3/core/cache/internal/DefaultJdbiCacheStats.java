@@ -13,11 +13,13 @@
  */
 package org.jdbi.v3.core.cache.internal;
 
+import org.jdbi.v3.core.cache.JdbiCacheStats;
+
 /**
  * Simple statistics for an {@link DefaultJdbiCache} instance. The values in this object are a snapshot of
  * the cache status. Calling any method multiple times is cheap and constant time.
  */
-public final class DefaultJdbiCacheStats {
+public final class DefaultJdbiCacheStats implements JdbiCacheStats {
 
     private final int cacheSize;
     private final int maxSize;
@@ -32,6 +34,7 @@ public final class DefaultJdbiCacheStats {
      *
      * @return The current size of the cache.
      */
+    @Override
     public int cacheSize() {
         return cacheSize;
     }
@@ -41,6 +44,7 @@ public final class DefaultJdbiCacheStats {
      *
      * @return The maximum size of the cache.
      */
+    @Override
     public int maxSize() {
         return maxSize;
     }
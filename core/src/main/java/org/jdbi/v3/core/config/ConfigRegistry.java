@@ -25,6 +25,7 @@ import org.jdbi.v3.core.internal.JdbiClassUtils;
 import org.jdbi.v3.core.mapper.ColumnMappers;
 import org.jdbi.v3.core.mapper.Mappers;
 import org.jdbi.v3.core.mapper.RowMappers;
+import org.jdbi.v3.core.statement.ResultCache;
 import org.jdbi.v3.core.statement.SqlStatements;
 
 /**
@@ -51,6 +52,7 @@ public final class ConfigRegistry {
         get(ColumnMappers.class);
         get(Mappers.class);
         get(JdbiCollectors.class);
+        get(ResultCache.class);
     }
 
     private ConfigRegistry(ConfigRegistry that) {
@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.config;
+
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.config.internal.ConfigCaches;
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configuration for the caches of reflective metadata, e.g. bean properties, constructors and enum constants, and
+ * of the row and column mappers that were found for a type.
+ * <p>
+ * These caches are shared by all handles of a {@link org.jdbi.v3.core.Jdbi} instance and are unbounded by default.
+ * Applications that create types dynamically or reload class loaders can bound them with
+ * {@link #setCacheBuilder(JdbiCacheBuilder)}; evicted entries are computed again on their next use.
+ * <p>
+ * This configuration is merely a convenience class, and does not have any configuration of its own. Changes apply
+ * to the whole {@link org.jdbi.v3.core.Jdbi} instance, even if they are made on a handle or a statement.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+public final class MetadataCaches implements JdbiConfig<MetadataCaches> {
+
+    /** A maximum number of entries per cache that suits applications which bound these caches. */
+    public static final int BOUNDED_CACHE_SIZE = 10_000;
+
+    private ConfigCaches configCaches;
+
+    public MetadataCaches() {}
+
+    @Override
+    public void setRegistry(ConfigRegistry registry) {
+        this.configCaches = registry.get(ConfigCaches.class);
+    }
+
+    /**
+     * Sets the cache builder used to create the storage of every metadata cache. All cached metadata is dropped.
+     *
+     * @param cacheBuilder the cache builder
+     * @return this
+     */
+    public MetadataCaches setCacheBuilder(JdbiCacheBuilder cacheBuilder) {
+        configCaches.setCacheBuilder(requireNonNull(cacheBuilder, "cacheBuilder is null"));
+        return this;
+    }
+
+    @Override
+    public MetadataCaches createCopy() {
+        return new MetadataCaches();
+    }
+}
@@ -17,9 +17,13 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
 import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.JdbiConfig;
 import org.jdbi.v3.core.internal.exceptions.Sneaky;
@@ -29,13 +33,40 @@ import org.jdbi.v3.core.internal.exceptions.Sneaky;
  * For example, bean property accessors, or normalized enum constants.
  * Note that unlike most JdbiConfig types, this cache is Jdbi level and shared,
  * so it should not hold data that needs to respect reconfiguration.
- * Additionally, currently there is no expiration policy, as nearly all keys are
- * references to JVM constant pool entries.
+ * By default, there is no expiration policy, as nearly all keys are
+ * references to JVM constant pool entries, and cached values are read without taking a lock.
+ * Applications that create types dynamically can bound each cache with
+ * {@link org.jdbi.v3.core.config.MetadataCaches#setCacheBuilder(JdbiCacheBuilder)}; evicted values are
+ * recomputed on the next access.
  * <b>This makes it unsuitable as a general-purpose shared cache.</b>
  */
 public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
 
-    private final Map<ConfigCache<?, ?>, Map<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final Map<ConfigCache<?, ?>, Store> caches = new ConcurrentHashMap<>();
+
+    // null stores each cache in a plain concurrent map, which never takes a lock to read a cached value
+    private volatile JdbiCacheBuilder cacheBuilder;
+
+    /**
+     * Sets the cache builder used to create the storage of every declared cache. All cached values are dropped.
+     *
+     * @param cacheBuilder the cache builder, or null for unbounded caches
+     * @return this
+     */
+    public ConfigCaches setCacheBuilder(JdbiCacheBuilder cacheBuilder) {
+        this.cacheBuilder = cacheBuilder;
+        caches.clear();
+        return this;
+    }
+
+    /**
+     * Returns the cache builder used to create the storage of every declared cache.
+     *
+     * @return the cache builder, or null if the caches are unbounded
+     */
+    public JdbiCacheBuilder getCacheBuilder() {
+        return cacheBuilder;
+    }
 
     /**
      * Does not actually create a copy!!
@@ -65,10 +96,13 @@ public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
             @SuppressWarnings({"unchecked", "PMD.PreserveStackTrace"})
             @Override
             public V get(K key, ConfigRegistry config) {
-                // The per-cache map allocation below runs a trivial, non-reentrant mapping function, so
-                // holding the bin monitor for it is harmless.
-                final Map<Object, Object> cache = config.get(ConfigCaches.class).caches
-                    .computeIfAbsent(this, x -> new ConcurrentHashMap<>());
+                final ConfigCaches configCaches = config.get(ConfigCaches.class);
+                Store store = configCaches.caches.get(this);
+                if (store == null) {
+                    // The per-cache store allocation runs a trivial, non-reentrant mapping function, so
+                    // holding the bin monitor for it is harmless.
+                    store = configCaches.caches.computeIfAbsent(this, x -> configCaches.newStore());
+                }
 
                 final Object normalizedKey = keyNormalizer.apply(key);
 
@@ -80,9 +114,16 @@ public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
                 //
                 // Instead we install an incomplete entry under the key with an atomic putIfAbsent (whose
                 // bin monitor is never held across user code), then run the computer with no lock held. The
-                // thread that wins the race computes exactly once; everyone else joins its result.
-                final CacheEntry entry = new CacheEntry();
-                final CacheEntry existing = (CacheEntry) cache.putIfAbsent(normalizedKey, entry);
+                // thread that wins the race computes exactly once; everyone else joins its result. A cached
+                // value is read without allocating an entry.
+                CacheEntry existing = store.get(normalizedKey);
+                final CacheEntry entry;
+                if (existing == null) {
+                    entry = new CacheEntry();
+                    existing = store.putIfAbsent(normalizedKey, entry);
+                } else {
+                    entry = null;
+                }
                 if (existing != null) {
                     if (Thread.currentThread().equals(existing.owner) && !existing.value.isDone()) {
                         // A computer on this thread re-entered the same cache for the same key it is still
@@ -107,7 +148,7 @@ public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
                     computed = computer.apply(config, key);
                 } catch (Throwable e) {
                     // Clean up on ANY throwable, since otherwise we leave waiting threads blocked forever
-                    fail(cache, normalizedKey, entry, e);
+                    fail(store, normalizedKey, entry, e);
                     throw e;
                 }
                 if (computed == null) {
@@ -115,7 +156,7 @@ public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
                     // result. Reject null rather than cache it and risk an NPE far downstream. A computer
                     // that needs to express absence should return an Optional or a sentinel, not null.
                     final IllegalStateException e = new IllegalStateException("Cache computer returned null for key " + key);
-                    fail(cache, normalizedKey, entry, e);
+                    fail(store, normalizedKey, entry, e);
                     throw e;
                 }
                 entry.complete(computed);
@@ -124,21 +165,90 @@ public final class ConfigCaches implements JdbiConfig<ConfigCaches> {
         };
     }
 
+    private Store newStore() {
+        final JdbiCacheBuilder builder = cacheBuilder;
+        return builder == null ? new MapStore() : new JdbiCacheStore(builder.build());
+    }
+
     /**
      * Abandon a computation that did not produce a usable value: drop the entry so a later call retries
      * (we deliberately do not memoize failures), and hand the cause to any threads already joining the key.
      */
-    private static void fail(Map<Object, Object> cache, Object normalizedKey, CacheEntry entry, Throwable cause) {
-        cache.remove(normalizedKey, entry);
+    private static void fail(Store store, Object normalizedKey, CacheEntry entry, Throwable cause) {
+        store.remove(normalizedKey, entry);
         entry.completeExceptionally(cause);
     }
 
+    /**
+     * The entries of a single declared cache.
+     */
+    private interface Store {
+        CacheEntry get(Object key);
+
+        CacheEntry putIfAbsent(Object key, CacheEntry entry);
+
+        void remove(Object key, CacheEntry entry);
+    }
+
+    /**
+     * Unbounded storage, the default. Reads are lock free.
+     */
+    private static final class MapStore implements Store {
+        private final ConcurrentMap<Object, CacheEntry> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public CacheEntry get(Object key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public CacheEntry putIfAbsent(Object key, CacheEntry entry) {
+            return entries.putIfAbsent(key, entry);
+        }
+
+        @Override
+        public void remove(Object key, CacheEntry entry) {
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Storage in a cache created by the configured cache builder. Each key maps to a slot that holds the entry,
+     * so that the cache only ever runs the trivial slot loader; an evicted slot is simply recreated.
+     */
+    private static final class JdbiCacheStore implements Store {
+        private final JdbiCache<Object, AtomicReference<CacheEntry>> slots;
+
+        JdbiCacheStore(JdbiCache<Object, AtomicReference<CacheEntry>> slots) {
+            this.slots = slots;
+        }
+
+        @Override
+        public CacheEntry get(Object key) {
+            return slot(key).get();
+        }
+
+        @Override
+        public CacheEntry putIfAbsent(Object key, CacheEntry entry) {
+            return slot(key).compareAndExchange(null, entry);
+        }
+
+        @Override
+        public void remove(Object key, CacheEntry entry) {
+            slot(key).compareAndSet(entry, null);
+        }
+
+        private AtomicReference<CacheEntry> slot(Object key) {
+            return slots.getWithLoader(key, k -> new AtomicReference<>());
+        }
+    }
+
     /**
      * A cache slot. {@code value} is completed exactly once by the thread that installed the entry;
      * {@code owner} is that thread, retained only to detect a computer re-entering the cache for the key
      * it is itself computing (an unsatisfiable self-dependency we must reject rather than deadlock on).
      * The owner reference is meaningful only while the computation is in flight, so it is cleared on
-     * completion: the cache is unbounded and lives for the life of the Jdbi instance, and a retained
+     * completion: the cache may be unbounded and lives for the life of the Jdbi instance, and a retained
      * Thread would pin that thread (and its thread-locals and context classloader) from collection.
      */
     private static final class CacheEntry {
@@ -38,6 +38,14 @@ public final class ConfigCustomizerChain implements ConfigCustomizer {
         configCustomizers.add(configCustomizer);
     }
 
+    /**
+     * Returns true if the chain contains no customizers.
+     * @return true if the chain contains no customizers
+     */
+    public boolean isEmpty() {
+        return configCustomizers.isEmpty();
+    }
+
     /**
      * Applies all customizers in the chain to the given {@link ConfigRegistry} object.
      * @param config A {@link ConfigRegistry} object
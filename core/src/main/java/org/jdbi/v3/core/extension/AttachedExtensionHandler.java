@@ -40,4 +40,21 @@ public interface AttachedExtensionHandler {
      */
     @Beta
     default void warm(ConfigRegistry config) {}
+
+    /**
+     * Called by {@link org.jdbi.v3.core.Jdbi#warmUp(Class[])} to prepare everything that the first invocation of
+     * the method would otherwise do, including work that is too expensive to repeat whenever the handler is
+     * attached. The default implementation calls {@link #warm(ConfigRegistry)}.
+     * <br>
+     * A handler that is warmed up is never invoked. For extensions that are implemented by a proxy, it
+     * is attached with a {@code null} target object.
+     *
+     * @param config the method configuration to use for warming up
+     * @throws Exception if the handler is misconfigured
+     * @since 3.54.1
+     */
+    @Alpha
+    default void warmUp(ConfigRegistry config) throws Exception {
+        warm(config);
+    }
 }
@@ -135,6 +135,20 @@ public final class ExtensionMetadata {
         return new ExtensionHandlerInvoker(target, method, methodHandlers.get(method), handleSupplier, config);
     }
 
+    /**
+     * Warms up the handler for a method. If neither the extension type nor the method customize the configuration,
+     * the given configuration is used directly, so that mappers and other lookups that are resolved during warm up are
+     * cached for all handles created from it.
+     */
+    void warmUp(Object target, Method method, ConfigRegistry config) throws Exception {
+        final boolean customized = !(instanceConfigCustomizer instanceof ConfigCustomizerChain chain && chain.isEmpty())
+            || methodConfigCustomizers.containsKey(method);
+        final ConfigRegistry methodConfig = customized
+            ? createMethodConfiguration(method, createInstanceConfiguration(config))
+            : config;
+        methodHandlers.get(method).attachTo(methodConfig, target).warmUp(methodConfig);
+    }
+
     /**
      * Builder class for the {@link ExtensionMetadata} object.
      * See {@link ExtensionMetadata#builder(Class)}.
@@ -13,6 +13,10 @@
  */
 package org.jdbi.v3.core.extension;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +31,7 @@ import org.jdbi.v3.core.internal.CopyOnWriteHashMap;
 import org.jdbi.v3.meta.Alpha;
 import org.jdbi.v3.meta.Beta;
 
+import static org.jdbi.v3.core.extension.ExtensionFactory.FactoryFlag.DONT_USE_PROXY;
 import static org.jdbi.v3.core.extension.ExtensionFactory.FactoryFlag.NON_VIRTUAL_FACTORY;
 
 /**
@@ -218,6 +223,72 @@ public class Extensions implements JdbiConfig<Extensions> {
         return extensionMetadataCache.computeIfAbsent(extensionType, createMetadata(extensionFactory));
     }
 
+    /**
+     * Builds the metadata of the given extension types and warms up the handlers of all their methods, so that the
+     * first call of an extension method does not pay for it. Warming up locates the SQL of SQL Object methods,
+     * parses it where possible and resolves the mappers and argument factories for the declared return and parameter
+     * types. Lookups that are not affected by method specific configuration are cached in this configuration and
+     * shared by all handles created from it.
+     *
+     * @param handleSupplier supplies the configuration and the handle for extension factories that create a backing
+     *                       object. Warming up itself does not use the handle
+     * @param extensionTypes the extension types to warm up
+     * @return a report of the warmed extension types and methods
+     * @throws NoSuchExtensionException if no registered extension factory handles one of the types
+     * @throws UnableToCreateExtensionException if a method can not be warmed up and {@link #failFast()} is set
+     * @since 3.54.1
+     */
+    @Alpha
+    public WarmUpReport warmUp(HandleSupplier handleSupplier, Class<?>... extensionTypes) {
+        final long start = System.nanoTime();
+        final List<WarmUpReport.WarmedExtension> warmed = new ArrayList<>(extensionTypes.length);
+        for (Class<?> extensionType : extensionTypes) {
+            warmed.add(warmUp(handleSupplier, extensionType));
+        }
+        return new WarmUpReport(warmed, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private WarmUpReport.WarmedExtension warmUp(HandleSupplier handleSupplier, Class<?> extensionType) {
+        final long start = System.nanoTime();
+        final ExtensionFactoryDelegate factory = extensionFactories.stream()
+                .filter(f -> f.accepts(extensionType))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchExtensionException(extensionType));
+
+        if (factory.getFactoryFlags().contains(DONT_USE_PROXY)) {
+            // the factory manages the method invocations itself, attaching is all that can be done ahead of time
+            factory.attach(extensionType, handleSupplier);
+            return new WarmUpReport.WarmedExtension(extensionType, 0, Duration.ofNanos(System.nanoTime() - start), Map.of());
+        }
+
+        final ExtensionFactory delegatedFactory = factory.getDelegatedFactory();
+        final ExtensionMetadata metadata = findMetadata(extensionType, delegatedFactory);
+        // handlers of a proxy are not invoked while warming up, so only a backing object must be created
+        final Object target = factory.getFactoryFlags().contains(NON_VIRTUAL_FACTORY)
+                ? delegatedFactory.attach(extensionType, handleSupplier)
+                : null;
+
+        final Map<Method, Exception> failures = new LinkedHashMap<>();
+        int methodCount = 0;
+        for (Method method : metadata.getExtensionMethods()) {
+            // the handlers for Object methods and for interfaces that the factory adds to the extension need no preparation
+            if (method.getDeclaringClass() == Object.class || !method.getDeclaringClass().isAssignableFrom(extensionType)) {
+                continue;
+            }
+            methodCount++;
+            try {
+                metadata.warmUp(target, method, registry);
+            } catch (Exception e) {
+                if (failFast) {
+                    throw new UnableToCreateExtensionException(e, "While inspecting %s: %s", method, e.getMessage());
+                }
+                failures.put(method, e);
+            }
+        }
+
+        return new WarmUpReport.WarmedExtension(extensionType, methodCount, Duration.ofNanos(System.nanoTime() - start), failures);
+    }
+
     private Extensions internalRegisterHandlerFactory(ExtensionHandlerFactory extensionHandlerFactory) {
         extensionHandlerFactories.add(0, extensionHandlerFactory);
         return this;
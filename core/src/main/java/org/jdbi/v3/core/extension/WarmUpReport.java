@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.extension;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jdbi.v3.meta.Alpha;
+
+/**
+ * Describes the extension types and methods that were prepared by {@link org.jdbi.v3.core.Jdbi#warmUp(Class[])}.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+public final class WarmUpReport {
+
+    private final List<WarmedExtension> extensions;
+    private final Duration duration;
+
+    WarmUpReport(List<WarmedExtension> extensions, Duration duration) {
+        this.extensions = Collections.unmodifiableList(extensions);
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the warmed extension types in the order they were given.
+     *
+     * @return the warmed extension types
+     */
+    public List<WarmedExtension> getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * Returns the total time spent warming up.
+     *
+     * @return the total time spent warming up
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the total number of warmed methods.
+     *
+     * @return the number of warmed methods
+     */
+    public int getMethodCount() {
+        return extensions.stream().mapToInt(WarmedExtension::getMethodCount).sum();
+    }
+
+    /**
+     * Returns true if any method could not be warmed up. These methods will most likely fail when they are called.
+     *
+     * @return true if any method could not be warmed up
+     */
+    public boolean hasFailures() {
+        return extensions.stream().anyMatch(extension -> !extension.getFailures().isEmpty());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("Warmed up ")
+            .append(extensions.size()).append(" extension types with ")
+            .append(getMethodCount()).append(" methods in ")
+            .append(duration.toMillis()).append(" ms");
+        for (WarmedExtension extension : extensions) {
+            sb.append(System.lineSeparator()).append('\t').append(extension);
+            extension.getFailures().forEach((method, failure) ->
+                sb.append(System.lineSeparator()).append("\t\tfailed ").append(method.getName()).append(": ").append(failure.getMessage()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Warm up results for a single extension type.
+     */
+    public static final class WarmedExtension {
+        private final Class<?> extensionType;
+        private final int methodCount;
+        private final Duration duration;
+        private final Map<Method, Exception> failures;
+
+        WarmedExtension(Class<?> extensionType, int methodCount, Duration duration, Map<Method, Exception> failures) {
+            this.extensionType = extensionType;
+            this.methodCount = methodCount;
+            this.duration = duration;
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * Returns the extension type.
+         *
+         * @return the extension type
+         */
+        public Class<?> getExtensionType() {
+            return extensionType;
+        }
+
+        /**
+         * Returns the number of warmed methods, including the methods that failed.
+         *
+         * @return the number of warmed methods
+         */
+        public int getMethodCount() {
+            return methodCount;
+        }
+
+        /**
+         * Returns the time spent warming up this extension type.
+         *
+         * @return the time spent warming up this extension type
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * Returns the methods that could not be warmed up and the exception that was raised.
+         *
+         * @return the failed methods
+         */
+        public Map<Method, Exception> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return extensionType.getName() + ": " + methodCount + " methods in " + duration.toMillis() + " ms"
+                + (failures.isEmpty() ? "" : ", " + failures.size() + " failed");
+        }
+    }
+}
@@ -23,31 +23,50 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.antlr.v4.runtime.CharStreams;
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
 import org.jdbi.v3.core.internal.SqlScriptParser;
 import org.jdbi.v3.core.internal.exceptions.CheckedFunction;
 import org.jdbi.v3.core.internal.exceptions.Unchecked;
 import org.jdbi.v3.core.locator.internal.ClasspathBuilder;
+import org.jdbi.v3.core.locator.internal.SqlBundle;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Locates SQL in {@code .sql} files on the classpath.  Given a class and
  * method name, for example {@code com.foo.Bar#query}, load a
  * classpath resource name like {@code com/foo/Bar/query.sql}.
  * The contents are then parsed, cached, and returned for use by a statement.
+ * <p>
+ * If the classpath contains a SQL bundle written by the {@code SqlBundleGenerator} of the {@code jdbi3-generator}
+ * module, SQL is read from the bundle instead of the individual resources, with comments already removed at build
+ * time. Resources that are not in a bundle are loaded from the classpath, as are resources that the class loader finds
+ * in a different jar or directory than the bundle.
  */
 public final class ClasspathSqlLocator {
     private static final String SQL_EXTENSION = "sql";
 
-    private final Map<ClassLoader, Map<String, String>> cache =
+    private final Map<ClassLoader, JdbiCache<String, String>> cache =
             Collections.synchronizedMap(new WeakHashMap<>());
 
     private final Function<InputStream, String> parser;
+    private final BiFunction<SqlBundle, String, String> bundleReader;
+    private final JdbiCacheBuilder cacheBuilder;
+
+    private ClasspathSqlLocator(CheckedFunction<InputStream, String> parser, BiFunction<SqlBundle, String, String> bundleReader) {
+        this(Unchecked.function(parser), bundleReader, DefaultJdbiCacheBuilder.builder());
+    }
 
-    private ClasspathSqlLocator(CheckedFunction<InputStream, String> parser) {
-        this.parser = Unchecked.function(parser);
+    private ClasspathSqlLocator(Function<InputStream, String> parser, BiFunction<SqlBundle, String, String> bundleReader, JdbiCacheBuilder cacheBuilder) {
+        this.parser = parser;
+        this.bundleReader = bundleReader;
+        this.cacheBuilder = cacheBuilder;
     }
 
     /**
@@ -116,7 +135,7 @@ public final class ClasspathSqlLocator {
      */
     public static ClasspathSqlLocator removingComments() {
         final SqlScriptParser commentStripper = new SqlScriptParser((t, sb) -> sb.append(t.getText()));
-        return new ClasspathSqlLocator(r -> commentStripper.parse(CharStreams.fromStream(r)));
+        return new ClasspathSqlLocator(r -> commentStripper.parse(CharStreams.fromStream(r)), SqlBundle::getWithoutComments);
     }
 
     /**
@@ -125,7 +144,20 @@ public final class ClasspathSqlLocator {
      * @return A new ClasspathSqlLocator that returns SQL without modifying it.
      */
     public static ClasspathSqlLocator create() {
-        return new ClasspathSqlLocator(ClasspathSqlLocator::readAsString);
+        return new ClasspathSqlLocator(ClasspathSqlLocator::readAsString, SqlBundle::getRaw);
+    }
+
+    /**
+     * Return a new ClasspathSqlLocator that processes SQL like this locator and caches the resources of each
+     * class loader in a cache created by the given cache builder. The caches are held weakly by their class
+     * loader. By default, resources are cached without a size limit.
+     *
+     * @param cacheBuilder the cache builder for the resource caches
+     * @return A new ClasspathSqlLocator with an empty cache
+     * @since 3.54.1
+     */
+    public ClasspathSqlLocator withCacheBuilder(JdbiCacheBuilder cacheBuilder) {
+        return new ClasspathSqlLocator(parser, bundleReader, requireNonNull(cacheBuilder, "cacheBuilder is null"));
     }
 
     /**
@@ -187,11 +219,18 @@ public final class ClasspathSqlLocator {
      * @see ClassLoader#getResource(String)
      */
     public String getResource(ClassLoader classLoader, String path) {
-        return cache.computeIfAbsent(classLoader, x -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(path, x -> readResource(classLoader, path));
+        return cache.computeIfAbsent(classLoader, x -> cacheBuilder.build())
+                    .getWithLoader(path, x -> readResource(classLoader, path));
     }
 
     private String readResource(ClassLoader classLoader, String path) {
+        final SqlBundle bundle = SqlBundle.forClassLoader(classLoader);
+        if (bundle.provides(classLoader, path)) {
+            final String bundled = bundleReader.apply(bundle, path);
+            if (bundled != null) {
+                return bundled;
+            }
+        }
         try (InputStream is = openStream(classLoader, path)) {
             return parser.apply(is);
         } catch (IOException e) {
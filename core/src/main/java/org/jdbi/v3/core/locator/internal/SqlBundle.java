@@ -0,0 +1,283 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.locator.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.WeakHashMap;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.jdbi.v3.core.internal.SqlScriptParser;
+
+/**
+ * The precompiled SQL resources of a class loader. A bundle is a single classpath resource at {@link #RESOURCE_NAME}
+ * that holds the text of every {@code .sql} resource of a module, both as is and with comments removed. Its index is
+ * read in one pass when the class loader is first used, the SQL text is decoded when a resource is looked up.
+ * <p>
+ * Every jar or directory on the classpath can contain a bundle. If more than one bundle contains a resource, the
+ * first bundle in classpath order wins. A bundle only provides a resource that the class loader finds in the jar or
+ * directory of the bundle, or that the class loader does not find at all, so that a resource earlier on the
+ * classpath is not shadowed by a bundle later on the classpath. A bundle in a directory, e.g. the output directory
+ * of an IDE, is ignored for resources that were modified after the bundle was written.
+ */
+public final class SqlBundle {
+    public static final String RESOURCE_NAME = "META-INF/jdbi/sql.bundle";
+
+    private static final int MAGIC = 0x4A444253; // "JDBS"
+    private static final int VERSION = 1;
+    private static final int SAME_AS_RAW = -1;
+    private static final long NOT_MODIFIABLE = -1L;
+
+    private static final SqlBundle EMPTY = new SqlBundle(Collections.emptyMap());
+
+    private static final Map<ClassLoader, SqlBundle> BUNDLES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Entry> entries;
+
+    private SqlBundle(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the bundled SQL resources of the given class loader.
+     *
+     * @param classLoader the class loader
+     * @return the bundled SQL resources, empty if the class loader has no bundle
+     */
+    public static SqlBundle forClassLoader(ClassLoader classLoader) {
+        return BUNDLES.computeIfAbsent(classLoader, SqlBundle::load);
+    }
+
+    /**
+     * Returns whether this bundle provides a resource. A bundled resource is only provided if the class loader finds
+     * the resource in the jar or directory of the bundle, or does not find it at all.
+     *
+     * @param classLoader the class loader of this bundle
+     * @param path the resource path
+     * @return true if the resource should be read from this bundle
+     */
+    public boolean provides(ClassLoader classLoader, String path) {
+        final Entry entry = entries.get(path);
+        if (entry == null) {
+            return false;
+        }
+        final URL resource = classLoader.getResource(path);
+        return resource == null || resource.toString().equals(entry.base + path);
+    }
+
+    /**
+     * Returns the text of a resource as is.
+     *
+     * @param path the resource path
+     * @return the resource text, or null if no bundle contains the resource
+     */
+    public String getRaw(String path) {
+        final Entry entry = entries.get(path);
+        return entry == null || entry.isModified(path) ? null : entry.decode(entry.rawOffset, entry.rawLength);
+    }
+
+    /**
+     * Returns the text of a resource with comments removed.
+     *
+     * @param path the resource path
+     * @return the resource text without comments, or null if no bundle contains the resource
+     */
+    public String getWithoutComments(String path) {
+        final Entry entry = entries.get(path);
+        if (entry == null || entry.isModified(path)) {
+            return null;
+        }
+        return entry.strippedOffset == SAME_AS_RAW
+            ? entry.decode(entry.rawOffset, entry.rawLength)
+            : entry.decode(entry.strippedOffset, entry.strippedLength);
+    }
+
+    /**
+     * Returns the number of bundled resources.
+     *
+     * @return the number of bundled resources
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes a bundle.
+     *
+     * @param resources the text of the resources by resource path
+     * @param out the stream to write the bundle to
+     * @throws IOException if the bundle could not be written
+     */
+    public static void write(SortedMap<String, String> resources, OutputStream out) throws IOException {
+        final SqlScriptParser commentStripper = new SqlScriptParser((t, sb) -> sb.append(t.getText()));
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        final DataOutputStream index = new DataOutputStream(out);
+
+        index.writeInt(MAGIC);
+        index.writeInt(VERSION);
+        index.writeInt(resources.size());
+        for (Map.Entry<String, String> resource : resources.entrySet()) {
+            final String raw = resource.getValue();
+            final String stripped = commentStripper.parse(CharStreams.fromString(raw));
+
+            index.writeUTF(resource.getKey());
+            index.writeInt(data.size());
+            index.writeInt(writeText(data, raw));
+            if (stripped.equals(raw)) {
+                index.writeInt(SAME_AS_RAW);
+                index.writeInt(SAME_AS_RAW);
+            } else {
+                index.writeInt(data.size());
+                index.writeInt(writeText(data, stripped));
+            }
+        }
+        index.writeInt(data.size());
+        data.writeTo(index);
+        index.flush();
+    }
+
+    private static int writeText(ByteArrayOutputStream data, String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        data.write(bytes, 0, bytes.length);
+        return bytes.length;
+    }
+
+    private static SqlBundle load(ClassLoader classLoader) {
+        final Map<String, Entry> entries = new HashMap<>();
+        try {
+            final Enumeration<URL> bundles = classLoader.getResources(RESOURCE_NAME);
+            while (bundles.hasMoreElements()) {
+                read(bundles.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to find SQL bundles", e);
+        }
+        return entries.isEmpty() ? EMPTY : new SqlBundle(entries);
+    }
+
+    private static void read(URL url, Map<String, Entry> entries) {
+        final byte[] bundle;
+        try (InputStream is = url.openStream()) {
+            bundle = is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read SQL bundle at " + url, e);
+        }
+
+        final String location = url.toString();
+        final String base = location.substring(0, location.length() - RESOURCE_NAME.length());
+        final Path root = bundleRoot(url);
+        final long lastModified = lastModified(root == null ? null : root.resolve(RESOURCE_NAME));
+
+        try (DataInputStream index = new DataInputStream(new ByteArrayInputStream(bundle))) {
+            if (index.readInt() != MAGIC || index.readInt() != VERSION) {
+                throw new IllegalStateException("Unsupported SQL bundle at " + url);
+            }
+            final int count = index.readInt();
+            final String[] paths = new String[count];
+            final int[] offsets = new int[count * 4];
+            for (int i = 0; i < count; i++) {
+                paths[i] = index.readUTF();
+                for (int j = 0; j < 4; j++) {
+                    offsets[i * 4 + j] = index.readInt();
+                }
+            }
+            final int dataLength = index.readInt();
+            final int dataStart = bundle.length - index.available();
+            if (dataStart + dataLength != bundle.length) {
+                throw new IllegalStateException("Truncated SQL bundle at " + url);
+            }
+            for (int i = 0; i < count; i++) {
+                entries.putIfAbsent(paths[i], new Entry(bundle, dataStart, offsets, i * 4, base, root, lastModified));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read SQL bundle at " + url, e);
+        }
+    }
+
+    // the directory that contains the bundle, or null if the bundle is in a jar
+    private static Path bundleRoot(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            Path root = Path.of(url.toURI());
+            for (int i = RESOURCE_NAME.split("/").length; i > 0 && root != null; i--) {
+                root = root.getParent();
+            }
+            return root;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long lastModified(Path path) {
+        if (path == null) {
+            return NOT_MODIFIABLE;
+        }
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return NOT_MODIFIABLE;
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] bundle;
+        private final int rawOffset;
+        private final int rawLength;
+        private final int strippedOffset;
+        private final int strippedLength;
+        // the URL of the jar or directory that contains the bundle, with a trailing slash
+        private final String base;
+        private final Path root;
+        private final long lastModified;
+
+        // all entries of a bundle share its bytes
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Entry(byte[] bundle, int dataStart, int[] offsets, int index, String base, Path root, long lastModified) {
+            this.bundle = bundle;
+            this.rawOffset = dataStart + offsets[index];
+            this.rawLength = offsets[index + 1];
+            this.strippedOffset = offsets[index + 2] == SAME_AS_RAW ? SAME_AS_RAW : dataStart + offsets[index + 2];
+            this.strippedLength = offsets[index + 3];
+            this.base = base;
+            this.root = root;
+            this.lastModified = lastModified;
+        }
+
+        String decode(int offset, int length) {
+            return new String(bundle, offset, length, StandardCharsets.UTF_8);
+        }
+
+        boolean isModified(String path) {
+            return lastModified != NOT_MODIFIABLE && lastModified(root.resolve(path)) > lastModified;
+        }
+    }
+}
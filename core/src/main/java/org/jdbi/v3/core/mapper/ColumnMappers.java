@@ -13,9 +13,9 @@
  */
 package org.jdbi.v3.core.mapper;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
@@ -26,7 +26,6 @@ import org.jdbi.v3.core.config.JdbiConfig;
 import org.jdbi.v3.core.enums.internal.EnumMapperFactory;
 import org.jdbi.v3.core.generic.GenericType;
 import org.jdbi.v3.core.interceptor.JdbiInterceptionChainHolder;
-import org.jdbi.v3.core.internal.CopyOnWriteHashMap;
 import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.meta.Alpha;
 
@@ -38,15 +37,16 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
     private final JdbiInterceptionChainHolder<ColumnMapper<?>, QualifiedColumnMapperFactory> inferenceInterceptors;
 
     private final List<QualifiedColumnMapperFactory> factories;
-    private final Map<QualifiedType<?>, Optional<? extends ColumnMapper<?>>> cache;
+    private volatile Object mappingIdentity = new Object();
+    private volatile MapperCache<QualifiedType<?>, Optional<? extends ColumnMapper<?>>> cache;
 
-    private boolean coalesceNullPrimitivesToDefaults = true;
+    private volatile boolean coalesceNullPrimitivesToDefaults = true;
     private ConfigRegistry registry;
 
     public ColumnMappers() {
         inferenceInterceptors = new JdbiInterceptionChainHolder<>(InferredColumnMapperFactory::new);
         factories = new CopyOnWriteArrayList<>();
-        cache = new CopyOnWriteHashMap<>();
+        cache = new MapperCache<>();
         register(new SqlArrayMapperFactory());
         register(new JavaTimeMapperFactory());
         register(new SqlTimeMapperFactory());
@@ -62,7 +62,8 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
 
     private ColumnMappers(ColumnMappers that) {
         factories = new CopyOnWriteArrayList<>(that.factories);
-        cache = new CopyOnWriteHashMap<>(that.cache);
+        mappingIdentity = that.mappingIdentity;
+        cache = that.cache.copy();
         inferenceInterceptors = new JdbiInterceptionChainHolder<>(that.inferenceInterceptors);
         coalesceNullPrimitivesToDefaults = that.coalesceNullPrimitivesToDefaults;
     }
@@ -157,10 +158,24 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
      */
     public ColumnMappers register(QualifiedColumnMapperFactory factory) {
         factories.add(0, factory);
-        cache.clear();
+        cache = new MapperCache<>();
+        mappingIdentity = new Object();
         return this;
     }
 
+    /**
+     * Returns an object that identifies the column mappers of this configuration. Copies of the configuration share the
+     * identity until a mapper factory is registered on one of them, so that results which were mapped with equal
+     * identities can be shared.
+     *
+     * @return the mapping identity, compared by reference
+     * @since 3.54.1
+     */
+    @Alpha
+    public Object getMappingIdentity() {
+        return mappingIdentity;
+    }
+
     /**
      * Obtain a column mapper for the given type.
      *
@@ -207,7 +222,7 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
         // ConcurrentHashMap can enter an infinite loop on nested computeIfAbsent calls.
         // Since column mappers can decorate other column mappers, we have to populate the cache the old fashioned way.
         // See https://bugs.openjdk.java.net/browse/JDK-8062841, https://bugs.openjdk.java.net/browse/JDK-8142175
-        Optional<ColumnMapper<T>> cached = (Optional) cache.get(type);
+        Optional<ColumnMapper<T>> cached = (Optional) cache.get(type, shareableType(type));
 
         if (cached != null) {
             return cached;
@@ -218,12 +233,12 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
             ColumnMapper<T> mapper = maybeMapper.orElse(null);
             if (mapper != null) {
                 mapper.init(registry);
-                cache.put(type, maybeMapper);
+                cacheMapper(type, maybeMapper);
                 return maybeMapper;
             }
         }
 
-        cache.put(type, Optional.empty());
+        cacheMapper(type, Optional.empty());
         return Optional.empty();
     }
 
@@ -246,6 +261,21 @@ public class ColumnMappers implements JdbiConfig<ColumnMappers> {
      */
     public void setCoalesceNullPrimitivesToDefaults(boolean coalesceNullPrimitivesToDefaults) {
         this.coalesceNullPrimitivesToDefaults = coalesceNullPrimitivesToDefaults;
+        mappingIdentity = new Object();
+    }
+
+    private void cacheMapper(QualifiedType<?> type, Optional<? extends ColumnMapper<?>> mapper) {
+        cache.put(type, shareableType(type), mapper, registry);
+    }
+
+    // qualifiers are annotations, which may be loaded by a transient class loader as well
+    private static Type shareableType(QualifiedType<?> type) {
+        for (Annotation qualifier : type.getQualifiers()) {
+            if (!MapperCache.isShareable(qualifier.annotationType())) {
+                return qualifier.annotationType();
+            }
+        }
+        return type.getType();
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.mapper;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.JdbiCacheLoader;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.config.internal.ConfigCaches;
+import org.jdbi.v3.core.internal.CopyOnWriteHashMap;
+
+/**
+ * Caches the mappers found by a mapper registry.
+ * <p>
+ * The registry that registered the factories keeps its mappers in a cache created by the cache builder of the
+ * {@link org.jdbi.v3.core.config.MetadataCaches}, which all of its copies read. Only types that are loaded by the class
+ * loader of Jdbi or one of its parents are stored there, so that the cache never keeps a transient class loader alive.
+ * Copies keep the mappers that they find themselves, as these may depend on configuration that differs from the
+ * registry they were copied from.
+ */
+final class MapperCache<K, V> {
+
+    private static final ClassLoader JDBI_CLASS_LOADER = MapperCache.class.getClassLoader();
+
+    private final Map<K, V> local;
+    private final Shared<K, V> shared;
+    private final boolean owner;
+
+    MapperCache() {
+        this(new CopyOnWriteHashMap<>(), new Shared<>(), true);
+    }
+
+    private MapperCache(Map<K, V> local, Shared<K, V> shared, boolean owner) {
+        this.local = local;
+        this.shared = shared;
+        this.owner = owner;
+    }
+
+    MapperCache<K, V> copy() {
+        return new MapperCache<>(new CopyOnWriteHashMap<>(local), shared, false);
+    }
+
+    V get(K key, Type type) {
+        final V value = local.get(key);
+        if (value != null || !isShareable(type)) {
+            return value;
+        }
+        return shared.get(key);
+    }
+
+    void put(K key, Type type, V value, ConfigRegistry registry) {
+        if (owner) {
+            if (isShareable(type)) {
+                shared.put(key, value, registry.get(ConfigCaches.class).getCacheBuilder());
+            }
+        } else {
+            local.put(key, value);
+        }
+    }
+
+    static boolean isShareable(Type type) {
+        if (type instanceof Class<?> klass) {
+            return isJdbiClassLoader(klass.getClassLoader());
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                if (!isShareable(argument)) {
+                    return false;
+                }
+            }
+            return isShareable(parameterizedType.getRawType());
+        }
+        // type variables and wildcards are rare as mapped types, and not worth inspecting
+        return type instanceof GenericArrayType arrayType && isShareable(arrayType.getGenericComponentType());
+    }
+
+    private static boolean isJdbiClassLoader(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return true;
+        }
+        for (ClassLoader loader = JDBI_CLASS_LOADER; loader != null; loader = loader.getParent()) {
+            if (loader.equals(classLoader)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cache of the registry that registered the factories. It is created when the first mapper is stored, and
+     * created again if the cache builder changes.
+     */
+    private static final class Shared<K, V> {
+        private final JdbiCacheLoader<K, AtomicReference<V>> slotLoader = key -> new AtomicReference<>();
+        private volatile JdbiCacheBuilder builder;
+        private volatile JdbiCache<K, AtomicReference<V>> cache;
+
+        V get(K key) {
+            final JdbiCache<K, AtomicReference<V>> current = cache;
+            return current == null ? null : current.getWithLoader(key, slotLoader).get();
+        }
+
+        // the builder is compared by reference, a new builder replaces the cache
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        void put(K key, V value, JdbiCacheBuilder configuredBuilder) {
+            JdbiCache<K, AtomicReference<V>> current = cache;
+            if (current == null || builder != configuredBuilder) {
+                builder = configuredBuilder;
+                current = configuredBuilder == null ? DefaultJdbiCacheBuilder.builder().build() : configuredBuilder.build();
+                cache = current;
+            }
+            current.getWithLoader(key, slotLoader).set(value);
+        }
+    }
+}
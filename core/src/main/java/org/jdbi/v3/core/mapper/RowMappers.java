@@ -15,7 +15,6 @@ package org.jdbi.v3.core.mapper;
 
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -23,7 +22,6 @@ import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.JdbiConfig;
 import org.jdbi.v3.core.generic.GenericType;
 import org.jdbi.v3.core.interceptor.JdbiInterceptionChainHolder;
-import org.jdbi.v3.core.internal.CopyOnWriteHashMap;
 import org.jdbi.v3.core.mapper.reflect.internal.PojoMapperFactory;
 import org.jdbi.v3.core.statement.Query;
 import org.jdbi.v3.meta.Alpha;
@@ -36,14 +34,15 @@ public class RowMappers implements JdbiConfig<RowMappers> {
     private final JdbiInterceptionChainHolder<RowMapper<?>, RowMapperFactory> inferenceInterceptors;
 
     private final List<RowMapperFactory> factories;
-    private final Map<Type, Optional<RowMapper<?>>> cache;
+    private volatile Object mappingIdentity = new Object();
+    private volatile MapperCache<Type, Optional<RowMapper<?>>> cache;
 
     private ConfigRegistry registry;
 
     public RowMappers() {
         inferenceInterceptors = new JdbiInterceptionChainHolder<>(InferredRowMapperFactory::new);
         factories = new CopyOnWriteArrayList<>();
-        cache = new CopyOnWriteHashMap<>();
+        cache = new MapperCache<>();
         register(MapEntryMapper.factory());
         register(new PojoMapperFactory());
         register(new OptionalRowMapperFactory());
@@ -51,7 +50,8 @@ public class RowMappers implements JdbiConfig<RowMappers> {
 
     private RowMappers(RowMappers that) {
         factories = new CopyOnWriteArrayList<>(that.factories);
-        cache = new CopyOnWriteHashMap<>(that.cache);
+        mappingIdentity = that.mappingIdentity;
+        cache = that.cache.copy();
         inferenceInterceptors = new JdbiInterceptionChainHolder<>(that.inferenceInterceptors);
     }
 
@@ -121,10 +121,24 @@ public class RowMappers implements JdbiConfig<RowMappers> {
      */
     public RowMappers register(RowMapperFactory factory) {
         factories.add(0, factory);
-        cache.clear();
+        cache = new MapperCache<>();
+        mappingIdentity = new Object();
         return this;
     }
 
+    /**
+     * Returns an object that identifies the row mappers of this configuration. Copies of the configuration share the
+     * identity until a mapper factory is registered on one of them, so that results which were mapped with equal
+     * identities can be shared.
+     *
+     * @return the mapping identity, compared by reference
+     * @since 3.54.1
+     */
+    @Alpha
+    public Object getMappingIdentity() {
+        return mappingIdentity;
+    }
+
     /**
      * Obtain a row mapper for the given type in the given context.
      *
@@ -161,7 +175,7 @@ public class RowMappers implements JdbiConfig<RowMappers> {
         // ConcurrentHashMap can enter an infinite loop on nested computeIfAbsent calls.
         // Since row mappers can decorate other row mappers, we have to populate the cache the old fashioned way.
         // See https://bugs.openjdk.java.net/browse/JDK-8062841, https://bugs.openjdk.java.net/browse/JDK-8142175
-        Optional<RowMapper<?>> cached = cache.get(type);
+        Optional<RowMapper<?>> cached = cache.get(type, type);
 
         if (cached != null) {
             return cached;
@@ -172,15 +186,19 @@ public class RowMappers implements JdbiConfig<RowMappers> {
             RowMapper<?> mapper = maybeMapper.orElse(null);
             if (mapper != null) {
                 mapper.init(registry);
-                cache.put(type, maybeMapper);
+                cacheMapper(type, maybeMapper);
                 return maybeMapper;
             }
         }
 
-        cache.put(type, Optional.empty());
+        cacheMapper(type, Optional.empty());
         return Optional.empty();
     }
 
+    private void cacheMapper(Type type, Optional<RowMapper<?>> mapper) {
+        cache.put(type, type, mapper, registry);
+    }
+
     @Override
     public RowMappers createCopy() {
         return new RowMappers(this);
@@ -0,0 +1,208 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.mapper.reflect.internal;
+
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.jdbi.v3.core.generic.GenericTypes;
+import org.jdbi.v3.core.mapper.ColumnMapper;
+import org.jdbi.v3.core.mapper.NoSuchMapperException;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.reflect.ColumnNameMatcher;
+import org.jdbi.v3.core.mapper.reflect.ReflectionMappers;
+import org.jdbi.v3.core.qualifier.QualifiedType;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import static java.lang.String.format;
+
+import static org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.addPropertyNamePrefix;
+import static org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.anyColumnsStartWithPrefix;
+import static org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.findColumnIndex;
+import static org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.getColumnNames;
+
+/**
+ * Base class for row mappers that are created at build time by the Jdbi generator for types registered with
+ * {@code @RegisterConstructorMapper} or {@code @RegisterBeanMapper}.
+ * <p>
+ * Column matching follows the rules of the {@link org.jdbi.v3.core.mapper.reflect.ConstructorMapper} and
+ * {@link org.jdbi.v3.core.mapper.reflect.BeanMapper}. Columns and column mappers are resolved once per result set,
+ * creating the mapped object is plain generated code without any reflection.
+ *
+ * @param <T> the mapped type
+ */
+public abstract class GeneratedRowMapper<T> implements RowMapper<T> {
+
+    private final Type type;
+    private final String prefix;
+    private final String[] names;
+    private final Type[] types;
+    private final boolean[] required;
+    private final boolean bean;
+
+    /**
+     * Creates a new mapper.
+     *
+     * @param type     the mapped type
+     * @param prefix   the column name prefix
+     * @param names    the property or parameter names, in the order used by {@link #create(Columns, ResultSet, StatementContext)}
+     * @param types    the property or parameter types
+     * @param required Whether a matching column must be present. If no column matches, the value is {@code null}
+     * @param bean     If true, use bean mapping semantics, otherwise constructor mapping semantics
+     */
+    protected GeneratedRowMapper(Type type, String prefix, String[] names, Type[] types, boolean[] required, boolean bean) {
+        this.type = type;
+        this.prefix = prefix;
+        this.names = names.clone();
+        this.types = types.clone();
+        this.required = required.clone();
+        this.bean = bean;
+    }
+
+    /**
+     * Creates a new instance of the mapped type for the current row.
+     *
+     * @param columns The columns resolved for the current result set
+     * @param rs      The result set, positioned on the current row
+     * @param ctx     The statement context
+     * @return A new instance of the mapped type
+     * @throws SQLException If a column could not be read
+     */
+    protected abstract T create(Columns columns, ResultSet rs, StatementContext ctx) throws SQLException;
+
+    @Override
+    public T map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return specialize(rs, ctx).map(rs, ctx);
+    }
+
+    @Override
+    public RowMapper<T> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+        final ReflectionMappers reflectionMappers = ctx.getConfig(ReflectionMappers.class);
+        final List<String> columnNames = getColumnNames(rs, reflectionMappers.getCaseChange());
+        final List<ColumnNameMatcher> columnNameMatchers = reflectionMappers.getColumnNameMatchers();
+        final List<String> unmatchedColumns = new ArrayList<>(columnNames);
+        final List<String> unmatchedNames = new ArrayList<>();
+
+        final int[] indexes = new int[names.length];
+        @SuppressWarnings("unchecked")
+        final ColumnMapper<Object>[] mappers = new ColumnMapper[names.length];
+        boolean matchedColumns = false;
+
+        for (int i = 0; i < names.length; i++) {
+            final String name = addPropertyNamePrefix(prefix, names[i]);
+            final OptionalInt columnIndex = findColumnIndex(name, columnNames, columnNameMatchers, () -> debugName(name));
+
+            if (columnIndex.isPresent()) {
+                final int index = columnIndex.getAsInt();
+                indexes[i] = index + 1;
+                mappers[i] = findColumnMapper(ctx, name, i);
+                matchedColumns = true;
+                unmatchedColumns.remove(columnNames.get(index));
+            } else if (required[i]) {
+                unmatchedNames.add(name);
+            }
+        }
+
+        if (bean) {
+            if (!matchedColumns && !columnNames.isEmpty()) {
+                throw new IllegalArgumentException(format("Mapping bean %s didn't find any matching columns in result set", type));
+            }
+        } else {
+            if (!matchedColumns) {
+                return failing(format("Instance factory for '%s' could not match any parameter to any columns in the result set", type));
+            }
+            if (!unmatchedNames.isEmpty()) {
+                throw new IllegalArgumentException(format("Instance factory for '%s' parameter '%s' has no matching columns in the result set", type, unmatchedNames));
+            }
+        }
+
+        if (reflectionMappers.isStrictMatching() && anyColumnsStartWithPrefix(unmatchedColumns, prefix, columnNameMatchers)) {
+            final String message = format("Mapping %s could not match %s for columns: %s", type, bean ? "properties" : "parameters", unmatchedColumns);
+            if (bean) {
+                throw new IllegalArgumentException(message);
+            }
+            return failing(message);
+        }
+
+        final Columns columns = new Columns(indexes, mappers);
+        return (r, c) -> create(columns, r, c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ColumnMapper<Object> findColumnMapper(StatementContext ctx, String name, int i) {
+        // bean properties are always mapped as boxed values, null values are not set
+        final QualifiedType<?> qualifiedType = bean ? QualifiedType.of(GenericTypes.box(types[i])) : QualifiedType.of(types[i]);
+        return (ColumnMapper<Object>) ctx.findColumnMapperFor(qualifiedType)
+            .orElseThrow(() -> bean
+                ? new NoSuchMapperException(format("Couldn't find mapper for property '%s' of type '%s' from %s", name, qualifiedType, type))
+                : new IllegalArgumentException(format("Could not find column mapper for type '%s' of parameter '%s' for '%s'", qualifiedType, name, type)));
+    }
+
+    private String debugName(String name) {
+        return format("%s.%s", type.getTypeName(), name);
+    }
+
+    private static <T> RowMapper<T> failing(String message) {
+        return (r, c) -> {
+            throw new IllegalArgumentException(message);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return format("%s[type=%s, prefix=%s]", getClass().getSimpleName(), type.getTypeName(), prefix);
+    }
+
+    /**
+     * Holds the column positions and column mappers for a specific result set.
+     */
+    public static final class Columns {
+        private final int[] indexes;
+        private final ColumnMapper<Object>[] mappers;
+
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Columns(int[] indexes, ColumnMapper<Object>[] mappers) {
+            this.indexes = indexes;
+            this.mappers = mappers;
+        }
+
+        /**
+         * Returns the mapped value for a property or parameter.
+         *
+         * @param i   The property or parameter index
+         * @param rs  The result set, positioned on the current row
+         * @param ctx The statement context
+         * @return The mapped column value or {@code null} if no column matched
+         * @throws SQLException If the column could not be read
+         */
+        public Object get(int i, ResultSet rs, StatementContext ctx) throws SQLException {
+            final ColumnMapper<Object> mapper = mappers[i];
+            return mapper == null ? null : mapper.map(rs, indexes[i], ctx);
+        }
+
+        /**
+         * Returns true if a column in the result set matched the property or parameter.
+         *
+         * @param i The property or parameter index
+         * @return True if a column was matched
+         */
+        public boolean isPresent(int i) {
+            return mappers[i] != null;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.result.internal.ListResultIterator;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResultIterable} that loads parent rows with one query and their related rows with one additional query per
+ * relation, instead of joining the related tables into the parent query. A join repeats the parent columns for every
+ * related row; a separate query per relation transfers and maps every row only once.
+ * <pre>{@code
+ * List<Order> orders = BatchFetch.builder(
+ *         handle.createQuery("SELECT * FROM orders WHERE customer_id = :id").bind("id", customerId).mapTo(Order.class),
+ *         Order::getId)
+ *     .withRelation("SELECT * FROM order_items WHERE order_id IN (<keys>)",
+ *         "order_id", Long.class, OrderItem.class, Order::addItem)
+ *     .build(handle)
+ *     .list();
+ * }</pre>
+ * <p>
+ * The parent rows are read completely before any relation is loaded. The keys of the parents are then bound in
+ * batches to the {@link #KEYS_ATTRIBUTE} attribute of every relation query with
+ * {@link org.jdbi.v3.core.statement.SqlStatement#bindBucketedList(String, Iterable)}, so that all batches share a
+ * small number of statement shapes. The relation queries run on the handle given to {@link Builder#build(Handle)},
+ * which is usually the handle of the parent query.
+ *
+ * @param <P> the parent type
+ * @param <K> the parent key type
+ * @since 3.54.1
+ */
+@Alpha
+public final class BatchFetch<P, K> implements ResultIterable<P> {
+
+    /** Default number of parent keys bound to a relation query. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Name of the attribute that receives the parent keys in a relation query. */
+    public static final String KEYS_ATTRIBUTE = "keys";
+
+    private final ResultIterable<P> parents;
+    private final Function<? super P, ? extends K> keyExtractor;
+    private final int batchSize;
+    private final List<Relation<P, K>> relations;
+    private final Handle handle;
+
+    private BatchFetch(Builder<P, K> builder, Handle handle) {
+        this.parents = builder.parents;
+        this.keyExtractor = builder.keyExtractor;
+        this.batchSize = builder.batchSize;
+        this.relations = List.copyOf(builder.relations);
+        this.handle = handle;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param parents      the parent rows
+     * @param keyExtractor returns the key of a parent row. Keys must be unique
+     * @param <P>          the parent type
+     * @param <K>          the parent key type
+     * @return a new builder
+     */
+    public static <P, K> Builder<P, K> builder(ResultIterable<P> parents, Function<? super P, ? extends K> keyExtractor) {
+        return new Builder<>(parents, keyExtractor);
+    }
+
+    @Override
+    public ResultIterator<P> iterator() {
+        final List<P> rows = new ArrayList<>();
+        final StatementContext context;
+        try (ResultIterator<P> iterator = parents.iterator()) {
+            iterator.forEachRemaining(rows::add);
+            context = iterator.getContext();
+        }
+
+        if (!rows.isEmpty() && !relations.isEmpty()) {
+            fetchRelations(rows);
+        }
+
+        return new ListResultIterator<>(rows, context);
+    }
+
+    private void fetchRelations(List<P> rows) {
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            final List<P> batch = rows.subList(start, Math.min(rows.size(), start + batchSize));
+            final Map<K, P> parentsByKey = new LinkedHashMap<>(batch.size() * 2);
+            for (P parent : batch) {
+                final K key = keyExtractor.apply(parent);
+                if (parentsByKey.putIfAbsent(key, parent) != null) {
+                    throw new IllegalStateException("Duplicate parent key " + key);
+                }
+            }
+
+            final Map<K, P> view = Collections.unmodifiableMap(parentsByKey);
+            for (Relation<P, K> relation : relations) {
+                handle.createQuery(relation.sql)
+                    .bindBucketedList(KEYS_ATTRIBUTE, parentsByKey.keySet())
+                    .reduceRows((Void) null, (unused, rowView) -> {
+                        relation.accumulator.accumulate(view, rowView);
+                        return null;
+                    });
+            }
+        }
+    }
+
+    /**
+     * Stitches the rows of a relation query into the parent rows.
+     *
+     * @param <P> the parent type
+     * @param <K> the parent key type
+     */
+    @FunctionalInterface
+    public interface RelationAccumulator<P, K> {
+        /**
+         * Accumulates a single row of a relation query.
+         *
+         * @param parentsByKey the parent rows of the current batch, by key
+         * @param rowView      the current row of the relation query
+         */
+        void accumulate(Map<K, P> parentsByKey, RowView rowView);
+    }
+
+    /**
+     * Builder for {@link BatchFetch} instances.
+     *
+     * @param <P> the parent type
+     * @param <K> the parent key type
+     */
+    public static final class Builder<P, K> {
+        private final ResultIterable<P> parents;
+        private final Function<? super P, ? extends K> keyExtractor;
+        private final List<Relation<P, K>> relations = new ArrayList<>();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder(ResultIterable<P> parents, Function<? super P, ? extends K> keyExtractor) {
+            this.parents = requireNonNull(parents, "parents is null");
+            this.keyExtractor = requireNonNull(keyExtractor, "keyExtractor is null");
+        }
+
+        /**
+         * Sets the maximum number of parent keys that are bound to a single relation query.
+         *
+         * @param batchSize the batch size, must be positive
+         * @return this builder
+         */
+        public Builder<P, K> withBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive, got " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Adds a relation query. The query must use the {@code <keys>} attribute to select the rows for the
+         * parent keys of a batch, e.g. {@code WHERE parent_id IN (<keys>)}.
+         *
+         * @param sql         the relation query
+         * @param accumulator stitches every row of the relation query into the parent rows
+         * @return this builder
+         */
+        public Builder<P, K> withRelation(String sql, RelationAccumulator<P, K> accumulator) {
+            relations.add(new Relation<>(requireNonNull(sql, "sql is null"), requireNonNull(accumulator, "accumulator is null")));
+            return this;
+        }
+
+        /**
+         * Adds a relation query that maps every row to a child object and attaches it to the parent row
+         * with the key in the given column.
+         *
+         * @param sql       the relation query
+         * @param keyColumn the column of the relation query that contains the parent key
+         * @param keyType   the parent key type
+         * @param childType the child type
+         * @param attach    attaches a child to its parent
+         * @param <C>       the child type
+         * @return this builder
+         */
+        public <C> Builder<P, K> withRelation(String sql, String keyColumn, Class<K> keyType, Class<C> childType, BiConsumer<? super P, ? super C> attach) {
+            requireNonNull(keyColumn, "keyColumn is null");
+            requireNonNull(keyType, "keyType is null");
+            requireNonNull(childType, "childType is null");
+            requireNonNull(attach, "attach is null");
+            return withRelation(sql, (parentsByKey, rowView) -> {
+                final P parent = parentsByKey.get(rowView.getColumn(keyColumn, keyType));
+                if (parent != null) {
+                    attach.accept(parent, rowView.getRow(childType));
+                }
+            });
+        }
+
+        /**
+         * Creates the {@link BatchFetch}. The queries are executed when the result is iterated.
+         *
+         * @param handle the handle to run the relation queries on
+         * @return a new {@link BatchFetch}
+         */
+        public BatchFetch<P, K> build(Handle handle) {
+            return new BatchFetch<>(this, requireNonNull(handle, "handle is null"));
+        }
+    }
+
+    private static final class Relation<P, K> {
+        private final String sql;
+        private final RelationAccumulator<P, K> accumulator;
+
+        private Relation(String sql, RelationAccumulator<P, K> accumulator) {
+            this.sql = sql;
+            this.accumulator = accumulator;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Reads a single, typed column from the current row of a {@link RowView}. The column index and the column
+ * mapper are resolved once when the accessor is created, so reading a value does not look up the column label
+ * or the mapper again.
+ * <p>
+ * An accessor is only valid for the {@link RowView} that created it. Reducers see the same {@link RowView}
+ * instance for all rows of a result set and can create their accessors on the first row.
+ *
+ * @param <T> the column type
+ * @see RowView#accessor(String, org.jdbi.v3.core.qualifier.QualifiedType)
+ * @since 3.54.1
+ */
+@Beta
+@FunctionalInterface
+public interface ColumnAccessor<T> {
+    /**
+     * Returns the value of the column in the current row.
+     *
+     * @return the mapped column value
+     */
+    T get();
+}
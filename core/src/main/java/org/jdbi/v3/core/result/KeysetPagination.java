@@ -0,0 +1,494 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.StatementCustomizer;
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResultIterable} that scans large results using keyset pagination. Every page is fetched with a new,
+ * short-lived statement that continues after the key of the last row of the previous page, so no cursor is held
+ * open while the results are consumed.
+ * <pre>{@code
+ * ResultIterable<Thing> things = KeysetPagination.<Thing, Long>builder(
+ *         (handle, lastId, pageSize) -> handle.createQuery("SELECT * FROM thing WHERE id > :lastId ORDER BY id LIMIT :pageSize")
+ *             .bind("lastId", lastId == null ? 0L : lastId)
+ *             .bind("pageSize", pageSize)
+ *             .mapTo(Thing.class),
+ *         Thing::getId)
+ *     .withPageSize(1000)
+ *     .build(jdbi);
+ * }</pre>
+ * <p>
+ * The page query must return the rows ordered by the key and must not return more than the requested number of rows.
+ * A page with less rows than the page size ends the scan.
+ * <p>
+ * When created from a {@link Jdbi} instance, pages can be prefetched on a separate thread and a separate handle
+ * while the current page is consumed.
+ *
+ * @param <T> the row type
+ * @param <K> the key type
+ * @since 3.54.1
+ */
+@Alpha
+public final class KeysetPagination<T, K> implements ResultIterable<T> {
+
+    /** Default number of rows per page. */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final PageQuery<T, K> pageQuery;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final Executor executor;
+    private final boolean reuseHandle;
+    private final Jdbi jdbi;
+    private final Handle handle;
+
+    private KeysetPagination(Builder<T, K> builder, Jdbi jdbi, Handle handle) {
+        this.pageQuery = builder.pageQuery;
+        this.keyExtractor = builder.keyExtractor;
+        this.pageSize = builder.pageSize;
+        this.prefetchDepth = builder.prefetchDepth;
+        this.executor = builder.executor;
+        this.reuseHandle = builder.reuseHandle;
+        this.jdbi = jdbi;
+        this.handle = handle;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param pageQuery    creates the query for a page
+     * @param keyExtractor returns the key of a row. The page query must order the rows by this key
+     * @param <T>          the row type
+     * @param <K>          the key type
+     * @return a new builder
+     */
+    public static <T, K> Builder<T, K> builder(PageQuery<T, K> pageQuery, Function<? super T, ? extends K> keyExtractor) {
+        return new Builder<>(pageQuery, keyExtractor);
+    }
+
+    @Override
+    public ResultIterator<T> iterator() {
+        final PageSource<T> source = prefetchDepth > 0 ? new PrefetchingPageSource() : new DirectPageSource();
+        return new PageIterator<>(source);
+    }
+
+    private Page<T> fetchPage(Handle pageHandle, K lastKey) {
+        try (ResultIterator<T> rows = pageQuery.createPage(pageHandle, lastKey, pageSize).iterator()) {
+            final List<T> list = new ArrayList<>(pageSize);
+            while (rows.hasNext()) {
+                list.add(rows.next());
+            }
+            return new Page<>(list, rows.getContext(), list.size() < pageSize);
+        }
+    }
+
+    private K lastKey(Page<T> page) {
+        return page.rows.isEmpty() ? null : keyExtractor.apply(page.rows.get(page.rows.size() - 1));
+    }
+
+    /**
+     * Creates the query for a single page.
+     *
+     * @param <T> the row type
+     * @param <K> the key type
+     */
+    @FunctionalInterface
+    public interface PageQuery<T, K> {
+        /**
+         * Creates the result for a page of rows.
+         *
+         * @param handle   the handle to use for the query
+         * @param lastKey  the key of the last row of the previous page, or {@code null} for the first page
+         * @param pageSize the maximum number of rows to return
+         * @return the rows of the page, ordered by their key
+         */
+        ResultIterable<T> createPage(Handle handle, K lastKey, int pageSize);
+    }
+
+    /**
+     * Builder for {@link KeysetPagination}.
+     *
+     * @param <T> the row type
+     * @param <K> the key type
+     */
+    public static final class Builder<T, K> {
+        private final PageQuery<T, K> pageQuery;
+        private final Function<? super T, ? extends K> keyExtractor;
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        private int prefetchDepth;
+        private Executor executor;
+        private boolean reuseHandle = true;
+
+        private Builder(PageQuery<T, K> pageQuery, Function<? super T, ? extends K> keyExtractor) {
+            this.pageQuery = requireNonNull(pageQuery, "pageQuery is null");
+            this.keyExtractor = requireNonNull(keyExtractor, "keyExtractor is null");
+        }
+
+        /**
+         * Sets the maximum number of rows per page. The default is {@link #DEFAULT_PAGE_SIZE}.
+         *
+         * @param pageSize the page size
+         * @return this builder
+         */
+        public Builder<T, K> withPageSize(int pageSize) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("page size must be positive, got " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Fetches up to {@code depth} pages ahead on the given executor while the current page is consumed.
+         * Prefetching requires a {@link Jdbi} instance as the executor thread uses its own handle.
+         * A depth of 0 (the default) disables prefetching.
+         *
+         * @param depth    the number of pages to fetch ahead
+         * @param executor the executor that fetches the pages
+         * @return this builder
+         */
+        public Builder<T, K> withPrefetch(int depth, Executor executor) {
+            if (depth < 0) {
+                throw new IllegalArgumentException("prefetch depth must not be negative, got " + depth);
+            }
+            this.prefetchDepth = depth;
+            this.executor = depth > 0 ? requireNonNull(executor, "executor is null") : null;
+            return this;
+        }
+
+        /**
+         * If true (the default), all pages of a scan are fetched using the same handle. Otherwise, a new handle
+         * is opened for every page, so no connection is held between pages. Only used when building from a {@link Jdbi} instance.
+         *
+         * @param reuseHandle whether to reuse a handle for all pages
+         * @return this builder
+         */
+        public Builder<T, K> withHandleReuse(boolean reuseHandle) {
+            this.reuseHandle = reuseHandle;
+            return this;
+        }
+
+        /**
+         * Builds a {@link KeysetPagination} that fetches pages with handles from the given {@link Jdbi} instance.
+         *
+         * @param jdbi the Jdbi instance
+         * @return a new {@link KeysetPagination}
+         */
+        public KeysetPagination<T, K> build(Jdbi jdbi) {
+            return new KeysetPagination<>(this, requireNonNull(jdbi, "jdbi is null"), null);
+        }
+
+        /**
+         * Builds a {@link KeysetPagination} that fetches all pages with the given handle. Prefetching is not supported.
+         *
+         * @param handle the handle
+         * @return a new {@link KeysetPagination}
+         */
+        public KeysetPagination<T, K> build(Handle handle) {
+            if (prefetchDepth > 0) {
+                throw new IllegalStateException("prefetching requires a Jdbi instance, it can not share a handle");
+            }
+            return new KeysetPagination<>(this, null, requireNonNull(handle, "handle is null"));
+        }
+    }
+
+    private static final class Page<T> {
+        private final List<T> rows;
+        private final StatementContext context;
+        private final boolean last;
+
+        Page(List<T> rows, StatementContext context, boolean last) {
+            this.rows = rows;
+            this.context = context;
+            this.last = last;
+        }
+    }
+
+    private interface PageSource<T> {
+        /** Returns the next page or null if there are no more pages. */
+        Page<T> next();
+
+        void close();
+    }
+
+    /**
+     * Fetches pages on the consuming thread.
+     */
+    private final class DirectPageSource implements PageSource<T> {
+        private final StatementCustomizer customizer;
+        private Handle ownHandle;
+        private K lastKey;
+        private boolean done;
+
+        DirectPageSource() {
+            this(null);
+        }
+
+        DirectPageSource(StatementCustomizer customizer) {
+            this.customizer = customizer;
+        }
+
+        @Override
+        public Page<T> next() {
+            if (done) {
+                return null;
+            }
+            final Page<T> page;
+            if (handle == null) {
+                page = reuseHandle ? fetchPage(ownHandle(), lastKey) : jdbi.withHandle(h -> fetchPage(customize(h), lastKey));
+            } else {
+                page = fetchPage(handle, lastKey);
+            }
+            lastKey = lastKey(page);
+            if (page.last) {
+                close();
+            }
+            return page;
+        }
+
+        private Handle ownHandle() {
+            if (ownHandle == null) {
+                ownHandle = customize(jdbi.open());
+            }
+            return ownHandle;
+        }
+
+        private Handle customize(Handle pageHandle) {
+            return customizer == null ? pageHandle : pageHandle.addCustomizer(customizer);
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            if (ownHandle != null) {
+                ownHandle.close();
+                ownHandle = null;
+            }
+        }
+    }
+
+    /**
+     * Fetches pages ahead on an executor thread.
+     */
+    private final class PrefetchingPageSource implements PageSource<T>, StatementCustomizer {
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int CLOSED = 2;
+
+        private final BlockingQueue<Object> pages = new ArrayBlockingQueue<>(prefetchDepth);
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final Object lock = new Object();
+        private int state = NEW;
+        // the statement of the page that the producer currently fetches
+        private volatile Statement statement;
+        private volatile boolean closed;
+        private volatile boolean done;
+
+        PrefetchingPageSource() {
+            executor.execute(this::produce);
+        }
+
+        private void produce() {
+            synchronized (lock) {
+                if (state != NEW) {
+                    return;
+                }
+                state = RUNNING;
+            }
+
+            final DirectPageSource source = new DirectPageSource(this);
+            Object failure = null;
+            try {
+                Page<T> page;
+                do {
+                    page = source.next();
+                } while (publish(page) && !page.last);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                statement = null;
+                // release the handle before the consumer sees the failure
+                source.close();
+            }
+
+            try {
+                if (failure != null) {
+                    publish(failure);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private boolean publish(Object item) throws InterruptedException {
+            while (!pages.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    return false;
+                }
+            }
+            return !closed;
+        }
+
+        @Override
+        public void beforeExecution(PreparedStatement stmt, StatementContext ctx) throws SQLException {
+            statement = stmt;
+            if (closed) {
+                stmt.cancel();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Page<T> next() {
+            if (done) {
+                return null;
+            }
+            final Object next;
+            try {
+                next = pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new UnableToProduceResultException(e);
+            }
+            if (next instanceof RuntimeException) {
+                close();
+                throw (RuntimeException) next;
+            }
+            if (next instanceof Error) {
+                close();
+                throw (Error) next;
+            }
+            final Page<T> page = (Page<T>) next;
+            if (page.last) {
+                done = true;
+            }
+            return page;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            closed = true;
+            final int previous;
+            synchronized (lock) {
+                previous = state;
+                state = CLOSED;
+            }
+            if (previous == RUNNING) {
+                // interrupting the producer could close the connection inside of the driver, so its statement is
+                // cancelled instead
+                cancel(statement);
+
+                // wait until the producer has released its handle
+                boolean interrupted = false;
+                while (finished.getCount() > 0) {
+                    try {
+                        finished.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void cancel(Statement stmt) {
+            if (stmt == null) {
+                return;
+            }
+            try {
+                stmt.cancel();
+            } catch (SQLException ignored) {
+                // the statement has completed or was closed in the meantime
+            }
+        }
+    }
+
+    private static final class PageIterator<T> implements ResultIterator<T> {
+        private final PageSource<T> source;
+        private Iterator<T> rows = Collections.emptyIterator();
+        private StatementContext context;
+        private boolean closed;
+
+        PageIterator(PageSource<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!closed && !rows.hasNext()) {
+                final Page<T> page = source.next();
+                if (page == null) {
+                    close();
+                } else {
+                    rows = page.rows.iterator();
+                    context = page.context;
+                }
+            }
+            return !closed;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more results");
+            }
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                rows = Collections.emptyIterator();
+                source.close();
+            }
+        }
+
+        @Override
+        public StatementContext getContext() {
+            return context;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maps the rows of a result on an {@link Executor} instead of the thread that consumes the result. Use this for row
+ * mappers that do expensive work per row, e.g. decoding JSON columns or constructing deep object graphs:
+ * <pre>{@code
+ * try (Stream<Document> documents = handle.createQuery("SELECT * FROM documents")
+ *         .mapTo(Document.class)
+ *         .withParallelMapping(ParallelMapping.commonPool())
+ *         .stream()) {
+ *     documents.forEach(exporter::write);
+ * }
+ * }</pre>
+ * <p>
+ * The consuming thread reads the raw column values of {@link #getBatchSize()} rows at a time from the result set and
+ * submits the batch to the executor, which runs the row mapper on a buffered copy of the rows. At most
+ * {@link #getMaxPendingRows()} rows are read ahead of the consumer. Results are returned in the order of the rows,
+ * unless ordering is turned off with {@link #withOrdered(boolean)}; an unordered result returns every batch as soon
+ * as it is mapped.
+ * <p>
+ * Row mappers run concurrently and must be thread safe. The first row is mapped on the consuming thread against the
+ * live result set to learn which typed getters the row mapper calls. For every following row, the consuming thread
+ * calls the same getters of the driver and the row mapper sees a read-only copy of the row that returns these values.
+ * A typed getter that the row mapper did not call on an earlier row converts the value returned by
+ * {@link java.sql.ResultSet#getObject(int)} for the rows that were already read. Large objects are read into memory:
+ * {@link java.sql.Clob} and {@link java.sql.SQLXML} values become strings, {@link java.sql.Blob} values become byte
+ * arrays.
+ * <p>
+ * Row mappers get a {@link org.jdbi.v3.core.statement.StatementContext#readOnlyCopy() read-only copy} of the statement
+ * context for each batch, which has no statement or connection and can not register cleanables.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @see ResultIterable#withParallelMapping(ParallelMapping)
+ * @since 3.54.1
+ */
+@Alpha
+public final class ParallelMapping {
+
+    /** The default number of rows mapped by a single task. */
+    public static final int DEFAULT_BATCH_SIZE = 128;
+
+    /** The default maximum number of rows that are read ahead of the consumer. */
+    public static final int DEFAULT_MAX_PENDING_ROWS = 4_096;
+
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxPendingRows;
+    private final boolean ordered;
+
+    private ParallelMapping(Executor executor, int batchSize, int maxPendingRows, boolean ordered) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxPendingRows = maxPendingRows;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Returns a parallel mapping that maps rows on the given executor, e.g. an executor that starts a virtual
+     * thread per task.
+     *
+     * @param executor the executor that runs the row mappers
+     * @return a parallel mapping
+     */
+    public static ParallelMapping using(Executor executor) {
+        return new ParallelMapping(requireNonNull(executor, "executor is null"), DEFAULT_BATCH_SIZE, DEFAULT_MAX_PENDING_ROWS, true);
+    }
+
+    /**
+     * Returns a parallel mapping that maps rows on the {@link ForkJoinPool#commonPool() common fork join pool}.
+     *
+     * @return a parallel mapping
+     */
+    public static ParallelMapping commonPool() {
+        return using(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a copy of this parallel mapping that maps the given number of rows in a single task. Larger batches
+     * lower the scheduling overhead, smaller batches spread short results over more threads.
+     *
+     * @param batchSize the number of rows mapped by a single task, must be positive
+     * @return a parallel mapping
+     */
+    public ParallelMapping withBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive, got " + batchSize);
+        }
+        return new ParallelMapping(executor, batchSize, maxPendingRows, ordered);
+    }
+
+    /**
+     * Returns a copy of this parallel mapping that reads at most the given number of rows ahead of the consumer.
+     * At least one batch is always read, even if it is larger than this limit.
+     *
+     * @param maxPendingRows the maximum number of rows that are read but not yet consumed, must be positive
+     * @return a parallel mapping
+     */
+    public ParallelMapping withMaxPendingRows(int maxPendingRows) {
+        if (maxPendingRows <= 0) {
+            throw new IllegalArgumentException("maxPendingRows must be positive, got " + maxPendingRows);
+        }
+        return new ParallelMapping(executor, batchSize, maxPendingRows, ordered);
+    }
+
+    /**
+     * Returns a copy of this parallel mapping that either preserves the order of the rows or returns every batch of
+     * results as soon as it is mapped.
+     *
+     * @param ordered true to return results in the order of the rows
+     * @return a parallel mapping
+     */
+    public ParallelMapping withOrdered(boolean ordered) {
+        return new ParallelMapping(executor, batchSize, maxPendingRows, ordered);
+    }
+
+    /**
+     * Returns the executor that runs the row mappers.
+     *
+     * @return the executor
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the number of rows mapped by a single task.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the maximum number of rows that are read ahead of the consumer.
+     *
+     * @return the maximum number of pending rows
+     */
+    public int getMaxPendingRows() {
+        return maxPendingRows;
+    }
+
+    /**
+     * Returns true if results are returned in the order of the rows.
+     *
+     * @return true if the order of the rows is preserved
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelMapping[executor=" + executor + ", batchSize=" + batchSize + ", maxPendingRows=" + maxPendingRows + ", ordered=" + ordered + "]";
+    }
+}
@@ -81,6 +81,25 @@ public interface ResultIterable<T> extends Iterable<T> {
     @Override
     ResultIterator<T> iterator();
 
+    /**
+     * Returns a ResultIterable that maps the rows of the result set on the executor of the given
+     * {@link ParallelMapping}, while the consuming thread reads the rows. Use this for row mappers that do expensive
+     * work per row; the mappers must be thread safe.
+     * <p>
+     * Only iterables that map a result set directly, e.g. those returned by
+     * {@link ResultBearing#mapTo(Class)} or {@link ResultBearing#map(RowMapper)}, support parallel mapping. All
+     * other iterables, including those returned by {@link #map(Function)} or {@link #filter(Predicate)}, return
+     * themselves and map their rows on the consuming thread.
+     *
+     * @param parallelMapping how to map the rows in parallel, or null to map them on the consuming thread
+     * @return a ResultIterable that maps its rows in parallel
+     * @since 3.54.1
+     */
+    @Alpha
+    default ResultIterable<T> withParallelMapping(ParallelMapping parallelMapping) {
+        return this;
+    }
+
     /**
      * Passes the iterator of results to the consumer. Database resources owned by the query are
      * released before this method returns.
@@ -17,6 +17,7 @@ import java.lang.reflect.Type;
 
 import org.jdbi.v3.core.generic.GenericType;
 import org.jdbi.v3.core.qualifier.QualifiedType;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * A RowView is an accessor for {@code ResultSet} that uses
@@ -136,4 +137,66 @@ public abstract class RowView {
     public Object getColumn(int column, Type type) {
         return getColumn(column, QualifiedType.of(type));
     }
+
+    /**
+     * Returns an accessor for a column that can be used for every row of this RowView.
+     * The column index and the column mapper are resolved only once.
+     * <pre>{@code
+     * handle.createQuery("SELECT id, name FROM users")
+     *     .reduceRows(new LinkedHashMapRowReducer<Long, User>() {
+     *         private RowView view;
+     *         private ColumnAccessor<Long> id;
+     *         private ColumnAccessor<String> name;
+     *
+     *         public void accumulate(Map<Long, User> map, RowView rowView) {
+     *             if (rowView != view) {
+     *                 view = rowView;
+     *                 id = rowView.accessor("id", Long.class);
+     *                 name = rowView.accessor("name", String.class);
+     *             }
+     *             map.computeIfAbsent(id.get(), User::new).addName(name.get());
+     *         }
+     *     });
+     * }</pre>
+     *
+     * @param <T> the type to map
+     * @param column the column name
+     * @param type the Class of the type
+     * @return an accessor for the column
+     * @since 3.54.1
+     */
+    @Beta
+    public <T> ColumnAccessor<T> accessor(String column, Class<T> type) {
+        return accessor(column, QualifiedType.of(type));
+    }
+
+    /**
+     * Returns an accessor for a column that can be used for every row of this RowView.
+     * The column index and the column mapper are resolved only once.
+     *
+     * @param <T> the type to map
+     * @param column the column name
+     * @param type the QualifiedType of the type
+     * @return an accessor for the column
+     * @since 3.54.1
+     */
+    @Beta
+    public <T> ColumnAccessor<T> accessor(String column, QualifiedType<T> type) {
+        return () -> getColumn(column, type);
+    }
+
+    /**
+     * Returns an accessor for a column that can be used for every row of this RowView.
+     * The column mapper is resolved only once.
+     *
+     * @param <T> the type to map
+     * @param column the column index
+     * @param type the QualifiedType of the type
+     * @return an accessor for the column
+     * @since 3.54.1
+     */
+    @Beta
+    public <T> ColumnAccessor<T> accessor(int column, QualifiedType<T> type) {
+        return () -> getColumn(column, type);
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+
+/**
+ * A copy of a SQL array that stays readable after the result set that it was read from is closed.
+ */
+final class BufferedArray implements Array {
+
+    private final int baseType;
+    private final String baseTypeName;
+    private final Object elements;
+
+    private BufferedArray(int baseType, String baseTypeName, Object elements) {
+        this.baseType = baseType;
+        this.baseTypeName = baseTypeName;
+        this.elements = elements;
+    }
+
+    static BufferedArray copyOf(Array array) throws SQLException {
+        try {
+            return new BufferedArray(array.getBaseType(), array.getBaseTypeName(), array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public String getBaseTypeName() {
+        return baseTypeName;
+    }
+
+    @Override
+    public int getBaseType() {
+        return baseType;
+    }
+
+    @Override
+    public Object getArray() {
+        return elements;
+    }
+
+    @Override
+    public Object getArray(Map<String, Class<?>> map) {
+        return elements;
+    }
+
+    @Override
+    public Object getArray(long index, int count) throws SQLException {
+        final int length = java.lang.reflect.Array.getLength(elements);
+        if (index < 1 || count < 0 || index - 1 + count > length) {
+            throw new SQLException("Invalid array range " + index + "+" + count + " for " + length + " elements");
+        }
+        final Object slice = java.lang.reflect.Array.newInstance(elements.getClass().getComponentType(), count);
+        System.arraycopy(elements, (int) index - 1, slice, 0, count);
+        return slice;
+    }
+
+    @Override
+    public Object getArray(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        return getArray(index, count);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        throw new SQLFeatureNotSupportedException("A buffered array can not be read as a result set");
+    }
+
+    @Override
+    public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        return getResultSet();
+    }
+
+    @Override
+    public void free() {}
+}
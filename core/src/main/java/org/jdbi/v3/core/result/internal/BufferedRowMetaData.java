@@ -0,0 +1,211 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * A copy of the metadata of a result set, shared by the {@link BufferedRowResultSet buffered rows} of the result.
+ */
+final class BufferedRowMetaData implements ResultSetMetaData {
+
+    private final Column[] columns;
+
+    private BufferedRowMetaData(Column[] columns) {
+        this.columns = columns;
+    }
+
+    static BufferedRowMetaData copyOf(ResultSetMetaData metaData) throws SQLException {
+        final Column[] columns = new Column[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            final int column = i + 1;
+            columns[i] = new Column(
+                metaData.getColumnLabel(column),
+                metaData.getColumnName(column),
+                metaData.getColumnType(column),
+                metaData.getColumnTypeName(column),
+                metaData.getColumnClassName(column),
+                metaData.getPrecision(column),
+                metaData.getScale(column),
+                metaData.getColumnDisplaySize(column),
+                metaData.isNullable(column),
+                metaData.isSigned(column),
+                metaData.isAutoIncrement(column),
+                metaData.isCaseSensitive(column),
+                metaData.isSearchable(column),
+                metaData.isCurrency(column),
+                metaData.getSchemaName(column),
+                metaData.getTableName(column),
+                metaData.getCatalogName(column));
+        }
+        return new BufferedRowMetaData(columns);
+    }
+
+    int findColumn(String columnLabel) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].label().equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column '" + columnLabel + "' not found");
+    }
+
+    private Column column(int column) throws SQLException {
+        if (column < 1 || column > columns.length) {
+            throw new SQLException("Invalid column index " + column);
+        }
+        return columns[column - 1];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        return column(column).autoIncrement();
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        return column(column).caseSensitive();
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        return column(column).searchable();
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        return column(column).currency();
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        return column(column).nullable();
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        return column(column).signed();
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        return column(column).displaySize();
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return column(column).label();
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        return column(column).name();
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        return column(column).schemaName();
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        return column(column).precision();
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        return column(column).scale();
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        return column(column).tableName();
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        return column(column).catalogName();
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return column(column).type();
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        return column(column).typeName();
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        column(column);
+        return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        column(column);
+        return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        column(column);
+        return false;
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        return column(column).className();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private record Column(
+        String label,
+        String name,
+        int type,
+        String typeName,
+        String className,
+        int precision,
+        int scale,
+        int displaySize,
+        int nullable,
+        boolean signed,
+        boolean autoIncrement,
+        boolean caseSensitive,
+        boolean searchable,
+        boolean currency,
+        String schemaName,
+        String tableName,
+        String catalogName) {}
+}
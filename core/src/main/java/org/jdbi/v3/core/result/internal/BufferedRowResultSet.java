@@ -0,0 +1,645 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A read-only result set over a single row of column values that were read from another result set, so that the row
+ * can be mapped on a different thread than the one that reads the result. Every value is read with
+ * {@link ResultSet#getObject(int)}; large objects are read into memory. The typed getters return the values that the
+ * driver returned for the same getter, which are read for every getter in the {@link ColumnReads}. A typed getter that
+ * is not part of the column reads yet is added to them and converts the value of {@code getObject()}, applying the
+ * calendar of the date and time getters. Row mappers must not move the cursor and can not read streams or large
+ * objects, which are buffered as strings and byte arrays.
+ */
+final class BufferedRowResultSet extends ReadOnlyResultSet {
+
+    // returned by driverValue() if the getter was not read for the current row
+    private static final Object NOT_READ = new Object();
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private final BufferedRowMetaData metaData;
+    private final ColumnReads columnReads;
+    private Object[] row;
+    private ColumnReads.Snapshot reads;
+    private ResultSet live;
+    private boolean wasNull;
+
+    BufferedRowResultSet(BufferedRowMetaData metaData, ColumnReads columnReads) {
+        this.metaData = metaData;
+        this.columnReads = columnReads;
+    }
+
+    /**
+     * Reads the values of the current row of a result set.
+     *
+     * @param resultSet the result set
+     * @param columnCount the number of columns of the result set
+     * @param reads the typed getters to read
+     * @return the values of the current row
+     * @throws SQLException if a value can not be read
+     */
+    static Object[] readRow(ResultSet resultSet, int columnCount, ColumnReads.Snapshot reads) throws SQLException {
+        final Object[] values = new Object[columnCount + reads.size()];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = readValue(resultSet.getObject(i + 1));
+        }
+        reads.read(resultSet, values, columnCount);
+        return values;
+    }
+
+    // large objects are only valid while the result set is open
+    private static Object readValue(Object value) throws SQLException {
+        if (value instanceof Clob clob) {
+            try {
+                return clob.getSubString(1, Math.toIntExact(clob.length()));
+            } finally {
+                clob.free();
+            }
+        } else if (value instanceof Blob blob) {
+            try {
+                return blob.getBytes(1, Math.toIntExact(blob.length()));
+            } finally {
+                blob.free();
+            }
+        } else if (value instanceof SQLXML xml) {
+            try {
+                return xml.getString();
+            } finally {
+                xml.free();
+            }
+        } else if (value instanceof Array array) {
+            return BufferedArray.copyOf(array);
+        }
+        return value;
+    }
+
+    // rows are handed over by the reader and not modified afterwards
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    void setRow(Object[] row, ColumnReads.Snapshot reads) {
+        this.row = row;
+        this.reads = reads;
+    }
+
+    /**
+     * Reads the typed getters from the given result set, which is positioned on the current row, instead of the
+     * buffered values. Used to learn the getters of the row mapper from the first row.
+     *
+     * @param live the result set to read the typed getters from, or null
+     */
+    void setLive(ResultSet live) {
+        this.live = live;
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        final Object value = row[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private void checkColumn(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > metaData.getColumnCount()) {
+            throw new SQLException("Invalid column index " + columnIndex);
+        }
+    }
+
+    // the value that the driver returned for a typed getter, or NOT_READ if the getter was not read for this row
+    private Object driverValue(ColumnReads.Getter getter, int columnIndex, Object argument) throws SQLException {
+        checkColumn(columnIndex);
+        final ColumnReads.ColumnRead read = new ColumnReads.ColumnRead(getter, columnIndex, argument);
+        final Object value;
+        if (live == null) {
+            final int slot = reads.slot(read);
+            if (slot < 0) {
+                columnReads.add(read);
+                return NOT_READ;
+            }
+            value = row[metaData.getColumnCount() + slot];
+        } else {
+            columnReads.add(read);
+            value = getter.read(live, columnIndex, argument);
+        }
+        wasNull = value == null;
+        return value;
+    }
+
+    private <T> T typed(ColumnReads.Getter getter, int columnIndex, Object argument, Class<T> type) throws SQLException {
+        final Object value = driverValue(getter, columnIndex, argument);
+        return value == NOT_READ ? convert(columnIndex, type) : type.cast(value);
+    }
+
+    private <T> T convert(int columnIndex, Class<T> type) throws SQLException {
+        final Object value = value(columnIndex);
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        final Object converted = convertValue(value, type);
+        if (converted == null) {
+            throw new SQLException("Can not convert a value of " + value.getClass().getName() + " in column " + columnIndex + " to " + type.getName());
+        }
+        return type.cast(converted);
+    }
+
+    private static Object convertValue(Object value, Class<?> type) throws SQLException {
+        if (type == String.class) {
+            return value instanceof byte[] ? null : value.toString();
+        } else if (type == Number.class || type == BigDecimal.class || type == BigInteger.class) {
+            final BigDecimal number = toBigDecimal(value);
+            return number == null || type != BigInteger.class ? number : number.toBigInteger();
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class || type == Double.class || type == Float.class) {
+            return toBoxedNumber(value, type);
+        } else if (type == Boolean.class) {
+            return toBoolean(value);
+        } else if (type == UUID.class) {
+            return value instanceof String string ? UUID.fromString(string) : null;
+        } else if (type == URL.class) {
+            return toUrl(value);
+        }
+        return convertTemporal(value, type);
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        } else if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        } else if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        } else if (value instanceof Number number) {
+            return BigDecimal.valueOf(number.longValue());
+        } else if (value instanceof Boolean bool) {
+            return bool ? BigDecimal.ONE : BigDecimal.ZERO;
+        } else if (value instanceof String string) {
+            try {
+                return new BigDecimal(string.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Object toBoxedNumber(Object value, Class<?> type) {
+        final Number number = value instanceof Number n ? n : toBigDecimal(value);
+        if (number == null) {
+            return null;
+        } else if (type == Integer.class) {
+            return number.intValue();
+        } else if (type == Long.class) {
+            return number.longValue();
+        } else if (type == Short.class) {
+            return number.shortValue();
+        } else if (type == Byte.class) {
+            return number.byteValue();
+        } else if (type == Double.class) {
+            return number.doubleValue();
+        }
+        return number.floatValue();
+    }
+
+    // null if the value is not a boolean
+    private static Object toBoolean(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue() != 0;
+        } else if (value instanceof String string) {
+            switch (string.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "t", "yes", "y", "1":
+                    return true;
+                case "false", "f", "no", "n", "0":
+                    return false;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static URL toUrl(Object value) throws SQLException {
+        if (value instanceof String string) {
+            try {
+                return new URI(string).toURL();
+            } catch (URISyntaxException | MalformedURLException | IllegalArgumentException e) {
+                throw new SQLException("Invalid URL " + string, e);
+            }
+        }
+        return null;
+    }
+
+    private static Object convertTemporal(Object value, Class<?> type) {
+        if (type == Timestamp.class) {
+            if (value instanceof LocalDateTime dateTime) {
+                return Timestamp.valueOf(dateTime);
+            } else if (value instanceof LocalDate date) {
+                return Timestamp.valueOf(date.atStartOfDay());
+            } else if (value instanceof OffsetDateTime dateTime) {
+                return Timestamp.from(dateTime.toInstant());
+            } else if (value instanceof Instant instant) {
+                return Timestamp.from(instant);
+            } else if (value instanceof java.util.Date date) {
+                return new Timestamp(date.getTime());
+            }
+        } else if (type == Date.class) {
+            if (value instanceof LocalDate date) {
+                return Date.valueOf(date);
+            } else if (value instanceof LocalDateTime dateTime) {
+                return Date.valueOf(dateTime.toLocalDate());
+            } else if (value instanceof Timestamp timestamp) {
+                return Date.valueOf(timestamp.toLocalDateTime().toLocalDate());
+            } else if (value instanceof java.util.Date date) {
+                return new Date(date.getTime());
+            }
+        } else if (type == Time.class) {
+            if (value instanceof LocalTime time) {
+                return Time.valueOf(time);
+            } else if (value instanceof LocalDateTime dateTime) {
+                return Time.valueOf(dateTime.toLocalTime());
+            } else if (value instanceof Timestamp timestamp) {
+                return Time.valueOf(timestamp.toLocalDateTime().toLocalTime());
+            } else if (value instanceof java.util.Date date) {
+                return new Time(date.getTime());
+            }
+        } else if (type == LocalDate.class) {
+            if (value instanceof Date date) {
+                return date.toLocalDate();
+            } else if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toLocalDate();
+            } else if (value instanceof LocalDateTime dateTime) {
+                return dateTime.toLocalDate();
+            }
+        } else if (type == LocalTime.class) {
+            if (value instanceof Time time) {
+                return time.toLocalTime();
+            } else if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toLocalTime();
+            } else if (value instanceof LocalDateTime dateTime) {
+                return dateTime.toLocalTime();
+            }
+        } else if (type == LocalDateTime.class) {
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime();
+            } else if (value instanceof Date date) {
+                return date.toLocalDate().atStartOfDay();
+            } else if (value instanceof LocalDate date) {
+                return date.atStartOfDay();
+            }
+        } else if (type == Instant.class) {
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toInstant();
+            } else if (value instanceof OffsetDateTime dateTime) {
+                return dateTime.toInstant();
+            }
+        } else if (type == OffsetDateTime.class) {
+            if (value instanceof Timestamp timestamp) {
+                return OffsetDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
+            } else if (value instanceof Instant instant) {
+                return OffsetDateTime.ofInstant(instant, ZoneId.systemDefault());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        throw new SQLException("Row mappers must not move the cursor");
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.STRING, columnIndex, null, String.class);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        final Boolean value = typed(ColumnReads.Getter.BOOLEAN, columnIndex, null, Boolean.class);
+        return value != null && value;
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.BYTE, columnIndex, null, Number.class);
+        return value == null ? 0 : value.byteValue();
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.SHORT, columnIndex, null, Number.class);
+        return value == null ? 0 : value.shortValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.INT, columnIndex, null, Number.class);
+        return value == null ? 0 : value.intValue();
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.LONG, columnIndex, null, Number.class);
+        return value == null ? 0 : value.longValue();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.FLOAT, columnIndex, null, Number.class);
+        return value == null ? 0 : value.floatValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        final Number value = typed(ColumnReads.Getter.DOUBLE, columnIndex, null, Number.class);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        final BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.BYTES, columnIndex, null, byte[].class);
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.DATE, columnIndex, null, Date.class);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.TIME, columnIndex, null, Time.class);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.TIMESTAMP, columnIndex, null, Timestamp.class);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        return metaData.findColumn(columnLabel);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.BIG_DECIMAL, columnIndex, null, BigDecimal.class);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        return convert(columnIndex, Array.class);
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return getObject(findColumn(columnLabel), map);
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        return getArray(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        if (cal == null) {
+            return getDate(columnIndex);
+        }
+        final Object value = driverValue(ColumnReads.Getter.DATE, columnIndex, cal.getTimeZone().getID());
+        if (value != NOT_READ) {
+            return (Date) value;
+        }
+        final Date date = convert(columnIndex, Date.class);
+        return date == null || isZoned(columnIndex)
+            ? date
+            : new Date(date.toLocalDate().atStartOfDay(cal.getTimeZone().toZoneId()).toInstant().toEpochMilli());
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        if (cal == null) {
+            return getTime(columnIndex);
+        }
+        final Object value = driverValue(ColumnReads.Getter.TIME, columnIndex, cal.getTimeZone().getID());
+        if (value != NOT_READ) {
+            return (Time) value;
+        }
+        final Time time = convert(columnIndex, Time.class);
+        return time == null || isZoned(columnIndex)
+            ? time
+            : new Time(time.toLocalTime().atDate(EPOCH).atZone(cal.getTimeZone().toZoneId()).toInstant().toEpochMilli());
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        if (cal == null) {
+            return getTimestamp(columnIndex);
+        }
+        final Object value = driverValue(ColumnReads.Getter.TIMESTAMP, columnIndex, cal.getTimeZone().getID());
+        if (value != NOT_READ) {
+            return (Timestamp) value;
+        }
+        final Timestamp timestamp = convert(columnIndex, Timestamp.class);
+        return timestamp == null || isZoned(columnIndex)
+            ? timestamp
+            : Timestamp.from(timestamp.toLocalDateTime().atZone(cal.getTimeZone().toZoneId()).toInstant());
+    }
+
+    // values that denote an instant are not interpreted in the time zone of a calendar
+    private boolean isZoned(int columnIndex) throws SQLException {
+        final Object value = value(columnIndex);
+        return value instanceof OffsetDateTime || value instanceof ZonedDateTime || value instanceof Instant || value instanceof OffsetTime;
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.URL, columnIndex, null, URL.class);
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        return getURL(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        return typed(ColumnReads.Getter.NSTRING, columnIndex, null, String.class);
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        return getNString(findColumn(columnLabel));
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        return typed(ColumnReads.Getter.OBJECT, columnIndex, type, type);
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * The typed getters that a row mapper calls on {@link BufferedRowResultSet buffered rows}. The reader of a parallel
+ * mapped result calls the same getters of the driver for every row it buffers, so that the row mapper sees the values
+ * as the driver converts them. The getters are learned from the first row, which is mapped against the live result
+ * set. A getter that the row mapper calls for the first time on a later row is converted from the value of
+ * {@link ResultSet#getObject(int)} for the rows that were already buffered, and read from the driver for all rows that
+ * are buffered afterwards.
+ */
+final class ColumnReads {
+    static final Snapshot EMPTY = new Snapshot(new ColumnRead[0]);
+
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot = EMPTY;
+
+    /**
+     * Returns the getters that are known so far.
+     *
+     * @return the known getters
+     */
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds a getter, so that it is read for all rows that are buffered afterwards.
+     *
+     * @param read the getter and column
+     */
+    void add(ColumnRead read) {
+        if (snapshot.slot(read) >= 0) {
+            return;
+        }
+        synchronized (lock) {
+            final Snapshot current = snapshot;
+            if (current.slot(read) < 0) {
+                final ColumnRead[] reads = Arrays.copyOf(current.reads, current.reads.length + 1);
+                reads[current.reads.length] = read;
+                snapshot = new Snapshot(reads);
+            }
+        }
+    }
+
+    /**
+     * The typed getters of a result set that are read through the driver. The argument of a getter is the time zone
+     * id of the calendar for the date and time getters and the requested type for {@link #OBJECT}.
+     */
+    enum Getter {
+        STRING((rs, column, argument) -> rs.getString(column)),
+        NSTRING((rs, column, argument) -> rs.getNString(column)),
+        BOOLEAN((rs, column, argument) -> rs.getBoolean(column)),
+        BYTE((rs, column, argument) -> rs.getByte(column)),
+        SHORT((rs, column, argument) -> rs.getShort(column)),
+        INT((rs, column, argument) -> rs.getInt(column)),
+        LONG((rs, column, argument) -> rs.getLong(column)),
+        FLOAT((rs, column, argument) -> rs.getFloat(column)),
+        DOUBLE((rs, column, argument) -> rs.getDouble(column)),
+        BIG_DECIMAL((rs, column, argument) -> rs.getBigDecimal(column)),
+        BYTES((rs, column, argument) -> rs.getBytes(column)),
+        DATE((rs, column, argument) -> argument == null ? rs.getDate(column) : rs.getDate(column, calendar(argument))),
+        TIME((rs, column, argument) -> argument == null ? rs.getTime(column) : rs.getTime(column, calendar(argument))),
+        TIMESTAMP((rs, column, argument) -> argument == null ? rs.getTimestamp(column) : rs.getTimestamp(column, calendar(argument))),
+        URL((rs, column, argument) -> rs.getURL(column)),
+        OBJECT((rs, column, argument) -> rs.getObject(column, (Class<?>) argument));
+
+        private final ValueReader reader;
+
+        Getter(ValueReader reader) {
+            this.reader = reader;
+        }
+
+        private static Calendar calendar(Object timeZoneId) {
+            return Calendar.getInstance(TimeZone.getTimeZone((String) timeZoneId));
+        }
+
+        /**
+         * Reads a value from the current row of a result set.
+         *
+         * @param resultSet the result set
+         * @param column the column index
+         * @param argument the argument of the getter
+         * @return the value, or null if the column is SQL {@code NULL}
+         * @throws SQLException if the value can not be read
+         */
+        Object read(ResultSet resultSet, int column, Object argument) throws SQLException {
+            final Object value = reader.read(resultSet, column, argument);
+            return resultSet.wasNull() ? null : value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(ResultSet resultSet, int column, Object argument) throws SQLException;
+    }
+
+    /**
+     * A getter call for a column.
+     *
+     * @param getter the getter
+     * @param column the column index
+     * @param argument the argument of the getter, or null
+     */
+    record ColumnRead(Getter getter, int column, Object argument) {}
+
+    /**
+     * The getters that were known when a batch of rows was read. The values of the getters follow the values of
+     * {@link ResultSet#getObject(int)} in a buffered row, in the order of the getters.
+     */
+    static final class Snapshot {
+        private final ColumnRead[] reads;
+        private final Map<ColumnRead, Integer> slots;
+
+        // snapshots are only created from copies
+        private Snapshot(ColumnRead[] reads) {
+            this.reads = reads;
+            this.slots = new HashMap<>();
+            for (int i = 0; i < reads.length; i++) {
+                slots.put(reads[i], i);
+            }
+        }
+
+        int size() {
+            return reads.length;
+        }
+
+        /**
+         * Returns the position of a getter value after the values of {@code getObject()}.
+         *
+         * @param read the getter and column
+         * @return the position, or -1 if the getter is not read
+         */
+        int slot(ColumnRead read) {
+            final Integer slot = slots.get(read);
+            return slot == null ? -1 : slot;
+        }
+
+        /**
+         * Reads the values of all getters from the current row of a result set into a buffered row.
+         *
+         * @param resultSet the result set
+         * @param values the buffered row
+         * @param offset the position of the first getter value
+         * @throws SQLException if a value can not be read
+         */
+        void read(ResultSet resultSet, Object[] values, int offset) throws SQLException {
+            for (int i = 0; i < reads.length; i++) {
+                final ColumnRead read = reads[i];
+                values[offset + i] = read.getter().read(resultSet, read.column(), read.argument());
+            }
+        }
+    }
+}
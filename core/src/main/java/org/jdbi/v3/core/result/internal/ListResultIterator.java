@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * A {@link ResultIterator} over rows that have already been read. The statement context must have been closed.
+ *
+ * @param <T> the row type
+ */
+public final class ListResultIterator<T> implements ResultIterator<T> {
+    private final Iterator<T> delegate;
+    private final StatementContext context;
+
+    public ListResultIterator(List<T> rows, StatementContext context) {
+        this.delegate = rows.iterator();
+        this.context = context;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return delegate.hasNext();
+    }
+
+    @Override
+    public T next() {
+        return delegate.next();
+    }
+
+    @Override
+    public void close() {
+        // nothing to close, all statements have been closed
+    }
+
+    @Override
+    public StatementContext getContext() {
+        return context;
+    }
+}
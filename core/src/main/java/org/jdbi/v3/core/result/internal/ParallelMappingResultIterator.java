@@ -0,0 +1,271 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import org.jdbi.v3.core.internal.exceptions.Sneaky;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.result.ParallelMapping;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jdbi.v3.core.result.ResultSetException;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.internal.StreamingSupport;
+
+/**
+ * Reads the rows of a result set on the consuming thread and maps them in batches on the executor of a
+ * {@link ParallelMapping}. At most {@link ParallelMapping#getMaxPendingRows()} rows, but at least one batch, are
+ * read ahead of the consumer.
+ * <p>
+ * The first row is mapped on the consuming thread against the live result set to learn which typed getters the row
+ * mapper calls, see {@link ColumnReads}. The batches are mapped with a {@link StatementContext#readOnlyCopy()
+ * read-only copy} of the statement context, as the statement context is not thread safe. The copy is made once
+ * per iterator, on the consuming thread that owns the statement context.
+ */
+final class ParallelMappingResultIterator<T> implements ResultIterator<T> {
+    private final ResultSetSupplier resultSetSupplier;
+    private final StatementContext context;
+    private final StatementContext mappingContext;
+    private final ResultSet resultSet;
+    private final RowMapper<T> rowMapper;
+    private final BufferedRowMetaData metaData;
+
+    private final ParallelMapping parallelMapping;
+    private final int maxPendingBatches;
+    private final ColumnReads columnReads = new ColumnReads();
+
+    // batches in the order of the rows
+    private final Deque<MappingTask> pending = new ArrayDeque<>();
+    // batches in the order of completion, only used if the order of the rows is not preserved
+    private final BlockingQueue<MappingTask> completed;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private long mappedRows;
+    private boolean started;
+    private boolean exhausted;
+    private boolean closed;
+
+    ParallelMappingResultIterator(Supplier<ResultSet> resultSetSupplier,
+        RowMapper<T> rowMapper,
+        StatementContext context,
+        ParallelMapping parallelMapping) throws SQLException {
+
+        this.context = context;
+        this.parallelMapping = parallelMapping;
+        this.maxPendingBatches = Math.max(1, parallelMapping.getMaxPendingRows() / parallelMapping.getBatchSize());
+        this.completed = parallelMapping.isOrdered() ? null : new LinkedBlockingQueue<>();
+
+        if (resultSetSupplier instanceof ResultSetSupplier rss) {
+            this.resultSetSupplier = rss;
+        } else {
+            this.resultSetSupplier = ResultSetSupplier.closingContext(resultSetSupplier, context);
+        }
+
+        this.resultSet = this.resultSetSupplier.get();
+
+        if (resultSet != null) {
+            context.addCleanable(resultSet::close);
+            StreamingSupport.afterExecution(resultSet, context);
+            this.rowMapper = rowMapper.specialize(resultSet, context);
+            this.metaData = BufferedRowMetaData.copyOf(resultSet.getMetaData());
+            this.mappingContext = context.readOnlyCopy();
+        } else {
+            close();
+            this.rowMapper = null;
+            this.metaData = null;
+            this.mappingContext = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(task -> task.cancel(false));
+        pending.clear();
+        context.setMappedRows(mappedRows);
+        try {
+            resultSetSupplier.close();
+        } catch (SQLException e) {
+            throw Sneaky.throwAnyway(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        while (!current.hasNext()) {
+            submitBatches();
+            if (pending.isEmpty()) {
+                close();
+                return false;
+            }
+            current = awaitBatch().iterator();
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No element to advance to");
+        }
+        return current.next();
+    }
+
+    @Override
+    public StatementContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Deleting from a result set iterator is not yet supported");
+    }
+
+    private void submitBatches() {
+        if (!started) {
+            started = true;
+            mapFirstRow();
+        }
+        while (!exhausted && pending.size() < maxPendingBatches) {
+            final ColumnReads.Snapshot reads = columnReads.snapshot();
+            final Object[][] rows = readBatch(reads);
+            if (rows.length > 0) {
+                final MappingTask task = new MappingTask(rows, reads, null);
+                pending.add(task);
+                try {
+                    parallelMapping.getExecutor().execute(task);
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // maps the first row on this thread against the live result set, which records the typed getters of the mapper
+    private void mapFirstRow() {
+        final Object[] row;
+        try {
+            if (!resultSet.next()) {
+                exhausted = true;
+                return;
+            }
+            row = BufferedRowResultSet.readRow(resultSet, metaData.getColumnCount(), ColumnReads.EMPTY);
+        } catch (SQLException e) {
+            close();
+            throw new ResultSetException("Unable to advance result set", e, context);
+        }
+        final MappingTask task = new MappingTask(new Object[][] {row}, ColumnReads.EMPTY, resultSet);
+        pending.add(task);
+        task.run();
+    }
+
+    private Object[][] readBatch(ColumnReads.Snapshot reads) {
+        final int batchSize = parallelMapping.getBatchSize();
+        final Object[][] rows = new Object[batchSize][];
+        int count = 0;
+        try {
+            while (count < batchSize && resultSet.next()) {
+                rows[count++] = BufferedRowResultSet.readRow(resultSet, metaData.getColumnCount(), reads);
+            }
+        } catch (SQLException e) {
+            close();
+            throw new ResultSetException("Unable to advance result set", e, context);
+        }
+        if (count < batchSize) {
+            exhausted = true;
+            return Arrays.copyOf(rows, count);
+        }
+        return rows;
+    }
+
+    private List<T> awaitBatch() {
+        try {
+            final MappingTask task;
+            if (completed == null) {
+                task = pending.remove();
+            } else {
+                task = completed.take();
+                pending.remove(task);
+            }
+            final List<T> results = task.get();
+            mappedRows += results.size();
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ResultSetException("Interrupted while waiting for mapped rows", e, context);
+        } catch (ExecutionException e) {
+            close();
+            throw mappingFailure(e);
+        }
+    }
+
+    private RuntimeException mappingFailure(ExecutionException failure) {
+        final Throwable cause = failure.getCause();
+        if (cause instanceof SQLException e) {
+            return new ResultSetException("Exception thrown mapping result set into return type", e, context);
+        } else if (cause instanceof RuntimeException e) {
+            return e;
+        } else if (cause instanceof Error e) {
+            throw e;
+        }
+        return new ResultSetException("Exception thrown mapping result set into return type", failure, context);
+    }
+
+    private final class MappingTask extends FutureTask<List<T>> {
+        MappingTask(Object[][] rows, ColumnReads.Snapshot reads, ResultSet live) {
+            super(() -> {
+                final BufferedRowResultSet row = new BufferedRowResultSet(metaData, columnReads);
+                row.setLive(live);
+                final List<T> results = new ArrayList<>(rows.length);
+                for (int i = 0; i < rows.length; i++) {
+                    row.setRow(rows[i], reads);
+                    rows[i] = null;
+                    results.add(rowMapper.map(row, mappingContext));
+                }
+                return results;
+            });
+        }
+
+        @Override
+        protected void done() {
+            if (completed != null && !isCancelled()) {
+                completed.add(this);
+            }
+        }
+    }
+}
@@ -23,33 +23,57 @@ import java.util.stream.Collector;
 
 import org.jdbi.v3.core.generic.GenericTypes;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.result.ParallelMapping;
 import org.jdbi.v3.core.result.ResultIterable;
 import org.jdbi.v3.core.result.ResultIterator;
 import org.jdbi.v3.core.result.ResultSetException;
 import org.jdbi.v3.core.result.UnableToProduceResultException;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.internal.StreamingSupport;
 
-public class ResultSetResultIterable<T> implements ResultIterable<T> {
+public class ResultSetResultIterable<T> extends StreamingAwareResultIterable<T> {
 
     private final RowMapper<T> mapper;
     private final StatementContext ctx;
     private final Supplier<ResultSet> resultSetSupplier;
+    private final ParallelMapping parallelMapping;
 
     public ResultSetResultIterable(
             RowMapper<T> mapper,
             StatementContext ctx,
             Supplier<ResultSet> resultSetSupplier) {
+        this(mapper, ctx, resultSetSupplier, null);
+    }
+
+    private ResultSetResultIterable(
+            RowMapper<T> mapper,
+            StatementContext ctx,
+            Supplier<ResultSet> resultSetSupplier,
+            ParallelMapping parallelMapping) {
         this.mapper = mapper;
         this.ctx = ctx;
         this.resultSetSupplier = resultSetSupplier;
+        this.parallelMapping = parallelMapping;
+    }
+
+    @Override
+    public ResultIterable<T> withParallelMapping(ParallelMapping parallelMapping) {
+        return new ResultSetResultIterable<>(mapper, ctx, resultSetSupplier, parallelMapping);
     }
 
     @Override
-    public ResultIterator<T> iterator() {
+    ResultIterator<T> iterator(boolean streaming) {
+        // the iterators execute the statement when they are created
+        final boolean previous = StreamingSupport.setStreaming(streaming);
         try {
+            if (parallelMapping != null) {
+                return new ParallelMappingResultIterator<>(resultSetSupplier, mapper, ctx, parallelMapping);
+            }
             return new ResultSetResultIterator<>(resultSetSupplier, mapper, ctx);
         } catch (final SQLException e) {
             throw new ResultSetException("Unable to iterate result set", e, ctx);
+        } finally {
+            StreamingSupport.setStreaming(previous);
         }
     }
 
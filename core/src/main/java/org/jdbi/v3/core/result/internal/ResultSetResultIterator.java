@@ -24,6 +24,7 @@ import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.result.ResultIterator;
 import org.jdbi.v3.core.result.ResultSetException;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.internal.StreamingSupport;
 
 class ResultSetResultIterator<T> implements ResultIterator<T> {
     private final ResultSet resultSet;
@@ -54,6 +55,7 @@ class ResultSetResultIterator<T> implements ResultIterator<T> {
 
         if (resultSet != null) {
             context.addCleanable(resultSet::close);
+            StreamingSupport.afterExecution(resultSet, context);
             this.rowMapper = rowMapper.specialize(resultSet, context);
         } else {
             close();
@@ -24,6 +24,7 @@ import org.jdbi.v3.core.mapper.MappingException;
 import org.jdbi.v3.core.mapper.NoSuchMapperException;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.qualifier.QualifiedType;
+import org.jdbi.v3.core.result.ColumnAccessor;
 import org.jdbi.v3.core.result.RowView;
 import org.jdbi.v3.core.statement.StatementContext;
 
@@ -100,6 +101,28 @@ public class RowViewImpl extends RowView {
         }
     }
 
+    @Override
+    public <T> ColumnAccessor<T> accessor(String column, QualifiedType<T> type) {
+        try {
+            return accessor(rs.findColumn(column), type);
+        } catch (SQLException e) {
+            throw new MappingException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ColumnAccessor<T> accessor(int column, QualifiedType<T> type) {
+        final ColumnMapper<T> mapper = (ColumnMapper<T>) columnMapperFor(type);
+        return () -> {
+            try {
+                return mapper.map(rs, column, ctx);
+            } catch (SQLException e) {
+                throw new MappingException(e);
+            }
+        };
+    }
+
     private ColumnMapper<?> columnMapperFor(QualifiedType<?> type) {
         return columnMappers.computeIfAbsent(type, t ->
                 ctx.findColumnMapperFor(t)
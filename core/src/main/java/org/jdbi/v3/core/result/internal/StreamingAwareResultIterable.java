@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result.internal;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.core.result.ResultIterator;
+
+/**
+ * A result iterable that tells eagerly collected results from lazily consumed results, so that the
+ * {@link org.jdbi.v3.core.statement.StreamingPolicy} only applies to the latter. Iterables returned by
+ * {@link #map(Function)} and {@link #filter(Predicate)} keep the distinction, so that e.g.
+ * {@code map(...).list()} is collected eagerly as well.
+ */
+abstract class StreamingAwareResultIterable<T> implements ResultIterable<T> {
+
+    /**
+     * Returns an iterator over the results.
+     *
+     * @param streaming true if the results are consumed lazily
+     * @return an iterator over the results
+     */
+    abstract ResultIterator<T> iterator(boolean streaming);
+
+    @Override
+    public ResultIterator<T> iterator() {
+        return iterator(true);
+    }
+
+    private ResultIterable<T> eager() {
+        return () -> iterator(false);
+    }
+
+    @Override
+    public <R> ResultIterable<R> map(Function<? super T, ? extends R> mapper) {
+        return derive(streaming -> ResultIterable.of(iterator(streaming)).<R>map(mapper).iterator());
+    }
+
+    @Override
+    public ResultIterable<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "Filter required");
+        return derive(streaming -> ResultIterable.of(iterator(streaming)).filter(predicate).iterator());
+    }
+
+    @Override
+    public <R> R collect(Collector<? super T, ?, R> collector) {
+        return eager().collect(collector);
+    }
+
+    @Override
+    public T one() {
+        return eager().one();
+    }
+
+    @Override
+    public Optional<T> findOne() {
+        return eager().findOne();
+    }
+
+    @Override
+    public T first() {
+        return eager().first();
+    }
+
+    @Override
+    public Optional<T> findFirst() {
+        return eager().findFirst();
+    }
+
+    private static <R> ResultIterable<R> derive(Function<Boolean, ResultIterator<R>> iterator) {
+        return new StreamingAwareResultIterable<>() {
+            @Override
+            ResultIterator<R> iterator(boolean streaming) {
+                return iterator.apply(streaming);
+            }
+        };
+    }
+}
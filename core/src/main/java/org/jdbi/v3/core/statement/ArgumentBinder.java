@@ -52,6 +52,10 @@ class ArgumentBinder {
 
     private final Argument nullArgument;
     protected final ArgumentFactoryLocator factoryLocator;
+    // a batch binds all of its rows with the same binder. The plan is created when the second row is bound,
+    // so statements that bind a single row do not allocate it.
+    private boolean positionalBound;
+    private PositionalPlan positionalPlan;
 
     ArgumentBinder(PreparedStatement stmt, StatementContext ctx, ParsedParameters params) {
         this.stmt = stmt;
@@ -71,22 +75,31 @@ class ArgumentBinder {
     }
 
     void bindPositional(Binding binding) {
-        for (int index = 0; index < params.getParameterCount(); index++) {
-            if (!binding.positionals.containsKey(index)) {
+        final PositionalArguments positionals = binding.positionalArguments();
+        final int parameterCount = params.getParameterCount();
+        if (positionalBound && positionalPlan == null) {
+            positionalPlan = new PositionalPlan(parameterCount);
+        }
+        positionalBound = true;
+        for (int index = 0; index < parameterCount; index++) {
+            if (!positionals.isSet(index)) {
                 throw new UnableToCreateStatementException(format("Missing positional parameter %d in binding:%s", index, binding), ctx);
             }
-            QualifiedType<?> type = factoryLocator.typeOf(binding.positionals.get(index));
+            final Object value = positionals.valueAt(index);
             try {
-                factoryLocator.argumentFactoryForType(type)
-                    .apply(unwrap(binding.positionals.get(index)))
+                final Function<Object, Argument> argumentFactory = positionalPlan == null
+                    ? factoryLocator.argumentFactoryForType(factoryLocator.typeOf(value))
+                    : positionalPlan.argumentFactory(index, value);
+                argumentFactory
+                    .apply(unwrap(value))
                     .apply(index + 1, stmt, ctx);
             } catch (SQLException e) {
                 throw new UnableToCreateStatementException("Exception while binding positional param at (0 based) position " + index, e, ctx);
             }
         }
-        boolean moreArgumentsProvidedThanDeclared = binding.positionals.size() != params.getParameterCount();
+        boolean moreArgumentsProvidedThanDeclared = positionals.size() != parameterCount;
         if (moreArgumentsProvidedThanDeclared && !ctx.getConfig(SqlStatements.class).isUnusedBindingAllowed()) {
-            throw new UnableToCreateStatementException("Superfluous positional param at (0 based) position " + params.getParameterCount(), ctx);
+            throw new UnableToCreateStatementException("Superfluous positional param at (0 based) position " + parameterCount, ctx);
         }
     }
 
@@ -174,6 +187,33 @@ class ArgumentBinder {
         return maybeTypedValue instanceof TypedValue t ? t.getValue() : maybeTypedValue;
     }
 
+    /**
+     * The argument factory for each position, keyed by the class of the value that was last bound to the position.
+     * Rows of a batch usually bind values of the same classes, so the factories are resolved once per batch.
+     */
+    private final class PositionalPlan {
+        private final Class<?>[] valueClasses;
+        private final Function<Object, Argument>[] argumentFactories;
+
+        @SuppressWarnings("unchecked")
+        PositionalPlan(int parameterCount) {
+            this.valueClasses = new Class<?>[parameterCount];
+            this.argumentFactories = new Function[parameterCount];
+        }
+
+        Function<Object, Argument> argumentFactory(int index, Object value) {
+            if (value instanceof TypedValue typedValue) {
+                return factoryLocator.argumentFactoryForType(typedValue.getType());
+            }
+            final Class<?> valueClass = value == null ? Object.class : value.getClass();
+            if (valueClasses[index] != valueClass) {
+                argumentFactories[index] = factoryLocator.argumentFactoryForType(factoryLocator.typeOf(value));
+                valueClasses[index] = valueClass;
+            }
+            return argumentFactories[index];
+        }
+    }
+
     static class ArgumentFactoryLocator {
         private final StatementContext ctx;
 
@@ -0,0 +1,485 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jdbi.v3.meta.Alpha;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SqlLogger} that moves formatting and emission of statement events off the query thread.
+ * <p>
+ * On the query thread, the logger only captures a compact, immutable {@link Event} and offers it to a bounded,
+ * lock-free ring buffer. A background thread takes events from the buffer and passes them to a {@link Sink},
+ * e.g. {@link Sink#slf4j(Logger, Level)}, which does all formatting. The query thread never blocks: if the buffer is
+ * full, the event is dropped and counted in {@link #getDroppedCount()}. The background thread is parked while the
+ * buffer is empty and woken up by the next event. Successful statements can additionally be
+ * sampled with {@link Builder#withSampleRate(double)}; failed statements are always captured.
+ * <p>
+ * Bound parameters are only described if {@link Builder#withParameters(int)} is set, because the {@link Binding} of a
+ * statement may change after execution and must be described on the query thread.
+ * <pre>{@code
+ * AsyncSqlLogger logger = AsyncSqlLogger.builder(AsyncSqlLogger.Sink.slf4j(LoggerFactory.getLogger("org.jdbi.sql"), Level.DEBUG))
+ *     .withCapacity(8192)
+ *     .withSampleRate(0.1)
+ *     .build();
+ * jdbi.setSqlLogger(logger);
+ * }</pre>
+ * The logger must be {@link #close() closed} to stop the background thread.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+public final class AsyncSqlLogger implements SqlLogger, AutoCloseable {
+
+    /** The default number of events that can be buffered. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncSqlLogger.class);
+
+    private final Sink sink;
+    private final double sampleRate;
+    private final int parameterMaxLength;
+    private final RingBuffer buffer;
+    private final Thread consumer;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder emitted = new LongAdder();
+    private final LongAdder sinkFailures = new LongAdder();
+
+    private volatile boolean consumerWaiting;
+
+    private AsyncSqlLogger(Builder builder) {
+        this.sink = builder.sink;
+        this.sampleRate = builder.sampleRate;
+        this.parameterMaxLength = builder.parameterMaxLength;
+        this.buffer = new RingBuffer(builder.capacity);
+        this.consumer = builder.threadFactory.newThread(this::consume);
+        consumer.start();
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param sink receives the statement events on the background thread
+     * @return a new builder
+     */
+    public static Builder builder(Sink sink) {
+        return new Builder(sink);
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        publish(context, context.getCompletionMoment(), null);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        publish(context, context.getExceptionMoment(), ex);
+    }
+
+    private void publish(StatementContext context, Instant endMoment, SQLException exception) {
+        if (buffer.isClosed()) {
+            dropped.increment();
+            return;
+        }
+        final String parameters = parameterMaxLength > 0 ? context.getBinding().describe(parameterMaxLength) : null;
+        final Event event = new Event(context.describeJdbiStatementType(), context.getRenderedSql(), context.getExecutionMoment(),
+            endMoment, context.getTraceId(), parameters, exception);
+        // the buffer rejects events once it is closed, so every event is either emitted or counted as dropped
+        if (buffer.offer(event)) {
+            if (consumerWaiting) {
+                LockSupport.unpark(consumer);
+            }
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            final Event event = buffer.poll();
+            if (event != null) {
+                emit(event);
+                continue;
+            }
+            // a closed buffer accepts no new events, all claimed slots have been drained
+            if (buffer.isClosed() && buffer.isEmpty()) {
+                return;
+            }
+            consumerWaiting = true;
+            // an event that was offered before the flag was set is not followed by an unpark
+            if (buffer.isEmpty() && !buffer.isClosed()) {
+                LockSupport.park(this);
+            } else {
+                Thread.onSpinWait();
+            }
+            consumerWaiting = false;
+        }
+    }
+
+    private void emit(Event event) {
+        try {
+            sink.accept(event);
+            emitted.increment();
+        } catch (RuntimeException e) {
+            sinkFailures.increment();
+            LOG.warn("Statement event sink failed", e);
+        }
+    }
+
+    /**
+     * Returns the number of events that were dropped because the buffer was full or the logger was closed.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of successful statements that were not captured because of sampling.
+     *
+     * @return the number of sampled out statements
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * Returns the number of events that were passed to the sink.
+     *
+     * @return the number of emitted events
+     */
+    public long getEmittedCount() {
+        return emitted.sum();
+    }
+
+    /**
+     * Returns the number of events for which the sink threw an exception.
+     *
+     * @return the number of sink failures
+     */
+    public long getSinkFailureCount() {
+        return sinkFailures.sum();
+    }
+
+    /**
+     * Stops accepting new events, emits all buffered events and waits for the background thread to finish.
+     */
+    @Override
+    public void close() {
+        buffer.close();
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An immutable record of a single statement execution.
+     */
+    public static final class Event {
+        private final String type;
+        private final String sql;
+        private final Instant executionMoment;
+        private final Instant endMoment;
+        private final String traceId;
+        private final String parameters;
+        private final SQLException exception;
+
+        private Event(String type, String sql, Instant executionMoment, Instant endMoment, String traceId, String parameters, SQLException exception) {
+            this.type = type;
+            this.sql = sql;
+            this.executionMoment = executionMoment;
+            this.endMoment = endMoment;
+            this.traceId = traceId;
+            this.parameters = parameters;
+            this.exception = exception;
+        }
+
+        /**
+         * Returns the type of the statement, e.g. {@code Query} or {@code Update}.
+         *
+         * @return the statement type
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns the rendered SQL of the statement.
+         *
+         * @return the rendered SQL, may be null
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Returns a hash of the rendered SQL, which identifies the statement shape.
+         *
+         * @return the hash of the rendered SQL, 0 if no SQL is available
+         */
+        public int getSqlHash() {
+            return sql == null ? 0 : sql.hashCode();
+        }
+
+        /**
+         * Returns the moment when the statement was executed.
+         *
+         * @return the execution moment
+         */
+        public Instant getExecutionMoment() {
+            return executionMoment;
+        }
+
+        /**
+         * Returns the time between execution and completion or failure of the statement.
+         *
+         * @return the duration of the statement
+         */
+        public Duration getDuration() {
+            return executionMoment == null || endMoment == null ? Duration.ZERO : Duration.between(executionMoment, endMoment);
+        }
+
+        /**
+         * Returns the trace id of the statement.
+         *
+         * @return the trace id, may be null
+         * @see StatementContext#getTraceId()
+         */
+        public String getTraceId() {
+            return traceId;
+        }
+
+        /**
+         * Returns the description of the bound parameters.
+         *
+         * @return the bound parameters, or null if parameters are not captured
+         * @see Builder#withParameters(int)
+         */
+        public String getParameters() {
+            return parameters;
+        }
+
+        /**
+         * Returns the exception of a failed statement.
+         *
+         * @return the exception, or null if the statement was successful
+         */
+        public SQLException getException() {
+            return exception;
+        }
+
+        @Override
+        public String toString() {
+            return "Event[type=" + type + ", sql=" + sql + ", duration=" + getDuration() + ", failed=" + (exception != null) + "]";
+        }
+    }
+
+    /**
+     * Receives statement events on the background thread of an {@link AsyncSqlLogger}.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * Emits a statement event.
+         *
+         * @param event the statement event
+         */
+        void accept(Event event);
+
+        /**
+         * Returns a sink that logs statement events in the format of {@link Slf4JSqlLogger}. Failed statements
+         * are logged at error level.
+         *
+         * @param log   the logger
+         * @param level the level for successful statements
+         * @return a sink that logs to SLF4J
+         */
+        static Sink slf4j(Logger log, Level level) {
+            requireNonNull(log, "log is null");
+            requireNonNull(level, "level is null");
+            return event -> {
+                final String sql = event.getSql() == null ? "<not available>" : event.getSql();
+                if (event.getException() != null) {
+                    log.error("Exception while executing '{}' with parameters '{}'", sql, event.getParameters(), event.getException());
+                } else if (log.isEnabledForLevel(level)) {
+                    log.atLevel(level).log("Executed in {} '{}' with parameters '{}'",
+                        Slf4JSqlLogger.format(event.getDuration()), sql, event.getParameters());
+                }
+            };
+        }
+    }
+
+    /**
+     * Builder for {@link AsyncSqlLogger} instances.
+     */
+    public static final class Builder {
+        private final Sink sink;
+        private int capacity = DEFAULT_CAPACITY;
+        private double sampleRate = 1.0;
+        private int parameterMaxLength;
+        private ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "jdbi-sql-logger");
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder(Sink sink) {
+            this.sink = requireNonNull(sink, "sink is null");
+        }
+
+        /**
+         * Sets the number of events that can be buffered. The capacity is rounded up to a power of two.
+         *
+         * @param capacity the buffer capacity, must be positive
+         * @return this builder
+         */
+        public Builder withCapacity(int capacity) {
+            if (capacity <= 0 || capacity > 1 << 30) {
+                throw new IllegalArgumentException("capacity must be between 1 and 2^30, got " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of successful statements that are captured. Failed statements are always captured.
+         *
+         * @param sampleRate the sample rate, between 0.0 and 1.0
+         * @return this builder
+         */
+        public Builder withSampleRate(double sampleRate) {
+            if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+                throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0, got " + sampleRate);
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Captures the bound parameters of every statement, up to the given length. Describing the parameters
+         * happens on the query thread.
+         *
+         * @param maxLength the maximum length of the parameter description, or 0 to not capture parameters
+         * @return this builder
+         */
+        public Builder withParameters(int maxLength) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("maxLength must not be negative, got " + maxLength);
+            }
+            this.parameterMaxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Sets the thread factory for the background thread. The default factory creates a daemon thread.
+         *
+         * @param threadFactory the thread factory
+         * @return this builder
+         */
+        public Builder withThreadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = requireNonNull(threadFactory, "threadFactory is null");
+            return this;
+        }
+
+        /**
+         * Creates the logger and starts its background thread.
+         *
+         * @return a new {@link AsyncSqlLogger}
+         */
+        public AsyncSqlLogger build() {
+            return new AsyncSqlLogger(this);
+        }
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot by advancing the tail and
+     * never wait; the consumer clears a slot before it advances the head. Closing the buffer sets a flag bit in the
+     * tail, so that no slot can be claimed afterwards and the consumer knows the last slot to drain.
+     */
+    private static final class RingBuffer {
+        private static final long CLOSED = 1L << 62;
+
+        private final AtomicReferenceArray<Event> slots;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        RingBuffer(int capacity) {
+            final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        boolean offer(Event event) {
+            while (true) {
+                final long t = tail.get();
+                if ((t & CLOSED) != 0 || t - head > mask) {
+                    return false;
+                }
+                if (tail.compareAndSet(t, t + 1)) {
+                    slots.set((int) (t & mask), event);
+                    return true;
+                }
+            }
+        }
+
+        Event poll() {
+            final long h = head;
+            final int index = (int) (h & mask);
+            final Event event = slots.get(index);
+            if (event != null) {
+                slots.set(index, null);
+                head = h + 1;
+            }
+            return event;
+        }
+
+        void close() {
+            tail.getAndUpdate(t -> t | CLOSED);
+        }
+
+        boolean isClosed() {
+            return (tail.get() & CLOSED) != 0;
+        }
+
+        // a claimed slot that is not written yet is not empty, the consumer waits for it
+        boolean isEmpty() {
+            return (tail.get() & ~CLOSED) == head;
+        }
+    }
+}
@@ -14,15 +14,15 @@
 package org.jdbi.v3.core.statement;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 
 import org.jdbi.v3.core.argument.Argument;
 import org.jdbi.v3.core.argument.NamedArgumentFinder;
@@ -35,13 +35,16 @@ import static org.jdbi.v3.core.statement.ArgumentBinder.unwrap;
  * Represents the arguments bound to a particular statement.
  */
 public class Binding {
-    protected final Map<Integer, Object> positionals = new TreeMap<>();
-    protected final Map<String, Object> named = new LinkedHashMap<>();
+    protected final Map<Integer, Object> positionals;
+    protected final Map<String, Object> named = new NamedArguments();
     protected final List<NamedArgumentFinder> namedArgumentFinder = new ArrayList<>();
-    private final ArgumentFactoryLocator locator;
+    private final PositionalArguments positionalArguments = new PositionalArguments();
+    private final StatementContext ctx;
+    private ArgumentFactoryLocator locator;
 
     protected Binding(StatementContext ctx) {
-        this.locator = new ArgumentFactoryLocator(ctx);
+        this.positionals = positionalArguments;
+        this.ctx = ctx;
     }
 
     /**
@@ -68,7 +71,7 @@ public class Binding {
      * @param argument the argument to bind
      */
     public void addPositional(int position, Object argument) {
-        positionals.put(position, argument);
+        positionalArguments.set(position, argument);
     }
 
     /**
@@ -86,7 +89,7 @@ public class Binding {
      * @param argument the argument to bind
      */
     public void addPositional(int position, Object argument, QualifiedType<?> type) {
-        positionals.put(position, new TypedValue(type, argument));
+        positionalArguments.set(position, new TypedValue(type, argument));
     }
 
     /**
@@ -119,7 +122,7 @@ public class Binding {
     public Optional<Argument> findForName(String name, StatementContext ctx2) {
         final Object found = named.get(name);
         if (found != null || named.containsKey(name)) {
-            return Optional.of(locator.argumentFactoryForType(locator.typeOf(found)).apply(unwrap(found)));
+            return Optional.of(locator().argumentFactoryForType(locator().typeOf(found)).apply(unwrap(found)));
         }
 
         return namedArgumentFinder.stream()
@@ -148,7 +151,41 @@ public class Binding {
     @Deprecated(since = "3.11.0", forRemoval = true)
     public Optional<Argument> findForPosition(int position) {
         var found = positionals.get(position);
-        return Optional.ofNullable(locator.argumentFactoryForType(locator.typeOf(found)).apply(unwrap(found)));
+        return Optional.ofNullable(locator().argumentFactoryForType(locator().typeOf(found)).apply(unwrap(found)));
+    }
+
+    // positional arguments without boxing their positions
+    PositionalArguments positionalArguments() {
+        return positionalArguments;
+    }
+
+    // only used by the deprecated lookup methods
+    private ArgumentFactoryLocator locator() {
+        if (locator == null) {
+            locator = new ArgumentFactoryLocator(ctx);
+        }
+        return locator;
+    }
+
+    /**
+     * Returns a value that is equal for bindings with equal bound values, or null if the bound values can not be
+     * compared, e.g. because an {@link Argument}, an array or a {@link NamedArgumentFinder} is bound.
+     */
+    Object valueKey() {
+        if (!namedArgumentFinder.isEmpty() || !isComparable(positionals.values()) || !isComparable(named.values())) {
+            return null;
+        }
+        return Arrays.asList(new HashMap<>(positionals), new HashMap<>(named));
+    }
+
+    private static boolean isComparable(Collection<Object> values) {
+        for (Object value : values) {
+            final Object unwrapped = value instanceof TypedValue typedValue ? typedValue.getValue() : value;
+            if (unwrapped instanceof Argument || (unwrapped != null && unwrapped.getClass().isArray())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -53,6 +53,7 @@ public class DefinedAttributeTemplateEngine implements TemplateEngine.Parsing {
         };
         DefineStatementLexer lexer = new DefineStatementLexer(CharStreams.fromString(template));
         lexer.addErrorListener(new ErrorListener());
+        boolean hasDefines = false;
         Token t = lexer.nextToken();
         while (t.getType() != EOF) {
             switch (t.getType()) {
@@ -63,6 +64,7 @@ public class DefinedAttributeTemplateEngine implements TemplateEngine.Parsing {
                     buf.append(t.getText());
                     break;
                 case DEFINE:
+                    hasDefines = true;
                     pushBuf.run();
                     String text = t.getText();
                     String key = text.substring(1, text.length() - 1);
@@ -82,6 +84,9 @@ public class DefinedAttributeTemplateEngine implements TemplateEngine.Parsing {
             }
             t = lexer.nextToken();
         }
+        if (!hasDefines) {
+            return Optional.of(new StaticTemplate(buf.toString()));
+        }
         pushBuf.run();
         return Optional.of(ctx -> {
             try {
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.Arrays;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Controls how {@link SqlStatement#bindBucketedList(String, Iterable)} pads lists. Every list is padded up to
+ * the next bucket size, so that lists of different length render the same SQL statement. This bounds the number of
+ * distinct statements in the Jdbi caches, the prepared statement caches and the database plan cache.
+ * <p>
+ * Lists are never padded beyond the {@link #withMaxBucketSize(int) maximum bucket size}; larger lists are bound with
+ * their exact size. This keeps padded lists within the parameter limits of databases that would accept the unpadded
+ * list, e.g. 1000 elements of an {@code IN} list on Oracle or 2100 parameters on SQL Server.
+ * <p>
+ * Padding repeats the last value of the list by default. This is safe for both {@code IN} and {@code NOT IN}
+ * conditions. Padding with {@code NULL} works only for {@code IN} conditions, as {@code x NOT IN (..., NULL)} is never true.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @since 3.54.1
+ */
+@Beta
+public final class ListBucketing {
+
+    private static final int[] NO_SIZES = new int[0];
+    private static final int DEFAULT_MAX_BUCKET_SIZE = 512;
+
+    private final int[] sizes;
+    private final int maxBucketSize;
+    private final boolean nullPadding;
+
+    private ListBucketing(int[] sizes, int maxBucketSize, boolean nullPadding) {
+        this.sizes = sizes;
+        this.maxBucketSize = maxBucketSize;
+        this.nullPadding = nullPadding;
+    }
+
+    /**
+     * Pads lists to the next power of two, up to a maximum bucket size of 512. A list of 5 elements is padded to 8,
+     * a list of 600 elements is not padded.
+     *
+     * @return a bucketing that pads to powers of two
+     */
+    public static ListBucketing powerOfTwo() {
+        return new ListBucketing(NO_SIZES, DEFAULT_MAX_BUCKET_SIZE, false);
+    }
+
+    /**
+     * Pads lists to the next of the given sizes. Lists that are larger than the largest size are not padded.
+     *
+     * @param sizes the bucket sizes, must be positive
+     * @return a bucketing that pads to the given sizes
+     */
+    public static ListBucketing ofSizes(int... sizes) {
+        if (sizes.length == 0) {
+            throw new IllegalArgumentException("at least one bucket size is required");
+        }
+        final int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] <= 0) {
+            throw new IllegalArgumentException("bucket sizes must be positive, got " + Arrays.toString(sizes));
+        }
+        return new ListBucketing(sorted, sorted[sorted.length - 1], false);
+    }
+
+    /**
+     * Returns a copy of this bucketing that does not pad lists beyond the given size. Lists that are larger than the
+     * maximum bucket size are bound with their exact size.
+     *
+     * @param maxBucketSize the largest size that a list is padded to, must be positive
+     * @return a bucketing with the given maximum bucket size
+     */
+    public ListBucketing withMaxBucketSize(int maxBucketSize) {
+        if (maxBucketSize <= 0) {
+            throw new IllegalArgumentException("maximum bucket size must be positive, got " + maxBucketSize);
+        }
+        return new ListBucketing(sizes, maxBucketSize, nullPadding);
+    }
+
+    /**
+     * Returns the largest size that a list is padded to.
+     *
+     * @return the maximum bucket size
+     */
+    public int getMaxBucketSize() {
+        return maxBucketSize;
+    }
+
+    /**
+     * Returns a copy of this bucketing that pads lists with {@code NULL} values instead of repeating the last value.
+     *
+     * @return a bucketing that pads with {@code NULL}
+     */
+    public ListBucketing withNullPadding() {
+        return new ListBucketing(sizes, maxBucketSize, true);
+    }
+
+    /**
+     * Returns true if lists are padded with {@code NULL}, false if the last value is repeated.
+     *
+     * @return true if lists are padded with {@code NULL}
+     */
+    public boolean isNullPadding() {
+        return nullPadding;
+    }
+
+    /**
+     * Returns the padded size for a list.
+     *
+     * @param size the list size
+     * @return the size of the bucket for the list
+     */
+    public int bucketSize(int size) {
+        if (size <= 1 || size >= maxBucketSize) {
+            return size;
+        }
+        if (sizes.length == 0) {
+            return Math.min(Integer.highestOneBit(size - 1) << 1, maxBucketSize);
+        }
+        for (int bucket : sizes) {
+            if (size <= bucket) {
+                return Math.min(bucket, maxBucketSize);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ListBucketing[" + (sizes.length == 0 ? "powerOfTwo" : Arrays.toString(sizes))
+            + ", max " + maxBucketSize + (nullPadding ? ", null padding]" : "]");
+    }
+}
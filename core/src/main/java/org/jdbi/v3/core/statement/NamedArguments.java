@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Named arguments of a {@link Binding}, stored in parallel arrays in insertion order. Statements bind a handful of
+ * named values, a linear scan over the names is cheaper than the table and entries of a {@link java.util.LinkedHashMap}.
+ * Large bindings, e.g. from {@link SqlStatement#bindList(String, Object...)}, are looked up through a hash index.
+ */
+final class NamedArguments extends AbstractMap<String, Object> {
+
+    private static final String[] NO_NAMES = {};
+    private static final Object[] NO_VALUES = {};
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private String[] names = NO_NAMES;
+    private Object[] values = NO_VALUES;
+    private int size;
+    private Map<String, Integer> nameIndex;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == names.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        names[size] = key;
+        values[size] = value;
+        if (nameIndex != null) {
+            nameIndex.put(key, size);
+        }
+        size++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        nameIndex = null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (size > LINEAR_SCAN_LIMIT) {
+            if (nameIndex == null) {
+                nameIndex = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    nameIndex.put(names[i], i);
+                }
+            }
+            final Integer found = nameIndex.get(key);
+            return found == null ? -1 : found;
+        }
+        if (key == null) {
+            for (int i = 0; i < size; i++) {
+                if (names[i] == null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (key.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object removeAt(int index) {
+        final Object previous = values[index];
+        final int moved = size - index - 1;
+        System.arraycopy(names, index + 1, names, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        names[size] = null;
+        values[size] = null;
+        // the positions after the removed name have moved
+        nameIndex = null;
+        return previous;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new SimpleImmutableEntry<>(names[last], values[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+}
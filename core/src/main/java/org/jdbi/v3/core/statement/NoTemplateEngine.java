@@ -13,6 +13,11 @@
  */
 package org.jdbi.v3.core.statement;
 
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.jdbi.v3.core.config.ConfigRegistry;
+
 /**
  * A TemplateEngine that does not do any templating but returns SQL verbatim.
  */
@@ -21,4 +26,13 @@ public class NoTemplateEngine implements TemplateEngine {
     public String render(final String template, final StatementContext ctx) {
         return template;
     }
+
+    @Override
+    public Optional<Function<StatementContext, String>> parse(final String template, final ConfigRegistry config) {
+        // subclasses may override render(), only the verbatim template can be prepared ahead of time
+        if (getClass() != NoTemplateEngine.class) {
+            return Optional.empty();
+        }
+        return Optional.of(new StaticTemplate(template));
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Positional arguments of a {@link Binding}, stored in an array indexed by position. Iterates in position order
+ * like the {@link java.util.TreeMap} it replaces, but does not allocate an entry per bound value.
+ */
+final class PositionalArguments extends AbstractMap<Integer, Object> {
+
+    // marks positions without a bound value, null is a valid argument
+    private static final Object UNSET = new Object();
+    private static final Object[] EMPTY = {};
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Object[] values = EMPTY;
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer position && isSet(position);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer position && isSet(position) ? values[position] : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return set(key, value);
+    }
+
+    /**
+     * Binds a value to a position without boxing the position.
+     */
+    Object set(int position, Object value) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Positional parameter must not be negative: " + position);
+        }
+        if (position >= values.length) {
+            final int capacity = Math.max(position + 1, Math.max(INITIAL_CAPACITY, values.length * 2));
+            final int oldLength = values.length;
+            values = Arrays.copyOf(values, capacity);
+            Arrays.fill(values, oldLength, capacity, UNSET);
+        }
+        final Object previous = values[position];
+        values[position] = value;
+        if (previous == UNSET) {
+            size++;
+            return null;
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof Integer position) || !isSet(position)) {
+            return null;
+        }
+        final Object previous = values[position];
+        values[position] = UNSET;
+        size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, UNSET);
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Integer, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    boolean isSet(int position) {
+        return position >= 0 && position < values.length && values[position] != UNSET;
+    }
+
+    /**
+     * Returns the value bound to a position. Only valid if {@link #isSet(int)} returns true for the position.
+     */
+    Object valueAt(int position) {
+        return values[position];
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SimpleImmutableEntry<>(last, values[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            PositionalArguments.this.remove(last);
+            last = -1;
+        }
+
+        private int advance(int from) {
+            int position = from;
+            while (position < values.length && values[position] == UNSET) {
+                position++;
+            }
+            return position;
+        }
+    }
+}
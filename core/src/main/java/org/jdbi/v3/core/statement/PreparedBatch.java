@@ -328,6 +328,12 @@ public class PreparedBatch extends SqlStatement<PreparedBatch> implements Result
         return bindings.size();
     }
 
+    @Override
+    void afterExecution() {
+        super.afterExecution();
+        getConfig(ResultCache.class).afterUpdate(getHandle(), getContext());
+    }
+
     private static class ExecutedBatch {
         final PreparedStatement stmt;
         final int[] updateCounts;
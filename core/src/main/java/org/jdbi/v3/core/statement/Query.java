@@ -15,18 +15,37 @@ package org.jdbi.v3.core.statement;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
 
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.mapper.ColumnMapper;
+import org.jdbi.v3.core.mapper.ColumnMappers;
+import org.jdbi.v3.core.mapper.MapMapper;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.RowMappers;
+import org.jdbi.v3.core.mapper.SingleColumnMapper;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.core.result.ResultBearing;
+import org.jdbi.v3.core.result.ResultIterable;
 import org.jdbi.v3.core.result.ResultProducer;
 import org.jdbi.v3.core.result.ResultProducers;
 import org.jdbi.v3.core.result.ResultSetScanner;
 import org.jdbi.v3.core.result.UnableToProduceResultException;
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Statement providing convenience result handling for SQL queries.
  */
 public class Query extends SqlStatement<Query> implements ResultBearing {
+    private Duration cacheTtl;
+    private String[] cacheTags;
+    private Object cacheMappingKey;
+
     public Query(Handle handle, CharSequence sql) {
         super(handle, sql);
     }
@@ -99,6 +118,93 @@ public class Query extends SqlStatement<Query> implements ResultBearing {
         return addCustomizer(StatementCustomizers.maxFieldSize(maxFields));
     }
 
+    /**
+     * Caches the mapped results of this query in the {@link ResultCache} of the {@link org.jdbi.v3.core.Jdbi}.
+     * While a cached result is valid, the query is not executed.
+     * <p>
+     * The results are keyed on the rendered SQL, the bound argument values, the mapping and the registered
+     * {@link RowMappers row mappers} and {@link ColumnMappers column mappers}, so that handles and statements that
+     * register their own mappers do not share cached results with others. Results mapped with
+     * {@link #mapTo(QualifiedType)} and its overloads, {@link #mapToBean(Class)} and {@link #mapToMap()} are cached by
+     * the mapped type. Mapper instances, e.g. lambdas, have no stable identity, so results mapped with
+     * {@link #map(RowMapper)} or {@link #map(ColumnMapper)} are only cached if a key for the mapping is given with
+     * {@link #setCacheMappingKey(Object)}. Other operations, e.g. {@link #reduceRows(org.jdbi.v3.core.result.RowReducer)}, and queries that bind
+     * {@link org.jdbi.v3.core.argument.Argument} instances, arrays or beans are not cached.
+     * Cached results are read completely, even if they are streamed. Queries on a handle inside of a transaction are
+     * never answered from the cache and do not fill it.
+     *
+     * @param ttl  the time to live of the cached results
+     * @param tags tags to invalidate the cached results with {@link ResultCache#invalidate(String)}, e.g. the names of the queried tables
+     * @return this query
+     * @since 3.54.1
+     */
+    @Alpha
+    public Query cached(Duration ttl, String... tags) {
+        requireNonNull(ttl, "ttl is null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive, got " + ttl);
+        }
+        this.cacheTtl = ttl;
+        this.cacheTags = tags.clone();
+        return this;
+    }
+
+    /**
+     * Identifies the mapping of results mapped with {@link #map(RowMapper)} or {@link #map(ColumnMapper)} for the
+     * {@link #cached(Duration, String...) result cache}. Queries that map their results with the same key share cached
+     * results, so the key must stand for a single mapping, e.g. a constant or the mapped type.
+     *
+     * @param mappingKey the key of the mapping, with stable equals and hashCode
+     * @return this query
+     * @since 3.54.1
+     */
+    @Alpha
+    public Query setCacheMappingKey(Object mappingKey) {
+        this.cacheMappingKey = requireNonNull(mappingKey, "mappingKey is null");
+        return this;
+    }
+
+    @Override
+    public <T> ResultIterable<T> mapTo(QualifiedType<T> type) {
+        return cacheable(type, ResultBearing.super.mapTo(type));
+    }
+
+    @Override
+    public <T> ResultIterable<T> mapToBean(Class<T> type) {
+        return cacheable(Arrays.asList(BeanMapper.class, type), ResultBearing.super.map(BeanMapper.of(type)));
+    }
+
+    @Override
+    public ResultIterable<Map<String, Object>> mapToMap() {
+        return cacheable(MapMapper.class, ResultBearing.super.map(new MapMapper()));
+    }
+
+    @Override
+    public <T> ResultIterable<T> map(ColumnMapper<T> mapper) {
+        return cacheable(cacheMappingKey, ResultBearing.super.map(new SingleColumnMapper<>(mapper)));
+    }
+
+    @Override
+    public <T> ResultIterable<T> map(RowMapper<T> mapper) {
+        return cacheable(cacheMappingKey, ResultBearing.super.map(mapper));
+    }
+
+    private <T> ResultIterable<T> cacheable(Object resultKey, ResultIterable<T> results) {
+        if (cacheTtl == null || resultKey == null) {
+            return results;
+        }
+        final Object valueKey = getBinding().valueKey();
+        if (valueKey == null) {
+            return results;
+        }
+        final StatementContext ctx = getContext();
+        final String renderedSql = getConfig(SqlStatements.class).preparedRender(ctx.getRawSql(), ctx);
+        // mappers registered on the handle or the statement map the same type differently
+        final ResultCache.Key key = new ResultCache.Key(renderedSql, valueKey, resultKey,
+            getConfig(RowMappers.class).getMappingIdentity(), getConfig(ColumnMappers.class).getMappingIdentity());
+        return getConfig(ResultCache.class).cache(results, key, cacheTtl, cacheTags, getHandle(), ctx);
+    }
+
     /**
      * Specify that the result set should be concurrent updatable.
      *
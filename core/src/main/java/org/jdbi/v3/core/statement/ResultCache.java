@@ -0,0 +1,423 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.JdbiCacheStats;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.core.result.internal.ListResultIterator;
+import org.jdbi.v3.meta.Alpha;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configuration and storage for cached query results, see {@link Query#cached(Duration, String...)}.
+ * <p>
+ * Cached results are keyed on the rendered SQL, the bound argument values, the row mapping and the registered row and
+ * column mappers, and are shared by all handles of a {@link org.jdbi.v3.core.Jdbi} instance. Every entry expires after
+ * the time to live given for its query and can be invalidated explicitly by one of its tags with
+ * {@link #invalidate(String)}. If {@link #setInvalidateOnUpdate(boolean)} is set, an {@link Update} or
+ * {@link PreparedBatch} that modifies a table invalidates all entries tagged with the table name once its changes are
+ * committed.
+ * <p>
+ * Only handles in auto-commit mode use the cache. Queries on a handle inside of a transaction are always executed and
+ * their results are not cached, because they may see changes that are not committed yet.
+ * <p>
+ * Cached results are handed out to every caller, so the mapped row objects should be immutable.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+public final class ResultCache implements JdbiConfig<ResultCache> {
+
+    /** The default maximum number of cached results. */
+    public static final int DEFAULT_MAX_SIZE = 1_000;
+
+    // bounds the number of remembered invalidations for applications that invalidate many distinct tags
+    private static final int MAX_INVALIDATED_TAGS = 10_000;
+
+    private static final Pattern MODIFIED_TABLE = Pattern.compile(
+        "^\\s*(?:insert\\s+into|update|delete\\s+from|merge\\s+into|truncate\\s+table)\\s+([\\w.$\"`]+)",
+        Pattern.CASE_INSENSITIVE);
+
+    private LazyStore store;
+    private boolean invalidateOnUpdate;
+
+    public ResultCache() {
+        this.store = new LazyStore(DefaultJdbiCacheBuilder.builder().maxSize(DEFAULT_MAX_SIZE));
+    }
+
+    private ResultCache(ResultCache that) {
+        this.store = that.store;
+        this.invalidateOnUpdate = that.invalidateOnUpdate;
+    }
+
+    /**
+     * Replaces the storage for cached results with a new, empty cache. Use {@link JdbiCacheBuilder#maxSize(int)}
+     * to bound the number of cached results.
+     *
+     * @param cacheBuilder the cache builder to use to create the cache
+     * @return this
+     */
+    public ResultCache setCacheBuilder(JdbiCacheBuilder cacheBuilder) {
+        this.store = new LazyStore(requireNonNull(cacheBuilder, "cacheBuilder is null"));
+        return this;
+    }
+
+    /**
+     * Invalidates cached results tagged with the name of a table if an {@link Update} or a {@link PreparedBatch}
+     * inserts into, updates, deletes from, merges into or truncates this table. Tags and table names are compared
+     * ignoring case. Results are invalidated when the update is committed; updates that are rolled back do not
+     * invalidate results.
+     * <p>
+     * Detecting the table is best effort: only the first keywords of the statement text are inspected. Statements that
+     * start with a comment or a common table expression ({@code WITH ... UPDATE}), scripts with multiple statements,
+     * {@code INSERT ... SELECT} statements that read from other tables, and modifications by triggers, stored
+     * procedures or other applications are not detected. Use {@link #invalidate(String)} for those.
+     *
+     * @param invalidateOnUpdate true to invalidate cached results on updates
+     * @return this
+     */
+    public ResultCache setInvalidateOnUpdate(boolean invalidateOnUpdate) {
+        this.invalidateOnUpdate = invalidateOnUpdate;
+        return this;
+    }
+
+    /**
+     * Returns true if updates invalidate cached results tagged with the modified table.
+     *
+     * @return true if updates invalidate cached results
+     */
+    public boolean isInvalidateOnUpdate() {
+        return invalidateOnUpdate;
+    }
+
+    /**
+     * Invalidates all cached results with the given tag.
+     *
+     * @param tag the tag, compared ignoring case
+     */
+    public void invalidate(String tag) {
+        store.get().invalidate(requireNonNull(tag, "tag is null"));
+    }
+
+    /**
+     * Invalidates all cached results.
+     */
+    public void invalidateAll() {
+        store.get().invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the cache statistics
+     */
+    public Stats getStats() {
+        final Store current = store.get();
+        final Object stats = current.cache.getStats();
+        int cacheSize = -1;
+        int maxSize = -1;
+        if (stats instanceof JdbiCacheStats cacheStats) {
+            cacheSize = cacheStats.cacheSize();
+            maxSize = cacheStats.maxSize();
+        }
+        return new Stats(current.hits.sum(), current.misses.sum(), cacheSize, maxSize);
+    }
+
+    @Override
+    public ResultCache createCopy() {
+        return new ResultCache(this);
+    }
+
+    <T> ResultIterable<T> cache(ResultIterable<T> results, Object key, Duration ttl, String[] tags, Handle handle, StatementContext ctx) {
+        return () -> {
+            // a handle inside of a transaction may see uncommitted changes, which must not be shared with other handles
+            if (handle.isInTransaction()) {
+                return results.iterator();
+            }
+            final List<T> rows = store.get().lookup(key, ttl, tags, results::list);
+            // on a cache hit, the statement is never executed. Release its resources right away.
+            ctx.close();
+            return new ListResultIterator<>(rows, ctx);
+        };
+    }
+
+    void afterUpdate(Handle handle, StatementContext ctx) {
+        if (!invalidateOnUpdate || ctx.getRenderedSql() == null) {
+            return;
+        }
+        final Matcher matcher = MODIFIED_TABLE.matcher(ctx.getRenderedSql());
+        if (!matcher.find()) {
+            return;
+        }
+
+        final String table = matcher.group(1).replaceAll("[\"`]", "");
+        final Runnable invalidation = () -> {
+            invalidate(table);
+            final int dot = table.lastIndexOf('.');
+            if (dot >= 0) {
+                invalidate(table.substring(dot + 1));
+            }
+        };
+
+        if (handle.isInTransaction()) {
+            // other handles still see the old rows until the commit, and may cache them until then
+            handle.afterCommit(invalidation);
+        } else {
+            invalidation.run();
+        }
+    }
+
+    /**
+     * Statistics of the result cache.
+     */
+    public static final class Stats implements JdbiCacheStats {
+        private final long hitCount;
+        private final long missCount;
+        private final int cacheSize;
+        private final int maxSize;
+
+        private Stats(long hitCount, long missCount, int cacheSize, int maxSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.cacheSize = cacheSize;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Returns the number of queries that were answered from the cache.
+         *
+         * @return the number of cache hits
+         */
+        public long hitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns the number of cached queries that were executed because no valid result was cached.
+         *
+         * @return the number of cache misses
+         */
+        public long missCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns the number of cache entries, including expired and invalidated entries that were not yet replaced.
+         *
+         * @return the number of cache entries, or -1 if the cache implementation does not report its size
+         */
+        @Override
+        public int cacheSize() {
+            return cacheSize;
+        }
+
+        /**
+         * Returns the maximum number of cache entries.
+         *
+         * @return the maximum number of cache entries, or -1 if the cache implementation does not report it
+         */
+        @Override
+        public int maxSize() {
+            return maxSize;
+        }
+
+        @Override
+        public String toString() {
+            return "ResultCache.Stats[hitCount=" + hitCount + ", missCount=" + missCount + ", cacheSize=" + cacheSize + ", maxSize=" + maxSize + "]";
+        }
+    }
+
+    /**
+     * The cache key of a query result.
+     */
+    static final class Key {
+        private final String sql;
+        private final Object arguments;
+        private final Object resultKey;
+        private final Object rowMappers;
+        private final Object columnMappers;
+
+        Key(String sql, Object arguments, Object resultKey, Object rowMappers, Object columnMappers) {
+            this.sql = sql;
+            this.arguments = arguments;
+            this.resultKey = resultKey;
+            this.rowMappers = rowMappers;
+            this.columnMappers = columnMappers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            // the mapper identities are compared by reference
+            return rowMappers == that.rowMappers && columnMappers == that.columnMappers
+                && sql.equals(that.sql) && arguments.equals(that.arguments) && resultKey.equals(that.resultKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, arguments, resultKey);
+        }
+    }
+
+    /**
+     * Creates the storage on first use, so that a Jdbi that never caches results does not allocate it. Copies of the
+     * configuration share the storage.
+     */
+    private static final class LazyStore {
+        private final JdbiCacheBuilder cacheBuilder;
+        private volatile Store store;
+
+        LazyStore(JdbiCacheBuilder cacheBuilder) {
+            this.cacheBuilder = cacheBuilder;
+        }
+
+        Store get() {
+            Store result = store;
+            if (result == null) {
+                synchronized (this) {
+                    result = store;
+                    if (result == null) {
+                        result = new Store(cacheBuilder);
+                        store = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Store {
+        private final JdbiCache<Object, Slot> cache;
+        // every invalidation takes the next value of the clock. An entry is valid if it was loaded at or after the
+        // last invalidation of all its tags and the last invalidation of all entries.
+        private final AtomicLong clock = new AtomicLong();
+        private final ConcurrentMap<String, Long> invalidatedTags = new ConcurrentHashMap<>();
+        private final AtomicLong invalidatedAll = new AtomicLong();
+        private final Object invalidationLock = new Object();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Store(JdbiCacheBuilder cacheBuilder) {
+            this.cache = cacheBuilder.buildWithLoader(key -> new Slot());
+        }
+
+        void invalidate(String tag) {
+            synchronized (invalidationLock) {
+                if (invalidatedTags.size() >= MAX_INVALIDATED_TAGS) {
+                    // forgetting the invalidated tags is only safe if all entries loaded so far are invalidated as well
+                    invalidateAll();
+                    invalidatedTags.clear();
+                }
+                invalidatedTags.put(tag.toLowerCase(Locale.ROOT), clock.incrementAndGet());
+            }
+        }
+
+        void invalidateAll() {
+            final long now = clock.incrementAndGet();
+            invalidatedAll.accumulateAndGet(now, Math::max);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> lookup(Object key, Duration ttl, String[] tags, Supplier<List<T>> loader) {
+            final Slot slot = cache.get(key);
+            final Entry current = slot.entry;
+            if (current != null && isValid(current)) {
+                hits.increment();
+                return (List<T>) current.rows;
+            }
+
+            // only one caller loads a key, concurrent callers wait for its result instead of executing the query as well
+            slot.loading.lock();
+            try {
+                final Entry loaded = slot.entry;
+                if (loaded != null && isValid(loaded)) {
+                    hits.increment();
+                    return (List<T>) loaded.rows;
+                }
+
+                misses.increment();
+                // read the clock before loading, so that an invalidation during the load is not lost
+                final long loadedAt = clock.get();
+                final List<T> rows = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+                slot.entry = new Entry(rows, System.nanoTime() + ttl.toNanos(), tags, loadedAt);
+                return rows;
+            } finally {
+                slot.loading.unlock();
+            }
+        }
+
+        private boolean isValid(Entry entry) {
+            if (System.nanoTime() - entry.expiresAt > 0) {
+                return false;
+            }
+            // read the tags before the last invalidation of all entries, which is raised before tags are forgotten
+            for (String tag : entry.tags) {
+                if (invalidatedTags.getOrDefault(tag, 0L) > entry.loadedAt) {
+                    return false;
+                }
+            }
+            return invalidatedAll.get() <= entry.loadedAt;
+        }
+    }
+
+    private static final class Slot {
+        // a lock instead of a monitor, so that virtual threads which wait for a load are not pinned
+        private final ReentrantLock loading = new ReentrantLock();
+        private volatile Entry entry;
+    }
+
+    private static final class Entry {
+        private final List<?> rows;
+        private final long expiresAt;
+        private final String[] tags;
+        private final long loadedAt;
+
+        Entry(List<?> rows, long expiresAt, String[] tags, long loadedAt) {
+            this.rows = rows;
+            this.expiresAt = expiresAt;
+            this.tags = new String[tags.length];
+            for (int i = 0; i < tags.length; i++) {
+                this.tags[i] = tags[i].toLowerCase(Locale.ROOT);
+            }
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -74,7 +74,7 @@ public class Slf4JSqlLogger implements SqlLogger {
         return "<not available>";
     }
 
-    private static String format(Duration duration) {
+    static String format(Duration duration) {
         final long totalSeconds = duration.toSeconds();
         final long h = totalSeconds / 3600;
         final long m = (totalSeconds % 3600) / 60;
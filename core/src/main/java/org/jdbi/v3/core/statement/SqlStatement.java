@@ -25,7 +25,9 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +59,7 @@ import org.jdbi.v3.core.qualifier.NVarchar;
 import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.core.statement.internal.JfrSupport;
 import org.jdbi.v3.core.statement.internal.OptionalEvent;
+import org.jdbi.v3.core.statement.internal.StreamingSupport;
 import org.jdbi.v3.meta.Beta;
 
 import static java.util.stream.Collectors.joining;
@@ -1578,6 +1581,145 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
         return define(key, names.toString());
     }
 
+    /**
+     * see {@link #bindBucketedList(BiConsumer, String, List)}
+     *
+     * @param key    attribute name
+     * @param values iterable values that will be padded and comma-spliced into the defined attribute value.
+     * @return this
+     * @throws IllegalArgumentException if the iterable is empty.
+     * @see #bindBucketedList(BiConsumer, String, List)
+     * @since 3.54.1
+     */
+    @Beta
+    public final This bindBucketedList(String key, Iterable<?> values) {
+        return bindBucketedList(EmptyHandling.THROW, key, values == null ? null : IterableLike.toList(values));
+    }
+
+    /**
+     * Like {@link #bindList(BiConsumer, String, List)}, but pads the list to a bucket size given by the
+     * configured {@link ListBucketing} (see {@link SqlStatements#setListBucketing(ListBucketing)}).
+     * <p>
+     * Every distinct list size creates a distinct SQL statement, which fills the statement caches in Jdbi,
+     * the driver and the database. Padding the list bounds the number of distinct statements to the number
+     * of buckets. By default, lists are padded to the next power of two by repeating the last value, so
+     * a list of five ids binds eight parameters. This is only correct for conditions where duplicate values
+     * do not change the result, such as {@code IN} and {@code NOT IN}.
+     *
+     * @param onEmpty handler for null/empty list
+     * @param key     attribute name
+     * @param values  list of values that will be padded and comma-spliced into the defined attribute value.
+     * @return this
+     * @throws IllegalArgumentException if the list is empty.
+     * @see EmptyHandling
+     * @see ListBucketing
+     * @since 3.54.1
+     */
+    @Beta
+    public final This bindBucketedList(BiConsumer<SqlStatement, String> onEmpty, String key, List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return bindList(onEmpty, key, values);
+        }
+
+        ListBucketing bucketing = getConfig(SqlStatements.class).getListBucketing();
+        int size = values.size();
+        int bucketSize = bucketing.bucketSize(size);
+        if (bucketSize <= size) {
+            return bindList(onEmpty, key, values);
+        }
+
+        Object padding = bucketing.isNullPadding() ? null : values.get(size - 1);
+        List<Object> padded = new ArrayList<>(bucketSize);
+        padded.addAll(values);
+        while (padded.size() < bucketSize) {
+            padded.add(padding);
+        }
+        return bindList(onEmpty, key, padded);
+    }
+
+    /**
+     * Bind all values of the given iterable as a single SQL array parameter, and define an attribute as the
+     * reference to this parameter. Unlike {@link #bindList(String, Iterable)}, the rendered SQL statement
+     * does not depend on the number of values. An empty iterable is bound as an empty array, so that e.g.
+     * {@code id = any(<ids>)} matches no rows. A null iterable is rejected.
+     * <p>
+     * This requires a database that supports SQL arrays and a registered array type for the element type,
+     * e.g. PostgreSQL or H2:
+     * <pre>
+     * List&lt;Thing&gt; things = handle.createQuery("select * from things where id = any(&lt;ids&gt;)")
+     *     .bindListAsArray("ids", Long.class, ids)
+     *     .mapTo(Thing.class)
+     *     .list();
+     * </pre>
+     *
+     * @param key         attribute name
+     * @param elementType the element type of the array
+     * @param values      the values to bind as an array
+     * @return this
+     * @throws IllegalArgumentException if the iterable is null.
+     * @see #bindListAsArray(BiConsumer, String, Type, Object)
+     * @see #bindArray(String, Type, Iterable)
+     * @since 3.54.1
+     */
+    @Beta
+    public final This bindListAsArray(String key, Type elementType, Iterable<?> values) {
+        return bindListAsArray(EmptyHandling.THROW, key, elementType, values);
+    }
+
+    /**
+     * Bind all values as a single SQL array parameter, and define an attribute as the reference to this parameter.
+     * Unlike {@link #bindList(BiConsumer, String, List)}, the rendered SQL statement and the number of bound
+     * parameters do not depend on the number of values.
+     * <p>
+     * The values may be an {@link Iterable}, an {@link Iterator} or an array. Primitive arrays such as {@code long[]}
+     * and {@code int[]} are bound without boxing them into an intermediate collection.
+     * <p>
+     * Empty values are bound as an empty array, like {@link #bindListAsArray(String, Type, Iterable)} does, as an
+     * empty array is valid wherever an array is. Null values are passed to the {@code onEmpty} handler, e.g. to render
+     * {@code NULL} or to reject them:
+     * <pre>
+     * List&lt;Thing&gt; things = handle.createQuery("select * from things where id = any(&lt;ids&gt;)")
+     *     .bindListAsArray(EmptyHandling.THROW, "ids", long.class, ids)
+     *     .mapTo(Thing.class)
+     *     .list();
+     * </pre>
+     * This requires a database that supports SQL arrays and a registered
+     * {@link org.jdbi.v3.core.array.SqlArrayType} for the element type, e.g. PostgreSQL or H2.
+     *
+     * @param onEmpty     handler for null values
+     * @param key         attribute name
+     * @param elementType the element type of the array
+     * @param values      an iterable, iterator or array of values to bind as an array
+     * @return this
+     * @throws IllegalArgumentException if the values are null and the handler rejects them.
+     * @see EmptyHandling
+     * @see #bindArray(String, Type, Iterable)
+     * @since 3.54.1
+     */
+    @Beta
+    public final This bindListAsArray(BiConsumer<SqlStatement, String> onEmpty, String key, Type elementType, Object values) {
+        Object array = values;
+        if (array != null && !array.getClass().isArray() && !(array instanceof Collection)) {
+            array = IterableLike.toList(array);
+        }
+
+        if (array == null) {
+            onEmpty.accept(this, key);
+            return typedThis;
+        }
+
+        String name = "__" + key + "_array";
+        Class<?> componentType = array.getClass().getComponentType();
+        if (componentType != null && componentType.isPrimitive()) {
+            bindByType(name, array, array.getClass());
+        } else if (componentType != null) {
+            bindByType(name, array, arrayType(elementType));
+        } else {
+            bindByType(name, array, parameterizeClass(Collection.class, elementType));
+        }
+        return define(key, getConfig(SqlStatements.class).getSqlParser().nameParameter(name, getContext()));
+    }
+
     /**
      * Bind a parameter for each value in the given list * number of property names,
      * and defines an attribute as the comma-separated list of parameter references (using colon prefix).
@@ -1814,6 +1956,12 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
 
             new ArgumentBinder(stmt, ctx, parsedSql.getParameters()).bind(getBinding());
 
+            try {
+                StreamingSupport.beforeExecution(stmt, ctx, getHandle());
+            } catch (SQLException e) {
+                throw new UnableToExecuteStatementException(e, ctx);
+            }
+
             beforeExecution();
 
             attachJfrEvent(evt, ctx);
@@ -1849,10 +1997,7 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
         StatementContext ctx = getContext();
         SqlStatements statements = getConfig(SqlStatements.class);
 
-        String renderedSql = statements.preparedRender(sql, ctx);
-        ctx.setRenderedSql(renderedSql);
-
-        ParsedSql parsedSql = statements.getSqlParser().parse(renderedSql, ctx);
+        ParsedSql parsedSql = statements.renderAndParse(sql, ctx);
         ctx.setParsedSql(parsedSql);
 
         return parsedSql;
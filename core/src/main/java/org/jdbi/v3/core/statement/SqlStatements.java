@@ -18,13 +18,10 @@ import java.sql.Statement;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.StringJoiner;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Function;
@@ -35,9 +32,11 @@ import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.cache.JdbiCache;
 import org.jdbi.v3.core.cache.JdbiCacheBuilder;
-import org.jdbi.v3.core.cache.JdbiCacheLoader;
 import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.core.internal.CopyOnWriteHashMap;
+import org.jdbi.v3.meta.Alpha;
 import org.jdbi.v3.meta.Beta;
 
 /**
@@ -50,8 +49,11 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
 
     private final Map<String, Object> attributes;
     private TemplateEngine templateEngine;
-    private JdbiCache<StatementCacheKey, Function<StatementContext, String>> templateCache;
+    private JdbiCacheBuilder templateCacheBuilder;
+    private JdbiCache<String, TemplateSlot> templateCache;
     private SqlParser sqlParser;
+    private ListBucketing listBucketing;
+    private StreamingPolicy streamingPolicy;
     private SqlLogger sqlLogger;
     private Integer queryTimeout;
     private volatile boolean allowUnusedBindings;
@@ -70,21 +72,26 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
     private volatile boolean includeBindingsInTelemetry = true;
 
     public SqlStatements() {
-        attributes = Collections.synchronizedMap(new HashMap<>());
+        attributes = new CopyOnWriteHashMap<>();
         templateEngine = new DefinedAttributeTemplateEngine();
         sqlParser = new ColonPrefixSqlParser();
+        listBucketing = ListBucketing.powerOfTwo();
+        streamingPolicy = StreamingPolicy.disabled();
         sqlLogger = SqlLogger.NOP_SQL_LOGGER;
         queryTimeout = null;
         customizers = new CopyOnWriteArrayList<>();
         contextListeners = new CopyOnWriteArraySet<>();
-        templateCache = DefaultJdbiCacheBuilder.builder().maxSize(SQL_TEMPLATE_CACHE_SIZE).build();
+        templateCacheBuilder = DefaultJdbiCacheBuilder.builder().maxSize(SQL_TEMPLATE_CACHE_SIZE);
+        templateCache = templateCacheBuilder.buildWithLoader(TemplateSlot::new);
         exceptionHandlers = new ArrayDeque<>(0);
     }
 
     private SqlStatements(SqlStatements that) {
-        this.attributes = Collections.synchronizedMap(that.getAttributes()); // already copied
+        this.attributes = new CopyOnWriteHashMap<>(that.attributes); // shares the map until an attribute is defined
         this.templateEngine = that.templateEngine;
         this.sqlParser = that.sqlParser;
+        this.listBucketing = that.listBucketing;
+        this.streamingPolicy = that.streamingPolicy;
         this.sqlLogger = that.sqlLogger;
         this.queryTimeout = that.queryTimeout;
         this.allowUnusedBindings = that.allowUnusedBindings;
@@ -93,6 +100,7 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         this.scriptStatementsNeedSemicolon = that.scriptStatementsNeedSemicolon;
         this.customizers = new CopyOnWriteArrayList<>(that.customizers);
         this.contextListeners = new CopyOnWriteArraySet<>(that.contextListeners);
+        this.templateCacheBuilder = that.templateCacheBuilder;
         this.templateCache = that.templateCache;
         this.jfrSqlMaxLength = that.jfrSqlMaxLength;
         this.jfrParamMaxLength = that.jfrParamMaxLength;
@@ -194,10 +202,23 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
      */
     @Beta
     public SqlStatements setTemplateCache(JdbiCacheBuilder cacheBuilder) {
-        templateCache = cacheBuilder.build();
+        templateCacheBuilder = cacheBuilder;
+        templateCache = cacheBuilder.buildWithLoader(TemplateSlot::new);
         return this;
     }
 
+    /**
+     * Returns the cache builder that created the template cache. Plugins that cache data per SQL statement
+     * use it to create their caches, so that a cache plugin applies to them as well.
+     *
+     * @return the cache builder of the template cache
+     * @since 3.54.1
+     */
+    @Beta
+    public JdbiCacheBuilder getTemplateCacheBuilder() {
+        return templateCacheBuilder;
+    }
+
     public SqlParser getSqlParser() {
         return sqlParser;
     }
@@ -215,6 +236,56 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         return this;
     }
 
+    /**
+     * Returns the {@link ListBucketing} used by {@link SqlStatement#bindBucketedList(String, Iterable)} to pad lists.
+     *
+     * @return the list bucketing
+     * @since 3.54.1
+     */
+    @Beta
+    public ListBucketing getListBucketing() {
+        return listBucketing;
+    }
+
+    /**
+     * Sets the {@link ListBucketing} used by {@link SqlStatement#bindBucketedList(String, Iterable)} to pad lists.
+     * The default pads lists to the next power of two by repeating the last value.
+     *
+     * @param listBucketing the list bucketing
+     * @return this
+     * @since 3.54.1
+     */
+    @Beta
+    public SqlStatements setListBucketing(ListBucketing listBucketing) {
+        this.listBucketing = Objects.requireNonNull(listBucketing, "listBucketing is null");
+        return this;
+    }
+
+    /**
+     * Returns the {@link StreamingPolicy} that applies to lazily consumed results.
+     *
+     * @return the streaming policy
+     * @since 3.54.1
+     */
+    @Beta
+    public StreamingPolicy getStreamingPolicy() {
+        return streamingPolicy;
+    }
+
+    /**
+     * Sets the {@link StreamingPolicy} that applies to lazily consumed results. The default policy is
+     * {@link StreamingPolicy#disabled() disabled} and leaves the fetch size to the driver.
+     *
+     * @param streamingPolicy the streaming policy
+     * @return this
+     * @since 3.54.1
+     */
+    @Beta
+    public SqlStatements setStreamingPolicy(StreamingPolicy streamingPolicy) {
+        this.streamingPolicy = Objects.requireNonNull(streamingPolicy, "streamingPolicy is null");
+        return this;
+    }
+
     /**
      * @return the timing collector
      * @deprecated use {@link #getSqlLogger} instead
@@ -472,19 +543,68 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         return contextListeners;
     }
 
+    /**
+     * Renders and parses a SQL statement ahead of its first use, so that the template cache and the SQL parser already
+     * hold it when a statement with this SQL is created. Templates that use attributes, or template engines that can not
+     * tell whether a template uses attributes, can not be rendered ahead of time; only their template is prepared.
+     *
+     * @param sql the SQL statement or template
+     * @param config the configuration to render and parse the statement with
+     * @return true if the statement was rendered and parsed, false if only its template was prepared
+     * @throws UnableToCreateStatementException if the template or the statement could not be parsed
+     * @since 3.54.1
+     */
+    @Alpha
+    public boolean warmUp(String sql, ConfigRegistry config) {
+        // rendering and parsing register no cleanables, the detached context does not need to be closed
+        final StatementContext ctx = StatementContext.detached(config);
+        ctx.setRawSql(sql);
+        final PreparedTemplate prepared;
+        final String renderedSql;
+        try {
+            prepared = prepare(sql, ctx);
+            if (!prepared.isStatic()) {
+                // the attributes of the statement are only known when it is created
+                return false;
+            }
+            renderedSql = prepared.render(ctx);
+        } catch (final IllegalArgumentException e) {
+            throw new UnableToCreateStatementException("Exception rendering SQL template", e, ctx);
+        }
+        ctx.setRenderedSql(renderedSql);
+        prepared.parse(renderedSql, sqlParser, ctx);
+        return true;
+    }
+
     String preparedRender(String template, StatementContext ctx) {
         try {
-            return Optional.ofNullable(
-                            templateCache.getWithLoader(
-                                    new StatementCacheKey(templateEngine, template),
-                                    cacheLoaderFunction(ctx)))
-                    .orElse(cx -> templateEngine.render(template, cx)) // fall-back to old behavior
-                    .apply(ctx);
+            return prepare(template, ctx).render(ctx);
         } catch (final IllegalArgumentException e) {
             throw new UnableToCreateStatementException("Exception rendering SQL template", e, ctx);
         }
     }
 
+    /**
+     * Renders a template and parses the rendered SQL. Templates that render to the same SQL for every statement keep
+     * their parsed form, so their statements neither render nor look up the parser cache again.
+     */
+    ParsedSql renderAndParse(String template, StatementContext ctx) {
+        final PreparedTemplate prepared;
+        final String renderedSql;
+        try {
+            prepared = prepare(template, ctx);
+            renderedSql = prepared.render(ctx);
+        } catch (final IllegalArgumentException e) {
+            throw new UnableToCreateStatementException("Exception rendering SQL template", e, ctx);
+        }
+        ctx.setRenderedSql(renderedSql);
+        return prepared.parse(renderedSql, sqlParser, ctx);
+    }
+
+    private PreparedTemplate prepare(String template, StatementContext ctx) {
+        return templateCache.get(template).prepare(templateEngine, ctx.getConfig());
+    }
+
     UnableToExecuteStatementException handleException(SQLException e, StatementContext ctx) {
         var handlerIter = exceptionHandlers.descendingIterator();
         while (handlerIter.hasNext()) {
@@ -493,51 +613,84 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         throw new UnableToExecuteStatementException(e, ctx);
     }
 
-    private static JdbiCacheLoader<StatementCacheKey, Function<StatementContext, String>> cacheLoaderFunction(StatementContext ctx) {
-        return key -> key.getTemplateEngine().parse(key.getTemplate(), ctx.getConfig()).orElse(null);
+    /**
+     * Holds the prepared form of a template for the template engine that prepared it last. The template cache is keyed
+     * by the template alone, so that looking up a prepared template does not allocate.
+     */
+    private static final class TemplateSlot {
+
+        private final String template;
+        private volatile PreparedTemplate prepared;
+
+        TemplateSlot(String template) {
+            this.template = template;
+        }
+
+        PreparedTemplate prepare(TemplateEngine templateEngine, ConfigRegistry config) {
+            PreparedTemplate current = prepared;
+            if (current != null && current.templateEngine.equals(templateEngine)) {
+                return current;
+            }
+            synchronized (this) {
+                current = prepared;
+                if (current == null || !current.templateEngine.equals(templateEngine)) {
+                    current = new PreparedTemplate(templateEngine, template, templateEngine.parse(template, config).orElse(null));
+                    prepared = current;
+                }
+                return current;
+            }
+        }
     }
 
-    private static final class StatementCacheKey {
+    private static final class PreparedTemplate {
 
         private final TemplateEngine templateEngine;
         private final String template;
+        @Nullable
+        private final Function<StatementContext, String> renderer;
+        private volatile ParsedTemplate parsedTemplate;
 
-        StatementCacheKey(TemplateEngine templateEngine, String template) {
+        PreparedTemplate(TemplateEngine templateEngine, String template, @Nullable Function<StatementContext, String> renderer) {
             this.templateEngine = templateEngine;
             this.template = template;
+            this.renderer = renderer;
         }
 
-        TemplateEngine getTemplateEngine() {
-            return templateEngine;
+        boolean isStatic() {
+            return renderer instanceof StaticTemplate;
         }
 
-        String getTemplate() {
-            return template;
+        String render(StatementContext ctx) {
+            if (renderer == null) {
+                // fall-back to old behavior
+                return templateEngine.render(template, ctx);
+            }
+            return renderer.apply(ctx);
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        ParsedSql parse(String renderedSql, SqlParser sqlParser, StatementContext ctx) {
+            // a caching parser returns the same result for the same SQL, other parsers may depend on the context
+            if (!isStatic() || !(sqlParser instanceof CachingSqlParser)) {
+                return sqlParser.parse(renderedSql, ctx);
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            ParsedTemplate current = parsedTemplate;
+            if (current == null || current.sqlParser != sqlParser) {
+                current = new ParsedTemplate(sqlParser, sqlParser.parse(renderedSql, ctx));
+                parsedTemplate = current;
             }
-            StatementCacheKey that = (StatementCacheKey) o;
-            return templateEngine.equals(that.templateEngine) && template.equals(that.template);
+            return current.parsedSql;
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(templateEngine, template);
-        }
+    private static final class ParsedTemplate {
+
+        private final SqlParser sqlParser;
+        private final ParsedSql parsedSql;
 
-        @Override
-        public String toString() {
-            return new StringJoiner(", ", StatementCacheKey.class.getSimpleName() + "[", "]")
-                    .add("templateEngine=" + templateEngine)
-                    .add("template='" + template + "'")
-                    .toString();
+        ParsedTemplate(SqlParser sqlParser, ParsedSql parsedSql) {
+            this.sqlParser = sqlParser;
+            this.parsedSql = parsedSql;
         }
     }
 }
@@ -25,7 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,6 +34,7 @@ import java.util.stream.Collector;
 
 import jakarta.annotation.Nullable;
 
+import com.google.errorprone.annotations.concurrent.GuardedBy;
 import org.jdbi.v3.core.CloseException;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.argument.Argument;
@@ -73,7 +74,18 @@ public class StatementContext implements Closeable {
     private final ExtensionMethod extensionMethod;
     private final Type jdbiStatementType;
 
-    private final Set<Cleanable> cleanables = new LinkedHashSet<>();
+    private static final String[] NO_COLUMN_NAMES = {};
+
+    // a read-only copy can not register cleanables
+    private static final List<Cleanable> READ_ONLY = List.of();
+
+    // past this many cleanables, duplicates are found through a hash set instead of scanning the list
+    private static final int CLEANABLE_SCAN_LIMIT = 8;
+
+    // a statement registers only a few cleanables, a list is smaller than a linked set
+    private final List<Cleanable> cleanables;
+    @GuardedBy("cleanables")
+    private Set<Cleanable> cleanableIndex;
 
     private String rawSql;
     private String renderedSql;
@@ -83,7 +95,7 @@ public class StatementContext implements Closeable {
     private Binding binding = new Binding(this);
 
     private volatile boolean returningGeneratedKeys = false;
-    private String[] generatedKeysColumnNames = new String[0];
+    private String[] generatedKeysColumnNames = NO_COLUMN_NAMES;
     private volatile boolean concurrentUpdatable = false;
 
     private Instant executionMoment;
@@ -98,10 +110,55 @@ public class StatementContext implements Closeable {
         return context;
     }
 
+    // a context that does not belong to a statement, listeners are not notified
+    static StatementContext detached(final ConfigRegistry config) {
+        return new StatementContext(config, null, null);
+    }
+
     private StatementContext(final ConfigRegistry config, final ExtensionMethod extensionMethod, final Type jdbiStatementType) {
+        this(config, extensionMethod, jdbiStatementType, new ArrayList<>(4));
+    }
+
+    private StatementContext(final ConfigRegistry config, final ExtensionMethod extensionMethod, final Type jdbiStatementType,
+        final List<Cleanable> cleanables) {
         this.config = requireNonNull(config);
         this.extensionMethod = extensionMethod;
         this.jdbiStatementType = jdbiStatementType;
+        this.cleanables = cleanables;
+    }
+
+    /**
+     * Returns a read-only copy of this context for code that runs on another thread than the statement, e.g. row
+     * mappers with {@link org.jdbi.v3.core.result.ResultIterable#withParallelMapping(org.jdbi.v3.core.result.ParallelMapping)}.
+     * The copy has its own copy of the configuration and the SQL, binding and timing of this context. It has no
+     * statement and no connection, as these must not be used by more than one thread. Defining attributes, changing
+     * the copy or adding cleanables throws an {@link UnsupportedOperationException}.
+     *
+     * @return a read-only copy of this context
+     * @since 3.54.1
+     */
+    @Alpha
+    public StatementContext readOnlyCopy() {
+        final StatementContext copy = new StatementContext(config.createCopy(), extensionMethod, jdbiStatementType, READ_ONLY);
+        copy.rawSql = rawSql;
+        copy.renderedSql = renderedSql;
+        copy.parsedSql = parsedSql;
+        copy.binding = binding;
+        copy.returningGeneratedKeys = returningGeneratedKeys;
+        copy.generatedKeysColumnNames = generatedKeysColumnNames;
+        copy.concurrentUpdatable = concurrentUpdatable;
+        copy.executionMoment = executionMoment;
+        copy.completionMoment = completionMoment;
+        copy.exceptionMoment = exceptionMoment;
+        copy.mappedRows = mappedRows;
+        copy.traceId = traceId;
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (cleanables == READ_ONLY) {
+            throw new UnsupportedOperationException("This statement context is a read-only copy");
+        }
     }
 
     /**
@@ -171,6 +228,7 @@ public class StatementContext implements Closeable {
      * @param value the value for the attribute
      */
     public void define(String key, Object value) {
+        checkWritable();
         getConfig(SqlStatements.class).define(key, value);
     }
 
@@ -450,6 +508,7 @@ public class StatementContext implements Closeable {
      * @param returningGeneratedKeys return generated keys?
      */
     public void setReturningGeneratedKeys(boolean returningGeneratedKeys) {
+        checkWritable();
         if (isConcurrentUpdatable() && returningGeneratedKeys) {
             throw new IllegalArgumentException("Cannot create a result set that is concurrent updatable and is returning generated keys.");
         }
@@ -479,6 +538,7 @@ public class StatementContext implements Closeable {
      * @param generatedKeysColumnNames the generated key column names
      */
     public void setGeneratedKeysColumnNames(String[] generatedKeysColumnNames) {
+        checkWritable();
         this.generatedKeysColumnNames = Arrays.copyOf(generatedKeysColumnNames, generatedKeysColumnNames.length);
     }
 
@@ -505,6 +565,7 @@ public class StatementContext implements Closeable {
      * @param concurrentUpdatable if the result set should be concurrent updatable.
      */
     public void setConcurrentUpdatable(final boolean concurrentUpdatable) {
+        checkWritable();
         if (concurrentUpdatable && isReturningGeneratedKeys()) {
             throw new IllegalArgumentException("Cannot create a result set that is concurrent "
                     + "updatable and is returning generated keys.");
@@ -529,6 +590,7 @@ public class StatementContext implements Closeable {
      * @param executionMoment Sets the start of query execution.
      */
     public void setExecutionMoment(Instant executionMoment) {
+        checkWritable();
         this.executionMoment = executionMoment;
     }
 
@@ -549,6 +611,7 @@ public class StatementContext implements Closeable {
      * @param completionMoment Sets the end of query execution.
      */
     public void setCompletionMoment(Instant completionMoment) {
+        checkWritable();
         this.completionMoment = completionMoment;
     }
 
@@ -569,6 +632,7 @@ public class StatementContext implements Closeable {
      * @param exceptionMoment Sets the end of query execution.
      */
     public void setExceptionMoment(Instant exceptionMoment) {
+        checkWritable();
         this.exceptionMoment = exceptionMoment;
     }
 
@@ -585,6 +649,7 @@ public class StatementContext implements Closeable {
      */
     @Alpha
     public void setMappedRows(final long mappedRows) {
+        checkWritable();
         this.mappedRows = mappedRows;
     }
 
@@ -593,6 +658,7 @@ public class StatementContext implements Closeable {
      */
     @Alpha
     public void setTraceId(String traceId) {
+        checkWritable();
         this.traceId = traceId;
     }
 
@@ -624,9 +690,19 @@ public class StatementContext implements Closeable {
      * @param cleanable the Cleanable to clean on close
      */
     public void addCleanable(Cleanable cleanable) {
+        checkWritable();
 
         synchronized (cleanables) {
-            cleanables.add(cleanable);
+            if (cleanableIndex != null) {
+                if (cleanableIndex.add(cleanable)) {
+                    cleanables.add(cleanable);
+                }
+            } else if (!cleanables.contains(cleanable)) {
+                cleanables.add(cleanable);
+                if (cleanables.size() > CLEANABLE_SCAN_LIMIT) {
+                    cleanableIndex = new HashSet<>(cleanables);
+                }
+            }
         }
 
         notifyCleanableAdded(cleanable);
@@ -645,6 +721,7 @@ public class StatementContext implements Closeable {
 
                 cleanablesCopy = new ArrayList<>(cleanables);
                 cleanables.clear();
+                cleanableIndex = null;
             }
 
             Collections.reverse(cleanablesCopy);
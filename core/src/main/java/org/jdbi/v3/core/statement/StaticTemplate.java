@@ -0,0 +1,38 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.function.Function;
+
+/**
+ * A prepared template that renders to the same SQL for every statement context. {@link SqlStatements}
+ * caches the parsed form of such templates, so their statements skip rendering and parsing.
+ */
+final class StaticTemplate implements Function<StatementContext, String> {
+
+    private final String sql;
+
+    StaticTemplate(String sql) {
+        this.sql = sql;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    @Override
+    public String apply(StatementContext ctx) {
+        return sql;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Controls how results are fetched when they are consumed lazily, e.g. with
+ * {@link org.jdbi.v3.core.result.ResultIterable#stream()}, {@link org.jdbi.v3.core.result.ResultIterable#iterator()}
+ * or {@link org.jdbi.v3.core.result.ResultIterable#forEach(java.util.function.Consumer)}. Results that are collected
+ * eagerly, e.g. with {@link org.jdbi.v3.core.result.ResultIterable#list()} or
+ * {@link org.jdbi.v3.core.result.ResultIterable#one()}, are not affected.
+ * <p>
+ * For lazily consumed results, the policy
+ * <ul>
+ *     <li>sets the fetch size of the statement, unless the statement sets its own fetch size, e.g. with {@link Query#setFetchSize(int)}.</li>
+ *     <li>lowers the fetch size of the result for wide rows, so that a single fetch transfers at most about
+ *     {@link #getFetchBytes()} bytes. The row width is estimated from the column display sizes of the metadata of the
+ *     executed result, so drivers that fetch the first rows when the statement executes use the lower fetch size from
+ *     the second fetch on.</li>
+ *     <li>optionally runs the query in a read-only transaction, started with {@link org.jdbi.v3.core.Handle#begin()},
+ *     if the handle is not in a transaction. Some drivers, e.g. the PostgreSQL driver, ignore the fetch size and buffer
+ *     the whole result in auto-commit mode. Other statements on the handle run in this transaction while the result is
+ *     open.</li>
+ * </ul>
+ * <p>
+ * The policy is {@link #disabled()} by default, users opt in with {@link SqlStatements#setStreamingPolicy(StreamingPolicy)}.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @see SqlStatements#setStreamingPolicy(StreamingPolicy)
+ * @since 3.54.1
+ */
+@Beta
+public final class StreamingPolicy {
+
+    /** A fetch size for lazily consumed results that suits most drivers, e.g. {@code StreamingPolicy.fetchSize(DEFAULT_FETCH_SIZE)}. */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    /** The default maximum number of bytes for a single fetch. */
+    public static final long DEFAULT_FETCH_BYTES = 16L * 1024 * 1024;
+
+    private static final StreamingPolicy DISABLED = new StreamingPolicy(0, 0, false);
+
+    private final int fetchSize;
+    private final long fetchBytes;
+    private final boolean readOnlyTransaction;
+
+    private StreamingPolicy(int fetchSize, long fetchBytes, boolean readOnlyTransaction) {
+        this.fetchSize = fetchSize;
+        this.fetchBytes = fetchBytes;
+        this.readOnlyTransaction = readOnlyTransaction;
+    }
+
+    /**
+     * Returns a policy that does not change how results are fetched.
+     *
+     * @return a disabled policy
+     */
+    public static StreamingPolicy disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns a policy that sets the given fetch size and limits a single fetch to {@link #DEFAULT_FETCH_BYTES}.
+     *
+     * @param fetchSize the number of rows to fetch at a time, must be positive
+     * @return a streaming policy
+     */
+    public static StreamingPolicy fetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive, got " + fetchSize);
+        }
+        return new StreamingPolicy(fetchSize, DEFAULT_FETCH_BYTES, false);
+    }
+
+    /**
+     * Returns a copy of this policy that limits a single fetch to about the given number of bytes.
+     *
+     * @param fetchBytes the maximum number of bytes for a single fetch, or 0 to not adapt the fetch size to the row width
+     * @return a streaming policy
+     */
+    public StreamingPolicy withFetchBytes(long fetchBytes) {
+        if (fetchBytes < 0) {
+            throw new IllegalArgumentException("fetchBytes must not be negative, got " + fetchBytes);
+        }
+        return new StreamingPolicy(fetchSize, fetchBytes, readOnlyTransaction);
+    }
+
+    /**
+     * Returns a copy of this policy that runs lazily consumed queries in a read-only transaction
+     * if the handle is not in a transaction. The transaction is rolled back when the result is closed.
+     *
+     * @param readOnlyTransaction true to run lazily consumed queries in a transaction
+     * @return a streaming policy
+     */
+    public StreamingPolicy withReadOnlyTransaction(boolean readOnlyTransaction) {
+        return new StreamingPolicy(fetchSize, fetchBytes, readOnlyTransaction);
+    }
+
+    /**
+     * Returns true if this policy changes how results are fetched.
+     *
+     * @return true if this policy is enabled
+     */
+    public boolean isEnabled() {
+        return fetchSize > 0;
+    }
+
+    /**
+     * Returns the fetch size for lazily consumed results.
+     *
+     * @return the fetch size, 0 if the policy is disabled
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Returns the maximum number of bytes for a single fetch.
+     *
+     * @return the maximum number of bytes, 0 if the fetch size is not adapted to the row width
+     */
+    public long getFetchBytes() {
+        return fetchBytes;
+    }
+
+    /**
+     * Returns true if lazily consumed queries run in a read-only transaction.
+     *
+     * @return true if lazily consumed queries run in a read-only transaction
+     */
+    public boolean isReadOnlyTransaction() {
+        return readOnlyTransaction;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingPolicy[fetchSize=" + fetchSize + ", fetchBytes=" + fetchBytes + ", readOnlyTransaction=" + readOnlyTransaction + "]";
+    }
+}
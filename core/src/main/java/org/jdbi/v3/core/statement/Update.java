@@ -93,4 +93,10 @@ public class Update extends SqlStatement<Update> {
     public ResultBearing executeAndReturnGeneratedKeys(String... generatedKeyColumnNames) {
         return execute(returningGeneratedKeys(generatedKeyColumnNames));
     }
+
+    @Override
+    void afterExecution() {
+        super.afterExecution();
+        getConfig(ResultCache.class).afterUpdate(getHandle(), getContext());
+    }
 }
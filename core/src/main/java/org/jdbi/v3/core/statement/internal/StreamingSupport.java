@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.internal.UtilityClassException;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.StreamingPolicy;
+
+/**
+ * Applies the {@link StreamingPolicy} to statements whose results are consumed lazily.
+ */
+public final class StreamingSupport {
+
+    // bounds for the estimated width of a single column. Unbounded types (LOBs, text) report huge display sizes.
+    private static final int MIN_COLUMN_WIDTH = 8;
+    private static final int MAX_COLUMN_WIDTH = 4096;
+
+    // true while a lazily consumed result executes its statement on the current thread
+    private static final ThreadLocal<Boolean> STREAMING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private StreamingSupport() {
+        throw new UtilityClassException();
+    }
+
+    /**
+     * Marks whether the statements that are executed on the current thread are consumed lazily. Result iterables
+     * call this around the creation of their iterator, which executes the statement.
+     *
+     * @param streaming true if the results are consumed lazily
+     * @return the previous value, to be restored afterwards
+     */
+    public static boolean setStreaming(boolean streaming) {
+        final boolean previous = STREAMING.get();
+        STREAMING.set(streaming);
+        return previous;
+    }
+
+    /**
+     * Sets the fetch size and starts a read-only transaction if required. Called before the statement customizers,
+     * so that an explicit fetch size takes precedence.
+     *
+     * @param stmt the statement
+     * @param ctx the statement context
+     * @param handle the handle of the statement
+     * @throws SQLException if the driver fails
+     */
+    public static void beforeExecution(PreparedStatement stmt, StatementContext ctx, Handle handle) throws SQLException {
+        final StreamingPolicy policy = ctx.getConfig(SqlStatements.class).getStreamingPolicy();
+        if (!STREAMING.get() || !policy.isEnabled() || ctx.isReturningGeneratedKeys()) {
+            return;
+        }
+
+        stmt.setFetchSize(policy.getFetchSize());
+
+        // the transaction is visible to the handle, other statements on the handle run in it and can not write
+        if (policy.isReadOnlyTransaction() && !handle.isInTransaction()) {
+            final boolean readOnly = handle.isReadOnly();
+            handle.setReadOnly(true);
+            handle.begin();
+            ctx.addCleanable(() -> {
+                try {
+                    handle.rollback();
+                } finally {
+                    handle.setReadOnly(readOnly);
+                }
+            });
+        }
+    }
+
+    /**
+     * Lowers the fetch size of a lazily consumed result for wide rows, so that a single fetch transfers at most about
+     * {@link StreamingPolicy#getFetchBytes()} bytes. The row width is estimated from the metadata of the executed
+     * result set, which the driver knows without another round trip. An explicit fetch size is not changed.
+     *
+     * @param resultSet the result set, may be null
+     * @param ctx the statement context
+     * @throws SQLException if the driver fails
+     */
+    public static void afterExecution(ResultSet resultSet, StatementContext ctx) throws SQLException {
+        final StreamingPolicy policy = ctx.getConfig(SqlStatements.class).getStreamingPolicy();
+        if (resultSet == null || !STREAMING.get() || !policy.isEnabled() || policy.getFetchBytes() == 0) {
+            return;
+        }
+        // some drivers report the fetch size of the statement only, not of the result
+        final Statement stmt = resultSet.getStatement();
+        if ((stmt == null ? resultSet.getFetchSize() : stmt.getFetchSize()) != policy.getFetchSize()) {
+            return;
+        }
+
+        final int fetchSize = fetchSize(resultSet.getMetaData(), policy);
+        if (fetchSize < policy.getFetchSize()) {
+            resultSet.setFetchSize(fetchSize);
+        }
+    }
+
+    /**
+     * Returns the fetch size of the policy, lowered for wide rows so that a single fetch transfers at most about
+     * {@link StreamingPolicy#getFetchBytes()} bytes.
+     *
+     * @param metaData the metadata of the result
+     * @param policy the streaming policy
+     * @return the fetch size for the result
+     * @throws SQLException if the driver fails
+     */
+    static int fetchSize(ResultSetMetaData metaData, StreamingPolicy policy) throws SQLException {
+        if (metaData == null) {
+            return policy.getFetchSize();
+        }
+        final long rows = Math.max(1, policy.getFetchBytes() / estimateRowWidth(metaData));
+        return (int) Math.min(policy.getFetchSize(), rows);
+    }
+
+    private static long estimateRowWidth(ResultSetMetaData metaData) throws SQLException {
+        long width = 0;
+        final int columns = metaData.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            width += Math.min(MAX_COLUMN_WIDTH, Math.max(MIN_COLUMN_WIDTH, metaData.getColumnDisplaySize(i)));
+        }
+        return Math.max(MIN_COLUMN_WIDTH, width);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestEmbeddedConnectionFactory {
+
+    private EmbeddedConnectionFactory connections;
+
+    @BeforeEach
+    public void setUp() {
+        connections = EmbeddedConnectionFactory.create("jdbc:h2:mem:" + UUID.randomUUID())
+            .withInitSql("CREATE TABLE IF NOT EXISTS something (id INT PRIMARY KEY, name VARCHAR)")
+            .withReaders(2)
+            .withReaderInitSql("SET LOCK_TIMEOUT 100");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connections.close();
+    }
+
+    @Test
+    public void testHandlesReuseTheWriterConnection() {
+        Jdbi jdbi = Jdbi.create(connections);
+
+        Connection first = jdbi.withHandle(Handle::getConnection);
+        Connection second = jdbi.withHandle(Handle::getConnection);
+
+        assertThat(second).isSameAs(first);
+        int inserted = jdbi.withHandle(h -> h.execute("INSERT INTO something (id, name) VALUES (1, 'one')"));
+        assertThat(inserted).isOne();
+    }
+
+    @Test
+    public void testNestedHandlesShareTheConnection() {
+        Jdbi jdbi = Jdbi.create(connections);
+
+        jdbi.useTransaction(outer -> {
+            outer.execute("INSERT INTO something (id, name) VALUES (1, 'one')");
+            try (Handle inner = jdbi.open()) {
+                assertThat(inner.getConnection()).isSameAs(outer.getConnection());
+                assertThat(inner.createQuery("SELECT count(*) FROM something").mapTo(int.class).one()).isOne();
+            }
+            outer.rollback();
+        });
+
+        int count = jdbi.withHandle(h -> h.createQuery("SELECT count(*) FROM something").mapTo(int.class).one());
+        assertThat(count).isZero();
+    }
+
+    @Test
+    public void testWriterIsUsedByOneThreadAtATime() throws Exception {
+        Jdbi jdbi = Jdbi.create(connections);
+        CompletableFuture<Connection> other = new CompletableFuture<>();
+
+        Thread thread;
+        Connection connection;
+        try (Handle handle = jdbi.open()) {
+            connection = handle.getConnection();
+            thread = new Thread(() -> other.complete(jdbi.withHandle(Handle::getConnection)));
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            assertThat(other).isNotDone();
+        }
+
+        assertThat(other.get(10, TimeUnit.SECONDS)).isSameAs(connection);
+        thread.join();
+    }
+
+    @Test
+    public void testReadersAreUsedConcurrently() throws Exception {
+        Jdbi readOnlyJdbi = Jdbi.create(connections.readOnly());
+        CountDownLatch bothOpen = new CountDownLatch(2);
+
+        CompletableFuture<Connection> first = CompletableFuture.supplyAsync(() -> readOnlyJdbi.withHandle(h -> awaitOther(h, bothOpen)));
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> readOnlyJdbi.withHandle(h -> awaitOther(h, bothOpen)));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isNotSameAs(second.get(10, TimeUnit.SECONDS));
+        assertThat(readOnlyJdbi.withHandle(Handle::getConnection)).isIn(first.get(), second.get());
+        assertThat(Jdbi.create(connections).withHandle(Handle::getConnection)).isNotIn(first.get(), second.get());
+    }
+
+    @Test
+    public void testWithoutReaders() {
+        EmbeddedConnectionFactory writerOnly = EmbeddedConnectionFactory.create("jdbc:h2:mem:" + UUID.randomUUID());
+        try {
+            assertThat(Jdbi.create(writerOnly.readOnly()).withHandle(Handle::getConnection))
+                .isSameAs(Jdbi.create(writerOnly).withHandle(Handle::getConnection));
+        } finally {
+            writerOnly.close();
+        }
+    }
+
+    @Test
+    public void testClose() throws SQLException {
+        Jdbi jdbi = Jdbi.create(connections);
+        Connection connection = jdbi.withHandle(Handle::getConnection);
+
+        connections.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThatThrownBy(jdbi::open).isInstanceOf(ConnectionException.class);
+        assertThatThrownBy(() -> EmbeddedConnectionFactory.create("jdbc:h2:mem:").withReaders(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Connection awaitOther(Handle handle, CountDownLatch bothOpen) {
+        bothOpen.countDown();
+        try {
+            assertThat(bothOpen.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return handle.getConnection();
+    }
+}
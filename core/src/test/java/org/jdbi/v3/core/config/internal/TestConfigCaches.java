@@ -23,7 +23,9 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
 import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.config.MetadataCaches;
 import org.junit.jupiter.api.Test;
 
 import static java.util.stream.Collectors.toList;
@@ -252,6 +254,32 @@ class TestConfigCaches {
         });
     }
 
+    @Test
+    void boundedCacheRecomputesEvictedValues() {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            final AtomicInteger computations = new AtomicInteger();
+            final ConfigCache<String, String> cache =
+                ConfigCaches.declare(key -> {
+                    computations.incrementAndGet();
+                    return key.toUpperCase();
+                });
+            final ConfigRegistry config = new ConfigRegistry();
+            config.get(MetadataCaches.class).setCacheBuilder(DefaultJdbiCacheBuilder.builder().maxSize(2));
+
+            assertThat(cache.get("a", config)).isEqualTo("A");
+            assertThat(cache.get("b", config)).isEqualTo("B");
+            assertThat(cache.get("a", config)).isEqualTo("A");
+            assertThat(computations).hasValue(2);
+
+            // "b" is the least recently used key and is evicted
+            assertThat(cache.get("c", config)).isEqualTo("C");
+            assertThat(cache.get("a", config)).isEqualTo("A");
+            assertThat(computations).hasValue(3);
+            assertThat(cache.get("b", config)).isEqualTo("B");
+            assertThat(computations).hasValue(4);
+        });
+    }
+
     private static final class CustomException extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
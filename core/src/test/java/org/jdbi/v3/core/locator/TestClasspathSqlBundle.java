@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.locator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.jdbi.v3.core.locator.internal.SqlBundle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestClasspathSqlBundle {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReadsBundle() throws IOException {
+        SortedMap<String, String> resources = new TreeMap<>();
+        resources.put("com/foo/Bar/baz.sql", "-- bundled\nselect 1");
+        resources.put("com/foo/Bar/plain.sql", "select 2");
+        writeBundle(resources, 2_000_000L);
+        // the bundle takes precedence over an older resource file
+        writeResource("com/foo/Bar/baz.sql", "select 3", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(SqlBundle.forClassLoader(classLoader).size()).isEqualTo(2);
+            assertThat(ClasspathSqlLocator.removingComments().getResource(classLoader, "com/foo/Bar/baz.sql")).isEqualTo("select 1");
+            assertThat(ClasspathSqlLocator.removingComments().getResource(classLoader, "com/foo/Bar/plain.sql")).isEqualTo("select 2");
+            assertThat(ClasspathSqlLocator.create().getResource(classLoader, "com/foo/Bar/baz.sql")).isEqualTo("-- bundled\nselect 1");
+        }
+    }
+
+    @Test
+    public void testFallsBackToResources() throws IOException {
+        SortedMap<String, String> resources = new TreeMap<>();
+        resources.put("com/foo/Bar/baz.sql", "select 1");
+        writeBundle(resources, 1_000_000L);
+        writeResource("com/foo/Bar/other.sql", "select 2 -- comment", 1_000_000L);
+        // modified after the bundle was written, e.g. by an IDE
+        writeResource("com/foo/Bar/baz.sql", "select 3", 2_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            ClasspathSqlLocator locator = ClasspathSqlLocator.removingComments();
+            assertThat(locator.getResource(classLoader, "com/foo/Bar/other.sql")).isEqualTo("select 2 ");
+            assertThat(locator.getResource(classLoader, "com/foo/Bar/baz.sql")).isEqualTo("select 3");
+            assertThatThrownBy(() -> locator.getResource(classLoader, "com/foo/Bar/missing.sql"))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void testResourcesEarlierOnClasspathWin() throws IOException {
+        SortedMap<String, String> resources = new TreeMap<>();
+        resources.put("com/foo/Bar/baz.sql", "select 1");
+        resources.put("com/foo/Bar/bundled.sql", "select 2");
+        writeBundle(tempDir.resolve("second"), resources, 2_000_000L);
+        writeResource(tempDir.resolve("second"), "com/foo/Bar/baz.sql", "select 1", 1_000_000L);
+        // an older resource in a directory without a bundle that comes first on the classpath
+        writeResource(tempDir.resolve("first"), "com/foo/Bar/baz.sql", "select 3", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader(tempDir.resolve("first"), tempDir.resolve("second"))) {
+            ClasspathSqlLocator locator = ClasspathSqlLocator.removingComments();
+            assertThat(locator.getResource(classLoader, "com/foo/Bar/baz.sql")).isEqualTo("select 3");
+            // resources that the class loader does not find are read from the bundle
+            assertThat(locator.getResource(classLoader, "com/foo/Bar/bundled.sql")).isEqualTo("select 2");
+        }
+    }
+
+    @Test
+    public void testNoBundle() throws IOException {
+        writeResource("com/foo/Bar/baz.sql", "select 1", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(SqlBundle.forClassLoader(classLoader).size()).isZero();
+            assertThat(ClasspathSqlLocator.removingComments().getResource(classLoader, "com/foo/Bar/baz.sql")).isEqualTo("select 1");
+        }
+    }
+
+    private URLClassLoader classLoader(Path... roots) throws IOException {
+        if (roots.length == 0) {
+            return classLoader(tempDir);
+        }
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+
+    private void writeBundle(SortedMap<String, String> resources, long lastModified) throws IOException {
+        writeBundle(tempDir, resources, lastModified);
+    }
+
+    private void writeBundle(Path root, SortedMap<String, String> resources, long lastModified) throws IOException {
+        Path bundle = root.resolve(SqlBundle.RESOURCE_NAME);
+        Files.createDirectories(bundle.getParent());
+        try (OutputStream out = Files.newOutputStream(bundle)) {
+            SqlBundle.write(resources, out);
+        }
+        Files.setLastModifiedTime(bundle, FileTime.fromMillis(lastModified));
+    }
+
+    private void writeResource(String path, String sql, long lastModified) throws IOException {
+        writeResource(tempDir, path, sql, lastModified);
+    }
+
+    private void writeResource(Path root, String path, String sql, long lastModified) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, sql, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+}
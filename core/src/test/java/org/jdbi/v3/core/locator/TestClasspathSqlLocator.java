@@ -17,6 +17,7 @@ import java.io.InputStream;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
 import org.jdbi.v3.core.junit5.H2DatabaseExtension;
 import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.core.statement.StatementExceptions;
@@ -125,6 +126,33 @@ public class TestClasspathSqlLocator {
         Thread.currentThread().setContextClassLoader(classLoader);
     }
 
+    @Test
+    public void testBoundedCache() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        ClasspathSqlLocator bounded = locator.withCacheBuilder(DefaultJdbiCacheBuilder.builder().maxSize(1));
+
+        Thread.currentThread().setContextClassLoader(new ClassLoader(classLoader) {
+            @Override
+            public InputStream getResourceAsStream(String s) {
+                loadCount.incrementAndGet();
+                return super.getResourceAsStream(s);
+            }
+        });
+
+        try {
+            bounded.locate("caches-result-after-first-lookup");
+            bounded.locate("caches-result-after-first-lookup");
+            assertThat(loadCount.get()).isOne();
+
+            assertThat(bounded.locate("insert-id-name")).contains("insert into something");
+            bounded.locate("caches-result-after-first-lookup");
+            assertThat(loadCount.get()).isEqualTo(3);
+        } finally {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+    }
+
     @Test
     public void testLocateByMethodName() {
         assertThat(locator.locate(getClass(), "testLocateByMethodName"))
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.mapper;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.JdbiCacheLoader;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.config.MetadataCaches;
+import org.jdbi.v3.core.generic.GenericType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMapperCache {
+
+    @Test
+    public void testTypesOfTransientClassLoadersAreNotShared() throws Exception {
+        final URL classes = TestMapperCache.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes}, null)) {
+            final Class<?> transientType = loader.loadClass(TestMapperCache.class.getName());
+
+            assertThat(MapperCache.isShareable(TestMapperCache.class)).isTrue();
+            assertThat(MapperCache.isShareable(new GenericType<List<String>>() {}.getType())).isTrue();
+            assertThat(MapperCache.isShareable(transientType)).isFalse();
+        }
+    }
+
+    @Test
+    public void testMappersAreCachedWithTheConfiguredBuilder() {
+        final AtomicInteger builds = new AtomicInteger();
+        final JdbiCacheBuilder builder = DefaultJdbiCacheBuilder.builder();
+        final ConfigRegistry config = new ConfigRegistry();
+        config.get(MetadataCaches.class).setCacheBuilder(new JdbiCacheBuilder() {
+            @Override
+            public <K, V> JdbiCache<K, V> build() {
+                builds.incrementAndGet();
+                return builder.build();
+            }
+
+            @Override
+            public <K, V> JdbiCache<K, V> buildWithLoader(JdbiCacheLoader<K, V> cacheLoader) {
+                return builder.buildWithLoader(cacheLoader);
+            }
+
+            @Override
+            public JdbiCacheBuilder maxSize(int maxSize) {
+                builder.maxSize(maxSize);
+                return this;
+            }
+        });
+
+        final ColumnMapper<String> mapper = config.get(ColumnMappers.class).findFor(String.class).orElseThrow();
+        final int built = builds.get();
+        assertThat(built).isPositive();
+
+        // copies read the mappers of the configuration they were copied from
+        assertThat(config.createCopy().get(ColumnMappers.class).findFor(String.class)).containsSame(mapper);
+        assertThat(builds).hasValue(built);
+    }
+}
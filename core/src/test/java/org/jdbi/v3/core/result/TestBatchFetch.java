@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.jdbi.v3.core.mapper.reflect.ConstructorMapper;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBatchFetch {
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private Handle handle;
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.registerRowMapper(ConstructorMapper.factory(Author.class));
+        handle.registerRowMapper(ConstructorMapper.factory(Book.class));
+        handle.execute("CREATE TABLE author (id INT PRIMARY KEY, name VARCHAR(50))");
+        handle.execute("CREATE TABLE book (id INT PRIMARY KEY, author_id INT, title VARCHAR(50))");
+        handle.execute("CREATE TABLE tag (author_id INT, tag VARCHAR(50))");
+        for (int i = 1; i <= 7; i++) {
+            handle.execute("INSERT INTO author VALUES (?, ?)", i, "author" + i);
+            handle.execute("INSERT INTO book VALUES (?, ?, ?)", 2 * i, i, "book" + 2 * i);
+            handle.execute("INSERT INTO book VALUES (?, ?, ?)", 2 * i + 1, i, "book" + (2 * i + 1));
+            handle.execute("INSERT INTO tag VALUES (?, ?)", i, i % 2 == 0 ? "even" : "odd");
+        }
+        handle.setSqlLogger(new SqlLogger() {
+            @Override
+            public void logBeforeExecution(StatementContext context) {
+                statements.add(context.getRenderedSql());
+            }
+        });
+    }
+
+    @Test
+    public void testRelations() {
+        List<Author> authors = BatchFetch.builder(
+                handle.createQuery("SELECT id, name FROM author ORDER BY id").mapTo(Author.class),
+                Author::getId)
+            .withBatchSize(4)
+            .withRelation("SELECT id, author_id, title FROM book WHERE author_id IN (<keys>) ORDER BY id",
+                "author_id", Integer.class, Book.class, Author::addBook)
+            .withRelation("SELECT author_id, tag FROM tag WHERE author_id IN (<keys>)",
+                (authorsById, rowView) -> authorsById.get(rowView.getColumn("author_id", Integer.class))
+                    .addTag(rowView.getColumn("tag", String.class)))
+            .build(handle)
+            .list();
+
+        assertThat(authors).extracting(Author::getName).containsExactly(
+            "author1", "author2", "author3", "author4", "author5", "author6", "author7");
+        assertThat(authors.get(2).books).extracting(Book::getTitle).containsExactly("book6", "book7");
+        assertThat(authors.get(3).tags).containsExactly("even");
+
+        // one parent query and two batches for each relation
+        assertThat(statements).hasSize(5);
+        // the last, shorter batch is padded and shares the statement shape with the others
+        assertThat(new HashSet<>(statements)).hasSize(3);
+    }
+
+    @Test
+    public void testNoParents() {
+        List<Author> authors = BatchFetch.builder(
+                handle.createQuery("SELECT id, name FROM author WHERE id < 0").mapTo(Author.class),
+                Author::getId)
+            .withRelation("SELECT id, author_id, title FROM book WHERE author_id IN (<keys>)",
+                "author_id", Integer.class, Book.class, Author::addBook)
+            .build(handle)
+            .list();
+
+        assertThat(authors).isEmpty();
+        assertThat(statements).hasSize(1);
+    }
+
+    @Test
+    public void testDuplicateKeys() {
+        BatchFetch<Author, Integer> fetch = BatchFetch.builder(
+                handle.createQuery("SELECT 1 AS id, name FROM author").mapTo(Author.class),
+                Author::getId)
+            .withRelation("SELECT id, author_id, title FROM book WHERE author_id IN (<keys>)",
+                "author_id", Integer.class, Book.class, Author::addBook)
+            .build(handle);
+
+        assertThatThrownBy(fetch::list).isInstanceOf(IllegalStateException.class);
+    }
+
+    public static class Author {
+        private final int id;
+        private final String name;
+        private final List<Book> books = new ArrayList<>();
+        private final Set<String> tags = new HashSet<>();
+
+        public Author(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void addBook(Book book) {
+            books.add(book);
+        }
+
+        public void addTag(String tag) {
+            tags.add(tag);
+        }
+    }
+
+    public static class Book {
+        private final int id;
+        private final String title;
+
+        public Book(int id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
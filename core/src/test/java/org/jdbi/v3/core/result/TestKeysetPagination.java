@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.jdbi.v3.core.statement.StatementException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestKeysetPagination {
+
+    private static final int ROWS = 95;
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private final List<Integer> requestedKeys = new ArrayList<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        Handle h = h2Extension.getSharedHandle();
+        h.execute("CREATE TABLE page (id INT PRIMARY KEY)");
+        for (int i = 1; i <= ROWS; i++) {
+            h.execute("INSERT INTO page VALUES (?)", i);
+        }
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ResultIterable<Integer> page(Handle handle, Integer lastKey, int pageSize) {
+        synchronized (requestedKeys) {
+            requestedKeys.add(lastKey);
+        }
+        return handle.createQuery("SELECT id FROM page WHERE id > :lastKey ORDER BY id LIMIT :pageSize")
+            .bind("lastKey", lastKey == null ? 0 : lastKey)
+            .bind("pageSize", pageSize)
+            .mapTo(Integer.class);
+    }
+
+    private static List<Integer> allRows() {
+        return IntStream.rangeClosed(1, ROWS).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testHandle() {
+        List<Integer> result = KeysetPagination.builder(this::page, Integer::intValue)
+            .withPageSize(10)
+            .build(h2Extension.getSharedHandle())
+            .list();
+
+        assertThat(result).isEqualTo(allRows());
+        assertThat(requestedKeys).containsExactly(null, 10, 20, 30, 40, 50, 60, 70, 80, 90);
+    }
+
+    @Test
+    public void testExactPages() {
+        List<Integer> result = KeysetPagination.builder(this::page, Integer::intValue)
+            .withPageSize(19)
+            .build(h2Extension.getSharedHandle())
+            .list();
+
+        assertThat(result).isEqualTo(allRows());
+        // the last page is empty
+        assertThat(requestedKeys).containsExactly(null, 19, 38, 57, 76, 95);
+    }
+
+    @Test
+    public void testJdbiWithoutHandleReuse() {
+        List<Integer> result = KeysetPagination.builder(this::page, Integer::intValue)
+            .withPageSize(30)
+            .withHandleReuse(false)
+            .build(h2Extension.getJdbi())
+            .list();
+
+        assertThat(result).isEqualTo(allRows());
+    }
+
+    @Test
+    public void testPrefetch() {
+        List<Integer> result = KeysetPagination.builder(this::page, Integer::intValue)
+            .withPageSize(7)
+            .withPrefetch(2, executor)
+            .build(h2Extension.getJdbi())
+            .list();
+
+        assertThat(result).isEqualTo(allRows());
+    }
+
+    @Test
+    public void testPrefetchStopsEarly() {
+        try (ResultIterator<Integer> iterator = KeysetPagination.builder(this::page, Integer::intValue)
+            .withPageSize(5)
+            .withPrefetch(1, executor)
+            .build(h2Extension.getJdbi())
+            .iterator()) {
+            assertThat(iterator.next()).isOne();
+            assertThat(iterator.getContext()).isNotNull();
+        }
+
+        assertThat(executor.submit(() -> {}))
+            .as("the producer has stopped")
+            .succeedsWithin(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void testCloseDoesNotInterruptProducer() throws InterruptedException {
+        CountDownLatch fetching = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        try (ResultIterator<Integer> iterator = KeysetPagination.<Integer, Integer>builder(
+                (handle, lastKey, pageSize) -> {
+                    if (lastKey != null) {
+                        fetching.countDown();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            interrupted.set(true);
+                        }
+                    }
+                    return page(handle, lastKey, pageSize);
+                },
+                Integer::intValue)
+            .withPageSize(5)
+            .withPrefetch(1, executor)
+            .build(h2Extension.getJdbi())
+            .iterator()) {
+            assertThat(iterator.next()).isOne();
+            assertThat(fetching.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(interrupted).isFalse();
+        assertThat(executor.submit(() -> Thread.currentThread().isInterrupted()))
+            .succeedsWithin(Duration.ofSeconds(10))
+            .isEqualTo(false);
+    }
+
+    @Test
+    public void testPrefetchError() {
+        ResultIterable<Integer> failing = KeysetPagination.<Integer, Integer>builder(
+                (handle, lastKey, pageSize) -> handle.createQuery("SELECT missing FROM page").mapTo(Integer.class),
+                Integer::intValue)
+            .withPrefetch(1, executor)
+            .build(h2Extension.getJdbi());
+
+        assertThatThrownBy(failing::list).isInstanceOf(StatementException.class);
+    }
+
+    @Test
+    public void testPrefetchRequiresJdbi() {
+        assertThatThrownBy(() -> KeysetPagination.builder(this::page, Integer::intValue)
+            .withPrefetch(1, executor)
+            .build(h2Extension.getSharedHandle()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.reflect.ConstructorMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestParallelMapping {
+
+    private static final int ROWS = 250;
+    private static final String SELECT = "SELECT id, name, amount, created, due, flag, optional FROM item ORDER BY id";
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private ExecutorService executor;
+    private ParallelMapping parallelMapping;
+
+    @BeforeEach
+    public void setUp() {
+        Handle h = h2Extension.getSharedHandle();
+        h.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50), amount DECIMAL(10, 2), created TIMESTAMP, "
+            + "due DATE, flag BOOLEAN, optional INT)");
+        for (int i = 1; i <= ROWS; i++) {
+            h.execute("INSERT INTO item VALUES (?, ?, ?, ?, ?, ?, ?)",
+                i, "item " + i, new BigDecimal(i).movePointLeft(2), LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i),
+                LocalDate.of(2024, 1, 1).plusDays(i), i % 2 == 0, i % 3 == 0 ? null : i);
+        }
+        h.registerRowMapper(ConstructorMapper.factory(Item.class));
+        executor = Executors.newFixedThreadPool(4);
+        parallelMapping = ParallelMapping.using(executor).withBatchSize(7).withMaxPendingRows(30);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOrderedMappingMatchesSequentialMapping() {
+        Handle h = h2Extension.getSharedHandle();
+        List<Item> expected = h.createQuery(SELECT).mapTo(Item.class).list();
+
+        assertThat(h.createQuery(SELECT).mapTo(Item.class).withParallelMapping(parallelMapping).list())
+            .hasSize(ROWS)
+            .isEqualTo(expected);
+        assertThat(h.createQuery(SELECT).mapTo(Item.class).withParallelMapping(parallelMapping).stream())
+            .isEqualTo(expected);
+    }
+
+    @Test
+    public void testTypedGetters() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<String> mapper = (rs, ctx) -> {
+            int optional = rs.getInt("OPTIONAL");
+            return rs.getLong(1) + " " + rs.getString("name") + " " + rs.getDouble("amount") + " " + rs.getTimestamp("created").toLocalDateTime()
+                + " " + rs.getDate("due").toLocalDate() + " " + rs.getObject("due", LocalDate.class) + " " + rs.getBoolean("flag")
+                + " " + (rs.wasNull() ? "-" : optional) + " " + rs.getMetaData().getColumnLabel(7);
+        };
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list())
+            .isEqualTo(h.createQuery(SELECT).map(mapper).list());
+    }
+
+    @Test
+    public void testTypedGettersUseDriverConversions() {
+        Handle h = h2Extension.getSharedHandle();
+        // the driver formats these values differently than their getObject() values
+        RowMapper<String> mapper = (rs, ctx) -> rs.getString("created") + " " + rs.getString("flag") + " " + rs.getFloat("amount");
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list())
+            .isEqualTo(h.createQuery(SELECT).map(mapper).list());
+    }
+
+    @Test
+    public void testCalendarGetters() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<String> mapper = (rs, ctx) -> {
+            Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("Pacific/Auckland"));
+            return rs.getTimestamp("created", calendar).toInstant() + " " + rs.getDate("due", calendar).getTime();
+        };
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list())
+            .isEqualTo(h.createQuery(SELECT).map(mapper).list());
+    }
+
+    @Test
+    public void testGettersFirstUsedOnLaterRows() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<String> mapper = (rs, ctx) -> rs.getInt("id") > 100 ? rs.getString("created") : rs.getString("name");
+
+        List<String> expected = h.createQuery(SELECT).map(mapper).list();
+        List<String> actual = h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list();
+
+        // rows that were read before the mapper called the new getter are converted, later rows are read by the driver
+        assertThat(actual).hasSize(ROWS);
+        assertThat(actual.subList(0, 100)).isEqualTo(expected.subList(0, 100));
+        assertThat(actual.subList(150, ROWS)).isEqualTo(expected.subList(150, ROWS));
+        assertThat(actual.get(100)).startsWith(expected.get(100));
+    }
+
+    @Test
+    public void testStatementContextIsReadOnly() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<String> mapper = (rs, ctx) -> {
+            assertThat(ctx.getStatement()).isNull();
+            assertThatThrownBy(() -> ctx.addCleanable(() -> {})).isInstanceOf(UnsupportedOperationException.class);
+            return ctx.getRawSql();
+        };
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list())
+            .hasSize(ROWS)
+            .containsOnly(SELECT);
+    }
+
+    @Test
+    public void testStatementContextIsCopiedOnce() {
+        Handle h = h2Extension.getSharedHandle();
+        Set<StatementContext> contexts = ConcurrentHashMap.newKeySet();
+        RowMapper<String> mapper = (rs, ctx) -> {
+            contexts.add(ctx);
+            return rs.getString("name");
+        };
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list()).hasSize(ROWS);
+        assertThat(contexts).hasSize(1);
+    }
+
+    @Test
+    public void testUnsupportedOperationsThrowSqlExceptions() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<String> mapper = (rs, ctx) -> {
+            assertThatThrownBy(rs::next).isInstanceOf(SQLException.class);
+            assertThatThrownBy(() -> rs.updateString(1, "x")).isInstanceOf(SQLException.class);
+            assertThatThrownBy(() -> rs.getBinaryStream(1)).isInstanceOf(SQLFeatureNotSupportedException.class);
+            return rs.getString("name");
+        };
+
+        assertThat(h.createQuery(SELECT).map(mapper).withParallelMapping(parallelMapping).list()).hasSize(ROWS);
+    }
+
+    @Test
+    public void testUnorderedMapping() {
+        Handle h = h2Extension.getSharedHandle();
+        List<Item> expected = h.createQuery(SELECT).mapTo(Item.class).list();
+
+        assertThat(h.createQuery(SELECT).mapTo(Item.class).withParallelMapping(parallelMapping.withOrdered(false)).list())
+            .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testReadAheadIsBounded() {
+        AtomicInteger submitted = new AtomicInteger();
+        ParallelMapping counting = ParallelMapping.using(task -> {
+            submitted.incrementAndGet();
+            executor.execute(task);
+        }).withBatchSize(10).withMaxPendingRows(30);
+
+        try (ResultIterator<Item> iterator = h2Extension.getSharedHandle().createQuery(SELECT)
+                .mapTo(Item.class)
+                .withParallelMapping(counting)
+                .iterator()) {
+            // the first row is mapped on this thread and counts against the pending batches
+            assertThat(iterator.next().id()).isOne();
+            assertThat(submitted).hasValue(2);
+
+            for (int i = 2; i <= 11; i++) {
+                assertThat(iterator.next().id()).isEqualTo(i);
+            }
+            assertThat(submitted).hasValue(3);
+
+            assertThat(iterator.next().id()).isEqualTo(12);
+            assertThat(submitted).hasValue(4);
+        }
+    }
+
+    @Test
+    public void testMappingExceptionClosesResult() {
+        Handle h = h2Extension.getSharedHandle();
+        RowMapper<Integer> failing = (rs, ctx) -> {
+            if (rs.getInt("id") == 100) {
+                throw new SQLException("bad row");
+            }
+            return rs.getInt("id");
+        };
+
+        ResultIterator<Integer> iterator = h.createQuery(SELECT).map(failing).withParallelMapping(parallelMapping).iterator();
+        assertThatThrownBy(() -> iterator.forEachRemaining(id -> {}))
+            .isInstanceOf(ResultSetException.class)
+            .hasRootCauseMessage("bad row");
+        assertThat(iterator.hasNext()).isFalse();
+
+        RowMapper<Integer> throwing = (rs, ctx) -> {
+            throw new IllegalStateException("boom");
+        };
+        assertThatThrownBy(() -> h.createQuery(SELECT).map(throwing).withParallelMapping(parallelMapping).list())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("boom");
+    }
+
+    @Test
+    public void testEmptyResult() {
+        assertThat(h2Extension.getSharedHandle().createQuery("SELECT id FROM item WHERE id < 0")
+            .mapTo(Integer.class)
+            .withParallelMapping(parallelMapping)
+            .list())
+            .isEmpty();
+    }
+
+    @Test
+    public void testDerivedIterablesMapSequentially() {
+        ResultIterable<Integer> derived = h2Extension.getSharedHandle().createQuery(SELECT)
+            .mapTo(Item.class)
+            .map(Item::id);
+
+        assertThat(derived.withParallelMapping(parallelMapping)).isSameAs(derived);
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        assertThatThrownBy(() -> parallelMapping.withBatchSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parallelMapping.withMaxPendingRows(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(parallelMapping.isOrdered()).isTrue();
+        assertThat(parallelMapping.getBatchSize()).isEqualTo(7);
+    }
+
+    public record Item(int id, String name, BigDecimal amount, LocalDateTime created, LocalDate due, boolean flag, Integer optional) {}
+}
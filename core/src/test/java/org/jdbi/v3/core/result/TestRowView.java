@@ -13,8 +13,11 @@
  */
 package org.jdbi.v3.core.result;
 
+import java.util.function.BiFunction;
+
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.jdbi.v3.core.mapper.MappingException;
 import org.jdbi.v3.core.mapper.NoSuchMapperException;
 import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.meta.Beta;
@@ -54,4 +57,36 @@ public class TestRowView {
                 .reduceRows(0, (a, rv) -> a + rv.getColumn("a", QualifiedType.of(int.class).with(Beta.class))))
             .isInstanceOf(NoSuchMapperException.class);
     }
+
+    @Test
+    public void testColumnAccessor() {
+        int sum = h2Extension.getSharedHandle().createQuery("SELECT a, a * 2 AS b FROM test")
+            .reduceRows(new int[1], new BiFunction<int[], RowView, int[]>() {
+                private RowView view;
+                private ColumnAccessor<Integer> a;
+                private ColumnAccessor<Long> b;
+
+                @Override
+                public int[] apply(int[] acc, RowView rowView) {
+                    if (rowView != view) {
+                        assertThat(view).isNull();
+                        view = rowView;
+                        a = rowView.accessor("a", Integer.class);
+                        b = rowView.accessor(2, QualifiedType.of(Long.class));
+                    }
+                    acc[0] += a.get() + b.get().intValue();
+                    return acc;
+                }
+            })[0];
+
+        assertThat(sum).isEqualTo(30);
+    }
+
+    @Test
+    public void testColumnAccessorUnknownColumn() {
+        assertThatThrownBy(() ->
+            h2Extension.getSharedHandle().createQuery("SELECT * FROM test")
+                .reduceRows(0, (a, rv) -> a + rv.accessor("missing", Integer.class).get()))
+            .isInstanceOf(MappingException.class);
+    }
 }
@@ -14,6 +14,7 @@
 package org.jdbi.v3.core.statement;
 
 import java.sql.PreparedStatement;
+import java.sql.Types;
 import java.util.Arrays;
 
 import org.jdbi.v3.core.argument.Argument;
@@ -27,6 +28,7 @@ import org.mockito.quality.Strictness;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -94,6 +96,24 @@ public class ArgumentBinderTest {
             .doesNotThrowAnyException();
     }
 
+    @Test
+    public void testPositionalPlanFollowsValueClasses() throws Exception {
+        ArgumentBinder binder = new ArgumentBinder(stmt, ctx, positionalParams(2));
+        binder.bind(valueBinding(1, "a"));
+        binder.bind(valueBinding(2, "b"));
+        binder.bind(valueBinding("c", 3L));
+        binder.bind(valueBinding(null, null));
+
+        verify(stmt).setInt(1, 1);
+        verify(stmt).setString(2, "a");
+        verify(stmt).setInt(1, 2);
+        verify(stmt).setString(2, "b");
+        verify(stmt).setString(1, "c");
+        verify(stmt).setLong(2, 3L);
+        verify(stmt).setNull(1, Types.OTHER);
+        verify(stmt).setNull(2, Types.OTHER);
+    }
+
     private ParsedParameters positionalParams(int size) {
         String[] names = new String[size];
         Arrays.fill(names, "?");
@@ -112,6 +132,14 @@ public class ArgumentBinderTest {
         return b;
     }
 
+    private Binding valueBinding(Object... values) {
+        Binding b = new Binding(ctx);
+        for (int i = 0; i < values.length; i++) {
+            b.addPositional(i, values[i]);
+        }
+        return b;
+    }
+
     private Binding namedBinding(String... names) {
         Binding b = new Binding(ctx);
         for (String name: names) {
@@ -14,6 +14,9 @@
 package org.jdbi.v3.core.statement;
 
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 import org.jdbi.v3.core.config.ConfigRegistry;
@@ -72,4 +75,41 @@ public class StatementContextTest {
 
         assertThat(context.findColumnMapperFor(Foo.class)).contains(mapper);
     }
+
+    @Test
+    public void testManyCleanablesAreRegisteredOnce() {
+        final StatementContext context = StatementContextAccess.createContext();
+        final List<Integer> closed = new ArrayList<>();
+        final List<Cleanable> cleanables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int id = i;
+            cleanables.add(() -> closed.add(id));
+        }
+
+        cleanables.forEach(context::addCleanable);
+        cleanables.forEach(context::addCleanable);
+        context.close();
+
+        assertThat(closed).hasSize(20).first().isEqualTo(19);
+        assertThat(closed).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    public void testReadOnlyCopy() {
+        final StatementContext context = StatementContextAccess.createContext();
+        context.setRawSql("SELECT 1");
+        context.define("attribute", "value");
+
+        final StatementContext copy = context.readOnlyCopy();
+
+        assertThat(copy.getRawSql()).isEqualTo("SELECT 1");
+        assertThat(copy.getAttribute("attribute")).isEqualTo("value");
+        assertThat(copy.getConfig()).isNotSameAs(context.getConfig());
+        assertThatThrownBy(() -> copy.define("attribute", "other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> copy.addCleanable(() -> {})).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> copy.setMappedRows(1)).isInstanceOf(UnsupportedOperationException.class);
+
+        context.define("attribute", "other");
+        assertThat(copy.getAttribute("attribute")).isEqualTo("value");
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestAsyncSqlLogger {
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private Handle handle;
+    private final List<AsyncSqlLogger.Event> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+    }
+
+    @Test
+    public void testEventsAreEmitted() {
+        try (AsyncSqlLogger logger = AsyncSqlLogger.builder(events::add).withParameters(100).build()) {
+            handle.setSqlLogger(logger);
+            handle.createUpdate("INSERT INTO item VALUES (:id, :name)").bind("id", 1).bind("name", "one").execute();
+            assertThat(handle.createQuery("SELECT name FROM item").mapTo(String.class).one()).isEqualTo("one");
+        }
+
+        assertThat(events).extracting(AsyncSqlLogger.Event::getType).containsExactly("Update", "Query");
+        AsyncSqlLogger.Event insert = events.get(0);
+        assertThat(insert.getSql()).isEqualTo("INSERT INTO item VALUES (:id, :name)");
+        assertThat(insert.getSqlHash()).isEqualTo(insert.getSql().hashCode());
+        assertThat(insert.getParameters()).contains("one");
+        assertThat((Throwable) insert.getException()).isNull();
+        assertThat(insert.getDuration().isNegative()).isFalse();
+    }
+
+    @Test
+    public void testParametersAreNotCapturedByDefault() {
+        try (AsyncSqlLogger logger = AsyncSqlLogger.builder(events::add).build()) {
+            handle.setSqlLogger(logger);
+            handle.createQuery("SELECT name FROM item WHERE id = :id").bind("id", 1).mapTo(String.class).findOne();
+        }
+
+        assertThat(events).singleElement().extracting(AsyncSqlLogger.Event::getParameters).isNull();
+    }
+
+    @Test
+    public void testFailuresAreAlwaysCaptured() {
+        try (AsyncSqlLogger logger = AsyncSqlLogger.builder(events::add).withSampleRate(0.0).build()) {
+            handle.setSqlLogger(logger);
+            handle.execute("INSERT INTO item VALUES (1, 'one')");
+            assertThatThrownBy(() -> handle.execute("INSERT INTO item VALUES (1, 'one')"))
+                .isInstanceOf(UnableToExecuteStatementException.class);
+
+            assertThat(logger.getSampledOutCount()).isOne();
+        }
+
+        assertThat(events).singleElement().satisfies(event -> assertThat((Throwable) event.getException()).isNotNull());
+    }
+
+    @Test
+    public void testFullBufferDropsEvents() throws InterruptedException {
+        CountDownLatch sinkEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncSqlLogger.Sink blockingSink = event -> {
+            sinkEntered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        };
+
+        try (AsyncSqlLogger logger = AsyncSqlLogger.builder(blockingSink).withCapacity(2).build()) {
+            handle.setSqlLogger(logger);
+            handle.execute("SELECT 1");
+            assertThat(sinkEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the consumer is blocked, two events fit into the buffer
+            for (int i = 0; i < 5; i++) {
+                handle.execute("SELECT 1");
+            }
+            assertThat(logger.getDroppedCount()).isEqualTo(3);
+            release.countDown();
+        }
+
+        assertThat(events).hasSize(3);
+    }
+
+    @Test
+    public void testIdleConsumerIsParked() throws InterruptedException {
+        AtomicReference<Thread> consumer = new AtomicReference<>();
+        try (AsyncSqlLogger logger = AsyncSqlLogger.builder(events::add)
+                .withThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    consumer.set(thread);
+                    return thread;
+                })
+                .build()) {
+            handle.setSqlLogger(logger);
+            handle.execute("SELECT 1");
+
+            // without events, the consumer waits without a timeout instead of polling
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((events.isEmpty() || consumer.get().getState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(consumer.get().getState()).isEqualTo(Thread.State.WAITING);
+
+            handle.execute("SELECT 2");
+        }
+
+        assertThat(events).hasSize(2);
+        assertThat(consumer.get().isAlive()).isFalse();
+    }
+
+    @Test
+    public void testEventsAfterCloseAreDropped() {
+        AsyncSqlLogger logger = AsyncSqlLogger.builder(events::add).build();
+        handle.setSqlLogger(logger);
+        handle.execute("SELECT 1");
+        logger.close();
+        handle.execute("SELECT 2");
+
+        assertThat(events).hasSize(1);
+        assertThat(logger.getDroppedCount()).isOne();
+    }
+
+    @Test
+    public void testSinkFailuresAreCounted() {
+        AsyncSqlLogger logger = AsyncSqlLogger.builder(event -> {
+            throw new IllegalStateException("broken sink");
+        }).build();
+        try (logger) {
+            handle.setSqlLogger(logger);
+            handle.execute("SELECT 1");
+        }
+
+        assertThat(logger.getSinkFailureCount()).isOne();
+        assertThat(logger.getEmittedCount()).isZero();
+    }
+}
@@ -25,8 +25,10 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import static java.util.Collections.emptyList;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.jdbi.v3.core.statement.EmptyHandling.NULL_KEYWORD;
+import static org.jdbi.v3.core.statement.EmptyHandling.THROW;
 
 public class TestBindList {
 
@@ -127,6 +129,95 @@ public class TestBindList {
         }
     }
 
+    @Test
+    public void testBindBucketedList() {
+        handle.execute("insert into thing (id, foo) values (?, ?)", 3, "foo3");
+
+        Query query = handle.createQuery("select id from thing where id in (<ids>) order by id")
+                .bindBucketedList("ids", List.of(1, 2, 3));
+
+        assertThat(query.mapTo(Integer.class).list()).containsExactly(1, 2, 3);
+        assertThat(query.getContext().getRenderedSql()).isEqualTo(
+                "select id from thing where id in (:__ids_0,:__ids_1,:__ids_2,:__ids_3) order by id");
+
+        List<Integer> notIn = handle.createQuery("select id from thing where id not in (<ids>) order by id")
+                .bindBucketedList("ids", List.of(1, 2, 3, 4, 5))
+                .mapTo(Integer.class)
+                .list();
+        assertThat(notIn).isEmpty();
+    }
+
+    @Test
+    public void testBindBucketedListWithSizes() {
+        handle.getConfig(SqlStatements.class).setListBucketing(ListBucketing.ofSizes(10, 3).withNullPadding());
+
+        Query query = handle.createQuery("select id from thing where id in (<ids>) order by id")
+                .bindBucketedList("ids", List.of(2, 1, 7, 8));
+
+        assertThat(query.mapTo(Integer.class).list()).containsExactly(1, 2);
+        assertThat(query.getContext().getRenderedSql()).contains(":__ids_9)").doesNotContain(":__ids_10");
+    }
+
+    @Test
+    public void testListBucketSizes() {
+        ListBucketing powerOfTwo = ListBucketing.powerOfTwo();
+        assertThat(powerOfTwo.bucketSize(1)).isOne();
+        assertThat(powerOfTwo.bucketSize(2)).isEqualTo(2);
+        assertThat(powerOfTwo.bucketSize(3)).isEqualTo(4);
+        assertThat(powerOfTwo.bucketSize(300)).isEqualTo(512);
+        assertThat(powerOfTwo.bucketSize(600)).isEqualTo(600);
+        assertThat(powerOfTwo.withMaxBucketSize(1000).bucketSize(600)).isEqualTo(1000);
+        assertThat(powerOfTwo.withMaxBucketSize(1000).bucketSize(1001)).isEqualTo(1001);
+
+        ListBucketing sizes = ListBucketing.ofSizes(100, 10);
+        assertThat(sizes.bucketSize(1)).isOne();
+        assertThat(sizes.bucketSize(7)).isEqualTo(10);
+        assertThat(sizes.bucketSize(11)).isEqualTo(100);
+        assertThat(sizes.bucketSize(250)).isEqualTo(250);
+        assertThat(sizes.withMaxBucketSize(50).bucketSize(11)).isEqualTo(50);
+    }
+
+    @Test
+    public void testBindListAsArray() {
+        Query query = handle.createQuery("select id from thing where array_contains(<ids>, id) order by id")
+                .bindListAsArray("ids", Integer.class, List.of(2, 5));
+
+        assertThat(query.mapTo(Integer.class).list()).containsExactly(2);
+        assertThat(query.getContext().getRenderedSql()).isEqualTo(
+                "select id from thing where array_contains(:__ids_array, id) order by id");
+    }
+
+    @Test
+    public void testBindEmptyListAsArray() {
+        List<Integer> ids = handle.createQuery("select id from thing where id = any(<ids>) order by id")
+                .bindListAsArray("ids", Integer.class, List.of())
+                .mapTo(Integer.class)
+                .list();
+
+        assertThat(ids).isEmpty();
+        assertThat(handle.createQuery("select id from thing where id = any(<ids>) order by id")
+                .bindListAsArray(THROW, "ids", int.class, new int[0])
+                .mapTo(Integer.class)
+                .list())
+                .isEmpty();
+        assertThatThrownBy(() -> handle.createQuery("select id from thing where id = any(<ids>)")
+                .bindListAsArray(THROW, "ids", Integer.class, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> handle.createQuery("select id from thing where id = any(<ids>)")
+                .bindListAsArray("ids", Integer.class, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testBindListAsPrimitiveArray() {
+        List<Integer> ids = handle.createQuery("select id from thing where id = any(<ids>) order by id")
+                .bindListAsArray(NULL_KEYWORD, "ids", long.class, new long[] {2, 1, 9})
+                .mapTo(Integer.class)
+                .list();
+
+        assertThat(ids).containsExactly(1, 2);
+    }
+
     public static class Thing {
 
         public int id;
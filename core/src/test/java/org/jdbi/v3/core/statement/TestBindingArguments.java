@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBindingArguments {
+
+    @Test
+    public void testPositionalArgumentsBehaveLikeTreeMap() {
+        Map<Integer, Object> positionals = new PositionalArguments();
+        Map<Integer, Object> expected = new TreeMap<>();
+        for (int position : new int[] {3, 0, 7, 1, 3}) {
+            assertThat(positionals.put(position, "v" + position)).isEqualTo(expected.put(position, "v" + position));
+        }
+        positionals.put(5, null);
+        expected.put(5, null);
+
+        assertThat(positionals).isEqualTo(expected).hasSameHashCodeAs(expected);
+        assertThat(positionals.keySet()).containsExactly(0, 1, 3, 5, 7);
+        assertThat(positionals.containsKey(5)).isTrue();
+        assertThat(positionals.containsKey(2)).isFalse();
+        assertThat(positionals.containsKey(100)).isFalse();
+        assertThat(positionals.get(-1)).isNull();
+
+        assertThat(positionals.remove(3)).isEqualTo("v3");
+        assertThat(positionals.remove(3)).isNull();
+        assertThat(positionals).hasSize(4);
+
+        Iterator<Integer> keys = positionals.keySet().iterator();
+        keys.next();
+        keys.remove();
+        assertThat(positionals.keySet()).containsExactly(1, 5, 7);
+
+        positionals.clear();
+        assertThat(positionals).isEmpty();
+        assertThatThrownBy(() -> positionals.put(-1, "v")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testNamedArgumentsBehaveLikeLinkedHashMap() {
+        Map<String, Object> named = new NamedArguments();
+        Map<String, Object> expected = new LinkedHashMap<>();
+        for (String name : new String[] {"b", "a", "c", "a"}) {
+            assertThat(named.put(name, name + "1")).isEqualTo(expected.put(name, name + "1"));
+        }
+        named.put("d", null);
+        expected.put("d", null);
+
+        assertThat(named).isEqualTo(expected).hasSameHashCodeAs(expected);
+        assertThat(named.keySet()).containsExactly("b", "a", "c", "d");
+        assertThat(named.containsKey("d")).isTrue();
+        assertThat(named.containsKey("e")).isFalse();
+
+        assertThat(named.remove("a")).isEqualTo("a1");
+        assertThat(named.keySet()).containsExactly("b", "c", "d");
+        assertThat(named.get("c")).isEqualTo("c1");
+
+        Iterator<String> keys = named.keySet().iterator();
+        keys.next();
+        keys.remove();
+        assertThat(keys.next()).isEqualTo("c");
+        assertThat(named.keySet()).containsExactly("c", "d");
+    }
+
+    @Test
+    public void testManyNamedArguments() {
+        Map<String, Object> named = new NamedArguments();
+        for (int i = 0; i < 100; i++) {
+            named.put("name" + i, i);
+        }
+        assertThat(named).hasSize(100);
+        assertThat(named.get("name42")).isEqualTo(42);
+
+        named.remove("name0");
+        assertThat(named.get("name1")).isEqualTo(1);
+        assertThat(named.get("name0")).isNull();
+        named.put("name0", 0);
+        assertThat(named.get("name0")).isEqualTo(0);
+        assertThat(named.keySet()).startsWith("name1").endsWith("name0");
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRenderAndParse {
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance().withInitializer(H2DatabaseExtension.SOMETHING_INITIALIZER);
+
+    private Handle handle;
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.execute("insert into something (id, name) values (1, 'eric')");
+        handle.setSqlParser(new CountingParser());
+    }
+
+    private String findName(String sql) {
+        return handle.createQuery(sql).bind("id", 1).mapTo(String.class).one();
+    }
+
+    @Test
+    public void testStaticTemplateIsParsedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(findName("select name from something where id = :id")).isEqualTo("eric");
+        }
+        assertThat(parsed).hasValue(1);
+    }
+
+    @Test
+    public void testTemplateWithAttributesIsParsedEveryTime() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(handle.createQuery("select <column> from something where id = :id")
+                .define("column", "name")
+                .bind("id", 1)
+                .mapTo(String.class)
+                .one()).isEqualTo("eric");
+        }
+        assertThat(parsed).hasValue(3);
+    }
+
+    @Test
+    public void testNoTemplateEngine() {
+        handle.setTemplateEngine(new NoTemplateEngine());
+        for (int i = 0; i < 3; i++) {
+            assertThat(findName("select name from something where id = :id /* <unrendered> */")).isEqualTo("eric");
+        }
+        assertThat(parsed).hasValue(1);
+    }
+
+    @Test
+    public void testChangedTemplateEngineRendersAgain() {
+        String sql = "select <column> from something where id = :id";
+        handle.define("column", "name");
+        assertThat(findName(sql)).isEqualTo("eric");
+
+        TemplateEngine defaultEngine = handle.getConfig(SqlStatements.class).getTemplateEngine();
+        handle.setTemplateEngine((template, ctx) -> template.replace("<column>", "id"));
+        assertThat(findName(sql)).isEqualTo("1");
+
+        handle.setTemplateEngine(defaultEngine);
+        assertThat(findName(sql)).isEqualTo("eric");
+    }
+
+    @Test
+    public void testChangedParserParsesAgain() {
+        String sql = "select name from something where id = :id";
+        assertThat(findName(sql)).isEqualTo("eric");
+
+        handle.setSqlParser(new CountingParser());
+        assertThat(findName(sql)).isEqualTo("eric");
+        assertThat(findName(sql)).isEqualTo("eric");
+
+        assertThat(parsed).hasValue(2);
+    }
+
+    @Test
+    public void testNonCachingParserIsAlwaysCalled() {
+        ColonPrefixSqlParser delegate = new ColonPrefixSqlParser();
+        handle.setSqlParser(new SqlParser() {
+            @Override
+            public ParsedSql parse(String sql, StatementContext ctx) {
+                parsed.incrementAndGet();
+                return delegate.parse(sql, ctx);
+            }
+
+            @Override
+            public String nameParameter(String rawName, StatementContext ctx) {
+                return delegate.nameParameter(rawName, ctx);
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(findName("select name from something where id = :id")).isEqualTo("eric");
+        }
+        assertThat(parsed).hasValue(3);
+    }
+
+    private final class CountingParser extends ColonPrefixSqlParser {
+        @Override
+        public ParsedSql parse(String sql, StatementContext ctx) {
+            parsed.incrementAndGet();
+            return super.parse(sql, ctx);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.argument.Argument;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestResultCache {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private Jdbi jdbi;
+    private Handle handle;
+    private final List<String> executed = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        SqlLogger logger = new SqlLogger() {
+            @Override
+            public void logBeforeExecution(StatementContext context) {
+                executed.add(context.getRenderedSql());
+            }
+        };
+        jdbi = h2Extension.getJdbi().setSqlLogger(logger);
+        handle = h2Extension.getSharedHandle().setSqlLogger(logger);
+        handle.execute("CREATE TABLE country (code VARCHAR(2) PRIMARY KEY, name VARCHAR(50))");
+        handle.execute("INSERT INTO country VALUES ('DE', 'Germany'), ('FR', 'France')");
+        executed.clear();
+    }
+
+    private String countryName(Handle h, String code) {
+        return h.createQuery("SELECT name FROM country WHERE code = :code")
+            .cached(TTL, "country")
+            .bind("code", code)
+            .mapTo(String.class)
+            .one();
+    }
+
+    @Test
+    public void testCachedAcrossHandles() {
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        try (Handle other = jdbi.open()) {
+            assertThat(countryName(other, "DE")).isEqualTo("Germany");
+        }
+        assertThat(countryName(handle, "FR")).isEqualTo("France");
+
+        assertThat(executed).hasSize(2);
+        ResultCache.Stats stats = jdbi.getConfig(ResultCache.class).getStats();
+        assertThat(stats.hitCount()).isOne();
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.cacheSize()).isEqualTo(2);
+        assertThat(stats.maxSize()).isEqualTo(ResultCache.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    public void testMappingIsPartOfTheKey() {
+        Query query = handle.createQuery("SELECT code, name FROM country ORDER BY code").cached(TTL);
+        assertThat(query.mapTo(String.class).list()).containsExactly("DE", "FR");
+        assertThat(handle.createQuery("SELECT code, name FROM country ORDER BY code").cached(TTL).mapToMap().list())
+            .extracting(row -> row.get("name"))
+            .containsExactly("Germany", "France");
+        assertThat(handle.createQuery("SELECT code, name FROM country ORDER BY code").cached(TTL).mapToMap().stream())
+            .hasSize(2);
+
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        Query query = handle.createQuery("SELECT count(*) FROM country").cached(Duration.ofMillis(20));
+        assertThat(query.mapTo(int.class).one()).isEqualTo(2);
+        Thread.sleep(50);
+        assertThat(handle.createQuery("SELECT count(*) FROM country").cached(Duration.ofMillis(20)).mapTo(int.class).one()).isEqualTo(2);
+
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testInvalidateByTag() {
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        handle.execute("UPDATE country SET name = 'Deutschland' WHERE code = 'DE'");
+        // updates do not invalidate cached results by default
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+
+        jdbi.getConfig(ResultCache.class).invalidate("COUNTRY");
+        assertThat(countryName(handle, "DE")).isEqualTo("Deutschland");
+    }
+
+    @Test
+    public void testInvalidateOnUpdate() {
+        jdbi.getConfig(ResultCache.class).setInvalidateOnUpdate(true);
+        try (Handle h = jdbi.open()) {
+            assertThat(countryName(h, "DE")).isEqualTo("Germany");
+            h.createUpdate("UPDATE PUBLIC.country SET name = :name WHERE code = 'DE'").bind("name", "Deutschland").execute();
+            assertThat(countryName(h, "DE")).isEqualTo("Deutschland");
+
+            h.prepareBatch("INSERT INTO country VALUES (:code, :name)").bind("code", "IT").bind("name", "Italy").add().execute();
+            assertThat(countryName(h, "IT")).isEqualTo("Italy");
+            assertThat(countryName(h, "IT")).isEqualTo("Italy");
+        }
+
+        assertThat(executed).hasSize(5);
+    }
+
+    @Test
+    public void testTransactionsBypassTheCache() {
+        try (Handle h = jdbi.open()) {
+            h.begin();
+            h.execute("UPDATE country SET name = 'Deutschland' WHERE code = 'DE'");
+            assertThat(countryName(h, "DE")).isEqualTo("Deutschland");
+
+            // the uncommitted change is not cached for other handles
+            assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+            assertThat(countryName(h, "DE")).isEqualTo("Deutschland");
+            h.rollback();
+        }
+
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        assertThat(jdbi.getConfig(ResultCache.class).getStats().hitCount()).isOne();
+    }
+
+    @Test
+    public void testInvalidateOnCommit() {
+        jdbi.getConfig(ResultCache.class).setInvalidateOnUpdate(true);
+        try (Handle writer = jdbi.open(); Handle reader = jdbi.open()) {
+            writer.begin();
+            writer.execute("UPDATE country SET name = 'Deutschland' WHERE code = 'DE'");
+
+            // before the commit, other handles cache the committed rows
+            assertThat(countryName(reader, "DE")).isEqualTo("Germany");
+            assertThat(countryName(reader, "DE")).isEqualTo("Germany");
+
+            writer.commit();
+            assertThat(countryName(reader, "DE")).isEqualTo("Deutschland");
+
+            writer.begin();
+            writer.execute("UPDATE country SET name = 'Allemagne' WHERE code = 'DE'");
+            writer.rollback();
+
+            // a rolled back update does not invalidate cached results
+            assertThat(countryName(reader, "DE")).isEqualTo("Deutschland");
+        }
+
+        ResultCache.Stats stats = jdbi.getConfig(ResultCache.class).getStats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRegisteredMappersArePartOfTheKey() {
+        try (Handle upper = jdbi.open()) {
+            upper.registerColumnMapper(String.class, (rs, col, ctx) -> rs.getString(col).toUpperCase(Locale.ROOT));
+
+            assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+            assertThat(countryName(upper, "DE")).isEqualTo("GERMANY");
+            assertThat(countryName(upper, "DE")).isEqualTo("GERMANY");
+            assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        }
+
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testMapperInstancesNeedAMappingKey() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(handle.createQuery("SELECT name FROM country WHERE code = 'DE'")
+                .cached(TTL)
+                .map((rs, ctx) -> rs.getString(1))
+                .one()).isEqualTo("Germany");
+        }
+        assertThat(executed).hasSize(2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(handle.createQuery("SELECT name FROM country WHERE code = 'DE'")
+                .cached(TTL)
+                .setCacheMappingKey("name")
+                .map((rs, ctx) -> rs.getString(1))
+                .one()).isEqualTo("Germany");
+        }
+        assertThat(executed).hasSize(3);
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Handle other = jdbi.open()) {
+            Future<String> first = executor.submit(() -> other.createQuery("SELECT name FROM country WHERE code = 'DE'")
+                .cached(TTL)
+                .setCacheMappingKey("name")
+                .map((rs, ctx) -> {
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return rs.getString(1);
+                })
+                .one());
+            loading.await();
+
+            // without waiting for the first load, this query would be executed as well
+            Thread waiting = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            });
+            waiting.start();
+            assertThat(handle.createQuery("SELECT name FROM country WHERE code = 'DE'")
+                .cached(TTL)
+                .setCacheMappingKey("name")
+                .map((rs, ctx) -> rs.getString(1))
+                .one()).isEqualTo("Germany");
+            assertThat(first.get()).isEqualTo("Germany");
+            waiting.join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(executed).hasSize(1);
+        assertThat(jdbi.getConfig(ResultCache.class).getStats().hitCount()).isOne();
+    }
+
+    @Test
+    public void testInvalidatedTagsAreBounded() {
+        ResultCache resultCache = jdbi.getConfig(ResultCache.class);
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        for (int i = 0; i < 10_001; i++) {
+            resultCache.invalidate("tag" + i);
+        }
+
+        // forgetting invalidated tags invalidates all results cached so far
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        assertThat(countryName(handle, "DE")).isEqualTo("Germany");
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testArgumentsAreNotCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(handle.createQuery("SELECT name FROM country WHERE code = :code")
+                .cached(TTL)
+                .bind("code", (Argument) (pos, stmt, ctx) -> stmt.setString(pos, "DE"))
+                .mapTo(String.class)
+                .one()).isEqualTo("Germany");
+        }
+
+        assertThat(executed).hasSize(2);
+    }
+}
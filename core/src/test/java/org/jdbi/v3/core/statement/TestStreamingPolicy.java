@@ -0,0 +1,203 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.junit5.H2DatabaseExtension;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.internal.StreamingSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestStreamingPolicy {
+
+    @RegisterExtension
+    public H2DatabaseExtension h2Extension = H2DatabaseExtension.instance();
+
+    private Handle handle;
+    private final List<Integer> fetchSizes = new ArrayList<>();
+    private final List<Boolean> autoCommit = new ArrayList<>();
+    private final List<Boolean> inTransaction = new ArrayList<>();
+
+    private final RowMapper<Integer> recordingMapper = (rs, ctx) -> {
+        fetchSizes.add(ctx.getStatement().getFetchSize());
+        autoCommit.add(ctx.getConnection().getAutoCommit());
+        inTransaction.add(handle.isInTransaction());
+        return rs.getInt(1);
+    };
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.execute("CREATE TABLE item (id INT PRIMARY KEY, payload VARCHAR(4000))");
+        for (int i = 1; i <= 3; i++) {
+            handle.execute("INSERT INTO item VALUES (?, ?)", i, "payload" + i);
+        }
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.fetchSize(50).withFetchBytes(0));
+    }
+
+    @Test
+    public void testStreamSetsFetchSize() {
+        try (var stream = handle.createQuery("SELECT id FROM item ORDER BY id").map(recordingMapper).stream()) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly(1, 2, 3);
+        }
+
+        assertThat(fetchSizes).containsOnly(50);
+    }
+
+    @Test
+    public void testListIsNotAffected() {
+        assertThat(handle.createQuery("SELECT id FROM item ORDER BY id").map(recordingMapper).list()).containsExactly(1, 2, 3);
+        assertThat(handle.createQuery("SELECT id FROM item WHERE id = 2").map(recordingMapper).one()).isEqualTo(2);
+
+        assertThat(fetchSizes).hasSize(4).doesNotContain(50);
+    }
+
+    @Test
+    public void testDerivedListIsNotAffected() {
+        assertThat(handle.createQuery("SELECT id FROM item ORDER BY id").map(recordingMapper).map(id -> id * 2).list()).containsExactly(2, 4, 6);
+        assertThat(handle.createQuery("SELECT id FROM item ORDER BY id").map(recordingMapper).filter(id -> id > 1).first()).isEqualTo(2);
+
+        assertThat(fetchSizes).hasSize(5).doesNotContain(50);
+    }
+
+    @Test
+    public void testDerivedStreamSetsFetchSize() {
+        try (var stream = handle.createQuery("SELECT id FROM item ORDER BY id").map(recordingMapper).map(id -> id * 2).stream()) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly(2, 4, 6);
+        }
+
+        assertThat(fetchSizes).containsOnly(50);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertThat(new SqlStatements().getStreamingPolicy().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void testExplicitFetchSizeWins() {
+        handle.createQuery("SELECT id FROM item ORDER BY id")
+            .setFetchSize(7)
+            .map(recordingMapper)
+            .forEach(id -> {});
+
+        assertThat(fetchSizes).containsOnly(7);
+    }
+
+    @Test
+    public void testWideRowsLowerFetchSize() throws SQLException {
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.fetchSize(50).withFetchBytes(40_000));
+
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnDisplaySize(1)).thenReturn(11);
+        when(metaData.getColumnDisplaySize(2)).thenReturn(Integer.MAX_VALUE);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getFetchSize()).thenReturn(50);
+
+        StatementContext ctx = handle.createQuery("SELECT id, payload FROM item").getContext();
+        boolean previous = StreamingSupport.setStreaming(true);
+        try {
+            StreamingSupport.afterExecution(resultSet, ctx);
+        } finally {
+            StreamingSupport.setStreaming(previous);
+        }
+
+        // the unbounded column is estimated at 4096 bytes, the row at 4107 bytes
+        verify(resultSet).setFetchSize(9);
+    }
+
+    @Test
+    public void testExplicitFetchSizeIsNotLowered() throws SQLException {
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.fetchSize(50).withFetchBytes(40_000));
+
+        ResultSet resultSet = mock(ResultSet.class);
+        Statement stmt = mock(Statement.class);
+        when(resultSet.getStatement()).thenReturn(stmt);
+        when(stmt.getFetchSize()).thenReturn(7);
+
+        StatementContext ctx = handle.createQuery("SELECT id, payload FROM item").getContext();
+        boolean previous = StreamingSupport.setStreaming(true);
+        try {
+            StreamingSupport.afterExecution(resultSet, ctx);
+        } finally {
+            StreamingSupport.setStreaming(previous);
+        }
+
+        verify(resultSet, never()).getMetaData();
+        verify(resultSet, never()).setFetchSize(anyInt());
+    }
+
+    @Test
+    public void testReadOnlyTransaction() throws SQLException {
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.fetchSize(50).withReadOnlyTransaction(true));
+
+        handle.createQuery("SELECT id FROM item ORDER BY id")
+            .map(recordingMapper)
+            .forEach(id -> {});
+
+        assertThat(autoCommit).containsOnly(false);
+        // the transaction is started through the handle
+        assertThat(inTransaction).containsOnly(true);
+        assertThat(handle.getConnection().getAutoCommit()).isTrue();
+        assertThat(handle.getConnection().isReadOnly()).isFalse();
+        assertThat(handle.isInTransaction()).isFalse();
+    }
+
+    @Test
+    public void testReadOnlyTransactionInOpenTransaction() {
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.fetchSize(50).withReadOnlyTransaction(true));
+
+        handle.useTransaction(h -> {
+            h.createQuery("SELECT id FROM item ORDER BY id")
+                .map(recordingMapper)
+                .forEach(id -> {});
+
+            assertThat(h.isInTransaction()).isTrue();
+        });
+
+        assertThat(inTransaction).containsOnly(true);
+        assertThat(handle.isInTransaction()).isFalse();
+        assertThat(handle.isReadOnly()).isFalse();
+    }
+
+    @Test
+    public void testDisabled() {
+        handle.getConfig(SqlStatements.class).setStreamingPolicy(StreamingPolicy.disabled());
+
+        handle.createQuery("SELECT id FROM item ORDER BY id")
+            .map(recordingMapper)
+            .forEach(id -> {});
+
+        assertThat(fetchSizes).hasSize(3).doesNotContain(50);
+    }
+}
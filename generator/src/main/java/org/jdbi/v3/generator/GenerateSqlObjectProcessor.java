@@ -54,6 +54,7 @@ import org.jdbi.v3.core.extension.ExtensionMetadata;
 import org.jdbi.v3.core.extension.ExtensionMetadata.ExtensionHandlerInvoker;
 import org.jdbi.v3.core.extension.HandleSupplier;
 import org.jdbi.v3.core.internal.JdbiClassUtils;
+import org.jdbi.v3.core.mapper.RowMappers;
 import org.jdbi.v3.sqlobject.SqlObject;
 
 import static java.lang.String.format;
@@ -69,6 +70,7 @@ public class GenerateSqlObjectProcessor extends AbstractProcessor {
     private Types typeUtils;
     private Filer filer;
     private Messager messager;
+    private RowMapperGenerator rowMapperGenerator;
 
     @Override
     public SourceVersion getSupportedSourceVersion() {
@@ -84,6 +86,7 @@ public class GenerateSqlObjectProcessor extends AbstractProcessor {
         this.typeUtils = processingEnv.getTypeUtils();
         this.filer = processingEnv.getFiler();
         this.messager = processingEnv.getMessager();
+        this.rowMapperGenerator = new RowMapperGenerator(elementUtils, typeUtils, messager);
     }
 
     @Override
@@ -147,6 +150,7 @@ public class GenerateSqlObjectProcessor extends AbstractProcessor {
         private final TypeSpec.Builder onDemandBuilder;
         private final CodeBlock.Builder implementationCtorBuilder = CodeBlock.builder();
         private long counter = 0;
+        private long mapperCounter = 0;
 
 
         private SqlObjectFile(TypeElement typeElement) {
@@ -173,10 +177,30 @@ public class GenerateSqlObjectProcessor extends AbstractProcessor {
                     .addCode("this.jdbi = jdbi;\n")
                     .build());
 
+            // register generated row mappers before any method invoker is created
+            addRowMappers();
+
             // create all internal methods
             getMethods().forEach(this::addMethod);
         }
 
+        private void addRowMappers() {
+            final PackageElement typePackage = elementUtils.getPackageOf(typeElement);
+
+            for (RowMapperGenerator.Registration registration : rowMapperGenerator.findRegistrations(typeElement)) {
+                final String mapperClassName = registration.mappedType().getSimpleName() + "RowMapper_" + mapperCounter++;
+
+                rowMapperGenerator.generate(registration, mapperClassName, typePackage).ifPresent(mapperType -> {
+                    implementationBuilder.addType(mapperType);
+                    // registered after the reflective mapper from the instance configuration, so it takes precedence
+                    implementationCtorBuilder.add("config.get($T.class).register($T.class, new $L());\n",
+                            RowMappers.class,
+                            typeUtils.erasure(registration.mappedType().asType()),
+                            mapperClassName);
+                });
+            }
+        }
+
         private void addMethod(ExecutableElement method) {
             addImplementationMethod(method);
             addOnDemandMethod(method);
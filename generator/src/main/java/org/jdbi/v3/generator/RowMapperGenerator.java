@@ -0,0 +1,492 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.generator;
+
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import org.jdbi.v3.core.generic.GenericType;
+import org.jdbi.v3.core.mapper.reflect.internal.GeneratedRowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import static java.lang.String.format;
+
+/**
+ * Creates {@link GeneratedRowMapper} implementations for types registered with {@code @RegisterConstructorMapper}
+ * or {@code @RegisterBeanMapper} on a generated SqlObject. Any type that uses features the generated code does not
+ * support (nested mappings, qualifiers, null propagation, generic types etc.) is skipped and keeps using the
+ * reflective mapper.
+ */
+final class RowMapperGenerator {
+
+    static final String REGISTER_CONSTRUCTOR_MAPPER = "org.jdbi.v3.sqlobject.config.RegisterConstructorMapper";
+    static final String REGISTER_CONSTRUCTOR_MAPPERS = "org.jdbi.v3.sqlobject.config.RegisterConstructorMappers";
+    static final String REGISTER_BEAN_MAPPER = "org.jdbi.v3.sqlobject.config.RegisterBeanMapper";
+    static final String REGISTER_BEAN_MAPPERS = "org.jdbi.v3.sqlobject.config.RegisterBeanMappers";
+
+    private static final String COLUMN_NAME = "org.jdbi.v3.core.mapper.reflect.ColumnName";
+    private static final String CONSTRUCTOR_PROPERTIES = "java.beans.ConstructorProperties";
+    private static final String JDBI_CONSTRUCTOR = "org.jdbi.v3.core.mapper.reflect.JdbiConstructor";
+    private static final String JDBI_PROPERTY = "org.jdbi.v3.core.annotation.JdbiProperty";
+    private static final String NESTED = "org.jdbi.v3.core.mapper.Nested";
+    private static final String PROPAGATE_NULL = "org.jdbi.v3.core.mapper.PropagateNull";
+    private static final String QUALIFIER = "org.jdbi.v3.core.qualifier.Qualifier";
+
+    private static final Set<String> UNSUPPORTED_ANNOTATIONS = Set.of(NESTED, PROPAGATE_NULL);
+
+    private final Elements elementUtils;
+    private final Types typeUtils;
+    private final Messager messager;
+
+    RowMapperGenerator(Elements elementUtils, Types typeUtils, Messager messager) {
+        this.elementUtils = elementUtils;
+        this.typeUtils = typeUtils;
+        this.messager = messager;
+    }
+
+    /**
+     * Returns all constructor and bean mapper registrations in declaration order.
+     */
+    List<Registration> findRegistrations(TypeElement sqlObjectType) {
+        final List<Registration> registrations = new ArrayList<>();
+        for (AnnotationMirror annotation : sqlObjectType.getAnnotationMirrors()) {
+            switch (annotationName(annotation)) {
+                case REGISTER_CONSTRUCTOR_MAPPER -> addRegistration(registrations, annotation, false);
+                case REGISTER_BEAN_MAPPER -> addRegistration(registrations, annotation, true);
+                case REGISTER_CONSTRUCTOR_MAPPERS -> containedAnnotations(annotation).forEach(a -> addRegistration(registrations, a, false));
+                case REGISTER_BEAN_MAPPERS -> containedAnnotations(annotation).forEach(a -> addRegistration(registrations, a, true));
+                default -> {
+                    // not a mapper registration
+                }
+            }
+        }
+        return registrations;
+    }
+
+    private void addRegistration(List<Registration> registrations, AnnotationMirror annotation, boolean bean) {
+        final Map<String, Object> values = annotationValues(annotation);
+        final TypeMirror mappedType = (TypeMirror) values.get("value");
+        final TypeMirror staticMethodType = (TypeMirror) values.get("usingStaticMethodIn");
+
+        if (mappedType.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        if (staticMethodType != null && staticMethodType.getKind() != TypeKind.VOID) {
+            messager.printMessage(Kind.NOTE, format("[jdbi] static factory mapper for %s is not generated", mappedType));
+            return;
+        }
+
+        registrations.add(new Registration((TypeElement) typeUtils.asElement(mappedType), (String) values.get("prefix"), bean));
+    }
+
+    /**
+     * Creates a nested mapper class for the given registration, if the mapped type is supported.
+     *
+     * @param registration The mapper registration
+     * @param className    The name of the mapper class
+     * @param targetPackage The package that contains the generated code
+     * @return A mapper class or empty if the type is not supported
+     */
+    Optional<TypeSpec> generate(Registration registration, String className, PackageElement targetPackage) {
+        final TypeElement mappedType = registration.mappedType();
+
+        if (!isSupportedType(mappedType, targetPackage)) {
+            messager.printMessage(Kind.NOTE, format("[jdbi] row mapper for %s is not generated, using reflective mapper", mappedType));
+            return Optional.empty();
+        }
+
+        final Optional<List<Property>> properties = registration.bean()
+                ? beanProperties(mappedType, targetPackage)
+                : constructorParameters(mappedType, targetPackage);
+
+        if (properties.isEmpty()) {
+            messager.printMessage(Kind.NOTE, format("[jdbi] row mapper for %s is not generated, using reflective mapper", mappedType));
+            return Optional.empty();
+        }
+
+        return Optional.of(createMapperType(registration, className, properties.get()));
+    }
+
+    private TypeSpec createMapperType(Registration registration, String className, List<Property> properties) {
+        final TypeName mappedTypeName = TypeName.get(registration.mappedType().asType());
+
+        final CodeBlock.Builder names = CodeBlock.builder();
+        final CodeBlock.Builder types = CodeBlock.builder();
+        final CodeBlock.Builder required = CodeBlock.builder();
+
+        for (int i = 0; i < properties.size(); i++) {
+            final Property property = properties.get(i);
+            final String separator = i == 0 ? "" : ", ";
+            names.add("$L$S", separator, property.name());
+            types.add("$L", separator).add(typeLiteral(property.type()));
+            required.add("$L$L", separator, property.required());
+        }
+
+        final CodeBlock.Builder body = CodeBlock.builder();
+        if (registration.bean()) {
+            body.addStatement("final $T bean = new $T()", mappedTypeName, mappedTypeName);
+            body.addStatement("$T value", Object.class);
+            for (int i = 0; i < properties.size(); i++) {
+                final Property property = properties.get(i);
+                body.beginControlFlow("if ((value = columns.get($L, rs, ctx)) != null)", i)
+                        .addStatement("bean.$L(($T) value)", property.accessor(), TypeName.get(property.type()).box())
+                        .endControlFlow();
+            }
+            body.addStatement("return bean");
+        } else {
+            final CodeBlock.Builder arguments = CodeBlock.builder();
+            for (int i = 0; i < properties.size(); i++) {
+                arguments.add("$L($T) columns.get($L, rs, ctx)", i == 0 ? "" : ", ", TypeName.get(properties.get(i).type()).box(), i);
+            }
+            body.addStatement("return new $T($L)", mappedTypeName, arguments.build());
+        }
+
+        return TypeSpec.classBuilder(className)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(GeneratedRowMapper.class), mappedTypeName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class, $S, new $T[] {$L}, new $T[] {$L}, new boolean[] {$L}, $L)",
+                                typeUtils.erasure(registration.mappedType().asType()),
+                                registration.prefix(),
+                                String.class, names.build(),
+                                Type.class, types.build(),
+                                required.build(),
+                                registration.bean())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("create")
+                        .addAnnotation(Override.class)
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                        .addModifiers(Modifier.PROTECTED)
+                        .returns(mappedTypeName)
+                        .addParameter(GeneratedRowMapper.Columns.class, "columns")
+                        .addParameter(ResultSet.class, "rs")
+                        .addParameter(StatementContext.class, "ctx")
+                        .addException(SQLException.class)
+                        .addCode(body.build())
+                        .build())
+                .build();
+    }
+
+    private CodeBlock typeLiteral(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return CodeBlock.of("new $T<$T>() {}.getType()", GenericType.class, TypeName.get(type));
+        } else if (type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType().getKind() == TypeKind.DECLARED
+                && !((DeclaredType) ((ArrayType) type).getComponentType()).getTypeArguments().isEmpty()) {
+            return CodeBlock.of("new $T<$T>() {}.getType()", GenericType.class, TypeName.get(type));
+        }
+        return CodeBlock.of("$T.class", TypeName.get(type));
+    }
+
+    private Optional<List<Property>> constructorParameters(TypeElement mappedType, PackageElement targetPackage) {
+        final List<ExecutableElement> constructors = new ArrayList<>();
+        for (Element element : mappedType.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.CONSTRUCTOR) {
+                constructors.add((ExecutableElement) element);
+            } else if (element.getKind() == ElementKind.METHOD && hasAnnotation(element, JDBI_CONSTRUCTOR)) {
+                // static factory methods are left to the reflective mapper
+                return Optional.empty();
+            }
+        }
+
+        final Optional<ExecutableElement> constructor = selectConstructor(constructors);
+        if (constructor.isEmpty() || !isAccessible(constructor.get(), targetPackage)) {
+            return Optional.empty();
+        }
+
+        final List<String> constructorProperties = findAnnotation(constructor.get(), CONSTRUCTOR_PROPERTIES)
+                .map(a -> stringValues(annotationValues(a).get("value")))
+                .orElse(List.of());
+
+        final List<? extends VariableElement> parameters = constructor.get().getParameters();
+        if (!constructorProperties.isEmpty() && constructorProperties.size() != parameters.size()) {
+            return Optional.empty();
+        }
+
+        final List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            final VariableElement parameter = parameters.get(i);
+            final TypeMirror type = parameter.asType();
+            final boolean nullable = isNullable(parameter);
+
+            if (hasUnsupportedAnnotation(parameter) || !isSupportedPropertyType(type) || (nullable && type.getKind().isPrimitive())) {
+                return Optional.empty();
+            }
+
+            final Optional<String> columnName = columnName(parameter);
+            final String name;
+            if (columnName.isPresent()) {
+                name = columnName.get();
+            } else if (constructorProperties.isEmpty()) {
+                name = parameter.getSimpleName().toString();
+                // parameter names are not available, the reflective mapper reports a useful error message
+                if (name.matches("arg\\d+")) {
+                    return Optional.empty();
+                }
+            } else {
+                name = constructorProperties.get(i);
+            }
+            properties.add(new Property(name, type, !nullable, null));
+        }
+
+        return Optional.of(properties);
+    }
+
+    private Optional<ExecutableElement> selectConstructor(List<ExecutableElement> constructors) {
+        final List<ExecutableElement> explicit = constructors.stream().filter(c -> hasAnnotation(c, JDBI_CONSTRUCTOR)).toList();
+        if (!explicit.isEmpty()) {
+            return explicit.size() == 1 ? Optional.of(explicit.get(0)) : Optional.empty();
+        }
+        final List<ExecutableElement> properties = constructors.stream().filter(c -> hasAnnotation(c, CONSTRUCTOR_PROPERTIES)).toList();
+        if (!properties.isEmpty()) {
+            return properties.size() == 1 ? Optional.of(properties.get(0)) : Optional.empty();
+        }
+        return constructors.size() == 1 ? Optional.of(constructors.get(0)) : Optional.empty();
+    }
+
+    private Optional<List<Property>> beanProperties(TypeElement mappedType, PackageElement targetPackage) {
+        final boolean hasDefaultConstructor = mappedType.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.CONSTRUCTOR)
+                .map(ExecutableElement.class::cast)
+                .anyMatch(c -> c.getParameters().isEmpty() && isAccessible(c, targetPackage));
+
+        if (!hasDefaultConstructor) {
+            return Optional.empty();
+        }
+
+        final Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        final Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+
+        for (Element element : elementUtils.getAllMembers(mappedType)) {
+            if (element.getKind() != ElementKind.METHOD
+                    || !element.getModifiers().contains(Modifier.PUBLIC)
+                    || element.getModifiers().contains(Modifier.STATIC)
+                    || ((TypeElement) element.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName())) {
+                continue;
+            }
+            final ExecutableElement method = (ExecutableElement) element;
+            final String methodName = method.getSimpleName().toString();
+            final boolean returnsVoid = method.getReturnType().getKind() == TypeKind.VOID;
+
+            if (methodName.length() > 3 && methodName.startsWith("set") && method.getParameters().size() == 1 && returnsVoid) {
+                if (setters.put(decapitalize(methodName.substring(3)), method) != null) {
+                    // overloaded setters are ambiguous
+                    return Optional.empty();
+                }
+            } else if (method.getParameters().isEmpty() && !returnsVoid) {
+                if (methodName.length() > 3 && methodName.startsWith("get")) {
+                    getters.put(decapitalize(methodName.substring(3)), method);
+                } else if (methodName.length() > 2 && methodName.startsWith("is") && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+                    getters.put(decapitalize(methodName.substring(2)), method);
+                }
+            }
+        }
+
+        // read-only properties are rejected by the reflective mapper at runtime; leave them to it.
+        if (!setters.keySet().containsAll(getters.keySet())) {
+            return Optional.empty();
+        }
+
+        final List<Property> properties = new ArrayList<>();
+        for (Map.Entry<String, ExecutableElement> entry : setters.entrySet()) {
+            final ExecutableElement setter = entry.getValue();
+            final VariableElement parameter = setter.getParameters().get(0);
+            final ExecutableElement getter = getters.get(entry.getKey());
+            final TypeMirror type = parameter.asType();
+
+            if (getter != null && !typeUtils.isSameType(getter.getReturnType(), type)) {
+                return Optional.empty();
+            }
+
+            final List<Element> annotated = new ArrayList<>(List.of(setter, parameter));
+            if (getter != null) {
+                annotated.add(getter);
+            }
+
+            if (annotated.stream().anyMatch(this::hasUnsupportedAnnotation) || !isSupportedPropertyType(type)) {
+                return Optional.empty();
+            }
+
+            if (annotated.stream().anyMatch(this::isNotMapped)) {
+                continue;
+            }
+
+            final String name = Stream.of(setter, getter)
+                    .filter(Objects::nonNull)
+                    .map(this::columnName)
+                    .flatMap(Optional::stream)
+                    .findFirst()
+                    .orElse(entry.getKey());
+
+            properties.add(new Property(name, type, false, setter.getSimpleName().toString()));
+        }
+
+        return Optional.of(properties);
+    }
+
+    private boolean isSupportedType(TypeElement type, PackageElement targetPackage) {
+        return (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.RECORD)
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && type.getTypeParameters().isEmpty()
+                && (type.getNestingKind() == NestingKind.TOP_LEVEL
+                    || (type.getNestingKind() == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC)))
+                && !hasUnsupportedAnnotation(type)
+                && isAccessible(type, targetPackage);
+    }
+
+    private boolean isAccessible(Element element, PackageElement targetPackage) {
+        for (Element e = element; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            final Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || (!modifiers.contains(Modifier.PUBLIC) && !elementUtils.getPackageOf(e).equals(targetPackage))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupportedPropertyType(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> true;
+            case ARRAY -> isSupportedPropertyType(((ArrayType) type).getComponentType());
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().stream().allMatch(this::isSupportedPropertyType);
+            case WILDCARD -> {
+                final WildcardType wildcard = (WildcardType) type;
+                yield (wildcard.getExtendsBound() == null || isSupportedPropertyType(wildcard.getExtendsBound()))
+                        && (wildcard.getSuperBound() == null || isSupportedPropertyType(wildcard.getSuperBound()));
+            }
+            default -> false;
+        };
+    }
+
+    private boolean hasUnsupportedAnnotation(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(a -> UNSUPPORTED_ANNOTATIONS.contains(annotationName(a)) || isQualifier(a));
+    }
+
+    private boolean isQualifier(AnnotationMirror annotation) {
+        return annotation.getAnnotationType().asElement().getAnnotationMirrors().stream()
+                .anyMatch(a -> annotationName(a).equals(QUALIFIER));
+    }
+
+    private boolean isNullable(VariableElement parameter) {
+        // Any annotation named @Nullable is honored, same as the reflective mapper.
+        return parameter.getAnnotationMirrors().stream()
+                .anyMatch(a -> a.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable"))
+                || parameter.asType().getAnnotationMirrors().stream()
+                .anyMatch(a -> a.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable"));
+    }
+
+    private boolean isNotMapped(Element element) {
+        return findAnnotation(element, JDBI_PROPERTY)
+                .map(a -> Boolean.FALSE.equals(annotationValues(a).get("map")))
+                .orElse(false);
+    }
+
+    private Optional<String> columnName(Element element) {
+        return findAnnotation(element, COLUMN_NAME)
+                .map(a -> (String) annotationValues(a).get("value"));
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return findAnnotation(element, annotationName).isPresent();
+    }
+
+    private Optional<AnnotationMirror> findAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+                .filter(a -> annotationName(a).equals(annotationName))
+                .map(AnnotationMirror.class::cast)
+                .findFirst();
+    }
+
+    private Map<String, Object> annotationValues(AnnotationMirror annotation) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        elementUtils.getElementValuesWithDefaults(annotation)
+                .forEach((k, v) -> values.put(k.getSimpleName().toString(), v.getValue()));
+        return values;
+    }
+
+    private List<AnnotationMirror> containedAnnotations(AnnotationMirror container) {
+        return annotationList(annotationValues(container).get("value")).stream()
+                .map(AnnotationValue::getValue)
+                .map(AnnotationMirror.class::cast)
+                .toList();
+    }
+
+    private static List<String> stringValues(Object value) {
+        return annotationList(value).stream()
+                .map(AnnotationValue::getValue)
+                .map(String.class::cast)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> annotationList(Object value) {
+        return value instanceof List<?> list ? (List<? extends AnnotationValue>) list : List.of();
+    }
+
+    private static String annotationName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    // same as java.beans.Introspector#decapitalize
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * A mapper registration found on a SqlObject type.
+     */
+    record Registration(TypeElement mappedType, String prefix, boolean bean) {}
+
+    private record Property(String name, TypeMirror type, boolean required, String accessor) {}
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.generator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.internal.UtilityClassException;
+import org.jdbi.v3.core.locator.internal.SqlBundle;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes all {@code .sql} resources in a class output directory into a single SQL bundle, which the
+ * {@link org.jdbi.v3.core.locator.ClasspathSqlLocator} reads instead of the individual resources. Run it after the
+ * resources have been copied to the output directory, e.g. in the {@code process-classes} phase of a Maven build:
+ * <pre>{@code
+ * <plugin>
+ *     <groupId>org.codehaus.mojo</groupId>
+ *     <artifactId>exec-maven-plugin</artifactId>
+ *     <executions>
+ *         <execution>
+ *             <id>jdbi-sql-bundle</id>
+ *             <phase>process-classes</phase>
+ *             <goals>
+ *                 <goal>java</goal>
+ *             </goals>
+ *             <configuration>
+ *                 <mainClass>org.jdbi.v3.generator.SqlBundleGenerator</mainClass>
+ *                 <classpathScope>compile</classpathScope>
+ *                 <arguments>
+ *                     <argument>${project.build.outputDirectory}</argument>
+ *                 </arguments>
+ *             </configuration>
+ *         </execution>
+ *     </executions>
+ * </plugin>
+ * }</pre>
+ */
+public final class SqlBundleGenerator {
+    private static final String SQL_EXTENSION = ".sql";
+
+    private SqlBundleGenerator() {
+        throw new UtilityClassException();
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: SqlBundleGenerator <class output directory>");
+        }
+        generate(Path.of(args[0]));
+    }
+
+    /**
+     * Writes the SQL bundle for all {@code .sql} resources in the given directory. Does not write a bundle if the
+     * directory contains no SQL resources.
+     *
+     * @param outputDirectory the class output directory
+     * @return the number of bundled resources
+     * @throws IOException if a resource could not be read or the bundle could not be written
+     */
+    public static int generate(Path outputDirectory) throws IOException {
+        final SortedMap<String, String> resources = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(outputDirectory)) {
+            for (Path file : files.filter(SqlBundleGenerator::isSqlFile).collect(Collectors.toList())) {
+                final String path = outputDirectory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                resources.put(path, Files.readString(file, StandardCharsets.UTF_8));
+            }
+        }
+
+        final Path bundle = outputDirectory.resolve(SqlBundle.RESOURCE_NAME);
+        if (resources.isEmpty()) {
+            Files.deleteIfExists(bundle);
+            return 0;
+        }
+
+        Files.createDirectories(requireNonNull(bundle.getParent(), "bundle directory is null"));
+        try (OutputStream out = Files.newOutputStream(bundle)) {
+            SqlBundle.write(resources, out);
+        }
+        return resources.size();
+    }
+
+    private static boolean isSqlFile(Path file) {
+        return Files.isRegularFile(file) && file.getFileName().toString().endsWith(SQL_EXTENSION);
+    }
+}
@@ -17,5 +17,9 @@
  * Object interfaces at compile time, avoiding the runtime cost of
  * reflective proxy generation.
  * </p>
+ * <p>
+ * The {@link org.jdbi.v3.generator.SqlBundleGenerator} precompiles the SQL
+ * files of a module into a single bundle at build time.
+ * </p>
  */
 package org.jdbi.v3.generator;
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.generator;
+
+import java.util.List;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.extension.Extensions;
+import org.jdbi.v3.core.mapper.Nested;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.RowMappers;
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.core.mapper.reflect.internal.GeneratedRowMapper;
+import org.jdbi.v3.sqlobject.GenerateSqlObject;
+import org.jdbi.v3.sqlobject.SqlObject;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.testing.junit5.JdbiExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class GeneratedRowMapperTest {
+
+    @RegisterExtension
+    public JdbiExtension h2Extension = JdbiExtension.h2()
+        .withPlugin(new SqlObjectPlugin())
+        .withConfig(Extensions.class, c -> c.setAllowProxy(false));
+
+    private Handle handle;
+    private ThingDao dao;
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.execute("create table thing (id integer primary key, thing_name varchar, amount bigint)");
+        handle.execute("insert into thing (id, thing_name, amount) values (1, 'one', 100), (2, 'two', null)");
+        dao = handle.attach(ThingDao.class);
+    }
+
+    @Test
+    public void testRecord() {
+        assertThat(dao.records())
+            .containsExactly(new ThingRecord(1, "one", 100L), new ThingRecord(2, "two", null));
+        assertThat(dao.rowMapper(ThingRecord.class)).isInstanceOf(GeneratedRowMapper.class);
+    }
+
+    @Test
+    public void testBean() {
+        assertThat(dao.beans())
+            .extracting(ThingBean::getId, ThingBean::getName, ThingBean::getAmount)
+            .containsExactly(
+                tuple(1, "one", 100L),
+                tuple(2, "two", 0L));
+        assertThat(dao.rowMapper(ThingBean.class)).isInstanceOf(GeneratedRowMapper.class);
+    }
+
+    @Test
+    public void testPrefix() {
+        assertThat(dao.prefixed())
+            .containsExactly(new PrefixedThing(1, "one"), new PrefixedThing(2, "two"));
+    }
+
+    @Test
+    public void testMissingColumn() {
+        assertThatThrownBy(dao::missingColumn)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("p.name");
+    }
+
+    @Test
+    public void testUnsupportedTypeUsesReflection() {
+        assertThat(dao.rowMapper(NestedThing.class)).isNotInstanceOf(GeneratedRowMapper.class);
+    }
+
+    @GenerateSqlObject
+    @RegisterConstructorMapper(ThingRecord.class)
+    @RegisterBeanMapper(ThingBean.class)
+    @RegisterConstructorMapper(value = PrefixedThing.class, prefix = "p")
+    @RegisterConstructorMapper(NestedThing.class)
+    interface ThingDao extends SqlObject {
+        @SqlQuery("select id, thing_name, amount from thing order by id")
+        List<ThingRecord> records();
+
+        @SqlQuery("select id, thing_name as name, amount from thing order by id")
+        List<ThingBean> beans();
+
+        @SqlQuery("select id as p_id, thing_name as p_name from thing order by id")
+        List<PrefixedThing> prefixed();
+
+        @SqlQuery("select id as p_id from thing order by id")
+        List<PrefixedThing> missingColumn();
+
+        default RowMapper<?> rowMapper(Class<?> type) {
+            return getHandle().getConfig(RowMappers.class).findFor(type).orElseThrow();
+        }
+    }
+
+    public record ThingRecord(int id, @ColumnName("thing_name") String name, Long amount) {}
+
+    public record PrefixedThing(int id, String name) {}
+
+    public record NestedThing(@Nested ThingRecord thing) {}
+
+    public static class ThingBean {
+        private int id;
+        private String name;
+        private long amount;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.generator;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jdbi.v3.core.locator.ClasspathSqlLocator;
+import org.jdbi.v3.core.locator.internal.SqlBundle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlBundleGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void generatesBundle() throws IOException {
+        writeResource("com/foo/Bar/baz.sql", "/* find */ select * from bar -- all rows\n");
+        writeResource("com/foo/Bar/qux.sql", "select 1");
+        writeResource("com/foo/Bar/readme.txt", "not sql");
+
+        String expected;
+        try (URLClassLoader classLoader = classLoader()) {
+            expected = ClasspathSqlLocator.removingComments().getResource(classLoader, "com/foo/Bar/baz.sql");
+        }
+
+        assertThat(SqlBundleGenerator.generate(tempDir)).isEqualTo(2);
+        assertThat(tempDir.resolve(SqlBundle.RESOURCE_NAME)).exists();
+
+        try (URLClassLoader classLoader = classLoader()) {
+            SqlBundle bundle = SqlBundle.forClassLoader(classLoader);
+            assertThat(bundle.size()).isEqualTo(2);
+            assertThat(bundle.getWithoutComments("com/foo/Bar/baz.sql"))
+                .isEqualTo(expected)
+                .doesNotContain("find", "all rows");
+            assertThat(bundle.getRaw("com/foo/Bar/baz.sql")).isEqualTo("/* find */ select * from bar -- all rows\n");
+            assertThat(bundle.getWithoutComments("com/foo/Bar/qux.sql")).isEqualTo("select 1");
+            assertThat(bundle.getRaw("com/foo/Bar/readme.txt")).isNull();
+        }
+    }
+
+    @Test
+    public void noSqlResources() throws IOException {
+        writeResource("com/foo/Bar/readme.txt", "not sql");
+
+        assertThat(SqlBundleGenerator.generate(tempDir)).isZero();
+        assertThat(tempDir.resolve(SqlBundle.RESOURCE_NAME)).doesNotExist();
+    }
+
+    private URLClassLoader classLoader() throws IOException {
+        return new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null);
+    }
+
+    private void writeResource(String path, String text) throws IOException {
+        Path file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+    }
+}
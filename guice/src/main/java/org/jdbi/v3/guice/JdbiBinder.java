@@ -22,6 +22,7 @@ import org.jdbi.v3.core.mapper.ColumnMapper;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.meta.Alpha;
 
 /**
  * Describes all operations to bind Jdbi elements in Guice.
@@ -159,4 +160,17 @@ public interface JdbiBinder {
     default LinkedBindingBuilder<GuiceJdbiCustomizer> bindCustomizer() {
         return jdbiBinder().bindCustomizer();
     }
+
+    /**
+     * Adds an extension type (e.g. a SQL object interface) that is prepared with {@link org.jdbi.v3.core.Jdbi#warmUp(Class[])} when
+     * the {@link org.jdbi.v3.core.Jdbi} object is created. The types are prepared after all other customizations of the module have been applied.
+     * <p>
+     * Only valid when called from {@link AbstractJdbiDefinitionModule#configureJdbi()} or {@link AbstractJdbiConfigurationModule#configureJdbi()}.
+     *
+     * @since 3.54.1
+     */
+    @Alpha
+    default void bindWarmUpType(Class<?> extensionType) {
+        jdbiBinder().bindWarmUpType(extensionType);
+    }
 }
@@ -43,6 +43,7 @@ public final class InternalGlobalJdbiModule extends PrivateModule {
     private static final TypeLiteral<Map<Class<?>, String>> ARRAY_TYPES_TYPE_LITERAL = new TypeLiteral<>() {};
     private static final TypeLiteral<Set<JdbiPlugin>> PLUGINS_TYPE_LITERAL = new TypeLiteral<>() {};
     private static final TypeLiteral<Map<QualifiedType<?>, Codec<?>>> CODECS_TYPE_LITERAL = new TypeLiteral<>() {};
+    private static final TypeLiteral<Set<Class<?>>> WARM_UP_TYPES_TYPE_LITERAL = new TypeLiteral<>() {};
 
     private static final ConcurrentHashMap<Class<? extends Annotation>, InternalGlobalJdbiModule> REGISTRY = new ConcurrentHashMap<>();
 
@@ -71,6 +72,7 @@ public final class InternalGlobalJdbiModule extends PrivateModule {
         binder().bind(PLUGINS_TYPE_LITERAL).to(Key.get(PLUGINS_TYPE_LITERAL, annotation));
         binder().bind(ARRAY_TYPES_TYPE_LITERAL).to(Key.get(ARRAY_TYPES_TYPE_LITERAL, annotation));
         binder().bind(CODECS_TYPE_LITERAL).to(Key.get(CODECS_TYPE_LITERAL, annotation));
+        binder().bind(WARM_UP_TYPES_TYPE_LITERAL).to(Key.get(WARM_UP_TYPES_TYPE_LITERAL, annotation));
 
         // the previous binding statements bring the annotated bindings into the private module space without annotation
         // so that the InternalGuiceJdbiCustomizer can pick them up without a required annotation. Then in turn the created
@@ -23,12 +23,15 @@ import com.google.inject.Singleton;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.codec.Codec;
 import org.jdbi.v3.core.codec.CodecFactory;
+import org.jdbi.v3.core.extension.WarmUpReport;
 import org.jdbi.v3.core.mapper.ColumnMapper;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.qualifier.QualifiedType;
 import org.jdbi.v3.core.spi.JdbiPlugin;
 import org.jdbi.v3.guava.codec.TypeResolvingCodecFactory;
 import org.jdbi.v3.guice.GuiceJdbiCustomizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -38,6 +41,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Singleton
 public class InternalGuiceJdbiCustomizer implements GuiceJdbiCustomizer {
 
+    private static final Logger LOG = LoggerFactory.getLogger(InternalGuiceJdbiCustomizer.class);
+
     private final Set<RowMapper<?>> rowMappers;
     private final Map<Type, RowMapper<?>> qualifiedRowMappers;
     private final Set<ColumnMapper<?>> columnMappers;
@@ -46,6 +51,7 @@ public class InternalGuiceJdbiCustomizer implements GuiceJdbiCustomizer {
     private final Map<Class<?>, String> arrayTypes;
     private final Set<JdbiPlugin> plugins;
     private final CodecFactory codecFactory;
+    private final Set<Class<?>> warmUpTypes;
 
     @Inject
     InternalGuiceJdbiCustomizer(final Set<RowMapper<?>> rowMappers,
@@ -55,7 +61,8 @@ public class InternalGuiceJdbiCustomizer implements GuiceJdbiCustomizer {
         final Set<GuiceJdbiCustomizer> customizers,
         final Map<Class<?>, String> arrayTypes,
         final Set<JdbiPlugin> plugins,
-        final Map<QualifiedType<?>, Codec<?>> codecs) {
+        final Map<QualifiedType<?>, Codec<?>> codecs,
+        final Set<Class<?>> warmUpTypes) {
         this.rowMappers = ImmutableSet.copyOf(checkNotNull(rowMappers, "rowMappers is null"));
         this.qualifiedRowMappers = checkNotNull(qualifiedRowMappers, "qualifiedRowMappers is null");
         this.columnMappers = ImmutableSet.copyOf(checkNotNull(columnMappers, "columnMappers is null"));
@@ -64,6 +71,7 @@ public class InternalGuiceJdbiCustomizer implements GuiceJdbiCustomizer {
         this.arrayTypes = checkNotNull(arrayTypes, "arrayTypes is null");
         this.plugins = ImmutableSet.copyOf(checkNotNull(plugins, "plugins is null"));
         this.codecFactory = new TypeResolvingCodecFactory(checkNotNull(codecs, "codecs is null"));
+        this.warmUpTypes = ImmutableSet.copyOf(checkNotNull(warmUpTypes, "warmUpTypes is null"));
     }
 
     @Override
@@ -82,5 +90,14 @@ public class InternalGuiceJdbiCustomizer implements GuiceJdbiCustomizer {
 
         arrayTypes.forEach(jdbi::registerArrayType);
         customizers.forEach(c -> c.customize(jdbi));
+
+        if (!warmUpTypes.isEmpty()) {
+            final WarmUpReport report = jdbi.warmUp(warmUpTypes.toArray(new Class<?>[0]));
+            if (report.hasFailures()) {
+                LOG.warn("{}", report);
+            } else {
+                LOG.debug("{}", report);
+            }
+        }
     }
 }
@@ -45,6 +45,7 @@ public final class InternalJdbiBinder implements JdbiBinder {
     private final MapBinder<Class<?>, String> arrayTypeBinder;
     private final Multibinder<JdbiPlugin> pluginBinder;
     private final Multibinder<GuiceJdbiCustomizer> customizerBinder;
+    private final Multibinder<Class<?>> warmUpTypeBinder;
 
     /**
      * Creates a new binder for Jdbi related elements.
@@ -68,6 +69,7 @@ public final class InternalJdbiBinder implements JdbiBinder {
         this.arrayTypeBinder = MapBinder.newMapBinder(b, new TypeLiteral<>() {}, new TypeLiteral<>() {});
         this.pluginBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {});
         this.customizerBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {});
+        this.warmUpTypeBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {});
     }
 
     private InternalJdbiBinder(Binder binder, Class<? extends Annotation> a) {
@@ -81,6 +83,7 @@ public final class InternalJdbiBinder implements JdbiBinder {
         this.arrayTypeBinder = MapBinder.newMapBinder(b, new TypeLiteral<>() {}, new TypeLiteral<>() {}, a);
         this.pluginBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {}, a);
         this.customizerBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {}, a);
+        this.warmUpTypeBinder = Multibinder.newSetBinder(b, new TypeLiteral<>() {}, a);
     }
 
     @Override
@@ -156,4 +159,10 @@ public final class InternalJdbiBinder implements JdbiBinder {
     public LinkedBindingBuilder<GuiceJdbiCustomizer> bindCustomizer() {
         return customizerBinder.addBinding();
     }
+
+    @Override
+    public void bindWarmUpType(Class<?> extensionType) {
+        checkNotNull(extensionType, "extensionType is null");
+        warmUpTypeBinder.addBinding().toInstance(extensionType);
+    }
 }
@@ -79,6 +79,9 @@ public class TestJdbiBinder {
 
                 // pass testRowMapper
                 bindRowMapper().to(BinderTestRow.Mapper.class).in(Scopes.SINGLETON);
+
+                // prepared when the Jdbi instance is created
+                bindWarmUpType(Dao.class);
             }
         };
 
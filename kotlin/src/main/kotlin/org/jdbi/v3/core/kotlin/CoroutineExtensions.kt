@@ -0,0 +1,179 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.kotlin
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import org.jdbi.v3.core.Handle
+import org.jdbi.v3.core.Jdbi
+import org.jdbi.v3.core.result.ResultIterable
+import org.jdbi.v3.core.result.ResultIterator
+import org.jdbi.v3.core.statement.Query
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel
+import org.jdbi.v3.meta.Alpha
+import java.sql.SQLException
+import java.sql.Statement
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.reflect.KClass
+
+/**
+ * Suspending version of [Jdbi.withHandle]. The callback is executed on the dispatcher configured
+ * in [KotlinCoroutines] and the calling coroutine is suspended until it completes.
+ *
+ * @param block a callback which will receive an open handle.
+ * @return the value returned by the callback.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+suspend fun <R> Jdbi.withHandleSuspend(block: (Handle) -> R): R =
+    withContext(getConfig(KotlinCoroutines::class.java).dispatcher) {
+        withHandleUnchecked(block)
+    }
+
+/**
+ * Suspending version of [Jdbi.inTransaction]. The callback is executed on the dispatcher configured
+ * in [KotlinCoroutines] and the calling coroutine is suspended until it completes.
+ *
+ * @param block a callback which will receive an open handle, in a transaction.
+ * @return the value returned by the callback.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+suspend fun <R> Jdbi.inTransactionSuspend(block: (Handle) -> R): R =
+    withContext(getConfig(KotlinCoroutines::class.java).dispatcher) {
+        inTransactionUnchecked(block)
+    }
+
+/**
+ * Suspending version of [Jdbi.inTransaction] with a transaction isolation level. The callback is executed on
+ * the dispatcher configured in [KotlinCoroutines] and the calling coroutine is suspended until it completes.
+ *
+ * @param level the transaction isolation level which will be set for the duration of this transaction.
+ * @param block a callback which will receive an open handle, in a transaction.
+ * @return the value returned by the callback.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+suspend fun <R> Jdbi.inTransactionSuspend(level: TransactionIsolationLevel, block: (Handle) -> R): R =
+    withContext(getConfig(KotlinCoroutines::class.java).dispatcher) {
+        inTransactionUnchecked(level, block)
+    }
+
+/**
+ * Stream the results of a query as a cold [Flow]. The query is executed when the flow is collected, rows are
+ * fetched on the dispatcher configured in [KotlinCoroutines].
+ *
+ * ```
+ * handle.createQuery("SELECT * FROM something").asFlow<Something>().collect { ... }
+ * ```
+ *
+ * @param T The type to use for mapping.
+ * @see Query.asFlow
+ *
+ * @since 3.54.1
+ */
+@Alpha
+inline fun <reified T : Any> Query.asFlow(): Flow<T> = asFlow(T::class)
+
+/**
+ * Stream the results of a query as a cold [Flow]. The query is executed when the flow is collected, rows are
+ * fetched on the dispatcher configured in [KotlinCoroutines]. Rows are only fetched as fast as the collector
+ * consumes them (with a small buffer between the dispatcher and the collector).
+ *
+ * If the collecting coroutine is cancelled while the database is still executing the query or fetching rows,
+ * the statement is cancelled using [Statement.cancel]. All resources are closed when the flow completes.
+ *
+ * @param kClass the type to map the result set rows to.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+fun <T : Any> Query.asFlow(kClass: KClass<T>): Flow<T> {
+    val query = this
+    return resultFlow(getConfig(KotlinCoroutines::class.java).dispatcher, { query.context.statement }) {
+        query.mapTo(kClass).iterator()
+    }
+}
+
+/**
+ * Stream the results as a cold [Flow]. The statement is executed when the flow is collected, rows are fetched
+ * on the given dispatcher. Rows are only fetched as fast as the collector consumes them (with a small buffer
+ * between the dispatcher and the collector).
+ *
+ * If the collecting coroutine is cancelled while the database is fetching rows, the statement is cancelled
+ * using [Statement.cancel]. The underlying iterator is closed when the flow completes.
+ *
+ * @param dispatcher the dispatcher that executes the blocking JDBC operations.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+fun <T> ResultIterable<T>.asFlow(dispatcher: CoroutineDispatcher): Flow<T> {
+    val resultIterable = this
+    return resultFlow(dispatcher, { it?.context?.statement }) {
+        resultIterable.iterator()
+    }
+}
+
+private fun <T> resultFlow(
+    dispatcher: CoroutineDispatcher,
+    statement: (ResultIterator<T>?) -> Statement?,
+    iterator: () -> ResultIterator<T>
+): Flow<T> = flow {
+    val completed = AtomicBoolean()
+    val currentIterator = AtomicReference<ResultIterator<T>>()
+    coroutineScope {
+        // the fetching thread is blocked in the driver, so cancellation must be handled by another thread.
+        val canceller = launch(Dispatchers.Default, start = CoroutineStart.UNDISPATCHED) {
+            try {
+                awaitCancellation()
+            } finally {
+                if (!completed.get()) {
+                    cancelStatement(statement(currentIterator.get()))
+                }
+            }
+        }
+
+        try {
+            iterator().also(currentIterator::set).use {
+                while (it.hasNext()) {
+                    emit(it.next())
+                }
+            }
+        } finally {
+            completed.set(true)
+            canceller.cancel()
+        }
+    }
+}.flowOn(dispatcher)
+
+private fun cancelStatement(statement: Statement?) {
+    try {
+        statement?.cancel()
+    } catch (e: SQLException) {
+        // the statement may have completed or been closed concurrently. Nothing left to cancel.
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.kotlin
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import org.jdbi.v3.core.config.JdbiConfig
+import org.jdbi.v3.meta.Alpha
+
+/**
+ * Configuration for the suspending Jdbi operations such as [withHandleSuspend] or [asFlow].
+ *
+ * All blocking JDBC calls of these operations are executed on the [dispatcher]. By default, this is a view
+ * of [Dispatchers.IO] that is limited to [DEFAULT_PARALLELISM] threads. Its threads are not counted
+ * against the [Dispatchers.IO] limit, so database operations can not starve other blocking operations (and vice versa).
+ *
+ * The parallelism should match the size of the connection pool. Any additional thread would only wait for a connection.
+ *
+ * @since 3.54.1
+ */
+@Alpha
+class KotlinCoroutines() : JdbiConfig<KotlinCoroutines> {
+
+    /**
+     * The dispatcher that executes blocking JDBC operations. This can be any dispatcher, e.g. a dispatcher based on
+     * virtual threads created with `Executors.newVirtualThreadPerTaskExecutor().asCoroutineDispatcher()`.
+     */
+    val dispatcher: CoroutineDispatcher
+        get() = currentDispatcher
+
+    private var currentDispatcher: CoroutineDispatcher = DEFAULT_DISPATCHER
+
+    private constructor(that: KotlinCoroutines) : this() {
+        this.currentDispatcher = that.currentDispatcher
+    }
+
+    /**
+     * Sets the dispatcher to a view of [Dispatchers.IO] that executes at most [parallelism] operations at the same time.
+     *
+     * @param parallelism the maximum number of concurrent JDBC operations.
+     * @return this object.
+     */
+    fun setParallelism(parallelism: Int): KotlinCoroutines {
+        require(parallelism > 0) { "parallelism must be positive, got $parallelism" }
+        this.currentDispatcher = Dispatchers.IO.limitedParallelism(parallelism)
+        return this
+    }
+
+    /**
+     * Sets the dispatcher that executes blocking JDBC operations.
+     *
+     * @param dispatcher the dispatcher.
+     * @return this object.
+     */
+    fun setDispatcher(dispatcher: CoroutineDispatcher): KotlinCoroutines {
+        this.currentDispatcher = dispatcher
+        return this
+    }
+
+    override fun createCopy(): KotlinCoroutines = KotlinCoroutines(this)
+
+    companion object {
+        /**
+         * Default number of concurrent JDBC operations. Matches the default pool size of most connection pools.
+         */
+        const val DEFAULT_PARALLELISM = 10
+
+        private val DEFAULT_DISPATCHER = Dispatchers.IO.limitedParallelism(DEFAULT_PARALLELISM)
+    }
+}
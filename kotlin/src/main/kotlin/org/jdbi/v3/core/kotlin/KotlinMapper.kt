@@ -14,6 +14,7 @@
 package org.jdbi.v3.core.kotlin
 
 import org.jdbi.v3.core.annotation.internal.JdbiAnnotations
+import org.jdbi.v3.core.kotlin.internal.KotlinConstructorInvoker
 import org.jdbi.v3.core.kotlin.internal.toJavaType
 import org.jdbi.v3.core.mapper.Nested
 import org.jdbi.v3.core.mapper.PropagateNull
@@ -56,6 +57,12 @@ class KotlinMapper(val kClass: KClass<*>, private val prefix: String = "") : Row
             !constructorParameters.any { parameter -> parameter.paramName() == property.propName() }
         }
 
+    // constructor and setters called through method handles, null if kotlin-reflect must be used
+    private val constructorInvoker by lazy { KotlinConstructorInvoker.create(constructor) }
+    private val propertySetters by lazy {
+        memberProperties.associateWith { KotlinConstructorInvoker.createSetter(it) }
+    }
+
     private val nestedMappers = ConcurrentHashMap<KParameter, KotlinMapper>()
     private val nestedPropertyMappers = ConcurrentHashMap<KMutableProperty1<*, *>, KotlinMapper>()
 
@@ -317,7 +324,77 @@ class KotlinMapper(val kClass: KClass<*>, private val prefix: String = "") : Row
         private val resolvedConstructorParameters: Map<KParameter, ParamData>,
         private val memberPropertyMappers: Map<KMutableProperty1<*, *>, ParamData>
     ) : RowMapper<Any?> {
-        override fun map(rs: ResultSet, ctx: StatementContext): Any? {
+        // resolved once per column layout; the order is preserved to check propagated nulls first
+        private val parameters = resolvedConstructorParameters.keys.toTypedArray()
+        private val parameterData = resolvedConstructorParameters.values.toTypedArray()
+        private val properties = memberProperties.filter { memberPropertyMappers[it]?.mapper != null }.toTypedArray()
+        private val propertyData = properties.map { memberPropertyMappers.getValue(it) }.toTypedArray()
+
+        private val invoker = constructorInvoker
+        private val setters = properties.map { propertySetters[it] }.toTypedArray()
+        private val useInvoker = invoker != null && setters.all { it != null }
+
+        override fun map(rs: ResultSet, ctx: StatementContext): Any? = if (useInvoker) {
+            mapWithInvoker(invoker!!, rs, ctx)
+        } else {
+            mapWithReflection(rs, ctx)
+        }
+
+        @Suppress("ReturnCount")
+        private fun mapWithInvoker(invoker: KotlinConstructorInvoker, rs: ResultSet, ctx: StatementContext): Any? {
+            val arguments = invoker.newArguments()
+
+            for (i in parameters.indices) {
+                val parameter = parameters[i]
+                val data = parameterData[i]
+                val mapper = data.mapper
+
+                if (mapper == null && parameter.isOptional) {
+                    invoker.useDefault(arguments, parameter)
+                    continue
+                }
+
+                val value = mapper?.map(rs, ctx)
+                if (value == null) {
+                    if (data.propagateNull) {
+                        return null
+                    }
+                    // callBy omits null values for non-nullable parameters, which either uses the default
+                    // value or fails. Let kotlin-reflect report the failure.
+                    if (!parameter.type.isMarkedNullable && !invoker.useDefault(arguments, parameter)) {
+                        return mapWithReflection(rs, ctx)
+                    }
+                } else {
+                    arguments[parameter.index] = value
+                }
+            }
+
+            val values = arrayOfNulls<Any?>(properties.size)
+            for (i in properties.indices) {
+                val value = propertyData[i].mapper?.map(rs, ctx)
+                if (value == null && propertyData[i].propagateNull) {
+                    return null
+                }
+                values[i] = value
+            }
+
+            val instance = invoker.invoke(arguments)
+
+            for (i in properties.indices) {
+                val value = values[i]
+                if (value == null && !properties[i].returnType.isMarkedNullable) {
+                    // let kotlin-reflect deal with null values for non-null properties
+                    properties[i].isAccessible = true
+                    properties[i].setter.call(instance, null)
+                } else {
+                    setters[i]!!.invokeExact(instance, value)
+                }
+            }
+
+            return instance
+        }
+
+        private fun mapWithReflection(rs: ResultSet, ctx: StatementContext): Any? {
             val constructorParametersWithValues = resolvedConstructorParameters
                 .mapValues { (k, v) ->
                     // if a parameter is not required and no mapper has been given,
@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.kotlin.internal
+
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.Constructor
+import kotlin.reflect.KFunction
+import kotlin.reflect.KMutableProperty1
+import kotlin.reflect.KParameter
+import kotlin.reflect.jvm.javaConstructor
+import kotlin.reflect.jvm.javaField
+import kotlin.reflect.jvm.javaSetter
+import kotlin.reflect.jvm.jvmErasure
+
+private const val DEFAULT_CONSTRUCTOR_MARKER = "kotlin.jvm.internal.DefaultConstructorMarker"
+
+/**
+ * Invokes a Kotlin constructor through a [MethodHandle] instead of [KFunction.callBy].
+ *
+ * If any constructor parameter has a default value, all calls go through the synthetic constructor that
+ * the Kotlin compiler creates for default arguments. It takes the regular parameters, one bit mask per
+ * 32 parameters that marks the parameters which use their default value and a trailing marker argument.
+ */
+internal class KotlinConstructorInvoker private constructor(
+    private val parameterCount: Int,
+    private val handle: MethodHandle,
+    private val hasDefaults: Boolean,
+    private val placeholders: Array<Any?>
+) {
+    private val argumentCount = if (hasDefaults) parameterCount + maskCount(parameterCount) + 1 else parameterCount
+
+    /**
+     * Returns a new argument array for a single constructor call.
+     */
+    fun newArguments(): Array<Any?> {
+        val arguments = arrayOfNulls<Any?>(argumentCount)
+        if (hasDefaults) {
+            for (i in parameterCount until argumentCount - 1) {
+                arguments[i] = 0
+            }
+        }
+        return arguments
+    }
+
+    /**
+     * Marks a parameter to use its default value. Returns false if the parameter has no default value.
+     */
+    fun useDefault(arguments: Array<Any?>, parameter: KParameter): Boolean {
+        if (!hasDefaults || !parameter.isOptional) {
+            return false
+        }
+        val index = parameter.index
+        val maskIndex = parameterCount + index / Int.SIZE_BITS
+        arguments[index] = placeholders[index]
+        arguments[maskIndex] = (arguments[maskIndex] as Int) or (1 shl (index % Int.SIZE_BITS))
+        return true
+    }
+
+    fun invoke(arguments: Array<Any?>): Any? = handle.invokeExact(arguments)
+
+    companion object {
+        /**
+         * Creates an invoker for the given constructor, or returns null if the constructor can not be
+         * called directly (e.g. because it uses value class parameters or is not accessible).
+         */
+        fun create(constructor: KFunction<*>): KotlinConstructorInvoker? {
+            val javaConstructor = constructor.javaConstructor ?: return null
+            val parameters = constructor.parameters
+
+            if (parameters.any { it.kind != KParameter.Kind.VALUE || it.type.jvmErasure.isValue } ||
+                javaConstructor.parameterCount != parameters.size
+            ) {
+                return null
+            }
+
+            val hasDefaults = parameters.any { it.isOptional }
+            val target = if (hasDefaults) findDefaultConstructor(javaConstructor) ?: return null else javaConstructor
+
+            return try {
+                target.isAccessible = true
+                val handle = MethodHandles.lookup().unreflectConstructor(target)
+                    .asSpreader(Array<Any?>::class.java, target.parameterCount)
+                    .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+
+                val placeholders = Array(parameters.size) { placeholderFor(javaConstructor.parameterTypes[it]) }
+                KotlinConstructorInvoker(parameters.size, handle, hasDefaults, placeholders)
+            } catch (e: ReflectiveOperationException) {
+                null
+            } catch (e: RuntimeException) {
+                null
+            }
+        }
+
+        /**
+         * Returns a setter handle with the signature `(Object, Object)void` for a mutable property, or null.
+         */
+        fun createSetter(property: KMutableProperty1<*, *>): MethodHandle? = try {
+            val lookup = MethodHandles.lookup()
+            val setter = property.javaSetter?.let {
+                it.isAccessible = true
+                lookup.unreflect(it)
+            } ?: property.javaField?.let {
+                it.isAccessible = true
+                lookup.unreflectSetter(it)
+            }
+            setter?.asType(MethodType.methodType(Void.TYPE, Any::class.java, Any::class.java))
+        } catch (e: ReflectiveOperationException) {
+            null
+        } catch (e: RuntimeException) {
+            null
+        }
+
+        private fun findDefaultConstructor(constructor: Constructor<*>): Constructor<*>? {
+            val parameterTypes = constructor.parameterTypes
+            val expectedCount = parameterTypes.size + maskCount(parameterTypes.size) + 1
+
+            return constructor.declaringClass.declaredConstructors.firstOrNull { candidate ->
+                val candidateTypes = candidate.parameterTypes
+                candidate.isSynthetic &&
+                    candidateTypes.size == expectedCount &&
+                    candidateTypes.last().name == DEFAULT_CONSTRUCTOR_MARKER &&
+                    parameterTypes.indices.all { candidateTypes[it] == parameterTypes[it] }
+            }
+        }
+
+        private fun maskCount(parameterCount: Int) = (parameterCount + Int.SIZE_BITS - 1) / Int.SIZE_BITS
+
+        private fun placeholderFor(type: Class<*>): Any? = when (type) {
+            java.lang.Boolean.TYPE -> false
+            java.lang.Byte.TYPE -> 0.toByte()
+            java.lang.Short.TYPE -> 0.toShort()
+            java.lang.Character.TYPE -> 0.toChar()
+            java.lang.Integer.TYPE -> 0
+            java.lang.Long.TYPE -> 0L
+            java.lang.Float.TYPE -> 0.0f
+            java.lang.Double.TYPE -> 0.0
+            else -> null
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.kotlin
+
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.jdbi.v3.core.Jdbi
+import org.jdbi.v3.testing.junit5.JdbiExtension
+import org.jdbi.v3.testing.junit5.internal.TestingInitializers
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.RegisterExtension
+import java.util.concurrent.atomic.AtomicInteger
+
+class CoroutineSuspendTest {
+
+    @RegisterExtension
+    @JvmField
+    val h2Extension: JdbiExtension = JdbiExtension.h2().withPlugin(KotlinPlugin(enableCoroutineSupport = true))
+        .withInitializer(TestingInitializers.something())
+
+    private lateinit var jdbi: Jdbi
+
+    @BeforeEach
+    fun setup() {
+        jdbi = h2Extension.jdbi
+        with(h2Extension.sharedHandle) {
+            execute("INSERT INTO something(id, name) VALUES(1, 'first name')")
+            execute("INSERT INTO something(id, name) VALUES(2, 'second name')")
+            execute("INSERT INTO something(id, name) VALUES(3, 'third name')")
+        }
+    }
+
+    @Test
+    fun testWithHandleSuspend() {
+        val count = runBlocking {
+            jdbi.withHandleSuspend { h -> h.createQuery("SELECT COUNT(*) FROM something").mapTo<Int>().one() }
+        }
+
+        assertThat(count).isEqualTo(3)
+    }
+
+    @Test
+    fun testInTransactionSuspendRollback() {
+        assertThatThrownBy {
+            runBlocking {
+                jdbi.inTransactionSuspend { h ->
+                    h.execute("DELETE FROM something")
+                    throw IllegalStateException("rollback")
+                }
+            }
+        }.isInstanceOf(IllegalStateException::class.java)
+
+        val count = runBlocking {
+            jdbi.inTransactionSuspend { h -> h.createQuery("SELECT COUNT(*) FROM something").mapTo<Int>().one() }
+        }
+
+        assertThat(count).isEqualTo(3)
+    }
+
+    @Test
+    fun testParallelismIsBounded() {
+        jdbi.configure(KotlinCoroutines::class.java) { it.setParallelism(2) }
+
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+
+        val results = runBlocking {
+            (1..50).map {
+                async {
+                    jdbi.withHandleSuspend { h ->
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), ::maxOf)
+                        Thread.sleep(2)
+                        h.createQuery("SELECT COUNT(*) FROM something").mapTo<Int>().one().also { running.decrementAndGet() }
+                    }
+                }
+            }.awaitAll()
+        }
+
+        assertThat(results).hasSize(50).containsOnly(3)
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2)
+    }
+
+    @Test
+    fun testQueryAsFlow() {
+        val names = runBlocking {
+            h2Extension.sharedHandle.createQuery("SELECT name FROM something ORDER BY id")
+                .asFlow<String>()
+                .toList()
+        }
+
+        assertThat(names).containsExactly("first name", "second name", "third name")
+    }
+
+    @Test
+    fun testResultIterableAsFlowCancel() {
+        val handle = h2Extension.sharedHandle
+        val query = handle.createQuery("SELECT id FROM something ORDER BY id")
+        val ids = runBlocking {
+            query.mapTo<Int>()
+                .asFlow(handle.getConfig(KotlinCoroutines::class.java).dispatcher)
+                .take(1)
+                .toList()
+        }
+
+        assertThat(ids).containsExactly(1)
+        assertThat(query.context.statement.isClosed).isTrue()
+    }
+}
@@ -641,4 +641,73 @@ class KotlinMapperTest {
         )
             .isEqualTo(ConstructorWithDefaultParameter(1, "default"))
     }
+
+    @Suppress("LongParameterList")
+    data class ManyDefaultParameters(
+        val p0: Int = 0,
+        val p1: Int = 1,
+        val p2: Int = 2,
+        val p3: Int = 3,
+        val p4: Int = 4,
+        val p5: Int = 5,
+        val p6: Int = 6,
+        val p7: Int = 7,
+        val p8: Int = 8,
+        val p9: Int = 9,
+        val p10: Int = 10,
+        val p11: Int = 11,
+        val p12: Int = 12,
+        val p13: Int = 13,
+        val p14: Int = 14,
+        val p15: Int = 15,
+        val p16: Int = 16,
+        val p17: Int = 17,
+        val p18: Int = 18,
+        val p19: Int = 19,
+        val p20: Int = 20,
+        val p21: Int = 21,
+        val p22: Int = 22,
+        val p23: Int = 23,
+        val p24: Int = 24,
+        val p25: Int = 25,
+        val p26: Int = 26,
+        val p27: Int = 27,
+        val p28: Int = 28,
+        val p29: Int = 29,
+        val p30: Int = 30,
+        val p31: Int = 31,
+        val p32: Int = 32,
+        val p33: Int = 33,
+        val p34: Int = 34,
+        val p35: Int = 35,
+        val p36: Int = 36,
+        val p37: Int = 37,
+        val p38: Int = 38,
+        val p39: Int = 39,
+        val name: String
+    ) {
+        var extra: String? = null
+    }
+
+    @Test
+    fun manyDefaultParameters() {
+        val result = handle.select("select 'x' as name, 100 as p3, 200 as p35, 'e' as extra")
+            .mapTo<ManyDefaultParameters>()
+            .one()
+
+        assertThat(result).isEqualTo(ManyDefaultParameters(p3 = 100, p35 = 200, name = "x"))
+        assertThat(result.p34).isEqualTo(34)
+        assertThat(result.extra).isEqualTo("e")
+    }
+
+    data class NonNullWithoutDefault(val id: Int, val name: String)
+
+    @Test
+    fun nullForNonNullParameterWithoutDefault() {
+        assertThatExceptionOfType(IllegalArgumentException::class.java).isThrownBy {
+            handle.select("select 1 as id, null as name")
+                .mapTo<NonNullWithoutDefault>()
+                .one()
+        }
+    }
 }
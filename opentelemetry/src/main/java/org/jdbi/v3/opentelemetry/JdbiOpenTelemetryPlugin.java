@@ -14,27 +14,87 @@
 package org.jdbi.v3.opentelemetry;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
 import org.jdbi.v3.core.spi.JdbiPlugin;
 import org.jdbi.v3.core.statement.SqlStatements;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.StatementContextListener;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Enable OpenTelemetry support.
  * Emits a trace span for every statement executed by Jdbi.
+ * <p>
+ * Span attributes are only computed for spans that are recording, so statements in unsampled traces cost little more
+ * than starting a span. Statements can additionally be sampled per statement type before a span is started with
+ * {@link #withSampleRate(String, double)}. Statement metrics are recorded with {@link #withMetrics(boolean)}.
+ * The plugin must be configured before it is installed.
  */
 public class JdbiOpenTelemetryPlugin extends JdbiPlugin.Singleton {
     public static final AttributeKey<String> SQL = AttributeKey.stringKey("sql");
     public static final AttributeKey<String> BINDING = AttributeKey.stringKey("binding");
     public static final AttributeKey<Long> NUM_ROWS = AttributeKey.longKey("rows");
 
+    /**
+     * Hash of the normalized SQL, set if SQL normalization is enabled.
+     *
+     * @since 3.54.1
+     */
+    public static final AttributeKey<Long> SQL_HASH = AttributeKey.longKey("sql.hash");
+
+    /**
+     * Statement type attribute of the statement metrics, e.g. {@code Query} or {@code Update}.
+     *
+     * @since 3.54.1
+     */
+    public static final AttributeKey<String> STATEMENT_TYPE = AttributeKey.stringKey("jdbi.statement.type");
+
+    /**
+     * Name of the histogram that records statement durations in seconds.
+     *
+     * @since 3.54.1
+     */
+    public static final String DURATION_METRIC = "jdbi.statement.duration";
+
+    /**
+     * Name of the counter that records mapped result rows.
+     *
+     * @since 3.54.1
+     */
+    public static final String ROWS_METRIC = "jdbi.statement.rows";
+
+    /**
+     * Name of the counter that records failed statements.
+     *
+     * @since 3.54.1
+     */
+    public static final String ERRORS_METRIC = "jdbi.statement.errors";
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
     private final Tracer tracer;
+    private final Meter meter;
+    private final Map<String, Double> sampleRates = new HashMap<>();
+    private double defaultSampleRate = 1.0;
+    private boolean normalizeSql;
+    private boolean metrics;
 
     /**
      * Enable OpenTelemetry support with the global OpenTelemetry instance.
@@ -49,35 +109,187 @@ public class JdbiOpenTelemetryPlugin extends JdbiPlugin.Singleton {
      */
     public JdbiOpenTelemetryPlugin(final OpenTelemetry telemetry) {
         tracer = telemetry.getTracer("jdbi");
+        meter = telemetry.getMeter("jdbi");
+    }
+
+    /**
+     * Sets the fraction of statements for which a span is started. Applies to all statement types without a
+     * specific sample rate. Statements that are not sampled do not emit spans and do not carry a trace id.
+     *
+     * @param sampleRate the sample rate, between 0.0 and 1.0
+     * @return this plugin
+     * @since 3.54.1
+     */
+    @Beta
+    public JdbiOpenTelemetryPlugin withDefaultSampleRate(final double sampleRate) {
+        this.defaultSampleRate = checkSampleRate(sampleRate);
+        return this;
+    }
+
+    /**
+     * Sets the fraction of statements of the given type for which a span is started.
+     *
+     * @param statementType the statement type, e.g. {@code Query}, {@code Update} or {@code PreparedBatch}
+     * @param sampleRate    the sample rate, between 0.0 and 1.0
+     * @return this plugin
+     * @since 3.54.1
+     */
+    @Beta
+    public JdbiOpenTelemetryPlugin withSampleRate(final String statementType, final double sampleRate) {
+        sampleRates.put(statementType, checkSampleRate(sampleRate));
+        return this;
+    }
+
+    /**
+     * Replaces literals in the {@link #SQL} attribute with {@code ?} and adds the {@link #SQL_HASH} attribute.
+     * The normalized SQL is cached per rendered SQL, in a cache created by the
+     * {@linkplain SqlStatements#getTemplateCacheBuilder() template cache builder} of the Jdbi instance. Cache plugins must be
+     * installed before this plugin.
+     *
+     * @param normalizeSql true to normalize the SQL
+     * @return this plugin
+     * @since 3.54.1
+     */
+    @Beta
+    public JdbiOpenTelemetryPlugin withSqlNormalization(final boolean normalizeSql) {
+        this.normalizeSql = normalizeSql;
+        return this;
+    }
+
+    /**
+     * Records the {@link #DURATION_METRIC}, {@link #ROWS_METRIC} and {@link #ERRORS_METRIC} metrics for every statement,
+     * independent of sampling.
+     *
+     * @param metrics true to record statement metrics
+     * @return this plugin
+     * @since 3.54.1
+     */
+    @Beta
+    public JdbiOpenTelemetryPlugin withMetrics(final boolean metrics) {
+        this.metrics = metrics;
+        return this;
     }
 
     @Override
     public void customizeJdbi(final Jdbi jdbi) throws SQLException {
-        jdbi.getConfig(SqlStatements.class).addContextListener(new TracingListener());
+        final SqlStatements config = jdbi.getConfig(SqlStatements.class);
+        config.addContextListener(new TracingListener(config.getTemplateCacheBuilder()));
+    }
+
+    private static double checkSampleRate(final double sampleRate) {
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0, got " + sampleRate);
+        }
+        return sampleRate;
     }
 
     class TracingListener implements StatementContextListener {
+        private final Map<String, Double> sampleRates = Map.copyOf(JdbiOpenTelemetryPlugin.this.sampleRates);
+        private final double defaultSampleRate = JdbiOpenTelemetryPlugin.this.defaultSampleRate;
+        private final JdbiCache<String, NormalizedSql> normalizedSqlCache;
+        private final StatementMetrics statementMetrics = metrics ? new StatementMetrics(meter) : null;
+
+        TracingListener(final JdbiCacheBuilder cacheBuilder) {
+            this.normalizedSqlCache = normalizeSql ? cacheBuilder.buildWithLoader(NormalizedSql::new) : null;
+        }
+
         @Override
         public void contextCreated(final StatementContext ctx) {
-            final var span = tracer.spanBuilder("jdbi." + ctx.describeJdbiStatementType())
-                    .startSpan();
-            final var spanContext = span.getSpanContext();
-            if (spanContext.isValid()) {
-                ctx.setTraceId(spanContext.getTraceId());
+            final String type = ctx.describeJdbiStatementType();
+            final Span span = isSampled(type) ? startSpan(ctx, type) : null;
+            if (span != null || statementMetrics != null) {
                 ctx.addCleanable(() -> {
-                    final var stmtConfig = ctx.getConfig(SqlStatements.class);
-                    final String renderedSql = ctx.getRenderedSql();
-                    if (renderedSql != null) {
-                        span.setAttribute(SQL, renderedSql.substring(0,
-                                Math.min(renderedSql.length(), stmtConfig.getJfrSqlMaxLength())));
+                    if (span != null) {
+                        endSpan(ctx, span);
                     }
-                    if (stmtConfig.getIncludeBindingsInTelemetry()) {
-                        span.setAttribute(BINDING, ctx.getBinding().describe(stmtConfig.getJfrParamMaxLength()));
+                    if (statementMetrics != null) {
+                        statementMetrics.record(ctx, type);
                     }
-                    span.setAttribute(NUM_ROWS, ctx.getMappedRows());
-                    span.end();
                 });
             }
         }
+
+        private boolean isSampled(final String type) {
+            final double rate = sampleRates.getOrDefault(type, defaultSampleRate);
+            return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+        }
+
+        // returns the span if it needs attributes and must be ended, null otherwise
+        private Span startSpan(final StatementContext ctx, final String type) {
+            final var span = tracer.spanBuilder("jdbi." + type).startSpan();
+            final var spanContext = span.getSpanContext();
+            if (!spanContext.isValid()) {
+                return null;
+            }
+            ctx.setTraceId(spanContext.getTraceId());
+            if (!span.isRecording()) {
+                span.end();
+                return null;
+            }
+            return span;
+        }
+
+        private void endSpan(final StatementContext ctx, final Span span) {
+            final var stmtConfig = ctx.getConfig(SqlStatements.class);
+            final String renderedSql = ctx.getRenderedSql();
+            if (renderedSql != null) {
+                String sql = renderedSql;
+                if (normalizedSqlCache != null) {
+                    final NormalizedSql normalizedSql = normalizedSqlCache.get(renderedSql);
+                    sql = normalizedSql.sql;
+                    span.setAttribute(SQL_HASH, normalizedSql.hash);
+                }
+                span.setAttribute(SQL, sql.substring(0, Math.min(sql.length(), stmtConfig.getJfrSqlMaxLength())));
+            }
+            if (stmtConfig.getIncludeBindingsInTelemetry()) {
+                span.setAttribute(BINDING, ctx.getBinding().describe(stmtConfig.getJfrParamMaxLength()));
+            }
+            span.setAttribute(NUM_ROWS, ctx.getMappedRows());
+            span.end();
+        }
+    }
+
+    private static final class NormalizedSql {
+        private final String sql;
+        private final long hash;
+
+        NormalizedSql(final String renderedSql) {
+            this.sql = SqlNormalizer.normalize(renderedSql);
+            this.hash = sql.hashCode();
+        }
+    }
+
+    private static final class StatementMetrics {
+        private final DoubleHistogram duration;
+        private final LongCounter rows;
+        private final LongCounter errors;
+        private final Map<String, Attributes> attributesByType = new ConcurrentHashMap<>();
+
+        StatementMetrics(final Meter meter) {
+            this.duration = meter.histogramBuilder(DURATION_METRIC)
+                .setDescription("Duration of Jdbi statements")
+                .setUnit("s")
+                .build();
+            this.rows = meter.counterBuilder(ROWS_METRIC)
+                .setDescription("Result rows mapped by Jdbi statements")
+                .build();
+            this.errors = meter.counterBuilder(ERRORS_METRIC)
+                .setDescription("Failed Jdbi statements")
+                .build();
+        }
+
+        void record(final StatementContext ctx, final String type) {
+            if (ctx.getExecutionMoment() == null) {
+                return;
+            }
+            final Attributes attributes = attributesByType.computeIfAbsent(type, t -> Attributes.of(STATEMENT_TYPE, t));
+            if (ctx.getExceptionMoment() != null) {
+                errors.add(1, attributes);
+                duration.record(Duration.between(ctx.getExecutionMoment(), ctx.getExceptionMoment()).toNanos() / NANOS_PER_SECOND, attributes);
+            } else if (ctx.getCompletionMoment() != null) {
+                duration.record(Duration.between(ctx.getExecutionMoment(), ctx.getCompletionMoment()).toNanos() / NANOS_PER_SECOND, attributes);
+                rows.add(ctx.getMappedRows(), attributes);
+            }
+        }
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.opentelemetry;
+
+import org.jdbi.v3.core.internal.UtilityClassException;
+
+/**
+ * Replaces literals in SQL statements with {@code ?}, drops comments and collapses whitespace, so that statements
+ * that only differ in their literal values or comments share the same text.
+ */
+final class SqlNormalizer {
+
+    private SqlNormalizer() {
+        throw new UtilityClassException();
+    }
+
+    static String normalize(String sql) {
+        final StringBuilder result = new StringBuilder(sql.length());
+        final int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i + 1);
+                result.append('?');
+            } else if (c == '$' && !isIdentifierPart(result) && dollarTagEnd(sql, i) > 0) {
+                i = skipDollarQuoted(sql, i);
+                result.append('?');
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                final int end = sql.indexOf('\n', i + 2);
+                i = appendSeparator(result, sql, end < 0 ? length : end);
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                final int end = sql.indexOf("*/", i + 2);
+                i = appendSeparator(result, sql, end < 0 ? length : end + 2);
+            } else if (c == '"') {
+                final int end = skipQuoted(sql, i + 1, '"');
+                result.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierPart(result)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                result.append('?');
+            } else if (Character.isWhitespace(c)) {
+                i = appendSeparator(result, sql, i);
+            } else {
+                result.append(c);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    // a string literal ends with a single quote, two single quotes are an escaped quote
+    private static int skipStringLiteral(String sql, int start) {
+        int i = start;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    // comments and whitespace separate tokens; a run of them becomes a single space, none at the start or end
+    private static int appendSeparator(StringBuilder result, String sql, int start) {
+        int i = start;
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        if (i < sql.length() && (sql.startsWith("--", i) || sql.startsWith("/*", i))) {
+            return i;
+        }
+        if (!result.isEmpty() && result.charAt(result.length() - 1) != ' ' && i < sql.length()) {
+            result.append(' ');
+        }
+        return i;
+    }
+
+    // returns the index after the opening tag of a dollar quoted string, e.g. "$$" or "$body$", or -1
+    private static int dollarTagEnd(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length() && (Character.isLetter(sql.charAt(i)) || sql.charAt(i) == '_'
+            || (i > start + 1 && Character.isDigit(sql.charAt(i))))) {
+            i++;
+        }
+        return i < sql.length() && sql.charAt(i) == '$' ? i + 1 : -1;
+    }
+
+    // a dollar quoted string ends with the same tag that opened it
+    private static int skipDollarQuoted(String sql, int start) {
+        final int tagEnd = dollarTagEnd(sql, start);
+        final int end = sql.indexOf(sql.substring(start, tagEnd), tagEnd);
+        return end < 0 ? sql.length() : end + tagEnd - start;
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        final int end = sql.indexOf(quote, start);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    // digits that follow an identifier character are part of the identifier, e.g. "table1"
+    private static boolean isIdentifierPart(StringBuilder result) {
+        if (result.isEmpty()) {
+            return false;
+        }
+        final char previous = result.charAt(result.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '?';
+    }
+}
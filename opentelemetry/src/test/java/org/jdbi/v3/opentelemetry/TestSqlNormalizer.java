@@ -0,0 +1,45 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.opentelemetry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSqlNormalizer {
+
+    @Test
+    void testLiterals() {
+        assertThat(SqlNormalizer.normalize("select 'it''s',\n 42, \"X1\".id from t1 where x = 1.5"))
+            .isEqualTo("select ?, ?, \"X1\".id from t1 where x = ?");
+    }
+
+    @Test
+    void testLineComments() {
+        assertThat(SqlNormalizer.normalize("select a -- it's the first\nfrom t where b = 'x' -- trailing"))
+            .isEqualTo("select a from t where b = ?");
+    }
+
+    @Test
+    void testBlockComments() {
+        assertThat(SqlNormalizer.normalize("/* request 'abc' */ select a/*it's*/from t where b = 3 /* unterminated"))
+            .isEqualTo("select a from t where b = ?");
+    }
+
+    @Test
+    void testDollarQuotedStrings() {
+        assertThat(SqlNormalizer.normalize("select $$it's$$, $body$ $$ 'x' $body$, a$b from t where c = $1"))
+            .isEqualTo("select ?, ?, a$b from t where c = $1");
+    }
+}
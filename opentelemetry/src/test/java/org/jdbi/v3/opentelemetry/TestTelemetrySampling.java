@@ -0,0 +1,216 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.opentelemetry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.argument.Argument;
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.JdbiCacheLoader;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.StatementException;
+import org.jdbi.v3.testing.junit5.JdbiExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class TestTelemetrySampling {
+    @RegisterExtension
+    JdbiExtension ext = JdbiExtension.h2();
+
+    private final InMemorySpanExporter traces = new InMemorySpanExporter();
+    private final CollectingMetricReader metrics = new CollectingMetricReader();
+
+    private OpenTelemetrySdk openTelemetry(final Sampler sampler) {
+        return OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(traces))
+                .setSampler(sampler)
+                .build())
+            .setMeterProvider(SdkMeterProvider.builder()
+                .registerMetricReader(metrics)
+                .build())
+            .build();
+    }
+
+    @Test
+    void testUnsampledTraceSkipsAttributes() {
+        ext.getJdbi().installPlugin(new JdbiOpenTelemetryPlugin(openTelemetry(Sampler.alwaysOff())));
+        ext.getJdbi().getConfig(SqlStatements.class).setIncludeBindingsInTelemetry(true);
+        final var described = new AtomicInteger();
+        final Argument value = new Argument() {
+            @Override
+            public void apply(final int position, final PreparedStatement statement, final StatementContext ctx) throws SQLException {
+                statement.setString(position, "value");
+            }
+
+            @Override
+            public String toString() {
+                described.incrementAndGet();
+                return "value";
+            }
+        };
+
+        try (Handle h = ext.openHandle()) {
+            final var query = h.createQuery("select cast(:value as varchar)").bind("value", value);
+            assertThat(query.mapTo(String.class).one()).isEqualTo("value");
+            assertThat(query.getContext().getTraceId()).isNotNull();
+        }
+
+        assertThat(traces.getExported()).isEmpty();
+        assertThat(described).hasValue(0);
+    }
+
+    @Test
+    void testStatementTypeSampling() {
+        ext.getJdbi().installPlugin(new JdbiOpenTelemetryPlugin(openTelemetry(Sampler.alwaysOn()))
+            .withSampleRate("Update", 0.0));
+
+        try (Handle h = ext.openHandle()) {
+            h.execute("create table something(id int primary key)");
+            h.createQuery("select count(*) from something").mapTo(int.class).one();
+        }
+
+        assertThat(traces.getExported()).extracting(SpanData::getName).containsExactly("jdbi.Query");
+    }
+
+    @Test
+    void testSqlNormalization() {
+        ext.getJdbi().installPlugin(new JdbiOpenTelemetryPlugin(openTelemetry(Sampler.alwaysOn()))
+            .withSqlNormalization(true));
+
+        try (Handle h = ext.openHandle()) {
+            h.createQuery("select 'it''s',\n 42, \"X1\".id from (select 1 as id) \"X1\" where 1.5 > 0").mapToMap().one();
+            h.createQuery("select 'other', 7, \"X1\".id from (select 1 as id) \"X1\" where 2.5 > 0").mapToMap().one();
+        }
+
+        final var spans = traces.getExported();
+        assertThat(spans).extracting(span -> span.getAttributes().get(JdbiOpenTelemetryPlugin.SQL))
+            .containsOnly("select ?, ?, \"X1\".id from (select ? as id) \"X1\" where ? > ?");
+        assertThat(spans).extracting(span -> span.getAttributes().get(JdbiOpenTelemetryPlugin.SQL_HASH))
+            .doesNotContainNull()
+            .hasSize(2)
+            .containsOnly(spans.get(0).getAttributes().get(JdbiOpenTelemetryPlugin.SQL_HASH));
+    }
+
+    @Test
+    void testSqlNormalizationUsesTemplateCacheBuilder() {
+        final var builds = new AtomicInteger();
+        final JdbiCacheBuilder builder = DefaultJdbiCacheBuilder.builder();
+        ext.getJdbi().getConfig(SqlStatements.class).setTemplateCache(new JdbiCacheBuilder() {
+            @Override
+            public <K, V> JdbiCache<K, V> build() {
+                return builder.build();
+            }
+
+            @Override
+            public <K, V> JdbiCache<K, V> buildWithLoader(final JdbiCacheLoader<K, V> cacheLoader) {
+                builds.incrementAndGet();
+                return builder.buildWithLoader(cacheLoader);
+            }
+
+            @Override
+            public JdbiCacheBuilder maxSize(final int maxSize) {
+                builder.maxSize(maxSize);
+                return this;
+            }
+        });
+        ext.getJdbi().installPlugin(new JdbiOpenTelemetryPlugin(openTelemetry(Sampler.alwaysOn()))
+            .withSqlNormalization(true));
+
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void testMetrics() {
+        ext.getJdbi().installPlugin(new JdbiOpenTelemetryPlugin(openTelemetry(Sampler.alwaysOff()))
+            .withMetrics(true));
+
+        try (Handle h = ext.openHandle()) {
+            h.execute("create table something(id int primary key)");
+            h.execute("insert into something values (1)");
+            h.execute("insert into something values (2)");
+            assertThat(h.createQuery("select id from something").mapTo(int.class).list()).hasSize(2);
+            assertThatThrownBy(() -> h.execute("insert into something values (1)")).isInstanceOf(StatementException.class);
+        }
+
+        final Collection<MetricData> collected = metrics.registration.collectAllMetrics();
+        assertThat(collected).extracting(MetricData::getName).contains(
+            JdbiOpenTelemetryPlugin.DURATION_METRIC, JdbiOpenTelemetryPlugin.ROWS_METRIC, JdbiOpenTelemetryPlugin.ERRORS_METRIC);
+        assertThat(sum(collected, JdbiOpenTelemetryPlugin.ROWS_METRIC)).isEqualTo(2);
+        assertThat(sum(collected, JdbiOpenTelemetryPlugin.ERRORS_METRIC)).isEqualTo(1);
+        assertThat(collected).filteredOn(metric -> metric.getName().equals(JdbiOpenTelemetryPlugin.DURATION_METRIC))
+            .singleElement()
+            .satisfies(metric -> assertThat(metric.getHistogramData().getPoints())
+                .extracting(point -> point.getAttributes().get(JdbiOpenTelemetryPlugin.STATEMENT_TYPE), point -> point.getCount())
+                .containsExactlyInAnyOrder(
+                    tuple("Update", 4L),
+                    tuple("Query", 1L)));
+    }
+
+    private static long sum(final Collection<MetricData> metrics, final String name) {
+        return metrics.stream()
+            .filter(metric -> metric.getName().equals(name))
+            .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+            .mapToLong(LongPointData::getValue)
+            .sum();
+    }
+
+    private static final class CollectingMetricReader implements MetricReader {
+        private CollectionRegistration registration;
+
+        @Override
+        public void register(final CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(final InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+    }
+}
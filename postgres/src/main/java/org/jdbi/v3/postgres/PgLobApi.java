@@ -14,13 +14,101 @@
 package org.jdbi.v3.postgres;
 
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 import org.jdbi.v3.meta.Beta;
 
+/**
+ * Access to the Postgres large object API. Large objects can only be used within a transaction.
+ * <p>
+ * All operations transfer data in chunks of {@link PostgresTypes#getLobChunkSize()} bytes, so large objects
+ * can be read and written without holding their full content in memory.
+ */
 @Beta
 public interface PgLobApi {
     long createLob();
     void deleteLob(long oid);
     void writeLob(long oid, InputStream data);
     InputStream readLob(long oid);
+
+    /**
+     * Returns the size of a large object.
+     *
+     * @param oid the large object id
+     * @return the size in bytes
+     */
+    long lobSize(long oid);
+
+    /**
+     * Truncates (or extends with zeros) a large object to the given size.
+     *
+     * @param oid    the large object id
+     * @param length the new size in bytes
+     */
+    void truncateLob(long oid, long length);
+
+    /**
+     * Returns a stream that reads a range of a large object. The stream must be closed by the caller.
+     *
+     * @param oid    the large object id
+     * @param offset the position of the first byte to read
+     * @param length the maximum number of bytes to read
+     * @return a stream over the requested range
+     */
+    InputStream readLob(long oid, long offset, long length);
+
+    /**
+     * Reads bytes from a position of a large object into a buffer.
+     *
+     * @param oid    the large object id
+     * @param offset the position of the first byte to read
+     * @param buf    the buffer to read into
+     * @param off    the start offset in the buffer
+     * @param len    the maximum number of bytes to read
+     * @return the number of bytes read, or -1 if the offset is at or after the end of the large object
+     */
+    int readLob(long oid, long offset, byte[] buf, int off, int len);
+
+    /**
+     * Writes bytes from a buffer to a position of a large object.
+     *
+     * @param oid    the large object id
+     * @param offset the position of the first byte to write
+     * @param buf    the buffer holding the data
+     * @param off    the start offset in the buffer
+     * @param len    the number of bytes to write
+     */
+    void writeLob(long oid, long offset, byte[] buf, int off, int len);
+
+    /**
+     * Writes all data from a stream to a position of a large object.
+     *
+     * @param oid    the large object id
+     * @param offset the position of the first byte to write
+     * @param data   the data to write
+     */
+    void writeLob(long oid, long offset, InputStream data);
+
+    /**
+     * Opens a channel on a large object. The channel supports positioning and reports the large object size.
+     * It must be closed by the caller and can only be used within the current transaction.
+     *
+     * @param oid      the large object id
+     * @param writable if true, the channel can be written to, otherwise it is read-only
+     * @return an open channel, positioned at the start of the large object
+     */
+    SeekableByteChannel openLobChannel(long oid, boolean writable);
+
+    /**
+     * Transfers a range of a large object into a channel, e.g. a {@link java.nio.channels.FileChannel} or
+     * a channel wrapping a network connection. At most one chunk of the data is held in memory at any time.
+     *
+     * @param oid    the large object id
+     * @param offset the position of the first byte to transfer
+     * @param length the maximum number of bytes to transfer
+     * @param target the channel to write to. It is not closed by this method
+     * @return the number of bytes transferred
+     */
+    long transferLob(long oid, long offset, long length, WritableByteChannel target);
 }
@@ -15,21 +15,26 @@ package org.jdbi.v3.postgres;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.IntSupplier;
 
 import org.postgresql.PGConnection;
 import org.postgresql.largeobject.LargeObject;
 import org.postgresql.largeobject.LargeObjectManager;
 
 class PgLobApiImpl implements PgLobApi {
-    private static final int BUF_SIZE = 1024 * 4;
     private final LargeObjectManager mgr;
+    private final IntSupplier chunkSize;
 
-    PgLobApiImpl(Connection conn) {
+    PgLobApiImpl(Connection conn, IntSupplier chunkSize) {
         try {
             this.mgr = conn.unwrap(PGConnection.class)
                     .getLargeObjectAPI();
+            this.chunkSize = chunkSize;
         } catch (SQLException e) {
             throw new LargeObjectException(e);
         }
@@ -45,10 +50,16 @@ class PgLobApiImpl implements PgLobApi {
     }
 
     @Override
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public void writeLob(long oid, InputStream data) {
+        writeLob(oid, 0, data);
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    public void writeLob(long oid, long offset, InputStream data) {
         try (LargeObject lob = mgr.open(oid)) {
-            byte[] buf = new byte[BUF_SIZE];
+            lob.seek64(offset, LargeObject.SEEK_SET);
+            byte[] buf = new byte[chunkSize.getAsInt()];
             int read;
             while ((read = data.read(buf, 0, buf.length)) > -1) {
                 if (read > 0) {
@@ -60,6 +71,19 @@ class PgLobApiImpl implements PgLobApi {
         }
     }
 
+    @Override
+    public void writeLob(long oid, long offset, byte[] buf, int off, int len) {
+        try (LargeObject lob = mgr.open(oid)) {
+            lob.seek64(offset, LargeObject.SEEK_SET);
+            int chunk = chunkSize.getAsInt();
+            for (int pos = off; pos < off + len; pos += chunk) {
+                lob.write(buf, pos, Math.min(chunk, off + len - pos));
+            }
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
     @Override
     public InputStream readLob(long oid) {
         try {
@@ -69,6 +93,87 @@ class PgLobApiImpl implements PgLobApi {
         }
     }
 
+    @Override
+    public InputStream readLob(long oid, long offset, long length) {
+        try {
+            LargeObject lob = mgr.open(oid, LargeObjectManager.READ);
+            lob.seek64(offset, LargeObject.SEEK_SET);
+            return lob.getInputStream(chunkSize.getAsInt(), length);
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
+    @Override
+    public int readLob(long oid, long offset, byte[] buf, int off, int len) {
+        try (LargeObject lob = mgr.open(oid, LargeObjectManager.READ)) {
+            lob.seek64(offset, LargeObject.SEEK_SET);
+            int chunk = chunkSize.getAsInt();
+            int total = 0;
+            while (total < len) {
+                int read = lob.read(buf, off + total, Math.min(chunk, len - total));
+                if (read <= 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total == 0 && len > 0 ? -1 : total;
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
+    @Override
+    public long lobSize(long oid) {
+        try (LargeObject lob = mgr.open(oid, LargeObjectManager.READ)) {
+            return lob.size64();
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
+    @Override
+    public void truncateLob(long oid, long length) {
+        try (LargeObject lob = mgr.open(oid)) {
+            lob.truncate64(length);
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel openLobChannel(long oid, boolean writable) {
+        try {
+            return new PgLobChannel(mgr.open(oid, writable ? LargeObjectManager.READWRITE : LargeObjectManager.READ), writable, chunkSize.getAsInt());
+        } catch (SQLException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
+    @Override
+    public long transferLob(long oid, long offset, long length, WritableByteChannel target) {
+        try (LargeObject lob = mgr.open(oid, LargeObjectManager.READ)) {
+            lob.seek64(offset, LargeObject.SEEK_SET);
+            byte[] buf = new byte[chunkSize.getAsInt()];
+            ByteBuffer buffer = ByteBuffer.wrap(buf);
+            long transferred = 0;
+            while (transferred < length) {
+                int read = lob.read(buf, 0, (int) Math.min(buf.length, length - transferred));
+                if (read <= 0) {
+                    break;
+                }
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                transferred += read;
+            }
+            return transferred;
+        } catch (SQLException | IOException e) {
+            throw new LargeObjectException(e);
+        }
+    }
+
     @Override
     public void deleteLob(long oid) {
         try {
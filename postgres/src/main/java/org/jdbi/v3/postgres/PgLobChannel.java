@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.postgres;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.sql.SQLException;
+
+import org.postgresql.largeobject.LargeObject;
+
+/**
+ * A {@link SeekableByteChannel} on an open large object. Each read or write transfers at most one chunk.
+ */
+final class PgLobChannel implements SeekableByteChannel {
+    private final LargeObject lob;
+    private final boolean writable;
+    private final int chunkSize;
+    private byte[] buf;
+    private boolean open = true;
+
+    PgLobChannel(LargeObject lob, boolean writable, int chunkSize) {
+        this.lob = lob;
+        this.writable = writable;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        int len = Math.min(dst.remaining(), chunkSize);
+        if (len == 0) {
+            return 0;
+        }
+        try {
+            int read;
+            if (dst.hasArray()) {
+                read = lob.read(dst.array(), dst.arrayOffset() + dst.position(), len);
+                if (read > 0) {
+                    dst.position(dst.position() + read);
+                }
+            } else {
+                read = lob.read(buffer(), 0, len);
+                if (read > 0) {
+                    dst.put(buf, 0, read);
+                }
+            }
+            return read > 0 ? read : -1;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        ensureOpen();
+        if (!writable) {
+            throw new NonWritableChannelException();
+        }
+        int written = 0;
+        try {
+            while (src.hasRemaining()) {
+                int len = Math.min(src.remaining(), chunkSize);
+                if (src.hasArray()) {
+                    lob.write(src.array(), src.arrayOffset() + src.position(), len);
+                    src.position(src.position() + len);
+                } else {
+                    src.get(buffer(), 0, len);
+                    lob.write(buf, 0, len);
+                }
+                written += len;
+            }
+            return written;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        try {
+            return lob.tell64();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("position must not be negative, got " + newPosition);
+        }
+        try {
+            lob.seek64(newPosition, LargeObject.SEEK_SET);
+            return this;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        try {
+            return lob.size64();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) throws IOException {
+        ensureOpen();
+        if (!writable) {
+            throw new NonWritableChannelException();
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative, got " + size);
+        }
+        try {
+            if (size < lob.size64()) {
+                lob.truncate64(size);
+            }
+            if (lob.tell64() > size) {
+                lob.seek64(size, LargeObject.SEEK_SET);
+            }
+            return this;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            try {
+                lob.close();
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private byte[] buffer() {
+        if (buf == null) {
+            buf = new byte[chunkSize];
+        }
+        return buf;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
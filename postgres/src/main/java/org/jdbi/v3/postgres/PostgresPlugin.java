@@ -173,7 +173,7 @@ public class PostgresPlugin extends JdbiPlugin.Singleton {
         PGConnection pgConnection = conn.unwrap(PGConnection.class);
         return handle.configure(PostgresTypes.class, pt -> {
             pt.addTypesToConnection(pgConnection);
-            pt.setLobApi(new PgLobApiImpl(conn));
+            pt.setLobApi(new PgLobApiImpl(conn, pt::getLobChunkSize));
         });
     }
 
@@ -27,9 +27,13 @@ import org.postgresql.util.PGobject;
  * Handler for PostgreSQL custom types.
  */
 public class PostgresTypes implements JdbiConfig<PostgresTypes> {
+    /** Default number of bytes transferred per large object read or write call. */
+    public static final int DEFAULT_LOB_CHUNK_SIZE = 64 * 1024;
+
     private final Map<Class<? extends PGobject>, String> types;
     private ConfigRegistry registry;
     private PgLobApi lob;
+    private int lobChunkSize = DEFAULT_LOB_CHUNK_SIZE;
 
     @SuppressWarnings("unused")
     public PostgresTypes() {
@@ -39,6 +43,7 @@ public class PostgresTypes implements JdbiConfig<PostgresTypes> {
     private PostgresTypes(PostgresTypes that) {
         this.types = new CopyOnWriteHashMap<>(that.types);
         this.lob = that.lob;
+        this.lobChunkSize = that.lobChunkSize;
     }
 
     @Override
@@ -73,6 +78,30 @@ public class PostgresTypes implements JdbiConfig<PostgresTypes> {
         return lob;
     }
 
+    /**
+     * Sets the number of bytes that the {@link PgLobApi} transfers per read or write call to the server.
+     * Larger chunks need fewer round trips but more memory per operation.
+     *
+     * @param lobChunkSize the chunk size in bytes, must be positive
+     * @return this object
+     */
+    public PostgresTypes setLobChunkSize(int lobChunkSize) {
+        if (lobChunkSize <= 0) {
+            throw new IllegalArgumentException("lob chunk size must be positive, got " + lobChunkSize);
+        }
+        this.lobChunkSize = lobChunkSize;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes that the {@link PgLobApi} transfers per read or write call to the server.
+     *
+     * @return the chunk size in bytes
+     */
+    public int getLobChunkSize() {
+        return lobChunkSize;
+    }
+
     /**
      * Add handler for each registered PostgreSQL custom type
      *
@@ -13,9 +13,16 @@
  */
 package org.jdbi.v3.postgres;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.function.Supplier;
 
@@ -32,6 +39,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TestLobStream {
 
@@ -77,6 +85,78 @@ public class TestLobStream {
         });
     }
 
+    @Test
+    public void rangedReadsAndWrites() throws IOException {
+        final PgLobApi api = h.getConfig(PostgresTypes.class).getLobApi();
+        final byte[] data = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+        h.useTransaction(th -> {
+            long oid = api.createLob();
+            api.writeLob(oid, 0, data, 0, data.length);
+            assertThat(api.lobSize(oid)).isEqualTo(data.length);
+
+            byte[] buf = new byte[5];
+            assertThat(api.readLob(oid, 10, buf, 0, buf.length)).isEqualTo(5);
+            assertThat(new String(buf, StandardCharsets.US_ASCII)).isEqualTo("abcde");
+            assertThat(api.readLob(oid, 20, buf, 0, buf.length)).isEqualTo(-1);
+
+            try (InputStream range = api.readLob(oid, 5, 3)) {
+                assertThat(range.readAllBytes()).isEqualTo("567".getBytes(StandardCharsets.US_ASCII));
+            }
+
+            api.writeLob(oid, 18, new ByteArrayInputStream("XYZ".getBytes(StandardCharsets.US_ASCII)));
+            assertThat(api.lobSize(oid)).isEqualTo(21);
+
+            api.truncateLob(oid, 4);
+            assertThat(api.lobSize(oid)).isEqualTo(4);
+
+            api.deleteLob(oid);
+        });
+    }
+
+    @Test
+    public void channels() throws IOException {
+        final PgLobApi api = h.getConfig(PostgresTypes.class).getLobApi();
+        h.configure(PostgresTypes.class, pt -> pt.setLobChunkSize(1000));
+
+        h.useTransaction(th -> {
+            long oid = api.createLob();
+            try (SeekableByteChannel channel = api.openLobChannel(oid, true)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(2500);
+                for (int i = 0; i < 2500; i++) {
+                    buffer.put((byte) i);
+                }
+                buffer.flip();
+                assertThat(channel.write(buffer)).isEqualTo(2500);
+                assertThat(channel.size()).isEqualTo(2500);
+                assertThat(channel.position()).isEqualTo(2500);
+
+                channel.position(1990);
+                ByteBuffer dst = ByteBuffer.allocate(20);
+                assertThat(channel.read(dst)).isEqualTo(20);
+                assertThat(dst.get(10)).isEqualTo((byte) 2000);
+
+                channel.truncate(2000);
+                assertThat(channel.size()).isEqualTo(2000);
+                assertThat(channel.position()).isEqualTo(2000);
+                assertThat(channel.read(ByteBuffer.allocate(10))).isEqualTo(-1);
+            }
+
+            try (SeekableByteChannel channel = api.openLobChannel(oid, false)) {
+                assertThatThrownBy(() -> channel.write(ByteBuffer.allocate(1))).isInstanceOf(NonWritableChannelException.class);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThat(api.transferLob(oid, 100, 1500, Channels.newChannel(out))).isEqualTo(1500);
+            assertThat(out.toByteArray()).hasSize(1500).startsWith((byte) 100);
+
+            out.reset();
+            assertThat(api.transferLob(oid, 1900, 1000, Channels.newChannel(out))).isEqualTo(100);
+
+            api.deleteLob(oid);
+        });
+    }
+
     private void assertSameBytes(InputStream a, InputStream b) throws IOException {
         int pos = 0;
         int read;
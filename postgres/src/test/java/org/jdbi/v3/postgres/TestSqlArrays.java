@@ -34,6 +34,7 @@ import org.jdbi.v3.sqlobject.SingleValue;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
@@ -338,6 +339,26 @@ public class TestSqlArrays {
                 .containsExactly(a, b, e);
     }
 
+    @Test
+    public void testBindListAsArray() {
+        WhereInDao dao = handle.attach(WhereInDao.class);
+        dao.createTable();
+        Something a = new Something(1, "Alice");
+        Something b = new Something(2, "Bob");
+        Something c = new Something(3, "Candace");
+        dao.insert(a, b, c);
+
+        assertThat(dao.getByIdArray(new long[] {3, 1, 7})).containsExactly(a, c);
+        assertThat(dao.getByIdList(Arrays.asList(2, 3))).containsExactly(b, c);
+        assertThat(dao.getByIdList(IntStream.range(0, 5000).boxed().collect(Collectors.toList()))).containsExactly(a, b, c);
+
+        ao.insertUuidArray(testUuids);
+        assertThat(handle.createQuery("select count(*) from uuids, unnest(u) as x(id) where x.id = any(<ids>)")
+            .bindListAsArray("ids", UUID.class, Arrays.asList(testUuids[1], testUuids[3]))
+            .mapTo(int.class)
+            .one()).isEqualTo(2);
+    }
+
     @RegisterRowMapper(SomethingMapper.class)
     public interface WhereInDao {
         @SqlUpdate("create table something(id int, name text)")
@@ -348,5 +369,11 @@ public class TestSqlArrays {
 
         @SqlQuery("select * from something where id = any(:ids) order by id")
         List<Something> getByIds(int... ids);
+
+        @SqlQuery("select * from something where id = any(<ids>) order by id")
+        List<Something> getByIdArray(@BindList(value = "ids", expansion = BindList.Expansion.ARRAY) long[] ids);
+
+        @SqlQuery("select * from something where id = any(<ids>) order by id")
+        List<Something> getByIdList(@BindList(value = "ids", expansion = BindList.Expansion.ARRAY) List<Integer> ids);
     }
 }
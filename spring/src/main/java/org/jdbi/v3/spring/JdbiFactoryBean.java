@@ -22,7 +22,11 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.extension.WarmUpReport;
 import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.meta.Alpha;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AbstractFactoryBean;
 
@@ -31,11 +35,15 @@ import org.springframework.beans.factory.config.AbstractFactoryBean;
  * participate in Spring's transaction management system.
  */
 public class JdbiFactoryBean extends AbstractFactoryBean<Jdbi> {
+    private static final Logger LOG = LoggerFactory.getLogger(JdbiFactoryBean.class);
+
     private DataSource dataSource;
     private final Map<String, Object> globalDefines = new HashMap<>();
 
     private boolean autoInstallPlugins = false;
     private Collection<JdbiPlugin> plugins = Collections.emptyList();
+    private Collection<Class<?>> warmUpTypes = Collections.emptyList();
+    private WarmUpReport warmUpReport;
 
     public JdbiFactoryBean() {}
 
@@ -55,6 +63,16 @@ public class JdbiFactoryBean extends AbstractFactoryBean<Jdbi> {
 
         globalDefines.forEach(jdbi::define);
 
+        if (!warmUpTypes.isEmpty()) {
+            final WarmUpReport report = jdbi.warmUp(warmUpTypes.toArray(new Class<?>[0]));
+            if (report.hasFailures()) {
+                LOG.warn("{}", report);
+            } else {
+                LOG.debug("{}", report);
+            }
+            warmUpReport = report;
+        }
+
         return jdbi;
     }
 
@@ -109,6 +127,32 @@ public class JdbiFactoryBean extends AbstractFactoryBean<Jdbi> {
         globalDefines.putAll(defines);
     }
 
+    /**
+     * Sets extension types (e.g. SQL object interfaces) that are prepared with {@link Jdbi#warmUp(Class[])}
+     * when the {@link Jdbi} is created, after all plugins have been installed.
+     *
+     * @param warmUpTypes collection of extension types to prepare.
+     * @return this
+     * @since 3.54.1
+     */
+    @Alpha
+    public JdbiFactoryBean setWarmUpTypes(Collection<Class<?>> warmUpTypes) {
+        this.warmUpTypes = new ArrayList<>(warmUpTypes);
+        return this;
+    }
+
+    /**
+     * Returns the report of the warm up that ran when the {@link Jdbi} was created. The report is also logged,
+     * as a warning if any method could not be warmed up.
+     *
+     * @return the warm up report or null if no warm up types were set or the {@link Jdbi} has not been created yet
+     * @since 3.54.1
+     */
+    @Alpha
+    public WarmUpReport getWarmUpReport() {
+        return warmUpReport;
+    }
+
     /**
      * Verifies that a dataSource has been set
      */
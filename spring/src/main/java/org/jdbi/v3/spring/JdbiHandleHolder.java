@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.spring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.ResourceHolderSynchronization;
+
+/**
+ * Holds the handle that is bound to a Spring managed transaction, and the extensions attached to it. A holder is only
+ * used by the thread that runs its transaction.
+ */
+class JdbiHandleHolder extends ResourceHolderSupport {
+    private final Handle handle;
+    private final Map<Class<?>, Object> extensions = new HashMap<>();
+
+    JdbiHandleHolder(Handle handle) {
+        this.handle = handle;
+    }
+
+    Handle getHandle() {
+        return handle;
+    }
+
+    /**
+     * Returns the extension of the given type attached to the handle. Every extension type is attached once per
+     * transaction.
+     */
+    Object getExtension(Class<?> extensionType) {
+        return extensions.computeIfAbsent(extensionType, handle::attach);
+    }
+
+    /**
+     * Unbinds the holder when the transaction is suspended or completes, and closes the handle before completion.
+     */
+    static class Synchronization extends ResourceHolderSynchronization<JdbiHandleHolder, Jdbi> {
+        Synchronization(JdbiHandleHolder holder, Jdbi jdbi) {
+            super(holder, jdbi);
+        }
+
+        @Override
+        protected void releaseResource(JdbiHandleHolder holder, Jdbi jdbi) {
+            holder.extensions.clear();
+            holder.handle.close();
+        }
+    }
+}
@@ -46,12 +46,12 @@ class JdbiJtaBinder {
 
     private static InvocationHandler createInvocationHandler(Jdbi jdbi, Class<?> extensionType) {
         return (proxy, method, args) -> {
-            Handle handle = JdbiUtil.getHandle(jdbi);
-            try {
-                Object delegate = handle.attach(extensionType);
-                return invoke(delegate, method, args);
-            } finally {
-                JdbiUtil.closeIfNeeded(handle);
+            JdbiHandleHolder holder = JdbiUtil.getHandleHolder(jdbi);
+            if (holder != null) {
+                return invoke(holder.getExtension(extensionType), method, args);
+            }
+            try (Handle handle = jdbi.open()) {
+                return invoke(handle.attach(extensionType), method, args);
             }
         };
     }
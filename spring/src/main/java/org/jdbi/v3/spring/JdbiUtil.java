@@ -13,22 +13,15 @@
  */
 package org.jdbi.v3.spring;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.internal.UtilityClassException;
-import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Utility for working with Jdbi and Spring transaction bound resources
  */
 public class JdbiUtil {
-    private static final Set<Handle> TRANSACTIONAL_HANDLES = Collections.newSetFromMap(new ConcurrentHashMap<>());
-
     private JdbiUtil() {
         throw new UtilityClassException();
     }
@@ -41,52 +34,48 @@ public class JdbiUtil {
      * @return the Handle instance
      */
     public static Handle getHandle(Jdbi jdbi) {
-        Handle bound = (Handle) TransactionSynchronizationManager.getResource(jdbi);
-        if (bound == null) {
-            bound = jdbi.open();
-            if (TransactionSynchronizationManager.isSynchronizationActive()) {
-                TransactionSynchronizationManager.bindResource(jdbi, bound);
-                TransactionSynchronizationManager.registerSynchronization(new Adapter(jdbi, bound));
-                TRANSACTIONAL_HANDLES.add(bound);
-            }
-        }
-        return bound;
+        JdbiHandleHolder holder = getHandleHolder(jdbi);
+        return holder == null ? jdbi.open() : holder.getHandle();
     }
 
     /**
      * Close a handle if it is not transactionally bound, otherwise no-op
      * @param handle the handle to consider closing
      */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     public static void closeIfNeeded(Handle handle) {
-        if (!TRANSACTIONAL_HANDLES.contains(handle)) {
+        if (boundHandle(TransactionSynchronizationManager.getResource(handle.getJdbi())) != handle) {
             handle.close();
         }
     }
 
-    private static class Adapter implements TransactionSynchronization {
-        private final Jdbi db;
-        private final Handle handle;
-
-        Adapter(Jdbi db, Handle handle) {
-            this.db = db;
-            this.handle = handle;
+    /**
+     * Returns the holder of the handle bound to the current transaction, binding a new handle if the transaction
+     * does not have one yet. A handle that was bound directly, without a holder, is wrapped in a holder that is not
+     * bound, so its owner keeps closing it. Returns null if transaction synchronization is not active.
+     */
+    static JdbiHandleHolder getHandleHolder(Jdbi jdbi) {
+        Object resource = TransactionSynchronizationManager.getResource(jdbi);
+        if (resource instanceof JdbiHandleHolder holder) {
+            return holder;
         }
-
-        @Override
-        public void resume() {
-            TransactionSynchronizationManager.bindResource(db, handle);
+        if (resource instanceof Handle handle) {
+            return new JdbiHandleHolder(handle);
         }
-
-        @Override
-        public void suspend() {
-            TransactionSynchronizationManager.unbindResource(db);
+        JdbiHandleHolder holder = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            holder = new JdbiHandleHolder(jdbi.open());
+            holder.setSynchronizedWithTransaction(true);
+            TransactionSynchronizationManager.bindResource(jdbi, holder);
+            TransactionSynchronizationManager.registerSynchronization(new JdbiHandleHolder.Synchronization(holder, jdbi));
         }
+        return holder;
+    }
 
-        @Override
-        public void beforeCompletion() {
-            TRANSACTIONAL_HANDLES.remove(handle);
-            TransactionSynchronizationManager.unbindResource(db);
-            handle.close();
+    private static Handle boundHandle(Object resource) {
+        if (resource instanceof JdbiHandleHolder holder) {
+            return holder.getHandle();
         }
+        return resource instanceof Handle handle ? handle : null;
     }
 }
@@ -25,6 +25,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -78,6 +79,23 @@ public class TestJdbiFactoryBean {
         }
     }
 
+    @Test
+    public void testBoundHandleWithoutHolder() {
+        service.inPropagationRequired(aJdbi -> {
+            try (Handle bound = aJdbi.open()) {
+                TransactionSynchronizationManager.bindResource(aJdbi, bound);
+                try {
+                    final Handle h = JdbiUtil.getHandle(aJdbi);
+                    assertThat(h).isSameAs(bound);
+                    JdbiUtil.closeIfNeeded(h);
+                    assertThat(h.isClosed()).isFalse();
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(aJdbi);
+                }
+            }
+        });
+    }
+
     @Test
     public void testManualInstalledPlugin() {
         assertThat(jdbi.getConfig(SqlStatements.class).getAttribute(ManualPlugin.KEY))
@@ -18,12 +18,14 @@ import java.util.List;
 import java.util.Spliterators;
 import java.util.stream.StreamSupport;
 
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Handles;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.result.ResultIterator;
 import org.jdbi.v3.core.spi.JdbiPlugin;
 import org.jdbi.v3.core.statement.SqlStatements;
 import org.jdbi.v3.core.statement.UnableToCreateStatementException;
+import org.jdbi.v3.sqlobject.SqlObject;
 import org.jdbi.v3.testing.junit5.internal.JdbiLeakChecker;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,6 +34,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = { JdbiJtaTestConfiguration.class })
 public class JdbiJtaTest {
@@ -79,6 +83,32 @@ public class JdbiJtaTest {
         jdbiLeakChecker.checkForLeaks();
     }
 
+    @Test
+    void testDaoCallsInTxShareHandle() {
+        List<Handle> handles = new ArrayList<>();
+        somethingService.inTransaction(somethingDao -> {
+            handles.add(((SqlObject) somethingDao).getHandle());
+            handles.add(((SqlObject) somethingDao).getHandle());
+            return somethingDao.queryReturningList();
+        });
+
+        assertThat(handles.get(1)).isSameAs(handles.get(0));
+        assertThat(handles.get(0).isClosed()).isTrue();
+    }
+
+    @Test
+    void testDaoCallsWithoutTxUseNewHandles() {
+        List<Handle> handles = new ArrayList<>();
+        somethingService.withoutTransaction(somethingDao -> {
+            handles.add(((SqlObject) somethingDao).getHandle());
+            handles.add(((SqlObject) somethingDao).getHandle());
+            return handles;
+        });
+
+        assertThat(handles.get(1)).isNotSameAs(handles.get(0));
+        assertThat(handles).allMatch(Handle::isClosed);
+    }
+
     public static JdbiLeakChecker installJdbiLeakChecker(Jdbi jdbi) {
         JdbiLeakChecker jdbiLeakChecker = new JdbiLeakChecker();
         JdbiLeakCheckerPlugin plugin = new JdbiLeakCheckerPlugin(jdbiLeakChecker);
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlite3;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jdbi.v3.core.EmbeddedConnectionFactory;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.UnableToExecuteStatementException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestEmbeddedConnections {
+
+    @TempDir
+    Path tempDir;
+
+    private EmbeddedConnectionFactory connections;
+    private Jdbi jdbi;
+    private Jdbi readOnlyJdbi;
+
+    @BeforeEach
+    public void setUp() {
+        connections = EmbeddedConnectionFactory.create("jdbc:sqlite:" + tempDir.resolve("test.db"))
+            .withInitSql("PRAGMA journal_mode=WAL", "PRAGMA busy_timeout=5000")
+            .withReaders(2)
+            .withReaderInitSql("PRAGMA query_only=1");
+        jdbi = Jdbi.create(connections).installPlugin(new SQLitePlugin());
+        readOnlyJdbi = Jdbi.create(connections.readOnly()).installPlugin(new SQLitePlugin());
+
+        jdbi.useHandle(h -> h.execute("CREATE TABLE foo (id INTEGER PRIMARY KEY, name TEXT)"));
+        jdbi.useHandle(h -> h.execute("INSERT INTO foo (id, name) VALUES (1, 'one')"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connections.close();
+    }
+
+    @Test
+    public void testWriteAheadLog() {
+        String journalMode = readOnlyJdbi.withHandle(h -> h.createQuery("PRAGMA journal_mode").mapTo(String.class).one());
+        assertThat(journalMode).isEqualToIgnoringCase("wal");
+    }
+
+    @Test
+    public void testReadersSeeCommittedDataWhileWriting() throws Exception {
+        jdbi.useTransaction(h -> {
+            h.execute("INSERT INTO foo (id, name) VALUES (2, 'two')");
+
+            // a reader on another thread is not blocked by the open write transaction
+            int count = CompletableFuture.supplyAsync(() -> readOnlyJdbi.withHandle(r -> r.createQuery("SELECT count(*) FROM foo").mapTo(int.class).one()))
+                .get(10, TimeUnit.SECONDS);
+            assertThat(count).isOne();
+        });
+
+        int count = readOnlyJdbi.withHandle(h -> h.createQuery("SELECT count(*) FROM foo").mapTo(int.class).one());
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    public void testReadersRejectWrites() {
+        assertThatThrownBy(() -> readOnlyJdbi.useHandle(h -> h.execute("INSERT INTO foo (id, name) VALUES (3, 'three')")))
+            .isInstanceOf(UnableToExecuteStatementException.class);
+    }
+}
@@ -19,6 +19,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.jdbi.v3.core.statement.SqlStatement;
+import org.jdbi.v3.meta.Beta;
 import org.jdbi.v3.sqlobject.customizer.internal.BindListFactory;
 
 import static org.jdbi.v3.core.statement.EmptyHandling.BLANK;
@@ -59,6 +60,49 @@ public @interface BindList {
      */
     EmptyHandling onEmpty() default BindList.EmptyHandling.THROW;
 
+    /**
+     * How the values are expanded into the SQL statement.
+     *
+     * @return The expansion strategy. By default, bind one parameter per value.
+     * @see Expansion
+     * @since 3.54.1
+     */
+    @Beta
+    Expansion expansion() default Expansion.PARAMETERS;
+
+    /**
+     * Describes how the values are expanded into the SQL statement.
+     *
+     * @since 3.54.1
+     */
+    @Beta
+    enum Expansion {
+        /**
+         * Bind one parameter per value. Every list size renders a different SQL statement.
+         *
+         * @see SqlStatement#bindList(java.util.function.BiConsumer, String, java.util.List)
+         */
+        PARAMETERS,
+        /**
+         * Bind one parameter per value, and pad the list to a bucket size. This bounds the number of distinct SQL
+         * statements. Only useful for {@code IN} and {@code NOT IN} conditions.
+         *
+         * @see SqlStatement#bindBucketedList(java.util.function.BiConsumer, String, java.util.List)
+         * @see org.jdbi.v3.core.statement.ListBucketing
+         */
+        BUCKETED,
+        /**
+         * Bind all values as a single SQL array parameter. The SQL statement and the number of parameters do not
+         * depend on the number of values. Requires a database with array support and a registered
+         * {@link org.jdbi.v3.core.array.SqlArrayType} for the element type. The attribute must be used as an
+         * array, e.g. {@code where id = any(<ids>)}. An empty argument is bound as an empty array, {@link #onEmpty()}
+         * only applies to a null argument.
+         *
+         * @see SqlStatement#bindListAsArray(java.util.function.BiConsumer, String, java.lang.reflect.Type, Object)
+         */
+        ARRAY
+    }
+
     // TODO jdbi4 remove this duplicate of `core` EmptyHandling
     /**
      * describes what needs to be done if the passed argument is null or empty
@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.customizer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+import org.jdbi.v3.meta.Alpha;
+import org.jdbi.v3.sqlobject.customizer.internal.CachedQueryFactory;
+
+/**
+ * Caches the results of a query for the given time to live. Results of methods that map with a
+ * {@link org.jdbi.v3.sqlobject.statement.UseRowMapper specific mapper} are only cached if the annotation is placed on the method.
+ *
+ * @see org.jdbi.v3.core.statement.Query#cached(java.time.Duration, String...)
+ * @see org.jdbi.v3.core.statement.ResultCache
+ * @since 3.54.1
+ */
+@Alpha
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@SqlStatementCustomizingAnnotation(CachedQueryFactory.class)
+public @interface CachedQuery {
+    /**
+     * The time to live of cached results, in units of {@link #unit()}.
+     *
+     * @return the time to live
+     */
+    long value();
+
+    /**
+     * The unit of the time to live.
+     *
+     * @return the time unit
+     */
+    ChronoUnit unit() default ChronoUnit.SECONDS;
+
+    /**
+     * Tags of the cached results, used to invalidate them with {@link org.jdbi.v3.core.statement.ResultCache#invalidate(String)}.
+     *
+     * @return the tags
+     */
+    String[] tags() default {};
+}
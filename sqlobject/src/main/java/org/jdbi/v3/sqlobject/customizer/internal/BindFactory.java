@@ -42,12 +42,19 @@ public class BindFactory implements SqlStatementCustomizerFactory {
         String nameFromAnnotation = b == null ? Bind.NO_VALUE : b.value();
         Optional<String> name = ParameterUtil.findParameterName(nameFromAnnotation, param);
 
+        final String bindName = name.orElse(null);
+
         return new SqlStatementParameterCustomizer() {
+            // qualifiers only depend on the parameter, so the qualified type is computed once
+            private volatile QualifiedType<?> qualifiedType;
+
             @Override
             public void apply(SqlStatement<?> stmt, Object arg) throws SQLException {
                 QualifiedType<?> qualifiedType = qualifiedType(stmt.getConfig());
                 stmt.bindByType(index, arg, qualifiedType);
-                name.ifPresent(n -> stmt.bindByType(n, arg, qualifiedType));
+                if (bindName != null) {
+                    stmt.bindByType(bindName, arg, qualifiedType);
+                }
             }
 
             @Override
@@ -56,8 +63,12 @@ public class BindFactory implements SqlStatementCustomizerFactory {
             }
 
             private QualifiedType<?> qualifiedType(ConfigRegistry config) {
-                return QualifiedType.of(type).withAnnotations(
-                        config.get(Qualifiers.class).findFor(param));
+                QualifiedType<?> result = qualifiedType;
+                if (result == null) {
+                    result = QualifiedType.of(type).withAnnotations(config.get(Qualifiers.class).findFor(param));
+                    qualifiedType = result;
+                }
+                return result;
             }
         };
     }
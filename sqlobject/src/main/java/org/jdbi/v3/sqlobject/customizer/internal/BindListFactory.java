@@ -19,6 +19,7 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 
 import org.jdbi.v3.core.internal.IterableLike;
+import org.jdbi.v3.core.statement.EmptyHandling;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizerFactory;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementParameterCustomizer;
@@ -38,6 +39,19 @@ public final class BindListFactory implements SqlStatementCustomizerFactory {
                         + "and parameter name data is not present in the class file, for: "
                         + param.getDeclaringExecutable() + "::" + param));
 
-        return (stmt, arg) -> stmt.bindList(bindList.onEmpty().getCoreImpl(), name, arg == null ? null : IterableLike.toList(arg));
+        final EmptyHandling onEmpty = bindList.onEmpty().getCoreImpl();
+
+        switch (bindList.expansion()) {
+            case ARRAY:
+                final Type elementType = IterableLike.elementTypeOf(type)
+                        .orElseThrow(() -> new UnsupportedOperationException("A @BindList(expansion = ARRAY) parameter must be an array or an "
+                                + "Iterable with a known element type, for: " + param.getDeclaringExecutable() + "::" + param));
+                return (stmt, arg) -> stmt.bindListAsArray(onEmpty, name, elementType, arg);
+            case BUCKETED:
+                return (stmt, arg) -> stmt.bindBucketedList(onEmpty, name, arg == null ? null : IterableLike.toList(arg));
+            default:
+                break;
+        }
+        return (stmt, arg) -> stmt.bindList(onEmpty, name, arg == null ? null : IterableLike.toList(arg));
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.customizer.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.sqlobject.customizer.CachedQuery;
+import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizer;
+import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizerFactory;
+
+public class CachedQueryFactory implements SqlStatementCustomizerFactory {
+    @Override
+    public SqlStatementCustomizer createForType(Annotation annotation, Class<?> sqlObjectType) {
+        return create((CachedQuery) annotation, null);
+    }
+
+    @Override
+    public SqlStatementCustomizer createForMethod(Annotation annotation, Class<?> sqlObjectType, Method method) {
+        // the mapper of a method does not change, so the method identifies the mapping of its results
+        return create((CachedQuery) annotation, method);
+    }
+
+    private static SqlStatementCustomizer create(CachedQuery cachedQuery, Method method) {
+        Duration ttl = Duration.of(cachedQuery.value(), cachedQuery.unit());
+        String[] tags = cachedQuery.tags();
+        return stmt -> {
+            if (!(stmt instanceof Query)) {
+                throw new IllegalStateException("@CachedQuery can only be used with @SqlQuery methods");
+            }
+            Query query = ((Query) stmt).cached(ttl, tags);
+            if (method != null) {
+                query.setCacheMappingKey(method);
+            }
+        };
+    }
+}
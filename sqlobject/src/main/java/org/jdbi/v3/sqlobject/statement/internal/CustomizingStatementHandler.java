@@ -36,12 +36,14 @@ import org.jdbi.v3.core.generic.GenericTypes;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.result.RowReducer;
 import org.jdbi.v3.core.statement.SqlStatement;
+import org.jdbi.v3.core.statement.SqlStatements;
 import org.jdbi.v3.core.statement.UnableToExecuteStatementException;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizer;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizerFactory;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizingAnnotation;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementParameterCustomizer;
+import org.jdbi.v3.sqlobject.statement.BindParameterCustomizerFactory;
 import org.jdbi.v3.sqlobject.statement.ParameterCustomizerFactory;
 import org.jdbi.v3.sqlobject.statement.UseRowMapper;
 import org.jdbi.v3.sqlobject.statement.UseRowReducer;
@@ -57,30 +59,34 @@ import static org.jdbi.v3.core.internal.JdbiClassUtils.superTypes;
  */
 abstract class CustomizingStatementHandler<StatementType extends SqlStatement<StatementType>> implements ExtensionHandler {
 
-    private final List<BoundCustomizer> statementCustomizers;
+    // resolved once per method, a statement is customized by a plain loop over this array
+    private final BoundCustomizer[] statementCustomizers;
     private final Class<?> sqlObjectType;
     private final Method method;
 
     CustomizingStatementHandler(Class<?> sqlObjectType, Method method) {
         this.sqlObjectType = sqlObjectType;
         this.method = method;
-        this.statementCustomizers = new ArrayList<>();
+
+        final List<BoundCustomizer> customizers = new ArrayList<>();
 
         // type customizers, including annotations on the interface's supertypes
         concat(superTypes(sqlObjectType), Stream.of(sqlObjectType))
                 .flatMap(CustomizingStatementHandler::annotationsFor)
                 .map(a -> instantiateFactory(a).createForType(a, sqlObjectType))
                 .map(BoundCustomizer::of)
-                .forEach(statementCustomizers::add);
+                .forEach(customizers::add);
 
         // method customizers
         annotationsFor(method)
                 .map(a -> instantiateFactory(a).createForMethod(a, sqlObjectType, method))
                 .map(BoundCustomizer::of)
-                .forEach(statementCustomizers::add);
+                .forEach(customizers::add);
 
         // parameter customizers
-        parameterCustomizers().forEach(statementCustomizers::add);
+        parameterCustomizers().forEach(customizers::add);
+
+        this.statementCustomizers = customizers.toArray(new BoundCustomizer[0]);
     }
 
     private static Stream<Annotation> annotationsFor(AnnotatedElement... elements) {
@@ -140,24 +146,38 @@ abstract class CustomizingStatementHandler<StatementType extends SqlStatement<St
     }
 
     /**
-     * Default parameter customizer for parameters with no annotations.
+     * Default parameter customizer for parameters with no annotations. Customizers of the built-in
+     * {@link BindParameterCustomizerFactory} only depend on the parameter, so they are created once and reused as
+     * long as the configuration returns the same factory. Other factories are asked for every statement.
      */
     private BoundCustomizer defaultParameterCustomizer(Parameter parameter, Integer i) {
         final Type parameterType = getParameterType(parameter);
         return new BoundCustomizer() {
+            private volatile ResolvedParameterCustomizer resolved;
+
             @Override
             public void warm(ConfigRegistry config) {
-                create(config).warm(config);
+                resolve(config).warm(config);
             }
 
             @Override
             public void apply(SqlStatement<?> stmt, Object[] args) throws SQLException {
-                create(stmt.getConfig()).apply(stmt, args[i]);
+                resolve(stmt.getConfig()).apply(stmt, args[i]);
             }
 
-            private SqlStatementParameterCustomizer create(ConfigRegistry config) {
-                return getDefaultParameterCustomizerFactory(config)
-                        .createForParameter(sqlObjectType, method, parameter, i, parameterType);
+            @SuppressWarnings("PMD.CompareObjectsWithEquals")
+            private SqlStatementParameterCustomizer resolve(ConfigRegistry config) {
+                final ParameterCustomizerFactory factory = getDefaultParameterCustomizerFactory(config);
+                if (factory.getClass() != BindParameterCustomizerFactory.class) {
+                    return factory.createForParameter(sqlObjectType, method, parameter, i, parameterType);
+                }
+                ResolvedParameterCustomizer current = resolved;
+                if (current == null || current.factory != factory) {
+                    current = new ResolvedParameterCustomizer(factory,
+                            factory.createForParameter(sqlObjectType, method, parameter, i, parameterType));
+                    resolved = current;
+                }
+                return current.customizer;
             }
         };
     }
@@ -197,22 +217,30 @@ abstract class CustomizingStatementHandler<StatementType extends SqlStatement<St
 
             @Override
             public void warm(ConfigRegistry config) {
-                statementCustomizers.forEach(s -> s.warm(config));
+                for (BoundCustomizer customizer : statementCustomizers) {
+                    customizer.warm(config);
+                }
                 CustomizingStatementHandler.this.warm(config);
             }
+
+            @Override
+            public void warmUp(ConfigRegistry config) {
+                warm(config);
+                config.get(SqlStatements.class).warmUp(locatedSql.get(), config);
+            }
         };
     }
 
     protected void warm(ConfigRegistry config) {}
 
     void applyCustomizers(final StatementType stmt, Object[] args) {
-        statementCustomizers.forEach(b -> {
-            try {
-                b.apply(stmt, args);
-            } catch (SQLException e) {
-                throw new UnableToExecuteStatementException(e, stmt.getContext());
+        try {
+            for (BoundCustomizer customizer : statementCustomizers) {
+                customizer.apply(stmt, args);
             }
-        });
+        } catch (SQLException e) {
+            throw new UnableToExecuteStatementException(e, stmt.getContext());
+        }
     }
 
     abstract void configureReturner(StatementType stmt, SqlObjectStatementConfiguration cfg);
@@ -266,4 +294,14 @@ abstract class CustomizingStatementHandler<StatementType extends SqlStatement<St
             };
         }
     }
+
+    private static final class ResolvedParameterCustomizer {
+        private final ParameterCustomizerFactory factory;
+        private final SqlStatementParameterCustomizer customizer;
+
+        ResolvedParameterCustomizer(ParameterCustomizerFactory factory, SqlStatementParameterCustomizer customizer) {
+            this.factory = factory;
+            this.customizer = customizer;
+        }
+    }
 }
@@ -313,6 +313,12 @@ public class SqlBatchHandler extends CustomizingStatementHandler<PreparedBatch>
                 superInvoker.warm(config);
                 resultReturner.warm(config);
             }
+
+            @Override
+            public void warmUp(ConfigRegistry config) throws Exception {
+                superInvoker.warmUp(config);
+                resultReturner.warm(config);
+            }
         };
     }
 
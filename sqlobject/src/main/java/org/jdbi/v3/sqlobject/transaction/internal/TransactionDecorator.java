@@ -19,6 +19,7 @@ import java.util.stream.Stream;
 
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.extension.AttachedExtensionHandler;
 import org.jdbi.v3.core.extension.ExtensionHandler;
 import org.jdbi.v3.core.extension.ExtensionHandlerCustomizer;
@@ -53,6 +54,16 @@ public class TransactionDecorator implements ExtensionHandlerCustomizer {
             readOnly = txnAnnotation.readOnly();
         }
 
+        @Override
+        public void warm(ConfigRegistry config) {
+            boundDelegate.warm(config);
+        }
+
+        @Override
+        public void warmUp(ConfigRegistry config) throws Exception {
+            boundDelegate.warmUp(config);
+        }
+
         @Override
         public Object invoke(HandleSupplier handleSupplier, Object... args) throws Exception {
             Handle handle = handleSupplier.getHandle();
@@ -69,6 +69,23 @@ public class TestBindListParameter {
         assertThat(result).isZero();
     }
 
+    @Test
+    public void testBucketed() {
+        handle.execute("insert into foo (id) values (1), (2), (3), (4)");
+
+        assertThat(dao.bucketed(Lists.newArrayList(1, 2, 3))).isEqualTo(3);
+        assertThat(dao.bucketed(Lists.newArrayList(4))).isOne();
+    }
+
+    @Test
+    public void testArray() {
+        handle.execute("insert into foo (id) values (1), (2), (3), (4)");
+
+        assertThat(dao.array(new int[] {1, 3, 5})).isEqualTo(2);
+        assertThat(dao.arrayNullOnEmpty(Lists.newArrayList(4))).isOne();
+        assertThat(dao.arrayNullOnEmpty(Lists.newArrayList())).isZero();
+    }
+
     private interface MyDAO {
         @SqlQuery("select count(*) from foo where bar < 12 and id in (<ids>)")
         int broken();
@@ -78,5 +95,14 @@ public class TestBindListParameter {
 
         @SqlQuery("select count(*) from foo where id in (<ids>)")
         int ids(@BindList List<Integer> ids);
+
+        @SqlQuery("select count(*) from foo where id in (<ids>)")
+        int bucketed(@BindList(expansion = BindList.Expansion.BUCKETED) List<Integer> ids);
+
+        @SqlQuery("select count(*) from foo where id = any(<ids>)")
+        int array(@BindList(value = "ids", expansion = BindList.Expansion.ARRAY) int[] ids);
+
+        @SqlQuery("select count(*) from foo where id = any(<ids>)")
+        int arrayNullOnEmpty(@BindList(value = "ids", expansion = BindList.Expansion.ARRAY, onEmpty = BindList.EmptyHandling.NULL_STRING) List<Integer> ids);
     }
 }
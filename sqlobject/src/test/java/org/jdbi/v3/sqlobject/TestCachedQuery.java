@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.ResultCache;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.CachedQuery;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
+import org.jdbi.v3.testing.junit5.JdbiExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCachedQuery {
+
+    @RegisterExtension
+    public JdbiExtension h2Extension = JdbiExtension.h2().withPlugin(new SqlObjectPlugin());
+
+    private Handle handle;
+
+    @BeforeEach
+    public void setUp() {
+        handle = h2Extension.getSharedHandle();
+        handle.execute("CREATE TABLE flag (name VARCHAR(50) PRIMARY KEY, enabled BOOLEAN)");
+        handle.execute("INSERT INTO flag VALUES ('dark-mode', true), ('beta', false)");
+    }
+
+    @Test
+    public void testCachedQuery() {
+        FlagDao dao = h2Extension.getJdbi().onDemand(FlagDao.class);
+
+        assertThat(dao.isEnabled("beta")).isFalse();
+        assertThat(dao.enabledFlags()).containsExactly("dark-mode");
+
+        dao.setEnabled("beta", true);
+        assertThat(dao.isEnabled("beta")).isFalse();
+        assertThat(dao.enabledFlags()).containsExactly("dark-mode");
+
+        h2Extension.getJdbi().getConfig(ResultCache.class).invalidate("flags");
+        assertThat(dao.isEnabled("beta")).isTrue();
+        assertThat(dao.enabledFlags()).containsExactly("beta", "dark-mode");
+
+        ResultCache.Stats stats = h2Extension.getJdbi().getConfig(ResultCache.class).getStats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCachedQueryWithRowMapper() {
+        FlagDao dao = h2Extension.getJdbi().onDemand(FlagDao.class);
+
+        assertThat(dao.upperCaseNames()).containsExactly("BETA", "DARK-MODE");
+        assertThat(dao.upperCaseNames()).containsExactly("BETA", "DARK-MODE");
+
+        assertThat(h2Extension.getJdbi().getConfig(ResultCache.class).getStats().hitCount()).isOne();
+    }
+
+    public interface FlagDao {
+        @SqlQuery("SELECT enabled FROM flag WHERE name = :name")
+        @CachedQuery(value = 5, unit = ChronoUnit.MINUTES, tags = "flags")
+        boolean isEnabled(@Bind("name") String name);
+
+        @SqlQuery("SELECT name FROM flag WHERE enabled ORDER BY name")
+        @CachedQuery(value = 300, tags = "flags")
+        List<String> enabledFlags();
+
+        @SqlQuery("SELECT name FROM flag ORDER BY name")
+        @UseRowMapper(UpperCaseMapper.class)
+        @CachedQuery(value = 300, tags = "flags")
+        List<String> upperCaseNames();
+
+        @SqlUpdate("UPDATE flag SET enabled = :enabled WHERE name = :name")
+        void setEnabled(@Bind("name") String name, @Bind("enabled") boolean enabled);
+    }
+
+    public static class UpperCaseMapper implements RowMapper<String> {
+        @Override
+        public String map(ResultSet rs, StatementContext ctx) throws SQLException {
+            return rs.getString(1).toUpperCase(Locale.ROOT);
+        }
+    }
+}
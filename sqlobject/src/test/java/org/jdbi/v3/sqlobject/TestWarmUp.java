@@ -0,0 +1,168 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.extension.Extensions;
+import org.jdbi.v3.core.extension.UnableToCreateExtensionException;
+import org.jdbi.v3.core.extension.WarmUpReport;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.RowMapperFactory;
+import org.jdbi.v3.core.statement.ColonPrefixSqlParser;
+import org.jdbi.v3.core.statement.ParsedSql;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.testing.junit5.JdbiExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestWarmUp {
+
+    @RegisterExtension
+    public JdbiExtension h2Extension = JdbiExtension.h2().withPlugin(new SqlObjectPlugin());
+
+    private Jdbi jdbi;
+    private final AtomicInteger mapperLookups = new AtomicInteger();
+    private final AtomicInteger parsedStatements = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        jdbi = h2Extension.getJdbi();
+        jdbi.registerRowMapper(new CountingRowMapperFactory());
+        jdbi.setSqlParser(new ColonPrefixSqlParser() {
+            @Override
+            public ParsedSql parse(String sql, StatementContext ctx) {
+                parsedStatements.incrementAndGet();
+                return super.parse(sql, ctx);
+            }
+        });
+        jdbi.useHandle(h -> h.execute("CREATE TABLE something (id INT PRIMARY KEY, name VARCHAR(50))"));
+        parsedStatements.set(0);
+    }
+
+    @Test
+    public void testWarmUp() {
+        WarmUpReport report = jdbi.warmUp(SomethingDao.class);
+
+        assertThat(report.hasFailures()).isFalse();
+        assertThat(report.getMethodCount()).isEqualTo(3);
+        assertThat(report.getExtensions()).singleElement()
+            .satisfies(extension -> assertThat(extension.getExtensionType()).isEqualTo(SomethingDao.class));
+        assertThat(parsedStatements).hasValue(3);
+        assertThat(mapperLookups).hasValue(1);
+
+        SomethingDao dao = jdbi.onDemand(SomethingDao.class);
+        dao.insert(1, "one");
+        assertThat(dao.findName(1)).contains(new Name("one"));
+        assertThat(dao.listNames()).containsExactly(new Name("one"));
+
+        // the mapper lookup was cached on the Jdbi configuration while warming up
+        assertThat(mapperLookups).hasValue(1);
+    }
+
+    @Test
+    public void testFailuresAreReported() {
+        WarmUpReport report = jdbi.warmUp(SomethingDao.class, BrokenDao.class);
+
+        assertThat(report.hasFailures()).isTrue();
+        assertThat(report.getExtensions()).extracting(WarmUpReport.WarmedExtension::getExtensionType)
+            .containsExactly(SomethingDao.class, BrokenDao.class);
+        assertThat(report.getExtensions().get(1).getFailures().keySet())
+            .extracting(method -> method.getName())
+            .containsExactly("missing");
+        assertThat(report.toString()).contains("failed missing");
+    }
+
+    @Test
+    public void testStatementAttributesAreSkipped() {
+        jdbi.getConfig(Extensions.class).failFast();
+        WarmUpReport report = jdbi.warmUp(DefinedDao.class);
+
+        assertThat(report.hasFailures()).isFalse();
+        assertThat(report.getMethodCount()).isOne();
+
+        // the attribute is defined when the method is called
+        jdbi.useHandle(h -> h.execute("INSERT INTO something (id, name) VALUES (1, 'one')"));
+        assertThat(jdbi.onDemand(DefinedDao.class).findName("id", 1)).containsExactly("one");
+    }
+
+    @Test
+    public void testFailFast() {
+        jdbi.getConfig(Extensions.class).failFast();
+
+        assertThatThrownBy(() -> jdbi.warmUp(BrokenDao.class))
+            .isInstanceOf(UnableToCreateExtensionException.class);
+    }
+
+    @Test
+    public void testWarmUpDoesNotUseConnection() {
+        AtomicInteger connections = new AtomicInteger();
+        Jdbi counting = Jdbi.create(() -> {
+            connections.incrementAndGet();
+            return h2Extension.getSharedHandle().getConnection();
+        }).installPlugin(new SqlObjectPlugin());
+
+        assertThat(counting.warmUp(SomethingDao.class).getMethodCount()).isEqualTo(3);
+        assertThat(connections).hasValue(0);
+    }
+
+    public record Name(String value) {}
+
+    public interface SomethingDao {
+        @SqlUpdate("INSERT INTO something (id, name) VALUES (:id, :name)")
+        void insert(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("SELECT name FROM something WHERE id = :id")
+        Optional<Name> findName(@Bind("id") int id);
+
+        @SqlQuery("SELECT name FROM something ORDER BY id")
+        List<Name> listNames();
+    }
+
+    public interface DefinedDao {
+        @SqlQuery("SELECT name FROM something WHERE <column> = :value")
+        List<String> findName(@Define("column") String column, @Bind("value") int value);
+    }
+
+    @UseClasspathSqlLocator
+    public interface BrokenDao {
+        @SqlQuery
+        List<String> missing();
+    }
+
+    private final class CountingRowMapperFactory implements RowMapperFactory {
+        @Override
+        public Optional<RowMapper<?>> build(Type type, ConfigRegistry config) {
+            if (type != Name.class) {
+                return Optional.empty();
+            }
+            mapperLookups.incrementAndGet();
+            return Optional.of((rs, ctx) -> new Name(rs.getString(1)));
+        }
+    }
+}
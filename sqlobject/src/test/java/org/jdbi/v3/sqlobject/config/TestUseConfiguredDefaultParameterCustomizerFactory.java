@@ -22,6 +22,7 @@ import org.jdbi.v3.core.mapper.SomethingMapper;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.BindParameterCustomizerFactory;
 import org.jdbi.v3.sqlobject.statement.ParameterCustomizerFactory;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.testing.junit5.JdbiExtension;
@@ -70,6 +71,48 @@ public class TestUseConfiguredDefaultParameterCustomizerFactory {
         assertThat(invocationCounter.get()).isEqualTo(4);
     }
 
+    @Test
+    public void shouldCallConfiguredFactoryForEveryStatement() {
+        SomethingDao h = handle.attach(SomethingDao.class);
+        h.findByNameAndIdNoBindAnnotation(1, "Joy");
+        int afterFirstCall = invocationCounter.get();
+
+        h.findByNameAndIdNoBindAnnotation(1, "Joy");
+
+        // customizers of a configured factory are never reused
+        assertThat(invocationCounter.get()).isEqualTo(afterFirstCall + 2);
+    }
+
+    @Test
+    public void shouldReuseBuiltInCustomizersWithNewArguments() {
+        handle.execute("insert into something (id, name) values (1, 'Joy'), (2, 'Eve')");
+        handle.configure(SqlObjects.class, c -> c.setDefaultParameterCustomizerFactory(new BindParameterCustomizerFactory()));
+
+        SomethingByIdDao h = handle.attach(SomethingByIdDao.class);
+        assertThat(h.findById(1)).isEqualTo(new Something(1, "Joy"));
+        assertThat(h.findById(2)).isEqualTo(new Something(2, "Eve"));
+        assertThat(invocationCounter.get()).isZero();
+    }
+
+    @Test
+    public void shouldNotReuseBuiltInCustomizersForConfiguredFactory() {
+        handle.execute("insert into something (id, name) values (1, 'Joy')");
+        handle.configure(SqlObjects.class, c -> c.setDefaultParameterCustomizerFactory(new BindParameterCustomizerFactory()));
+        assertThat(handle.attach(SomethingByIdDao.class).findById(1)).isEqualTo(new Something(1, "Joy"));
+
+        AtomicInteger otherCounter = new AtomicInteger(0);
+        handle.configure(SqlObjects.class, c -> c.setDefaultParameterCustomizerFactory((sqlObjectType, method, param, index, type) -> {
+            otherCounter.incrementAndGet();
+            return (stmt, arg) -> stmt.bind("mybind" + index, arg);
+        }));
+
+        Something result = handle.attach(SomethingDao.class).findByNameAndIdNoBindAnnotation(1, "Joy");
+
+        assertThat(result).isEqualTo(new Something(1, "Joy"));
+        assertThat(invocationCounter.get()).isZero();
+        assertThat(otherCounter.get()).isEqualTo(4);
+    }
+
     @Test
     public void shouldUseSqlParameterCustomizerFromAnnotation() {
         SomethingDao h = handle.attach(SomethingDao.class);
@@ -90,4 +133,12 @@ public class TestUseConfiguredDefaultParameterCustomizerFactory {
 
     }
 
+    @RegisterRowMapper(SomethingMapper.class)
+    public interface SomethingByIdDao {
+
+        @SqlQuery("select id, name from something where id = :id")
+        Something findById(int id);
+
+    }
+
 }
@@ -13,26 +13,72 @@
  */
 package org.jdbi.v3.stringtemplate4;
 
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
-
-import org.jdbi.v3.core.locator.internal.ClasspathBuilder;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.meta.Alpha;
+import org.jdbi.v3.stringtemplate4.internal.StringTemplateGroups;
+import org.jdbi.v3.stringtemplate4.internal.StringTemplateGroups.CompiledGroup;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * Locates SQL in <code>.sql.stg</code> StringTemplate group files on the classpath.
+ * <p>
+ * Each group file is loaded and compiled once per class loader and kept in a cache. Templates are looked up once per
+ * group and every call returns a copy of the compiled template, so that templates can be rendered concurrently.
+ * The cache holds up to {@link #GROUP_CACHE_SIZE} group files per class loader by default; see
+ * {@link #setCacheBuilder(JdbiCacheBuilder)}.
  */
 public class StringTemplateSqlLocator {
-    private static final Map<ClassLoader, Map<String, ThreadLocal<STGroup>>> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The default maximum number of cached group files per class loader.
+     *
+     * @since 3.54.1
+     */
+    public static final int GROUP_CACHE_SIZE = 1_000;
 
     private StringTemplateSqlLocator() {}
 
+    /**
+     * Sets the cache builder for the group file caches and drops all cached groups. There is one cache per class
+     * loader. The caches are weakly keyed by their class loader and do not keep it reachable.
+     *
+     * @param cacheBuilder the cache builder for the group file caches
+     * @since 3.54.1
+     */
+    @Alpha
+    public static void setCacheBuilder(JdbiCacheBuilder cacheBuilder) {
+        StringTemplateGroups.setCacheBuilder(cacheBuilder);
+    }
+
+    /**
+     * Controls whether cached group files are reloaded when they change. If enabled, every lookup compares the
+     * modification time of the group file with the time when it was loaded. Only group files in a directory, e.g.
+     * the output directory of an IDE, are reloaded; group files in a jar are never reloaded. Defaults to false.
+     * <p>
+     * This is meant for development and should not be enabled in production.
+     *
+     * @param reloadModifiedGroups true to reload group files when they change
+     * @since 3.54.1
+     */
+    @Alpha
+    public static void setReloadModifiedGroups(boolean reloadModifiedGroups) {
+        StringTemplateGroups.setReloadModifiedGroups(reloadModifiedGroups);
+    }
+
+    /**
+     * Returns the statistics of the group file cache for the given class loader.
+     *
+     * @param classLoader the class loader
+     * @param <T> the implementation specific type of the statistics, see {@link org.jdbi.v3.core.cache.JdbiCache#getStats()}
+     * @return the cache statistics, or null if no group file has been loaded from the class loader
+     * @since 3.54.1
+     */
+    @Alpha
+    public static <T> T getCacheStats(ClassLoader classLoader) {
+        return StringTemplateGroups.getCacheStats(classLoader);
+    }
+
     /**
      * Locates SQL for the given type and name. Example: Given a type <code>com.foo.Bar</code> and a name of
      * <code>baz</code>, loads a StringTemplate group file from the resource named <code>com/foo/Bar.sql.stg</code> on
@@ -44,13 +90,13 @@ public class StringTemplateSqlLocator {
      * @return the located SQL.
      */
     public static ST findStringTemplate(Class<?> type, String name) {
-        STGroup group = findStringTemplateGroup(type);
+        ST template = StringTemplateGroups.findGroup(type.getClassLoader(), StringTemplateGroups.groupPath(type)).getInstanceOf(name);
 
-        if (!group.isDefined(name)) {
+        if (template == null) {
             throw new IllegalStateException("No StringTemplate group " + name + " for class " + type);
         }
 
-        return group.getInstanceOf(name);
+        return template;
     }
 
     /**
@@ -62,9 +108,7 @@ public class StringTemplateSqlLocator {
      * @return the located SQL.
      */
     public static ST findStringTemplate(String path, String name) {
-        STGroup group = findStringTemplateGroup(path);
-
-        return findTemplateInGroup(path, name, group);
+        return findStringTemplate(Thread.currentThread().getContextClassLoader(), path, name);
     }
 
     /**
@@ -77,17 +121,14 @@ public class StringTemplateSqlLocator {
      * @return the located SQL.
      */
     public static ST findStringTemplate(ClassLoader classLoader, String path, String name) {
-        STGroup group = findStringTemplateGroup(classLoader, path);
+        CompiledGroup group = StringTemplateGroups.findGroup(classLoader, path);
+        ST template = group.getInstanceOf(name);
 
-        return findTemplateInGroup(path, name, group);
-    }
-
-    private static ST findTemplateInGroup(String path, String name, STGroup group) {
-        if (!group.isDefined(name)) {
+        if (template == null) {
             throw new IllegalStateException("No StringTemplate group " + name + " for path " + path);
         }
 
-        return group.getInstanceOf(name);
+        return template;
     }
 
     /**
@@ -99,12 +140,7 @@ public class StringTemplateSqlLocator {
      * @return the loaded StringTemplateGroup.
      */
     public static STGroup findStringTemplateGroup(Class<?> type) {
-        String path = new ClasspathBuilder()
-            .appendFullyQualifiedClassName(type)
-            .setExtension("sql.stg")
-            .build();
-
-        return findStringTemplateGroup(type.getClassLoader(), path);
+        return findStringTemplateGroup(type.getClassLoader(), StringTemplateGroups.groupPath(type));
     }
 
     /**
@@ -118,25 +154,14 @@ public class StringTemplateSqlLocator {
     }
 
     /**
-     * Loads the StringTemplateGroup from the given path on the classpath.
+     * Loads the StringTemplateGroup from the given path on the classpath. Every call returns a new group, which the
+     * caller may modify. Templates found through the other methods of this class are compiled once and cached.
      *
      * @param classLoader the classloader from which to load the resource.
      * @param path the resource path on the classpath.
      * @return the loaded StringTemplateGroup.
      */
     public static STGroup findStringTemplateGroup(ClassLoader classLoader, String path) {
-        return CACHE.computeIfAbsent(classLoader, x -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(path, p -> ThreadLocal.withInitial(() -> readStringTemplateGroup(classLoader, path))).get();
-    }
-
-    private static STGroup readStringTemplateGroup(ClassLoader classLoader, String path) {
-        try {
-            URL resource = classLoader.getResource(path);
-            STGroupFile group = new STGroupFile(resource, StandardCharsets.UTF_8.name(), '<', '>');
-            group.load();
-            return group;
-        } catch (Exception e) {
-            throw new RuntimeException("Unable to read StringTemplate group file at " + path + " on classpath", e);
-        }
+        return StringTemplateGroups.findGroup(classLoader, path).newGroup();
     }
 }
@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.stringtemplate4.internal;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jdbi.v3.core.cache.JdbiCache;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.core.internal.UtilityClassException;
+import org.jdbi.v3.core.locator.internal.ClasspathBuilder;
+import org.jdbi.v3.stringtemplate4.StringTemplateSqlLocator;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.STGroupFile;
+import org.stringtemplate.v4.compiler.CompiledST;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the compiled StringTemplate group files of each class loader. The caches are weakly keyed by their class
+ * loader; cached groups keep the URL of their group file, not the class loader, so they do not keep it reachable.
+ */
+public final class StringTemplateGroups {
+    private static final long NOT_MODIFIABLE = -1L;
+
+    private static final Map<ClassLoader, JdbiCache<String, CompiledGroup>> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile JdbiCacheBuilder cacheBuilder = DefaultJdbiCacheBuilder.builder().maxSize(StringTemplateSqlLocator.GROUP_CACHE_SIZE);
+    private static volatile boolean reloadModifiedGroups;
+
+    private StringTemplateGroups() {
+        throw new UtilityClassException();
+    }
+
+    public static void setCacheBuilder(JdbiCacheBuilder builder) {
+        cacheBuilder = requireNonNull(builder, "cacheBuilder is null");
+        CACHE.clear();
+    }
+
+    public static void setReloadModifiedGroups(boolean reload) {
+        reloadModifiedGroups = reload;
+    }
+
+    public static <T> T getCacheStats(ClassLoader classLoader) {
+        final JdbiCache<String, CompiledGroup> cache = CACHE.get(classLoader);
+        return cache == null ? null : cache.getStats();
+    }
+
+    public static String groupPath(Class<?> type) {
+        return new ClasspathBuilder()
+            .appendFullyQualifiedClassName(type)
+            .setExtension("sql.stg")
+            .build();
+    }
+
+    public static CompiledGroup findGroup(ClassLoader classLoader, String path) {
+        return CACHE.computeIfAbsent(classLoader, x -> cacheBuilder.build())
+            .getWithLoader(path, p -> new CompiledGroup(p, classLoader.getResource(p)));
+    }
+
+    /**
+     * A loaded group file and its compiled templates. Every template is looked up once, new instances share the
+     * compiled template.
+     */
+    public static final class CompiledGroup {
+        private final String path;
+        private final URL resource;
+        private volatile Loaded loaded;
+
+        CompiledGroup(String path, URL resource) {
+            this.path = path;
+            this.resource = resource;
+            this.loaded = load();
+        }
+
+        /**
+         * Returns a new group loaded from the group file, which the caller may modify.
+         *
+         * @return a new group
+         */
+        public STGroup newGroup() {
+            return load().group;
+        }
+
+        public boolean isDefined(String name) {
+            return current().group.isDefined(name);
+        }
+
+        /**
+         * Returns a new instance of the given template, or null if the group does not define it.
+         *
+         * @param name the template name
+         * @return a new template instance
+         */
+        public ST getInstanceOf(String name) {
+            final Loaded current = current();
+            final CompiledST compiled = current.templates.computeIfAbsent(name, current.group::lookupTemplate);
+            if (compiled == null) {
+                return null;
+            }
+            final ST template = current.group.createStringTemplate(compiled);
+            // adding an attribute to a template without formal arguments declares it on the compiled template
+            return compiled.hasFormalArgs ? template : new ST(template);
+        }
+
+        private Loaded current() {
+            Loaded current = loaded;
+            if (reloadModifiedGroups && current.lastModified != NOT_MODIFIABLE && current.lastModified != lastModified(resource)) {
+                synchronized (this) {
+                    current = loaded;
+                    if (current.lastModified != lastModified(resource)) {
+                        current = load();
+                        loaded = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        private Loaded load() {
+            try {
+                final STGroupFile group = new STGroupFile(resource, StandardCharsets.UTF_8.name(), '<', '>');
+                group.load();
+                return new Loaded(group, lastModified(resource));
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to read StringTemplate group file at " + path + " on classpath", e);
+            }
+        }
+
+        // only group files in directories can be reloaded, e.g. the output directory of an IDE
+        private static long lastModified(URL resource) {
+            if (resource == null || !"file".equals(resource.getProtocol())) {
+                return NOT_MODIFIABLE;
+            }
+            try {
+                return Files.getLastModifiedTime(Path.of(resource.toURI())).toMillis();
+            } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+                return NOT_MODIFIABLE;
+            }
+        }
+    }
+
+    private static final class Loaded {
+        private final STGroup group;
+        private final long lastModified;
+        private final Map<String, CompiledST> templates = new ConcurrentHashMap<>();
+
+        Loaded(STGroup group, long lastModified) {
+            this.group = group;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -22,20 +22,18 @@ import org.jdbi.v3.core.statement.TemplateEngine;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.jdbi.v3.sqlobject.internal.SqlAnnotations;
 import org.jdbi.v3.sqlobject.locator.SqlLocator;
+import org.jdbi.v3.stringtemplate4.internal.StringTemplateGroups.CompiledGroup;
 import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.STGroup;
 
 import static java.lang.String.format;
 
-import static org.jdbi.v3.stringtemplate4.StringTemplateSqlLocator.findStringTemplateGroup;
-
 public class UseStringTemplateSqlLocatorImpl extends SimpleExtensionConfigurer {
 
     private final SqlLocator locator;
     private final TemplateEngine templateEngine;
 
     public UseStringTemplateSqlLocatorImpl(Annotation annotation, Class<?> sqlObjectType) {
-        final STGroup group = findStringTemplateGroup(sqlObjectType);
+        final CompiledGroup group = StringTemplateGroups.findGroup(sqlObjectType.getClassLoader(), StringTemplateGroups.groupPath(sqlObjectType));
 
         this.locator = (type, method, config) -> {
             String templateName = SqlAnnotations.getAnnotationValue(method).orElseGet(method::getName);
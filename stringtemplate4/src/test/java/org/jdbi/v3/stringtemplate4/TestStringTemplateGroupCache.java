@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.stringtemplate4;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+
+import org.jdbi.v3.core.cache.JdbiCacheStats;
+import org.jdbi.v3.core.cache.internal.DefaultJdbiCacheBuilder;
+import org.jdbi.v3.stringtemplate4.TestStringTemplateSqlLocator.Wombat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STGroup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestStringTemplateGroupCache {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        StringTemplateSqlLocator.setReloadModifiedGroups(false);
+        StringTemplateSqlLocator.setCacheBuilder(DefaultJdbiCacheBuilder.builder().maxSize(StringTemplateSqlLocator.GROUP_CACHE_SIZE));
+    }
+
+    @Test
+    public void testTemplatesAreCompiledOnce() {
+        ST first = StringTemplateSqlLocator.findStringTemplate(Wombat.class, "findByIdOrUptoLimit");
+        ST second = CompletableFuture.supplyAsync(() -> StringTemplateSqlLocator.findStringTemplate(Wombat.class, "findByIdOrUptoLimit")).join();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.impl).isSameAs(first.impl);
+
+        first.add("idLimit", 5);
+        assertThat(second.getAttribute("idLimit")).isNull();
+    }
+
+    @Test
+    public void testFoundGroupsAreCopies() {
+        STGroup first = StringTemplateSqlLocator.findStringTemplateGroup(Wombat.class);
+        STGroup second = StringTemplateSqlLocator.findStringTemplateGroup(Wombat.class);
+
+        assertThat(second).isNotSameAs(first);
+        first.defineTemplate("added", "select 1");
+        assertThat(second.isDefined("added")).isFalse();
+        assertThatThrownBy(() -> StringTemplateSqlLocator.findStringTemplate(Wombat.class, "added"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testReloadModifiedGroups() throws IOException {
+        Path groupFile = tempDir.resolve("reload.sql.stg");
+        writeGroup(groupFile, "select 1", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(render(classLoader)).isEqualTo("select 1");
+
+            writeGroup(groupFile, "select 2", 2_000_000L);
+            assertThat(render(classLoader)).isEqualTo("select 1");
+
+            StringTemplateSqlLocator.setReloadModifiedGroups(true);
+            assertThat(render(classLoader)).isEqualTo("select 2");
+        }
+    }
+
+    @Test
+    public void testBoundedCache() throws IOException {
+        StringTemplateSqlLocator.setCacheBuilder(DefaultJdbiCacheBuilder.builder().maxSize(1));
+        writeGroup(tempDir.resolve("first.sql.stg"), "select 1", 1_000_000L);
+        writeGroup(tempDir.resolve("second.sql.stg"), "select 2", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(StringTemplateSqlLocator.<JdbiCacheStats>getCacheStats(classLoader)).isNull();
+
+            assertThat(StringTemplateSqlLocator.findStringTemplate(classLoader, "first.sql.stg", "query").render()).isEqualTo("select 1");
+            assertThat(StringTemplateSqlLocator.findStringTemplate(classLoader, "second.sql.stg", "query").render()).isEqualTo("select 2");
+
+            JdbiCacheStats stats = StringTemplateSqlLocator.getCacheStats(classLoader);
+            assertThat(stats.maxSize()).isOne();
+            assertThat(stats.cacheSize()).isOne();
+        }
+    }
+
+    @Test
+    public void testCacheIsBoundedByDefault() throws IOException {
+        writeGroup(tempDir.resolve("reload.sql.stg"), "select 1", 1_000_000L);
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(render(classLoader)).isEqualTo("select 1");
+
+            JdbiCacheStats stats = StringTemplateSqlLocator.getCacheStats(classLoader);
+            assertThat(stats.maxSize()).isEqualTo(StringTemplateSqlLocator.GROUP_CACHE_SIZE);
+        }
+    }
+
+    @Test
+    public void testCachedGroupsDoNotRetainClassLoader() throws Exception {
+        writeGroup(tempDir.resolve("reload.sql.stg"), "select 1", 1_000_000L);
+
+        WeakReference<ClassLoader> reference = loadAndRelease();
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(reference.get()).isNull();
+    }
+
+    private WeakReference<ClassLoader> loadAndRelease() throws IOException {
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThat(render(classLoader)).isEqualTo("select 1");
+            return new WeakReference<>(classLoader);
+        }
+    }
+
+    private URLClassLoader classLoader() throws IOException {
+        return new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null);
+    }
+
+    private static String render(ClassLoader classLoader) {
+        return StringTemplateSqlLocator.findStringTemplate(classLoader, "reload.sql.stg", "query").render();
+    }
+
+    private static void writeGroup(Path file, String sql, long lastModified) throws IOException {
+        Files.writeString(file, "query() ::= <<" + sql + ">>\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+}